@@ -31,6 +31,8 @@ import java.io.IOException;
  */
 public class HashableMarshalledValue<T> extends SimpleMarshalledValue<T> {
     private static final long serialVersionUID = -7576022002375288323L;
+    // Serialized forms up to this size are kept alongside the object form
+    static final int MAX_RETAINED_BYTES = 8192;
 
     private final int hashCode;
 
@@ -44,6 +46,16 @@ public class HashableMarshalledValue<T> extends SimpleMarshalledValue<T> {
         this.hashCode = (object != null ) ? object.hashCode() : 0;
     }
 
+    /**
+     * {@inheritDoc}
+     * Hashable values serve as keys, whose hash code must not change, so their serialized form can safely be retained
+     * if small enough.
+     */
+    @Override
+    boolean retain(byte[] bytes) {
+        return bytes.length <= MAX_RETAINED_BYTES;
+    }
+
     @Override
     public int hashCode() {
         return this.hashCode;
@@ -51,7 +63,7 @@ public class HashableMarshalledValue<T> extends SimpleMarshalledValue<T> {
 
     @Override
     public boolean equals(Object object) {
-        if ((object != null) && !(object instanceof HashableMarshalledValue)) {
+        if (object instanceof HashableMarshalledValue) {
             HashableMarshalledValue<?> value = (HashableMarshalledValue<?>) object;
             return (this.hashCode == value.hashCode()) && super.equals(object);
         }
@@ -36,11 +36,21 @@ public class MarshallingContext {
     private final MarshallerFactory factory;
     private final MarshallingConfiguration configuration;
     private final ClassLoaderProvider provider;
+    private final MarshallingStatistics statistics;
 
     public MarshallingContext(MarshallerFactory factory, MarshallingConfiguration configuration, ClassLoaderProvider provider) {
+        this(factory, configuration, provider, new MarshallingStatistics());
+    }
+
+    public MarshallingContext(MarshallerFactory factory, MarshallingConfiguration configuration, ClassLoaderProvider provider, MarshallingStatistics statistics) {
         this.factory = factory;
         this.configuration = configuration;
         this.provider = provider;
+        this.statistics = statistics;
+    }
+
+    public MarshallingStatistics getStatistics() {
+        return this.statistics;
     }
 
     public ClassLoader getClassLoader() {
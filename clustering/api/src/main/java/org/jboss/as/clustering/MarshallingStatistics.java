@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.clustering;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the serializations and deserializations performed by marshalled values, and the number of bytes involved.
+ */
+public class MarshallingStatistics {
+    private final AtomicLong serializations = new AtomicLong();
+    private final AtomicLong serializedBytes = new AtomicLong();
+    private final AtomicLong deserializations = new AtomicLong();
+    private final AtomicLong deserializedBytes = new AtomicLong();
+
+    public void serialized(int bytes) {
+        this.serializations.incrementAndGet();
+        this.serializedBytes.addAndGet(bytes);
+    }
+
+    public void deserialized(int bytes) {
+        this.deserializations.incrementAndGet();
+        this.deserializedBytes.addAndGet(bytes);
+    }
+
+    public long getSerializationCount() {
+        return this.serializations.get();
+    }
+
+    public long getSerializedBytes() {
+        return this.serializedBytes.get();
+    }
+
+    public long getDeserializationCount() {
+        return this.deserializations.get();
+    }
+
+    public long getDeserializedBytes() {
+        return this.deserializedBytes.get();
+    }
+
+    public void reset() {
+        this.serializations.set(0);
+        this.serializedBytes.set(0);
+        this.deserializations.set(0);
+        this.deserializedBytes.set(0);
+    }
+}
@@ -60,19 +60,37 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
     byte[] getBytes() throws IOException {
         byte[] bytes = this.bytes;
         if (bytes != null) return bytes;
-        if (this.object == null) return null;
+        T object = this.object;
+        if (object == null) return null;
+        MarshallingContext context = this.context;
         ByteArrayOutputStream output = new ByteArrayOutputStream();
-        Marshaller marshaller = this.context.createMarshaller();
+        Marshaller marshaller = context.createMarshaller();
         ContextClassLoaderSwitcher.SwitchContext switchContext = switcher.getSwitchContext(context.getClassLoader());
         try {
             marshaller.start(Marshalling.createByteOutput(output));
-            marshaller.writeObject(this.object);
+            marshaller.writeObject(object);
             marshaller.finish();
-            return output.toByteArray();
+            bytes = output.toByteArray();
         } finally {
             switchContext.reset();
             marshaller.close();
         }
+        context.getStatistics().serialized(bytes.length);
+        if (this.retain(bytes)) {
+            this.bytes = bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * Indicates whether the specified serialized form should be kept alongside the object form of this value, sparing
+     * subsequent serializations.  Since the object may be mutated after this value was created, the serialized form is
+     * not retained by default.
+     * @param bytes the serialized form of this value
+     * @return true, if the serialized form should be retained, false otherwise
+     */
+    boolean retain(byte[] bytes) {
+        return false;
     }
 
     /**
@@ -84,14 +102,18 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
     public synchronized T get(MarshallingContext context) throws IOException, ClassNotFoundException {
         if (this.object == null) {
             this.context = context;
-            if (this.bytes != null) {
+            byte[] bytes = this.bytes;
+            if (bytes != null) {
                 Unmarshaller unmarshaller = context.createUnmarshaller();
                 ContextClassLoaderSwitcher.SwitchContext switchContext = switcher.getSwitchContext(context.getClassLoader());
                 try {
-                    unmarshaller.start(Marshalling.createByteInput(new ByteArrayInputStream(this.bytes)));
+                    unmarshaller.start(Marshalling.createByteInput(new ByteArrayInputStream(bytes)));
                     this.object = (T) unmarshaller.readObject();
                     unmarshaller.finish();
-                    this.bytes = null; // Free up memory
+                    context.getStatistics().deserialized(bytes.length);
+                    if (!this.retain(bytes)) {
+                        this.bytes = null; // Free up memory
+                    }
                 } finally {
                     switchContext.reset();
                     unmarshaller.close();
@@ -142,7 +164,7 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
         byte[] bytes = null;
         if (size > 0) {
             bytes = new byte[size];
-            in.read(bytes);
+            in.readFully(bytes);
         }
         this.bytes = bytes;
     }
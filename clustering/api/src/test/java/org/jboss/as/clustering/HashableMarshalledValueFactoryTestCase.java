@@ -38,4 +38,10 @@ public class HashableMarshalledValueFactoryTestCase extends SimpleMarshalledValu
     <T> void validateHashCode(T original, SimpleMarshalledValue<T> copy) {
         assertEquals(original.hashCode(), copy.hashCode());
     }
+
+    @Override
+    void validateForwarding(MarshallingStatistics statistics) {
+        // Serialized form was retained
+        assertEquals(1, statistics.getSerializationCount());
+    }
 }
@@ -135,6 +135,30 @@ public class SimpleMarshalledValueFactoryTestCase implements ClassLoaderProvider
     <T> void validateHashCode(T original, SimpleMarshalledValue<T> copy) {
         assertEquals(0, copy.hashCode());
     }
+
+    @Test
+    public void statistics() throws Exception {
+        MarshallingStatistics statistics = this.context.getStatistics();
+        statistics.reset();
+
+        GUID guid = new GUID();
+        SimpleMarshalledValue<GUID> copy = replicate(this.factory.createMarshalledValue(guid));
+        assertEquals(1, statistics.getSerializationCount());
+        assertEquals(0, statistics.getDeserializationCount());
+        assertTrue(statistics.getSerializedBytes() > 0);
+
+        assertEquals(guid, copy.get(this.context));
+        assertEquals(1, statistics.getDeserializationCount());
+        assertEquals(statistics.getSerializedBytes(), statistics.getDeserializedBytes());
+
+        // Forward the rehydrated value
+        replicate(copy);
+        this.validateForwarding(statistics);
+    }
+
+    void validateForwarding(MarshallingStatistics statistics) {
+        assertEquals(2, statistics.getSerializationCount());
+    }
     
     @SuppressWarnings("unchecked")
     <V> SimpleMarshalledValue<V> replicate(SimpleMarshalledValue<V> mv) throws IOException, ClassNotFoundException {
@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.clustering.jgroups;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of a transport thread pool, as observed by a {@link MeteredExecutorService}.
+ */
+public class ExecutorStatistics {
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong totalQueueTime = new AtomicLong();
+    private final AtomicLong totalProcessingTime = new AtomicLong();
+
+    void submitted() {
+        this.queueSize.incrementAndGet();
+    }
+
+    void rejected() {
+        this.queueSize.decrementAndGet();
+        this.rejectedCount.incrementAndGet();
+    }
+
+    void started(long queueTime) {
+        this.queueSize.decrementAndGet();
+        this.activeCount.incrementAndGet();
+        this.totalQueueTime.addAndGet(queueTime);
+    }
+
+    void completed(long processingTime) {
+        this.activeCount.decrementAndGet();
+        this.completedCount.incrementAndGet();
+        this.totalProcessingTime.addAndGet(processingTime);
+    }
+
+    /**
+     * Returns the number of tasks submitted, but not yet started.
+     */
+    public int getQueueSize() {
+        return this.queueSize.get();
+    }
+
+    /**
+     * Returns the number of tasks currently running.
+     */
+    public int getActiveCount() {
+        return this.activeCount.get();
+    }
+
+    public long getCompletedCount() {
+        return this.completedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return this.rejectedCount.get();
+    }
+
+    /**
+     * Returns the average time completed tasks spent waiting for a thread.
+     */
+    public long getAverageQueueTime(TimeUnit unit) {
+        return average(this.totalQueueTime.get(), unit);
+    }
+
+    /**
+     * Returns the average time spent running completed tasks, i.e. processing messages.
+     */
+    public long getAverageProcessingTime(TimeUnit unit) {
+        return average(this.totalProcessingTime.get(), unit);
+    }
+
+    private long average(long totalNanos, TimeUnit unit) {
+        long count = this.completedCount.get();
+        return (count > 0) ? unit.convert(totalNanos / count, TimeUnit.NANOSECONDS) : 0;
+    }
+}
@@ -63,6 +63,10 @@ public class JChannelFactory implements ChannelFactory, ChannelListener, Protoco
         this.configuration = configuration;
     }
 
+    public ProtocolStackConfiguration getProtocolStackConfiguration() {
+        return this.configuration;
+    }
+
     @Override
     public Channel createChannel(String id) throws Exception {
 
@@ -113,13 +117,13 @@ public class JChannelFactory implements ChannelFactory, ChannelListener, Protoco
         ExecutorService defaultExecutor = transportConfig.getDefaultExecutor();
         if (defaultExecutor != null) {
             if (!(transport.getDefaultThreadPool() instanceof ManagedExecutorService)) {
-                transport.setDefaultThreadPool(new ManagedExecutorService(defaultExecutor));
+                transport.setDefaultThreadPool(new MeteredExecutorService(defaultExecutor, transportConfig.getDefaultExecutorStatistics()));
             }
         }
         ExecutorService oobExecutor = transportConfig.getOOBExecutor();
         if (oobExecutor != null) {
             if (!(transport.getOOBThreadPool() instanceof ManagedExecutorService)) {
-                transport.setOOBThreadPool(new ManagedExecutorService(oobExecutor));
+                transport.setOOBThreadPool(new MeteredExecutorService(oobExecutor, transportConfig.getOOBExecutorStatistics()));
             }
         }
         ScheduledExecutorService timerExecutor = transportConfig.getTimerExecutor();
@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.clustering.jgroups;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.jboss.as.clustering.ManagedExecutorService;
+
+/**
+ * Managed executor service that records the queue size, rejections and processing time of the tasks passed to
+ * {@link #execute(Runnable)}, i.e. the messages dispatched by a JGroups transport.
+ */
+public class MeteredExecutorService extends ManagedExecutorService {
+    private final ExecutorStatistics statistics;
+
+    public MeteredExecutorService(Executor executor, ExecutorStatistics statistics) {
+        super(executor);
+        this.statistics = statistics;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
+     */
+    @Override
+    public void execute(final Runnable command) {
+        final ExecutorStatistics statistics = this.statistics;
+        final long submitted = System.nanoTime();
+        statistics.submitted();
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                long start = System.nanoTime();
+                statistics.started(start - submitted);
+                try {
+                    command.run();
+                } finally {
+                    statistics.completed(System.nanoTime() - start);
+                }
+            }
+        };
+        try {
+            super.execute(task);
+        } catch (RejectedExecutionException e) {
+            statistics.rejected();
+            throw e;
+        }
+    }
+
+    public ExecutorStatistics getStatistics() {
+        return this.statistics;
+    }
+}
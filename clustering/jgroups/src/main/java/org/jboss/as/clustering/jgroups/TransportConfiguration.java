@@ -41,6 +41,10 @@ public interface TransportConfiguration extends ProtocolConfiguration {
 
     ExecutorService getOOBExecutor();
 
+    ExecutorStatistics getDefaultExecutorStatistics();
+
+    ExecutorStatistics getOOBExecutorStatistics();
+
     ScheduledExecutorService getTimerExecutor();
 
     ThreadFactory getThreadFactory();
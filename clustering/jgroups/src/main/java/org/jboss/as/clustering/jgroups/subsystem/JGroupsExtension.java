@@ -86,6 +86,7 @@ public class JGroupsExtension implements Extension, DescriptionProvider, XMLElem
         ManagementResourceRegistration stacks = registration.registerSubModel(stacksPath, stackDescription);
         stacks.registerOperationHandler(ModelDescriptionConstants.ADD, stackAdd, stackAdd, false);
         stacks.registerOperationHandler(ModelDescriptionConstants.REMOVE, stackRemove, stackRemove, false);
+        ProtocolStackMetrics.register(stacks);
     }
 
     /**
@@ -67,7 +67,15 @@ public class LocalDescriptions {
 
     static ModelNode getProtocolStackDescription(Locale locale) {
         ResourceBundle resources = getResources(locale);
-        return createDescription(resources, "jgroups.stack");
+        ModelNode description = createDescription(resources, "jgroups.stack");
+        for (String executor : ProtocolStackMetrics.EXECUTORS) {
+            for (String metric : ProtocolStackMetrics.METRICS) {
+                String name = executor + "-" + metric;
+                description.get(ModelDescriptionConstants.ATTRIBUTES, name, ModelDescriptionConstants.TYPE).set(ModelType.LONG);
+                description.get(ModelDescriptionConstants.ATTRIBUTES, name, ModelDescriptionConstants.DESCRIPTION).set(String.format(resources.getString("jgroups.stack.executor." + metric), resources.getString("jgroups.stack." + executor)));
+            }
+        }
+        return description;
     }
 
     static ModelNode getProtocolStackAddDescription(Locale locale) {
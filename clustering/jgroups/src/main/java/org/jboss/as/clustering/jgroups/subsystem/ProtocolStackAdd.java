@@ -33,6 +33,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import javax.management.MBeanServer;
 import org.jboss.as.clustering.jgroups.ChannelFactory;
+import org.jboss.as.clustering.jgroups.ExecutorStatistics;
 import org.jboss.as.clustering.jgroups.JChannelFactory;
 import org.jboss.as.clustering.jgroups.ProtocolConfiguration;
 import org.jboss.as.clustering.jgroups.ProtocolDefaults;
@@ -201,6 +202,8 @@ public class ProtocolStackAdd extends AbstractAddStepHandler implements Descript
         private final InjectedValue<Executor> oobExecutor = new InjectedValue<Executor>();
         private final InjectedValue<ScheduledExecutorService> timerExecutor = new InjectedValue<ScheduledExecutorService>();
         private final InjectedValue<ThreadFactory> threadFactory = new InjectedValue<ThreadFactory>();
+        private final ExecutorStatistics defaultExecutorStatistics = new ExecutorStatistics();
+        private final ExecutorStatistics oobExecutorStatistics = new ExecutorStatistics();
         private boolean shared = true;
 
         Transport(String name) {
@@ -253,6 +256,16 @@ public class ProtocolStackAdd extends AbstractAddStepHandler implements Descript
             return (executor != null) ? JBossExecutors.protectedExecutorService(executor) : null;
         }
 
+        @Override
+        public ExecutorStatistics getDefaultExecutorStatistics() {
+            return this.defaultExecutorStatistics;
+        }
+
+        @Override
+        public ExecutorStatistics getOOBExecutorStatistics() {
+            return this.oobExecutorStatistics;
+        }
+
         @Override
         public ScheduledExecutorService getTimerExecutor() {
             return this.timerExecutor.getOptionalValue();
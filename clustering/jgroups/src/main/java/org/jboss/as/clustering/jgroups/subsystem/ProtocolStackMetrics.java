@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.clustering.jgroups.subsystem;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.clustering.jgroups.ExecutorStatistics;
+import org.jboss.as.clustering.jgroups.JChannelFactory;
+import org.jboss.as.clustering.jgroups.TransportConfiguration;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Runtime metrics of the thread pools of the transport of a protocol stack.
+ * Metrics are only available for pools that reference a threads subsystem executor.
+ */
+public class ProtocolStackMetrics {
+
+    static final String QUEUE_SIZE = "queue-size";
+    static final String ACTIVE_COUNT = "active-count";
+    static final String COMPLETED_COUNT = "completed-count";
+    static final String REJECTED_COUNT = "rejected-count";
+    static final String AVERAGE_QUEUE_TIME = "average-queue-time";
+    static final String AVERAGE_PROCESSING_TIME = "average-processing-time";
+
+    static final String[] EXECUTORS = { ModelKeys.DEFAULT_EXECUTOR, ModelKeys.OOB_EXECUTOR };
+    static final String[] METRICS = { QUEUE_SIZE, ACTIVE_COUNT, COMPLETED_COUNT, REJECTED_COUNT, AVERAGE_QUEUE_TIME, AVERAGE_PROCESSING_TIME };
+
+    static void register(ManagementResourceRegistration registration) {
+        for (String executor : EXECUTORS) {
+            for (String metric : METRICS) {
+                registration.registerMetric(executor + "-" + metric, new MetricHandler(executor, metric));
+            }
+        }
+    }
+
+    static class MetricHandler implements OperationStepHandler {
+        private final String executor;
+        private final String metric;
+
+        MetricHandler(String executor, String metric) {
+            this.executor = executor;
+            this.metric = metric;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String name = PathAddress.pathAddress(operation.require(ModelDescriptionConstants.OP_ADDR)).getLastElement().getValue();
+
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    ServiceController<?> controller = context.getServiceRegistry(false).getService(ChannelFactoryService.getServiceName(name));
+                    if ((controller != null) && (controller.getState() == ServiceController.State.UP)) {
+                        Object factory = controller.getValue();
+                        if (factory instanceof JChannelFactory) {
+                            TransportConfiguration transport = ((JChannelFactory) factory).getProtocolStackConfiguration().getTransport();
+                            ExecutorStatistics statistics = ModelKeys.OOB_EXECUTOR.equals(MetricHandler.this.executor) ? transport.getOOBExecutorStatistics() : transport.getDefaultExecutorStatistics();
+                            context.getResult().set(getValue(statistics));
+                        }
+                    }
+                    context.completeStep();
+                }
+            }, OperationContext.Stage.RUNTIME);
+            context.completeStep();
+        }
+
+        private long getValue(ExecutorStatistics statistics) {
+            if (QUEUE_SIZE.equals(this.metric)) {
+                return statistics.getQueueSize();
+            } else if (ACTIVE_COUNT.equals(this.metric)) {
+                return statistics.getActiveCount();
+            } else if (COMPLETED_COUNT.equals(this.metric)) {
+                return statistics.getCompletedCount();
+            } else if (REJECTED_COUNT.equals(this.metric)) {
+                return statistics.getRejectedCount();
+            } else if (AVERAGE_QUEUE_TIME.equals(this.metric)) {
+                return statistics.getAverageQueueTime(TimeUnit.MICROSECONDS);
+            }
+            return statistics.getAverageProcessingTime(TimeUnit.MICROSECONDS);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.clustering.jgroups;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class MeteredExecutorServiceTest {
+
+    @Test
+    public void execute() {
+        final Runnable[] queue = new Runnable[1];
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                queue[0] = command;
+            }
+        };
+        ExecutorStatistics statistics = new ExecutorStatistics();
+        MeteredExecutorService subject = new MeteredExecutorService(executor, statistics);
+
+        subject.execute(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+
+        assertEquals(1, statistics.getQueueSize());
+        assertEquals(0, statistics.getCompletedCount());
+
+        queue[0].run();
+
+        assertEquals(0, statistics.getQueueSize());
+        assertEquals(0, statistics.getActiveCount());
+        assertEquals(1, statistics.getCompletedCount());
+        assertTrue(statistics.getAverageProcessingTime(TimeUnit.NANOSECONDS) >= 0);
+    }
+
+    @Test
+    public void reject() {
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        };
+        ExecutorStatistics statistics = new ExecutorStatistics();
+        MeteredExecutorService subject = new MeteredExecutorService(executor, statistics);
+
+        try {
+            subject.execute(new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+            fail();
+        } catch (RejectedExecutionException e) {
+            // Expected
+        }
+
+        assertEquals(0, statistics.getQueueSize());
+        assertEquals(1, statistics.getRejectedCount());
+        assertEquals(0, statistics.getAverageQueueTime(TimeUnit.NANOSECONDS));
+    }
+}
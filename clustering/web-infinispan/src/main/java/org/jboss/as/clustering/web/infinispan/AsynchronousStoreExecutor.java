@@ -0,0 +1,193 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.clustering.web.infinispan;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Executes session cache stores off the request thread.
+ * <p>
+ * Stores are spread over a fixed number of single threaded lanes by session key, so that successive stores of the same
+ * session are applied in order while different sessions replicate concurrently. The number of stores submitted but not yet
+ * completed is bounded; once the bound is reached, callers block until earlier stores complete. The lane threads are
+ * created by the supplied thread factory.
+ * </p>
+ */
+public class AsynchronousStoreExecutor<K> {
+    private static final Logger log = Logger.getLogger(AsynchronousStoreExecutor.class);
+    private static final Runnable BARRIER = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private final ExecutorService[] lanes;
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final ConcurrentMap<K, AtomicInteger> pending = new ConcurrentHashMap<K, AtomicInteger>();
+
+    public AsynchronousStoreExecutor(int lanes, int maxInFlight, ThreadFactory threadFactory) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("Invalid number of store lanes: " + lanes);
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Invalid maximum number of pending stores: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+        this.lanes = new ExecutorService[lanes];
+        for (int i = 0; i < lanes; ++i) {
+            this.lanes[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+    }
+
+    /**
+     * Submits a store of the session with the specified key, blocking while the maximum number of stores are in flight.
+     *
+     * @param key a session key
+     * @param task the store
+     * @throws InterruptedException if interrupted while waiting for an earlier store to complete
+     */
+    public void execute(final K key, final Runnable task) throws InterruptedException {
+        this.permits.acquire();
+        final AtomicInteger count = this.increment(key);
+        Runnable store = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    log.warn(e.getMessage(), e);
+                } finally {
+                    if (count.decrementAndGet() == 0) {
+                        AsynchronousStoreExecutor.this.pending.remove(key, count);
+                    }
+                    AsynchronousStoreExecutor.this.permits.release();
+                }
+            }
+        };
+        try {
+            this.lane(key).execute(store);
+        } catch (RuntimeException e) {
+            if (count.decrementAndGet() == 0) {
+                this.pending.remove(key, count);
+            }
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for any stores of the session with the specified key submitted so far to complete. Returns immediately if there
+     * are none.
+     *
+     * @param key a session key
+     */
+    public void await(K key) {
+        if (this.pending.containsKey(key)) {
+            await(this.lane(key).submit(BARRIER));
+        }
+    }
+
+    /**
+     * Waits for all stores submitted so far to complete.
+     */
+    public void flush() {
+        Future<?>[] barriers = new Future<?>[this.lanes.length];
+        for (int i = 0; i < this.lanes.length; ++i) {
+            barriers[i] = this.lanes[i].submit(BARRIER);
+        }
+        for (Future<?> barrier : barriers) {
+            await(barrier);
+        }
+    }
+
+    /**
+     * Completes the stores submitted so far, then stops the lanes.
+     */
+    public void shutdown() {
+        for (ExecutorService lane : this.lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : this.lanes) {
+            try {
+                lane.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of stores submitted but not yet completed.
+     */
+    public int getInFlightCount() {
+        return this.maxInFlight - this.permits.availablePermits();
+    }
+
+    private AtomicInteger increment(K key) {
+        while (true) {
+            AtomicInteger count = this.pending.get(key);
+            if (count == null) {
+                count = new AtomicInteger(1);
+                if (this.pending.putIfAbsent(key, count) == null) {
+                    return count;
+                }
+            } else {
+                int current = count.get();
+                // A count that has dropped to 0 is about to be removed
+                if ((current > 0) && count.compareAndSet(current, current + 1)) {
+                    return count;
+                }
+                if (current == 0) {
+                    this.pending.remove(key, count);
+                }
+            }
+        }
+    }
+
+    private ExecutorService lane(K key) {
+        return this.lanes[(key.hashCode() & Integer.MAX_VALUE) % this.lanes.length];
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn(e.getMessage(), e);
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeoutException;
 
 import org.infinispan.AdvancedCache;
@@ -57,6 +58,8 @@ import org.jboss.as.clustering.web.OutgoingDistributableSessionData;
 import org.jboss.as.clustering.web.SessionOwnershipSupport;
 import org.jboss.as.clustering.web.impl.IncomingDistributableSessionDataImpl;
 import org.jboss.logging.Logger;
+import org.jboss.metadata.web.jboss.ReplicationConfig;
+import org.jboss.metadata.web.jboss.ReplicationMode;
 import org.jboss.msc.service.ServiceRegistry;
 
 /**
@@ -105,11 +108,17 @@ public class DistributedCacheManager<T extends OutgoingDistributableSessionData,
     private final boolean requiresPurge;
     private final JvmRouteHandler jvmRouteHandler;
     private final SessionKeyFactory<K> keyFactory;
+    private final boolean asynchronous;
+    private final int storeLanes;
+    private final int maxPendingStores;
+    private final ThreadFactory storeThreadFactory;
+    private volatile AsynchronousStoreExecutor<K> storeExecutor;
 
     public DistributedCacheManager(ServiceRegistry registry, LocalDistributableSessionManager manager,
             Cache<K, Map<Object, Object>> sessionCache, CacheSource jvmRouteCacheSource,
             SharedLocalYieldingClusterLockManager lockManager, SessionAttributeStorage<T> attributeStorage,
-            BatchingManager batchingManager, SessionKeyFactory<K> keyFactory, CacheInvoker invoker) {
+            BatchingManager batchingManager, SessionKeyFactory<K> keyFactory, CacheInvoker invoker,
+            int storeLanes, int maxPendingStores, ThreadFactory storeThreadFactory) {
         this.manager = manager;
         this.lockManager = lockManager;
         this.sessionCache = sessionCache;
@@ -117,6 +126,9 @@ public class DistributedCacheManager<T extends OutgoingDistributableSessionData,
         this.batchingManager = batchingManager;
         this.keyFactory = keyFactory;
         this.invoker = invoker;
+        this.storeLanes = storeLanes;
+        this.maxPendingStores = maxPendingStores;
+        this.storeThreadFactory = storeThreadFactory;
 
         Configuration configuration = this.sessionCache.getConfiguration();
 
@@ -129,6 +141,9 @@ public class DistributedCacheManager<T extends OutgoingDistributableSessionData,
         this.requiresPurge = false; // (loader != null) && (loader instanceof CacheStoreConfig) ? ((CacheStoreConfig) loader).isPurgeOnStartup() : false;
 
         this.jvmRouteHandler = configuration.getCacheMode().isDistributed() ? new JvmRouteHandler(registry, jvmRouteCacheSource, this.manager) : null;
+
+        ReplicationConfig replicationConfig = manager.getReplicationConfig();
+        this.asynchronous = (replicationConfig != null) && (replicationConfig.getReplicationMode() == ReplicationMode.ASYNCHRONOUS);
     }
 
     /**
@@ -141,6 +156,10 @@ public class DistributedCacheManager<T extends OutgoingDistributableSessionData,
         this.purge();
         this.sessionCache.addListener(this);
 
+        if (this.asynchronous) {
+            this.storeExecutor = new AsynchronousStoreExecutor<K>(this.storeLanes, this.maxPendingStores, this.storeThreadFactory);
+        }
+
         if (this.jvmRouteHandler != null) {
             EmbeddedCacheManager container = this.sessionCache.getCacheManager();
 
@@ -161,6 +180,11 @@ public class DistributedCacheManager<T extends OutgoingDistributableSessionData,
      */
     @Override
     public void stop() {
+        AsynchronousStoreExecutor<K> executor = this.storeExecutor;
+        if (executor != null) {
+            this.storeExecutor = null;
+            executor.shutdown();
+        }
         if (this.jvmRouteHandler != null) {
             this.sessionCache.getCacheManager().removeListener(this.jvmRouteHandler);
         }
@@ -217,6 +241,12 @@ public class DistributedCacheManager<T extends OutgoingDistributableSessionData,
 
         trace("storeSessionData(%s)", key.getSessionId());
 
+        AsynchronousStoreExecutor<K> executor = this.storeExecutor;
+        if (executor != null) {
+            this.storeSessionDataAsynchronously(executor, key, sessionData);
+            return;
+        }
+
         Operation<Void> operation = new Operation<Void>() {
             @Override
             public Void invoke(Cache<K, Map<Object, Object>> cache) {
@@ -237,6 +267,57 @@ public class DistributedCacheManager<T extends OutgoingDistributableSessionData,
         this.batch(operation);
     }
 
+    /**
+     * Records the changes to the cache entry of the session, including its marshalled attributes, on the calling thread, and
+     * applies them to the cache from a store lane. Stores of the same session are applied in order.
+     */
+    private void storeSessionDataAsynchronously(AsynchronousStoreExecutor<K> executor, final K key, T sessionData) {
+        final SessionMapMutations mutations = new SessionMapMutations();
+
+        SessionMapEntry.VERSION.put(mutations, Integer.valueOf(sessionData.getVersion()));
+        SessionMapEntry.METADATA.put(mutations, sessionData.getMetadata());
+        SessionMapEntry.TIMESTAMP.put(mutations, sessionData.getTimestamp());
+        try {
+            this.attributeStorage.store(mutations, sessionData);
+        } catch (IOException e) {
+            throw getRuntimeException("Failed to store session attributes for session: " + mask(key.getSessionId()), e);
+        }
+
+        final Operation<Void> operation = new Operation<Void>() {
+            @Override
+            public Void invoke(Cache<K, Map<Object, Object>> cache) {
+                Map<Object, Object> map = cache.putIfAbsent(key, null);
+
+                mutations.apply(map);
+                return null;
+            }
+        };
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                DistributedCacheManager.this.batch(operation);
+            }
+        };
+
+        try {
+            executor.execute(key, task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Fall back to storing on the calling thread
+            this.batch(operation);
+        }
+    }
+
+    /**
+     * Waits for pending asynchronous stores of the specified session, if any, to be applied to the cache.
+     */
+    private void awaitPendingStores(K key) {
+        AsynchronousStoreExecutor<K> executor = this.storeExecutor;
+        if (executor != null) {
+            executor.await(key);
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -265,6 +346,7 @@ public class DistributedCacheManager<T extends OutgoingDistributableSessionData,
 
     private IncomingDistributableSessionData getData(String sessionId, final boolean includeAttributes) {
         final K key = this.keyFactory.createKey(sessionId);
+        this.awaitPendingStores(key);
         Operation<IncomingDistributableSessionData> operation = new Operation<IncomingDistributableSessionData>() {
             @Override
             public IncomingDistributableSessionData invoke(Cache<K, Map<Object, Object>> cache) {
@@ -330,6 +412,7 @@ public class DistributedCacheManager<T extends OutgoingDistributableSessionData,
 
     private void removeSession(final String sessionId, final boolean local) {
         final K key = this.keyFactory.createKey(sessionId);
+        this.awaitPendingStores(key);
         Operation<Map<Object, Object>> operation = new Operation<Map<Object, Object>>() {
             @Override
             public Map<Object, Object> invoke(Cache<K, Map<Object, Object>> cache) {
@@ -368,6 +451,7 @@ public class DistributedCacheManager<T extends OutgoingDistributableSessionData,
     public void evictSession(String sessionId) {
         trace("evictSession(%s)", sessionId);
         final K key = this.keyFactory.createKey(sessionId);
+        this.awaitPendingStores(key);
         Operation<Void> operation = new Operation<Void>() {
             @Override
             public Void invoke(Cache<K, Map<Object, Object>> cache) {
@@ -427,6 +511,12 @@ public class DistributedCacheManager<T extends OutgoingDistributableSessionData,
      */
     @Override
     public void setForceSynchronous(boolean forceSynchronous) {
+        if (forceSynchronous) {
+            AsynchronousStoreExecutor<K> executor = this.storeExecutor;
+            if (executor != null) {
+                executor.flush();
+            }
+        }
         this.invoker.setForceSynchronous(forceSynchronous);
     }
 
@@ -22,9 +22,12 @@
 package org.jboss.as.clustering.web.infinispan;
 
 import java.io.IOException;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ThreadFactory;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.manager.CacheContainer;
@@ -44,6 +47,7 @@ import org.jboss.metadata.web.jboss.JBossWebMetaData;
 import org.jboss.metadata.web.jboss.ReplicationConfig;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceRegistry;
+import org.jboss.threads.JBossThreadFactory;
 
 /**
  * Factory for creating an Infinispan-backed distributed cache manager.
@@ -52,6 +56,11 @@ import org.jboss.msc.service.ServiceRegistry;
  */
 public class DistributedCacheManagerFactory implements org.jboss.as.clustering.web.DistributedCacheManagerFactory {
     public static final String DEFAULT_CACHE_CONTAINER = "web";
+    /** System property overriding the number of lanes applying asynchronous session stores, per web application */
+    public static final String STORE_LANES_PROPERTY = "jboss.web.clustered.session.store.lanes";
+    /** System property overriding the maximum number of asynchronous session stores not yet applied, per web application */
+    public static final String MAX_PENDING_STORES_PROPERTY = "jboss.web.clustered.session.store.max-pending";
+    static final int DEFAULT_MAX_PENDING_STORES = 1000;
 
     private ServiceNameProvider sessionCacheServiceNameProvider = new ServiceNameProvider() {
         @Override
@@ -77,6 +86,9 @@ public class DistributedCacheManagerFactory implements org.jboss.as.clustering.w
     private SessionAttributeStorageFactory storageFactory = new SessionAttributeStorageFactoryImpl();
     private CacheInvoker invoker = new RetryingCacheInvoker(10, 100);
     private SessionAttributeMarshallerFactory marshallerFactory = new SessionAttributeMarshallerFactoryImpl();
+    private Integer storeLanes;
+    private Integer maxPendingStores;
+    private ThreadFactory storeThreadFactory = new JBossThreadFactory(new ThreadGroup("web-session-store"), Boolean.FALSE, null, "%G - %t", null, null, AccessController.getContext());
 
     @Override
     public <T extends OutgoingDistributableSessionData> org.jboss.as.clustering.web.DistributedCacheManager<T> getDistributedCacheManager(ServiceRegistry registry, LocalDistributableSessionManager manager) throws ClusteringNotSupportedException {
@@ -86,9 +98,12 @@ public class DistributedCacheManagerFactory implements org.jboss.as.clustering.w
         }
         SharedLocalYieldingClusterLockManager lockManager = this.lockManagerSource.getLockManager(sessionCache);
         BatchingManager batchingManager = new TransactionBatchingManager(sessionCache.getTransactionManager());
+        // Read the system properties per web application, so that changes apply to subsequent deployments
+        int storeLanes = (this.storeLanes != null) ? this.storeLanes.intValue() : getIntegerProperty(STORE_LANES_PROPERTY, Runtime.getRuntime().availableProcessors());
+        int maxPendingStores = (this.maxPendingStores != null) ? this.maxPendingStores.intValue() : getIntegerProperty(MAX_PENDING_STORES_PROPERTY, DEFAULT_MAX_PENDING_STORES);
         SessionAttributeStorage<T> storage = this.storageFactory.createStorage(manager.getReplicationConfig().getReplicationGranularity(), this.marshallerFactory.createMarshaller(manager));
 
-        return new DistributedCacheManager<T, SessionKeyImpl>(registry, manager, new AtomicMapCache<SessionKeyImpl, Object, Object>(sessionCache), this.jvmRouteCacheSource, lockManager, storage, batchingManager, new SessionKeyFactoryImpl(manager), this.invoker);
+        return new DistributedCacheManager<T, SessionKeyImpl>(registry, manager, new AtomicMapCache<SessionKeyImpl, Object, Object>(sessionCache), this.jvmRouteCacheSource, lockManager, storage, batchingManager, new SessionKeyFactoryImpl(manager), this.invoker, storeLanes, maxPendingStores, this.storeThreadFactory);
     }
 
     @Override
@@ -124,6 +139,27 @@ public class DistributedCacheManagerFactory implements org.jboss.as.clustering.w
         this.invoker = invoker;
     }
 
+    public void setStoreLanes(int lanes) {
+        this.storeLanes = Integer.valueOf(lanes);
+    }
+
+    public void setMaxPendingStores(int maxPendingStores) {
+        this.maxPendingStores = Integer.valueOf(maxPendingStores);
+    }
+
+    public void setStoreThreadFactory(ThreadFactory threadFactory) {
+        this.storeThreadFactory = threadFactory;
+    }
+
+    private static int getIntegerProperty(final String name, final int defaultValue) {
+        return AccessController.doPrivileged(new PrivilegedAction<Integer>() {
+            @Override
+            public Integer run() {
+                return Integer.getInteger(name, defaultValue);
+            }
+        }).intValue();
+    }
+
     private static class SessionKeyFactoryImpl implements SessionKeyFactory<SessionKeyImpl> {
         private final LocalDistributableSessionManager manager;
 
@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.clustering.web.infinispan;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records the changes a session store makes to the cache entry of a session, so that they can be replayed against the cache
+ * entry later, and from another thread. Session attributes are marshalled while recording, i.e. on the request thread.
+ */
+public class SessionMapMutations extends HashMap<Object, Object> {
+    private static final long serialVersionUID = -2376624870416046316L;
+
+    private static final Object REMOVED = new Object();
+
+    @Override
+    public Object remove(Object key) {
+        Object value = super.put(key, REMOVED);
+        return (value != REMOVED) ? value : null;
+    }
+
+    /**
+     * Replays the recorded changes against the specified session cache entry.
+     *
+     * @param map a session cache entry
+     */
+    public void apply(Map<Object, Object> map) {
+        for (Map.Entry<Object, Object> entry : this.entrySet()) {
+            Object value = entry.getValue();
+            if (value == REMOVED) {
+                map.remove(entry.getKey());
+            } else {
+                map.put(entry.getKey(), value);
+            }
+        }
+    }
+}
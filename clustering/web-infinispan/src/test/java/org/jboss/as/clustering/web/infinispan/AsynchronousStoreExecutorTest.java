@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.clustering.web.infinispan;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class AsynchronousStoreExecutorTest {
+    @Test
+    public void ordering() throws InterruptedException {
+        AsynchronousStoreExecutor<String> executor = new AsynchronousStoreExecutor<String>(4, 10, Executors.defaultThreadFactory());
+        final List<Integer> applied = new CopyOnWriteArrayList<Integer>();
+        try {
+            for (int i = 0; i < 100; ++i) {
+                final int value = i;
+                executor.execute("session", new Runnable() {
+                    @Override
+                    public void run() {
+                        applied.add(value);
+                    }
+                });
+            }
+            executor.await("session");
+            assertEquals(100, applied.size());
+            for (int i = 0; i < 100; ++i) {
+                assertEquals(i, applied.get(i).intValue());
+            }
+            assertEquals(0, executor.getInFlightCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void flush() throws InterruptedException {
+        AsynchronousStoreExecutor<String> executor = new AsynchronousStoreExecutor<String>(2, 10, Executors.defaultThreadFactory());
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<String> applied = new CopyOnWriteArrayList<String>();
+        try {
+            executor.execute("a", new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    applied.add("a");
+                }
+            });
+            assertEquals(1, executor.getInFlightCount());
+            assertTrue(applied.isEmpty());
+            latch.countDown();
+            executor.flush();
+            assertEquals(1, applied.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void threadFactory() throws InterruptedException {
+        final AtomicInteger threads = new AtomicInteger();
+        final List<String> names = new CopyOnWriteArrayList<String>();
+        ThreadFactory factory = new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                return new Thread(task, "store-" + threads.incrementAndGet());
+            }
+        };
+        AsynchronousStoreExecutor<String> executor = new AsynchronousStoreExecutor<String>(3, 10, factory);
+        try {
+            for (String key : new String[] { "a", "b", "c", "d" }) {
+                executor.execute(key, new Runnable() {
+                    @Override
+                    public void run() {
+                        names.add(Thread.currentThread().getName());
+                    }
+                });
+            }
+            executor.flush();
+            assertEquals(4, names.size());
+            for (String name : names) {
+                assertTrue(name, name.startsWith("store-"));
+            }
+            assertTrue(threads.get() <= 3);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noPendingStores() {
+        new AsynchronousStoreExecutor<String>(2, 0, Executors.defaultThreadFactory());
+    }
+
+    @Test
+    public void mutations() {
+        Map<Object, Object> map = new HashMap<Object, Object>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        SessionMapMutations mutations = new SessionMapMutations();
+        mutations.put("c", 3);
+        mutations.remove("a");
+        mutations.put("b", 4);
+        mutations.apply(map);
+
+        assertFalse(map.containsKey("a"));
+        assertEquals(4, map.get("b"));
+        assertEquals(3, map.get("c"));
+    }
+}
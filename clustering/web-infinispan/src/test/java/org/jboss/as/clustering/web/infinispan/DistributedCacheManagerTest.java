@@ -30,6 +30,7 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.Cache;
@@ -87,7 +88,7 @@ public class DistributedCacheManagerTest {
 
         when(this.sessionCache.getConfiguration()).thenReturn(configuration);
 
-        this.manager = new DistributedCacheManager<OutgoingDistributableSessionData, SessionKey>(this.registry, this.sessionManager, this.sessionCache, this.jvmRouteCacheSource, this.lockManager, this.storage, this.batchingManager, this.keyFactory, this.invoker);
+        this.manager = new DistributedCacheManager<OutgoingDistributableSessionData, SessionKey>(this.registry, this.sessionManager, this.sessionCache, this.jvmRouteCacheSource, this.lockManager, this.storage, this.batchingManager, this.keyFactory, this.invoker, 2, 10, Executors.defaultThreadFactory());
 
         reset(this.sessionCache);
     }
@@ -21,6 +21,7 @@
  */
 package org.jboss.as.clustering.web;
 
+import org.jboss.as.clustering.MarshallingStatistics;
 import org.jboss.metadata.web.jboss.ReplicationConfig;
 
 /**
@@ -91,4 +92,10 @@ public interface LocalDistributableSessionManager {
      * @return a jvm route
      */
     String getJvmRoute();
+
+    /**
+     * Returns the statistics that the marshalling of this manager's session attributes is recorded in.
+     * @return the marshalling statistics of the web application. Will not return <code>null</code>
+     */
+    MarshallingStatistics getMarshallingStatistics();
 }
\ No newline at end of file
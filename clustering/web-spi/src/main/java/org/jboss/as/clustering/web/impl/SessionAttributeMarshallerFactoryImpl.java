@@ -57,7 +57,7 @@ public class SessionAttributeMarshallerFactoryImpl implements SessionAttributeMa
         MarshallingConfiguration configuration = new MarshallingConfiguration();
         ApplicationClassResolver resolver = new ApplicationClassResolver(manager);
         configuration.setClassResolver(resolver);
-        return new SessionAttributeMarshallerImpl(new MarshallingContext(this.factory, configuration, resolver));
+        return new SessionAttributeMarshallerImpl(new MarshallingContext(this.factory, configuration, resolver, manager.getMarshallingStatistics()));
     }
 
     private static class ApplicationClassResolver extends AbstractClassResolver implements ClassLoaderProvider {
@@ -24,6 +24,7 @@ package org.jboss.as.clustering.web.impl;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import org.jboss.as.clustering.MarshallingStatistics;
 import org.jboss.as.clustering.web.LocalDistributableSessionManager;
 import org.jboss.as.clustering.web.SessionAttributeMarshaller;
 import org.jboss.as.clustering.web.SessionAttributeMarshallerFactory;
@@ -42,6 +43,7 @@ public class SessionAttributeMarshallerFactoryTest {
         SessionAttributeMarshallerFactory factory = new SessionAttributeMarshallerFactoryImpl(marshallerFactory);
 
         when(manager.getApplicationClassLoader()).thenReturn(Thread.currentThread().getContextClassLoader());
+        when(manager.getMarshallingStatistics()).thenReturn(new MarshallingStatistics());
 
         SessionAttributeMarshaller marshaller = factory.createMarshaller(manager);
 
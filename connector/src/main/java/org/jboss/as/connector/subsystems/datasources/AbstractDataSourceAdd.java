@@ -69,6 +69,7 @@ public abstract class AbstractDataSourceAdd extends AbstractAddStepHandler {
         boolean enabled = !operation.hasDefined(ENABLED) || operation.get(ENABLED).asBoolean();
 
         AbstractDataSourceService dataSourceService = createDataSourceService(jndiName);
+        StatementStatisticsOperations.applyAttributes(dataSourceService, operation);
 
         final ServiceName dataSourceServiceName = AbstractDataSourceService.SERVICE_NAME_BASE.append(jndiName);
         final ServiceBuilder<?> dataSourceServiceBuilder = serviceTarget
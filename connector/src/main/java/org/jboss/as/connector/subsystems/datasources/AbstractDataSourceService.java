@@ -94,6 +94,10 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
 
     private javax.sql.DataSource sqlDataSource;
 
+    private final DataSourceStatistics statistics = new DataSourceStatistics();
+
+    private final StatementStatistics statementStatistics = new StatementStatistics();
+
     protected AbstractDataSourceService(final String jndiName) {
         this.jndiName = jndiName;
     }
@@ -106,7 +110,8 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
             if (deploymentMD.getCfs().length != 1) {
                 throw new StartException("unable to start the ds because it generate more than one cf");
             }
-            sqlDataSource = (javax.sql.DataSource) deploymentMD.getCfs()[0];
+            sqlDataSource = new MeteredDataSource((javax.sql.DataSource) deploymentMD.getCfs()[0], statistics,
+                    statementStatistics);
             log.debugf("Adding datasource: %s", deploymentMD.getCfJndiNames()[0]);
         } catch (Throwable t) {
             throw new StartException("Error during the deployment of " + jndiName, t);
@@ -124,6 +129,20 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         return sqlDataSource;
     }
 
+    /**
+     * Returns the connection usage statistics of the data-source.
+     */
+    public DataSourceStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns the statement metadata cache and statement timings of the data-source.
+     */
+    public StatementStatistics getStatementStatistics() {
+        return statementStatistics;
+    }
+
     public Injector<TransactionIntegration> getTransactionIntegrationInjector() {
         return transactionIntegrationValue;
     }
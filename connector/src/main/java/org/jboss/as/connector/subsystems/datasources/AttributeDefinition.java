@@ -73,7 +73,11 @@ public enum AttributeDefinition {
             ModelType.STRING, false), RECOVERY_SECURITY_DOMAIN(Constants.RECOVERY_SECURITY_DOMAIN, ModelType.STRING, false), RECOVERLUGIN_CLASSNAME(
             Constants.RECOVERLUGIN_CLASSNAME, ModelType.STRING, false), RECOVERLUGIN_PROPERTIES(
             Constants.RECOVERLUGIN_PROPERTIES, ModelType.OBJECT, false), NO_RECOVERY(Constants.NO_RECOVERY, ModelType.BOOLEAN,
-            false), XADATASOURCE_PROPERTIES(Constants.XADATASOURCEPROPERTIES, ModelType.OBJECT, true);
+            false), XADATASOURCE_PROPERTIES(Constants.XADATASOURCEPROPERTIES, ModelType.OBJECT, true), CONNECTION_STATISTICS_ENABLED(
+            Constants.CONNECTION_STATISTICS_ENABLED, ModelType.BOOLEAN, false), STATEMENT_METADATA_CACHE_SIZE(
+            Constants.STATEMENT_METADATA_CACHE_SIZE, ModelType.INT, false), STATEMENT_TIMING_ENABLED(
+            Constants.STATEMENT_TIMING_ENABLED, ModelType.BOOLEAN, false), MAX_TRACKED_STATEMENTS(
+            Constants.MAX_TRACKED_STATEMENTS, ModelType.INT, false);
 
     private final String propertyName;
     private final ModelType modelType;
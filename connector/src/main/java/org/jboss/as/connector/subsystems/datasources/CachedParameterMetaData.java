@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.sql.ParameterMetaData;
+import java.sql.SQLException;
+
+/**
+ * An immutable copy of the {@link ParameterMetaData} of a prepared statement, detached from the connection it was
+ * read from so that it can be handed to statements of any connection of the pool.
+ */
+final class CachedParameterMetaData implements ParameterMetaData {
+
+    private final int[] nullable;
+    private final boolean[] signed;
+    private final int[] precision;
+    private final int[] scale;
+    private final int[] parameterType;
+    private final String[] parameterTypeName;
+    private final String[] parameterClassName;
+    private final int[] parameterMode;
+
+    /**
+     * Copy the metadata.
+     *
+     * @param metaData the driver's metadata
+     * @throws SQLException if the driver fails to describe a parameter
+     */
+    CachedParameterMetaData(final ParameterMetaData metaData) throws SQLException {
+        final int count = metaData.getParameterCount();
+        nullable = new int[count];
+        signed = new boolean[count];
+        precision = new int[count];
+        scale = new int[count];
+        parameterType = new int[count];
+        parameterTypeName = new String[count];
+        parameterClassName = new String[count];
+        parameterMode = new int[count];
+        for (int i = 0; i < count; i++) {
+            final int param = i + 1;
+            nullable[i] = metaData.isNullable(param);
+            signed[i] = metaData.isSigned(param);
+            precision[i] = metaData.getPrecision(param);
+            scale[i] = metaData.getScale(param);
+            parameterType[i] = metaData.getParameterType(param);
+            parameterTypeName[i] = metaData.getParameterTypeName(param);
+            parameterClassName[i] = metaData.getParameterClassName(param);
+            parameterMode[i] = metaData.getParameterMode(param);
+        }
+    }
+
+    private int index(final int param) throws SQLException {
+        if (param < 1 || param > parameterMode.length) {
+            throw new SQLException("Invalid parameter index " + param);
+        }
+        return param - 1;
+    }
+
+    public int getParameterCount() {
+        return parameterMode.length;
+    }
+
+    public int isNullable(final int param) throws SQLException {
+        return nullable[index(param)];
+    }
+
+    public boolean isSigned(final int param) throws SQLException {
+        return signed[index(param)];
+    }
+
+    public int getPrecision(final int param) throws SQLException {
+        return precision[index(param)];
+    }
+
+    public int getScale(final int param) throws SQLException {
+        return scale[index(param)];
+    }
+
+    public int getParameterType(final int param) throws SQLException {
+        return parameterType[index(param)];
+    }
+
+    public String getParameterTypeName(final int param) throws SQLException {
+        return parameterTypeName[index(param)];
+    }
+
+    public String getParameterClassName(final int param) throws SQLException {
+        return parameterClassName[index(param)];
+    }
+
+    public int getParameterMode(final int param) throws SQLException {
+        return parameterMode[index(param)];
+    }
+
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    public boolean isWrapperFor(final Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
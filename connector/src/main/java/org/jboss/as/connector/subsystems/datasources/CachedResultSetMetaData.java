@@ -0,0 +1,208 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * An immutable copy of the {@link ResultSetMetaData} of a prepared statement, detached from the connection it was
+ * read from so that it can be handed to statements of any connection of the pool.
+ */
+final class CachedResultSetMetaData implements ResultSetMetaData {
+
+    private final boolean[] autoIncrement;
+    private final boolean[] caseSensitive;
+    private final boolean[] searchable;
+    private final boolean[] currency;
+    private final int[] nullable;
+    private final boolean[] signed;
+    private final int[] columnDisplaySize;
+    private final String[] columnLabel;
+    private final String[] columnName;
+    private final String[] schemaName;
+    private final int[] precision;
+    private final int[] scale;
+    private final String[] tableName;
+    private final String[] catalogName;
+    private final int[] columnType;
+    private final String[] columnTypeName;
+    private final boolean[] readOnly;
+    private final boolean[] writable;
+    private final boolean[] definitelyWritable;
+    private final String[] columnClassName;
+
+    /**
+     * Copy the metadata.
+     *
+     * @param metaData the driver's metadata
+     * @throws SQLException if the driver fails to describe a column
+     */
+    CachedResultSetMetaData(final ResultSetMetaData metaData) throws SQLException {
+        final int count = metaData.getColumnCount();
+        autoIncrement = new boolean[count];
+        caseSensitive = new boolean[count];
+        searchable = new boolean[count];
+        currency = new boolean[count];
+        nullable = new int[count];
+        signed = new boolean[count];
+        columnDisplaySize = new int[count];
+        columnLabel = new String[count];
+        columnName = new String[count];
+        schemaName = new String[count];
+        precision = new int[count];
+        scale = new int[count];
+        tableName = new String[count];
+        catalogName = new String[count];
+        columnType = new int[count];
+        columnTypeName = new String[count];
+        readOnly = new boolean[count];
+        writable = new boolean[count];
+        definitelyWritable = new boolean[count];
+        columnClassName = new String[count];
+        for (int i = 0; i < count; i++) {
+            final int column = i + 1;
+            autoIncrement[i] = metaData.isAutoIncrement(column);
+            caseSensitive[i] = metaData.isCaseSensitive(column);
+            searchable[i] = metaData.isSearchable(column);
+            currency[i] = metaData.isCurrency(column);
+            nullable[i] = metaData.isNullable(column);
+            signed[i] = metaData.isSigned(column);
+            columnDisplaySize[i] = metaData.getColumnDisplaySize(column);
+            columnLabel[i] = metaData.getColumnLabel(column);
+            columnName[i] = metaData.getColumnName(column);
+            schemaName[i] = metaData.getSchemaName(column);
+            precision[i] = metaData.getPrecision(column);
+            scale[i] = metaData.getScale(column);
+            tableName[i] = metaData.getTableName(column);
+            catalogName[i] = metaData.getCatalogName(column);
+            columnType[i] = metaData.getColumnType(column);
+            columnTypeName[i] = metaData.getColumnTypeName(column);
+            readOnly[i] = metaData.isReadOnly(column);
+            writable[i] = metaData.isWritable(column);
+            definitelyWritable[i] = metaData.isDefinitelyWritable(column);
+            columnClassName[i] = metaData.getColumnClassName(column);
+        }
+    }
+
+    private int index(final int column) throws SQLException {
+        if (column < 1 || column > columnName.length) {
+            throw new SQLException("Invalid column index " + column);
+        }
+        return column - 1;
+    }
+
+    public int getColumnCount() {
+        return columnName.length;
+    }
+
+    public boolean isAutoIncrement(final int column) throws SQLException {
+        return autoIncrement[index(column)];
+    }
+
+    public boolean isCaseSensitive(final int column) throws SQLException {
+        return caseSensitive[index(column)];
+    }
+
+    public boolean isSearchable(final int column) throws SQLException {
+        return searchable[index(column)];
+    }
+
+    public boolean isCurrency(final int column) throws SQLException {
+        return currency[index(column)];
+    }
+
+    public int isNullable(final int column) throws SQLException {
+        return nullable[index(column)];
+    }
+
+    public boolean isSigned(final int column) throws SQLException {
+        return signed[index(column)];
+    }
+
+    public int getColumnDisplaySize(final int column) throws SQLException {
+        return columnDisplaySize[index(column)];
+    }
+
+    public String getColumnLabel(final int column) throws SQLException {
+        return columnLabel[index(column)];
+    }
+
+    public String getColumnName(final int column) throws SQLException {
+        return columnName[index(column)];
+    }
+
+    public String getSchemaName(final int column) throws SQLException {
+        return schemaName[index(column)];
+    }
+
+    public int getPrecision(final int column) throws SQLException {
+        return precision[index(column)];
+    }
+
+    public int getScale(final int column) throws SQLException {
+        return scale[index(column)];
+    }
+
+    public String getTableName(final int column) throws SQLException {
+        return tableName[index(column)];
+    }
+
+    public String getCatalogName(final int column) throws SQLException {
+        return catalogName[index(column)];
+    }
+
+    public int getColumnType(final int column) throws SQLException {
+        return columnType[index(column)];
+    }
+
+    public String getColumnTypeName(final int column) throws SQLException {
+        return columnTypeName[index(column)];
+    }
+
+    public boolean isReadOnly(final int column) throws SQLException {
+        return readOnly[index(column)];
+    }
+
+    public boolean isWritable(final int column) throws SQLException {
+        return writable[index(column)];
+    }
+
+    public boolean isDefinitelyWritable(final int column) throws SQLException {
+        return definitelyWritable[index(column)];
+    }
+
+    public String getColumnClassName(final int column) throws SQLException {
+        return columnClassName[index(column)];
+    }
+
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    public boolean isWrapperFor(final Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
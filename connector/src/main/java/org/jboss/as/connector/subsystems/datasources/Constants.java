@@ -181,4 +181,70 @@ class Constants {
 
     static final String JDBC_COMPLIANT = "jdbc-compliant";
 
+    static final String READ_POOL_STATISTICS = "read-pool-statistics";
+
+    static final String MAX_HELD_CONNECTIONS = "max-held-connections";
+
+    static final String INCLUDE_STACK_TRACES = "include-stack-traces";
+
+    static final String POOL_STATISTICS = "pool";
+
+    static final String JDBC_STATISTICS = "jdbc";
+
+    static final String ACQUISITION_WAIT_TIME = "acquisition-wait-time";
+
+    static final String HOLD_TIME = "hold-time";
+
+    static final String ACQUISITION_FAILURE_COUNT = "acquisition-failure-count";
+
+    static final String IN_USE_COUNT = "in-use-count";
+
+    static final String IN_USE_BY_DEPLOYMENT = "in-use-by-deployment";
+
+    static final String LONGEST_HELD_CONNECTIONS = "longest-held-connections";
+
+    static final String THREAD = "thread";
+
+    static final String ACQUIRED = "acquired";
+
+    static final String HELD_TIME = "held-time";
+
+    static final String STACK_TRACE = "stack-trace";
+
+    static final String CONNECTION_STATISTICS_ENABLED = "connection-statistics-enabled";
+
+    static final String STATEMENT_METADATA_CACHE_SIZE = "statement-metadata-cache-size";
+
+    static final String STATEMENT_TIMING_ENABLED = "statement-timing-enabled";
+
+    static final String MAX_TRACKED_STATEMENTS = "max-tracked-statements";
+
+    static final String READ_STATEMENT_STATISTICS = "read-statement-statistics";
+
+    static final String MAX_STATEMENTS = "max-statements";
+
+    static final String CLEAR = "clear";
+
+    static final String STATEMENT_METADATA_CACHE = "statement-metadata-cache";
+
+    static final String SIZE = "size";
+
+    static final String HIT_COUNT = "hit-count";
+
+    static final String MISS_COUNT = "miss-count";
+
+    static final String UNTRACKED_EXECUTION_COUNT = "untracked-execution-count";
+
+    static final String STATEMENTS = "statements";
+
+    static final String SQL = "sql";
+
+    static final String EXECUTE_COUNT = "execute-count";
+
+    static final String TOTAL_TIME = "total-time";
+
+    static final String AVERAGE_TIME = "average-time";
+
+    static final String MAX_TIME = "max-time";
+
 }
@@ -0,0 +1,238 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.server.moduleservice.ServiceModuleLoader;
+import org.jboss.as.threads.LatencyHistogram;
+import org.jboss.modules.ModuleClassLoader;
+
+/**
+ * Connection usage statistics for a data-source, gathered by a {@link MeteredDataSource}.
+ * <p>
+ * While enabled, records how long callers waited for the pool to hand out a connection and how long they held it, and
+ * keeps a {@link Lease} for every connection handed out and not yet closed, so that in-use connections can be attributed
+ * to deployments and long-held connections can be found along with where they were obtained.  Leases only weakly
+ * reference the connection, so a connection the application dropped without closing it does not stay in use forever.
+ * </p>
+ * <p>
+ * Tracking connections costs a proxy, a lease and a stack trace capture for every connection handed out, so it is
+ * disabled by default.  Connections obtained while it was disabled are not counted.
+ * </p>
+ */
+public final class DataSourceStatistics {
+
+    private final LatencyHistogram acquisitionWaitTime = new LatencyHistogram();
+    private final LatencyHistogram holdTime = new LatencyHistogram();
+    private final AtomicLong acquisitionFailureCount = new AtomicLong();
+    private final Set<Lease> leases = Collections.newSetFromMap(new ConcurrentHashMap<Lease, Boolean>());
+    private final ReferenceQueue<Connection> collected = new ReferenceQueue<Connection>();
+    private volatile boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public LatencyHistogram getAcquisitionWaitTime() {
+        return acquisitionWaitTime;
+    }
+
+    public LatencyHistogram getHoldTime() {
+        return holdTime;
+    }
+
+    public long getAcquisitionFailureCount() {
+        return acquisitionFailureCount.get();
+    }
+
+    /**
+     * Returns the number of connections handed out and not yet closed.
+     */
+    public int getInUseCount() {
+        expireCollectedLeases();
+        return leases.size();
+    }
+
+    /**
+     * Returns the number of connections in use, keyed by the name of the deployment which obtained them.  Connections
+     * obtained outside of a deployment are keyed by {@code null}.
+     */
+    public Map<String, Integer> getInUseCountByDeployment() {
+        expireCollectedLeases();
+        final Map<String, Integer> result = new HashMap<String, Integer>();
+        for (Lease lease : leases) {
+            final Integer count = result.get(lease.deployment);
+            result.put(lease.deployment, Integer.valueOf(count == null ? 1 : count.intValue() + 1));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the connections which have been in use the longest, longest first.
+     *
+     * @param max the maximum number of connections to return
+     */
+    public List<Lease> getLongestHeld(final int max) {
+        expireCollectedLeases();
+        final List<Lease> result = new ArrayList<Lease>(leases);
+        Collections.sort(result, new Comparator<Lease>() {
+            public int compare(final Lease lease1, final Lease lease2) {
+                return lease1.acquired < lease2.acquired ? -1 : (lease1.acquired == lease2.acquired ? 0 : 1);
+            }
+        });
+        return result.size() > max ? new ArrayList<Lease>(result.subList(0, max)) : result;
+    }
+
+    void acquisitionFailed() {
+        acquisitionFailureCount.incrementAndGet();
+    }
+
+    /**
+     * Called once the pool has handed out a connection.
+     *
+     * @param connection the connection handed out, as seen by the application
+     * @param waitNanos the time the caller waited for the connection
+     * @return the lease to pass to {@link #connectionReleased(Lease)} once the connection is closed
+     */
+    Lease connectionAcquired(final Connection connection, final long waitNanos) {
+        expireCollectedLeases();
+        acquisitionWaitTime.record(waitNanos);
+        final Lease lease = new Lease(connection, collected, currentDeployment());
+        leases.add(lease);
+        return lease;
+    }
+
+    void connectionReleased(final Lease lease) {
+        if (leases.remove(lease)) {
+            holdTime.record(System.nanoTime() - lease.acquired);
+        }
+    }
+
+    /**
+     * Forgets leases whose connection was closed without going through the data-source wrapper, for instance by the
+     * container at the end of a transaction.  No hold time is recorded for these, as the close time is not known.
+     */
+    void expireClosedLeases() {
+        expireCollectedLeases();
+        for (Lease lease : leases) {
+            final Connection connection = lease.get();
+            boolean closed;
+            try {
+                closed = connection == null || connection.isClosed();
+            } catch (SQLException e) {
+                closed = true;
+            }
+            if (closed) {
+                leases.remove(lease);
+            }
+        }
+    }
+
+    /**
+     * Forgets leases whose connection was garbage collected without being closed.  No hold time is recorded for these.
+     */
+    private void expireCollectedLeases() {
+        Object lease;
+        while ((lease = collected.poll()) != null) {
+            leases.remove(lease);
+        }
+    }
+
+    private static String currentDeployment() {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader instanceof ModuleClassLoader) {
+            final String name = ((ModuleClassLoader) classLoader).getModule().getIdentifier().getName();
+            if (name.startsWith(ServiceModuleLoader.MODULE_PREFIX)) {
+                return name.substring(ServiceModuleLoader.MODULE_PREFIX.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A connection handed out by the data-source and not yet closed.
+     */
+    public static final class Lease extends WeakReference<Connection> {
+        private final String deployment;
+        private final String threadName = Thread.currentThread().getName();
+        // Only resolved into stack trace elements when the stack is asked for
+        private final Throwable acquisition = new Throwable();
+        private final long acquired = System.nanoTime();
+        private final long acquiredTimestamp = System.currentTimeMillis();
+
+        Lease(final Connection connection, final ReferenceQueue<Connection> queue, final String deployment) {
+            super(connection, queue);
+            this.deployment = deployment;
+        }
+
+        /**
+         * Returns the name of the deployment which obtained the connection, or {@code null} if it was not obtained by a
+         * deployment.
+         */
+        public String getDeployment() {
+            return deployment;
+        }
+
+        /**
+         * Returns the name of the thread which obtained the connection.
+         */
+        public String getThreadName() {
+            return threadName;
+        }
+
+        /**
+         * Returns the stack of the thread which obtained the connection, at the time it did so.
+         */
+        public StackTraceElement[] getAcquisitionStackTrace() {
+            return acquisition.getStackTrace();
+        }
+
+        /**
+         * Returns the time the connection was obtained, in milliseconds since the epoch.
+         */
+        public long getAcquiredTimestamp() {
+            return acquiredTimestamp;
+        }
+
+        public long getHeldTime(final TimeUnit unit) {
+            return unit.convert(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+        }
+    }
+}
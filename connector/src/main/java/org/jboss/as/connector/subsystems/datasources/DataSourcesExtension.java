@@ -37,6 +37,7 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.ALLOCATION
 import static org.jboss.as.connector.subsystems.datasources.Constants.ALLOCATION_RETRY_WAIT_MILLIS;
 import static org.jboss.as.connector.subsystems.datasources.Constants.CHECKVALIDCONNECTIONSQL;
 import static org.jboss.as.connector.subsystems.datasources.Constants.CONNECTION_PROPERTIES;
+import static org.jboss.as.connector.subsystems.datasources.Constants.CONNECTION_STATISTICS_ENABLED;
 import static org.jboss.as.connector.subsystems.datasources.Constants.CONNECTION_URL;
 import static org.jboss.as.connector.subsystems.datasources.Constants.DATASOURCES;
 import static org.jboss.as.connector.subsystems.datasources.Constants.DATASOURCE_CLASS;
@@ -66,6 +67,8 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.PASSWORD;
 import static org.jboss.as.connector.subsystems.datasources.Constants.POOLNAME;
 import static org.jboss.as.connector.subsystems.datasources.Constants.PREPAREDSTATEMENTSCACHESIZE;
 import static org.jboss.as.connector.subsystems.datasources.Constants.QUERYTIMEOUT;
+import static org.jboss.as.connector.subsystems.datasources.Constants.READ_POOL_STATISTICS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.READ_STATEMENT_STATISTICS;
 import static org.jboss.as.connector.subsystems.datasources.Constants.REAUTHPLUGIN_CLASSNAME;
 import static org.jboss.as.connector.subsystems.datasources.Constants.REAUTHPLUGIN_PROPERTIES;
 import static org.jboss.as.connector.subsystems.datasources.Constants.RECOVERLUGIN_CLASSNAME;
@@ -80,6 +83,7 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.SHAREPREPA
 import static org.jboss.as.connector.subsystems.datasources.Constants.SPY;
 import static org.jboss.as.connector.subsystems.datasources.Constants.STALECONNECTIONCHECKERCLASSNAME;
 import static org.jboss.as.connector.subsystems.datasources.Constants.STALECONNECTIONCHECKER_PROPERTIES;
+import static org.jboss.as.connector.subsystems.datasources.Constants.STATEMENT_TIMING_ENABLED;
 import static org.jboss.as.connector.subsystems.datasources.Constants.TRACKSTATEMENTS;
 import static org.jboss.as.connector.subsystems.datasources.Constants.TRANSACTION_ISOLOATION;
 import static org.jboss.as.connector.subsystems.datasources.Constants.URL_DELIMITER;
@@ -111,6 +115,9 @@ import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystem
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.GET_INSTALLED_DRIVER_DESC;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.INSTALLED_DRIVERS_LIST_DESC;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.JDBC_DRIVER_DESC;
+import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.READ_ALL_POOL_STATISTICS_DESC;
+import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.READ_POOL_STATISTICS_DESC;
+import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.READ_STATEMENT_STATISTICS_DESC;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.REMOVE_DATA_SOURCE_DESC;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.REMOVE_JDBC_DRIVER_DESC;
 import static org.jboss.as.connector.subsystems.datasources.DataSourcesSubsystemProviders.REMOVE_XA_DATA_SOURCE_DESC;
@@ -128,12 +135,17 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REMOVE;
 import static org.jboss.as.controller.parsing.ParseUtils.requireNoContent;
 
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
 
 import org.jboss.as.connector.pool.PoolConfigurationRWHandler;
 import org.jboss.as.connector.pool.PoolConfigurationRWHandler.LocalAndXaDataSourcePoolConfigurationWriteHandler;
@@ -206,6 +218,8 @@ public class DataSourcesExtension implements Extension {
                 INSTALLED_DRIVERS_LIST_DESC);
         subsystem.registerOperationHandler("get-installed-driver", GetInstalledDriverOperationHandler.INSTANCE,
                 GET_INSTALLED_DRIVER_DESC);
+        subsystem.registerOperationHandler(READ_POOL_STATISTICS, ReadPoolStatisticsHandler.INSTANCE,
+                READ_ALL_POOL_STATISTICS_DESC, false, OperationEntry.EntryType.PUBLIC, EnumSet.of(OperationEntry.Flag.READ_ONLY));
 
         final ManagementResourceRegistration jdbcDrivers = subsystem.registerSubModel(PathElement.pathElement(JDBC_DRIVER),
                 JDBC_DRIVER_DESC);
@@ -224,6 +238,10 @@ public class DataSourcesExtension implements Extension {
                 PoolOperations.FlushAllConnectionInPool.DS_INSTANCE, FLUSH_ALL_CONNECTION_DESC, false);
         dataSources.registerOperationHandler("test-connection-in-pool", PoolOperations.TestConnectionInPool.DS_INSTANCE,
                 TEST_CONNECTION_DESC, false);
+        dataSources.registerOperationHandler(READ_POOL_STATISTICS, ReadPoolStatisticsHandler.INSTANCE, READ_POOL_STATISTICS_DESC,
+                false, OperationEntry.EntryType.PUBLIC, EnumSet.of(OperationEntry.Flag.READ_ONLY));
+        dataSources.registerOperationHandler(READ_STATEMENT_STATISTICS, StatementStatisticsOperations.ReadStatementStatistics.INSTANCE,
+                READ_STATEMENT_STATISTICS_DESC, false);
 
         for (final String attributeName : PoolMetrics.ATTRIBUTES) {
             dataSources.registerMetric(attributeName, PoolMetrics.LocalAndXaDataSourcePoolMetricsHandler.INSTANCE);
@@ -240,6 +258,11 @@ public class DataSourcesExtension implements Extension {
                     LocalAndXaDataSourcePoolConfigurationWriteHandler.INSTANCE, Storage.CONFIGURATION);
         }
 
+        for (final String attributeName : StatementStatisticsOperations.ATTRIBUTES) {
+            dataSources.registerReadWriteAttribute(attributeName, StatementStatisticsOperations.AttributeReadHandler.INSTANCE,
+                    StatementStatisticsOperations.AttributeWriteHandler.INSTANCE, Storage.CONFIGURATION);
+        }
+
         final ManagementResourceRegistration xaDataSources = subsystem.registerSubModel(PathElement.pathElement(XA_DATA_SOURCE),
                 XA_DATA_SOURCE_DESC);
         xaDataSources.registerOperationHandler(ADD, XaDataSourceAdd.INSTANCE, ADD_XA_DATA_SOURCE_DESC, false);
@@ -252,6 +275,10 @@ public class DataSourcesExtension implements Extension {
                 PoolOperations.FlushAllConnectionInPool.DS_INSTANCE, FLUSH_ALL_CONNECTION_DESC, false);
         xaDataSources.registerOperationHandler("test-connection-in-pool", PoolOperations.TestConnectionInPool.DS_INSTANCE,
                 TEST_CONNECTION_DESC, false);
+        xaDataSources.registerOperationHandler(READ_POOL_STATISTICS, ReadPoolStatisticsHandler.INSTANCE, READ_POOL_STATISTICS_DESC,
+                false, OperationEntry.EntryType.PUBLIC, EnumSet.of(OperationEntry.Flag.READ_ONLY));
+        xaDataSources.registerOperationHandler(READ_STATEMENT_STATISTICS, StatementStatisticsOperations.ReadStatementStatistics.INSTANCE,
+                READ_STATEMENT_STATISTICS_DESC, false);
 
         for (final String attributeName : PoolMetrics.ATTRIBUTES) {
             xaDataSources.registerMetric(attributeName, PoolMetrics.LocalAndXaDataSourcePoolMetricsHandler.INSTANCE);
@@ -267,6 +294,11 @@ public class DataSourcesExtension implements Extension {
                     LocalAndXaDataSourcePoolConfigurationWriteHandler.INSTANCE, Storage.CONFIGURATION);
         }
 
+        for (final String attributeName : StatementStatisticsOperations.ATTRIBUTES) {
+            xaDataSources.registerReadWriteAttribute(attributeName, StatementStatisticsOperations.AttributeReadHandler.INSTANCE,
+                    StatementStatisticsOperations.AttributeWriteHandler.INSTANCE, Storage.CONFIGURATION);
+        }
+
     }
 
     @Override
@@ -309,6 +341,11 @@ public class DataSourcesExtension implements Extension {
                     writeAttributeIfHas(writer, dataSourceNode, DataSource.Attribute.USEJAVACONTEXT, USE_JAVA_CONTEXT);
                     writeAttributeIfHas(writer, dataSourceNode, DataSource.Attribute.SPY, SPY);
                     writeAttributeIfHas(writer, dataSourceNode, DataSource.Attribute.USE_CCM, USE_CCM);
+                    for (String attribute : StatementStatisticsOperations.ATTRIBUTES) {
+                        if (has(dataSourceNode, attribute)) {
+                            writer.writeAttribute(attribute, dataSourceNode.get(attribute).asString());
+                        }
+                    }
 
                     if (!isXADataSource) {
                         writeElementIfHas(writer, dataSourceNode, DataSource.Tag.CONNECTIONURL, CONNECTION_URL);
@@ -686,6 +723,7 @@ public class DataSourcesExtension implements Extension {
             list.add(subsystem);
 
             DataSources dataSources = null;
+            final StatisticsAttributeReader statisticsReader = new StatisticsAttributeReader(reader);
             try {
                 String localName = null;
                 switch (Namespace.forUri(reader.getNamespaceURI())) {
@@ -697,7 +735,7 @@ public class DataSourcesExtension implements Extension {
                             case SUBSYSTEM: {
 
                                 final DsParser parser = new DsParser();
-                                dataSources = parser.parse(reader);
+                                dataSources = parser.parse(statisticsReader);
                                 requireNoContent(reader);
                                 break;
                             }
@@ -719,6 +757,7 @@ public class DataSourcesExtension implements Extension {
                     operation.get(OP).set(ADD);
 
                     fillFrom(operation, dataSource);
+                    statisticsReader.fillFrom(operation, dataSource.getJndiName());
                     list.add(operation);
                 }
 
@@ -732,6 +771,7 @@ public class DataSourcesExtension implements Extension {
                     operation.get(OP).set(ADD);
 
                     fillFrom(operation, xaDataSource);
+                    statisticsReader.fillFrom(operation, xaDataSource.getJndiName());
                     list.add(operation);
                 }
 
@@ -759,6 +799,73 @@ public class DataSourcesExtension implements Extension {
             }
         }
 
+        /**
+         * Collects the statistics attributes of the data-source elements while the IronJacamar parser reads them. The
+         * IronJacamar parser only looks up the attributes it knows, so it passes over these.
+         */
+        private static final class StatisticsAttributeReader extends StreamReaderDelegate {
+            private final Map<String, ModelNode> attributes = new HashMap<String, ModelNode>();
+
+            StatisticsAttributeReader(final XMLStreamReader reader) {
+                super(reader);
+            }
+
+            @Override
+            public int next() throws XMLStreamException {
+                return collect(super.next());
+            }
+
+            @Override
+            public int nextTag() throws XMLStreamException {
+                return collect(super.nextTag());
+            }
+
+            void fillFrom(final ModelNode operation, final String jndiName) {
+                final ModelNode values = attributes.get(jndiName);
+                if (values != null) {
+                    for (Property value : values.asPropertyList()) {
+                        operation.get(value.getName()).set(value.getValue());
+                    }
+                }
+            }
+
+            private int collect(final int event) throws XMLStreamException {
+                if (event == START_ELEMENT && (DataSources.Tag.DATASOURCE.getLocalName().equals(getLocalName())
+                        || DataSources.Tag.XA_DATASOURCE.getLocalName().equals(getLocalName()))) {
+                    final ModelNode values = new ModelNode().setEmptyObject();
+                    for (String attribute : StatementStatisticsOperations.ATTRIBUTES) {
+                        final String value = getAttributeValue(null, attribute);
+                        if (value == null) {
+                            continue;
+                        }
+                        final String trimmed = value.trim();
+                        if (CONNECTION_STATISTICS_ENABLED.equals(attribute) || STATEMENT_TIMING_ENABLED.equals(attribute)) {
+                            if (!"true".equalsIgnoreCase(trimmed) && !"false".equalsIgnoreCase(trimmed)) {
+                                throw invalidValue(attribute, value);
+                            }
+                            values.get(attribute).set(Boolean.parseBoolean(trimmed));
+                        } else {
+                            final int size;
+                            try {
+                                size = Integer.parseInt(trimmed);
+                            } catch (NumberFormatException e) {
+                                throw invalidValue(attribute, value);
+                            }
+                            if (size < 0) {
+                                throw invalidValue(attribute, value);
+                            }
+                            values.get(attribute).set(size);
+                        }
+                    }
+                    attributes.put(getAttributeValue(null, DataSource.Attribute.JNDINAME.getLocalName()), values);
+                }
+                return event;
+            }
+
+            private XMLStreamException invalidValue(final String attribute, final String value) {
+                return new XMLStreamException("Invalid value '" + value + "' for attribute " + attribute, getLocation());
+            }
+        }
     }
 
     private static class DataSourcesSubsystemDescribeHandler implements OperationStepHandler, DescriptionProvider {
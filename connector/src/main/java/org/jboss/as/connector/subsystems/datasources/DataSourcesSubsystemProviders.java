@@ -31,15 +31,26 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.DRIVER_MOD
 import static org.jboss.as.connector.subsystems.datasources.Constants.DRIVER_NAME;
 import static org.jboss.as.connector.subsystems.datasources.Constants.DRIVER_DATASOURCE_CLASS_NAME;
 import static org.jboss.as.connector.subsystems.datasources.Constants.DRIVER_XA_DATASOURCE_CLASS_NAME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.CLEAR;
+import static org.jboss.as.connector.subsystems.datasources.Constants.CONNECTION_STATISTICS_ENABLED;
+import static org.jboss.as.connector.subsystems.datasources.Constants.INCLUDE_STACK_TRACES;
 import static org.jboss.as.connector.subsystems.datasources.Constants.INSTALLED_DRIVERS;
 import static org.jboss.as.connector.subsystems.datasources.Constants.JDBC_COMPLIANT;
 import static org.jboss.as.connector.subsystems.datasources.Constants.JDBC_DRIVER;
+import static org.jboss.as.connector.subsystems.datasources.Constants.MAX_HELD_CONNECTIONS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.MAX_STATEMENTS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.MAX_TRACKED_STATEMENTS;
 import static org.jboss.as.connector.subsystems.datasources.Constants.MODULE_SLOT;
+import static org.jboss.as.connector.subsystems.datasources.Constants.READ_POOL_STATISTICS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.READ_STATEMENT_STATISTICS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.STATEMENT_METADATA_CACHE_SIZE;
+import static org.jboss.as.connector.subsystems.datasources.Constants.STATEMENT_TIMING_ENABLED;
 import static org.jboss.as.connector.subsystems.datasources.Constants.XADATASOURCECLASS;
 import static org.jboss.as.connector.subsystems.datasources.Constants.XA_DATA_SOURCE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILDREN;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEFAULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DISABLE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ENABLE;
@@ -95,7 +106,9 @@ class DataSourcesSubsystemProviders {
             AttributeDefinition.BACKGROUNDVALIDATION,
             AttributeDefinition.USE_FAST_FAIL, AttributeDefinition.USE_FAST_FAIL_REMOVE,
             AttributeDefinition.VALIDATEONMATCH, AttributeDefinition.SPY,
-            AttributeDefinition.USE_CCM };
+            AttributeDefinition.USE_CCM, AttributeDefinition.CONNECTION_STATISTICS_ENABLED,
+            AttributeDefinition.STATEMENT_METADATA_CACHE_SIZE, AttributeDefinition.STATEMENT_TIMING_ENABLED,
+            AttributeDefinition.MAX_TRACKED_STATEMENTS };
 
     static final AttributeDefinition[] XA_DATASOURCE_ATTRIBUTE = new AttributeDefinition[] {
             AttributeDefinition.XADATASOURCECLASS, AttributeDefinition.JNDINAME, AttributeDefinition.DRIVER,
@@ -124,7 +137,9 @@ class DataSourcesSubsystemProviders {
             AttributeDefinition.RECOVERY_USERNAME, AttributeDefinition.RECOVERY_PASSWORD,
             AttributeDefinition.RECOVERY_SECURITY_DOMAIN, AttributeDefinition.RECOVERLUGIN_CLASSNAME,
             AttributeDefinition.RECOVERLUGIN_PROPERTIES, AttributeDefinition.NO_RECOVERY,
-            AttributeDefinition.XADATASOURCE_PROPERTIES };
+            AttributeDefinition.XADATASOURCE_PROPERTIES, AttributeDefinition.CONNECTION_STATISTICS_ENABLED,
+            AttributeDefinition.STATEMENT_METADATA_CACHE_SIZE, AttributeDefinition.STATEMENT_TIMING_ENABLED,
+            AttributeDefinition.MAX_TRACKED_STATEMENTS };
 
     static final String RESOURCE_NAME = DataSourcesSubsystemProviders.class.getPackage().getName() + ".LocalDescriptions";
 
@@ -445,6 +460,7 @@ class DataSourcesSubsystemProviders {
                 node.get(ATTRIBUTES, name, TYPE).set(modelType);
                 node.get(ATTRIBUTES, name, REQUIRED).set(false);
             }
+            addStatementStatisticsAttributes(bundle, node);
 
             return node;
         }
@@ -535,6 +551,88 @@ class DataSourcesSubsystemProviders {
         }
     };
 
+    static DescriptionProvider READ_POOL_STATISTICS_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(READ_POOL_STATISTICS);
+            operation.get(DESCRIPTION).set(bundle.getString("data-source.read-pool-statistics"));
+            addReadPoolStatisticsParameters(bundle, operation);
+            operation.get(REPLY_PROPERTIES, TYPE).set(ModelType.OBJECT);
+            operation.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("data-source.read-pool-statistics.reply"));
+            return operation;
+        }
+    };
+
+    static DescriptionProvider READ_ALL_POOL_STATISTICS_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(READ_POOL_STATISTICS);
+            operation.get(DESCRIPTION).set(bundle.getString("datasources.read-pool-statistics"));
+            addReadPoolStatisticsParameters(bundle, operation);
+            operation.get(REPLY_PROPERTIES, TYPE).set(ModelType.OBJECT);
+            operation.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("datasources.read-pool-statistics.reply"));
+            return operation;
+        }
+    };
+
+    static DescriptionProvider READ_STATEMENT_STATISTICS_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(READ_STATEMENT_STATISTICS);
+            operation.get(DESCRIPTION).set(bundle.getString("data-source.read-statement-statistics"));
+            operation.get(REQUEST_PROPERTIES, MAX_STATEMENTS, DESCRIPTION).set(
+                    bundle.getString("read-statement-statistics.max-statements"));
+            operation.get(REQUEST_PROPERTIES, MAX_STATEMENTS, TYPE).set(ModelType.INT);
+            operation.get(REQUEST_PROPERTIES, MAX_STATEMENTS, REQUIRED).set(false);
+            operation.get(REQUEST_PROPERTIES, MAX_STATEMENTS, DEFAULT).set(StatementStatisticsOperations.DEFAULT_MAX_STATEMENTS);
+            operation.get(REQUEST_PROPERTIES, CLEAR, DESCRIPTION).set(bundle.getString("read-statement-statistics.clear"));
+            operation.get(REQUEST_PROPERTIES, CLEAR, TYPE).set(ModelType.BOOLEAN);
+            operation.get(REQUEST_PROPERTIES, CLEAR, REQUIRED).set(false);
+            operation.get(REQUEST_PROPERTIES, CLEAR, DEFAULT).set(false);
+            operation.get(REPLY_PROPERTIES, TYPE).set(ModelType.OBJECT);
+            operation.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("data-source.read-statement-statistics.reply"));
+            return operation;
+        }
+    };
+
+    private static void addStatementStatisticsAttributes(final ResourceBundle bundle, final ModelNode node) {
+        node.get(ATTRIBUTES, CONNECTION_STATISTICS_ENABLED, DESCRIPTION).set(bundle.getString(CONNECTION_STATISTICS_ENABLED));
+        node.get(ATTRIBUTES, CONNECTION_STATISTICS_ENABLED, TYPE).set(ModelType.BOOLEAN);
+        node.get(ATTRIBUTES, CONNECTION_STATISTICS_ENABLED, REQUIRED).set(false);
+        node.get(ATTRIBUTES, CONNECTION_STATISTICS_ENABLED, DEFAULT).set(false);
+        node.get(ATTRIBUTES, STATEMENT_METADATA_CACHE_SIZE, DESCRIPTION).set(bundle.getString(STATEMENT_METADATA_CACHE_SIZE));
+        node.get(ATTRIBUTES, STATEMENT_METADATA_CACHE_SIZE, TYPE).set(ModelType.INT);
+        node.get(ATTRIBUTES, STATEMENT_METADATA_CACHE_SIZE, REQUIRED).set(false);
+        node.get(ATTRIBUTES, STATEMENT_METADATA_CACHE_SIZE, DEFAULT).set(0);
+        node.get(ATTRIBUTES, STATEMENT_TIMING_ENABLED, DESCRIPTION).set(bundle.getString(STATEMENT_TIMING_ENABLED));
+        node.get(ATTRIBUTES, STATEMENT_TIMING_ENABLED, TYPE).set(ModelType.BOOLEAN);
+        node.get(ATTRIBUTES, STATEMENT_TIMING_ENABLED, REQUIRED).set(false);
+        node.get(ATTRIBUTES, STATEMENT_TIMING_ENABLED, DEFAULT).set(false);
+        node.get(ATTRIBUTES, MAX_TRACKED_STATEMENTS, DESCRIPTION).set(bundle.getString(MAX_TRACKED_STATEMENTS));
+        node.get(ATTRIBUTES, MAX_TRACKED_STATEMENTS, TYPE).set(ModelType.INT);
+        node.get(ATTRIBUTES, MAX_TRACKED_STATEMENTS, REQUIRED).set(false);
+        node.get(ATTRIBUTES, MAX_TRACKED_STATEMENTS, DEFAULT).set(StatementStatistics.DEFAULT_MAX_TRACKED_STATEMENTS);
+    }
+
+    private static void addReadPoolStatisticsParameters(final ResourceBundle bundle, final ModelNode operation) {
+        operation.get(REQUEST_PROPERTIES, MAX_HELD_CONNECTIONS, DESCRIPTION).set(
+                bundle.getString("read-pool-statistics.max-held-connections"));
+        operation.get(REQUEST_PROPERTIES, MAX_HELD_CONNECTIONS, TYPE).set(ModelType.INT);
+        operation.get(REQUEST_PROPERTIES, MAX_HELD_CONNECTIONS, REQUIRED).set(false);
+        operation.get(REQUEST_PROPERTIES, MAX_HELD_CONNECTIONS, DEFAULT).set(ReadPoolStatisticsHandler.DEFAULT_MAX_HELD_CONNECTIONS);
+        operation.get(REQUEST_PROPERTIES, INCLUDE_STACK_TRACES, DESCRIPTION).set(
+                bundle.getString("read-pool-statistics.include-stack-traces"));
+        operation.get(REQUEST_PROPERTIES, INCLUDE_STACK_TRACES, TYPE).set(ModelType.BOOLEAN);
+        operation.get(REQUEST_PROPERTIES, INCLUDE_STACK_TRACES, REQUIRED).set(false);
+        operation.get(REQUEST_PROPERTIES, INCLUDE_STACK_TRACES, DEFAULT).set(true);
+    }
+
     static DescriptionProvider XA_DATA_SOURCE_DESC = new DescriptionProvider() {
         @Override
         public ModelNode getModelDescription(final Locale locale) {
@@ -575,6 +673,7 @@ class DataSourcesSubsystemProviders {
                 node.get(ATTRIBUTES, name, TYPE).set(modelType);
                 node.get(ATTRIBUTES, name, REQUIRED).set(false);
             }
+            addStatementStatisticsAttributes(bundle, node);
 
             return node;
         }
@@ -0,0 +1,303 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+import javax.naming.NamingException;
+import javax.naming.Reference;
+import javax.naming.Referenceable;
+import javax.sql.DataSource;
+
+/**
+ * A data-source which records connection usage in a {@link DataSourceStatistics} before handing connections out.
+ * <p>
+ * While the statistics are enabled, connections are wrapped in a proxy which closes the lease when the application
+ * closes the connection, so that the time the connection was held can be recorded.  The proxy implements every public interface of the wrapped connection,
+ * so vendor and adapter specific interfaces can still be cast to; {@link Connection#unwrap(Class)} returns the proxy
+ * itself for those, so that the lease is still closed with the connection.
+ * </p>
+ * <p>
+ * While the {@link StatementStatistics} of the data-source are enabled, connections are wrapped as well, and so are the
+ * statements they create, so that their executions can be timed and the metadata of prepared statements can be served
+ * from the pool-wide cache.  Connections are handed out as they are when neither is enabled.
+ * </p>
+ */
+public class MeteredDataSource implements DataSource, Referenceable {
+
+    private static final Class<?>[] NO_INTERFACES = new Class<?>[0];
+
+    private final DataSource delegate;
+    private final DataSourceStatistics statistics;
+    private final StatementStatistics statementStatistics;
+    private final ConcurrentMap<Class<?>, Class<?>[]> proxyInterfaces = new ConcurrentHashMap<Class<?>, Class<?>[]>();
+
+    public MeteredDataSource(final DataSource delegate, final DataSourceStatistics statistics,
+            final StatementStatistics statementStatistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+        this.statementStatistics = statementStatistics;
+    }
+
+    public Connection getConnection() throws SQLException {
+        final boolean tracked = statistics.isEnabled();
+        final long start = tracked ? System.nanoTime() : 0L;
+        final Connection connection;
+        try {
+            connection = delegate.getConnection();
+        } catch (SQLException e) {
+            statistics.acquisitionFailed();
+            throw e;
+        }
+        return wrap(connection, tracked, start);
+    }
+
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        final boolean tracked = statistics.isEnabled();
+        final long start = tracked ? System.nanoTime() : 0L;
+        final Connection connection;
+        try {
+            connection = delegate.getConnection(username, password);
+        } catch (SQLException e) {
+            statistics.acquisitionFailed();
+            throw e;
+        }
+        return wrap(connection, tracked, start);
+    }
+
+    private Connection wrap(final Connection connection, final boolean tracked, final long start) {
+        if (!tracked && !statementStatistics.isEnabled()) {
+            return connection;
+        }
+        final ConnectionHandler handler = new ConnectionHandler(connection);
+        final Connection proxy = (Connection) createProxy(connection, Connection.class, handler);
+        if (tracked) {
+            handler.lease = statistics.connectionAcquired(proxy, System.nanoTime() - start);
+        }
+        return proxy;
+    }
+
+    /**
+     * Creates a proxy implementing all public interfaces of the target, or just the required one if the target's
+     * interfaces can not be combined into one proxy.
+     */
+    private Object createProxy(final Object target, final Class<?> required, final InvocationHandler handler) {
+        final Class<?> targetClass = target.getClass();
+        Class<?>[] interfaces = proxyInterfaces.get(targetClass);
+        if (interfaces == null) {
+            interfaces = getPublicInterfaces(targetClass);
+            try {
+                Proxy.getProxyClass(getClassLoader(targetClass), interfaces);
+            } catch (IllegalArgumentException e) {
+                // Conflicting methods, or interfaces not visible from the target's class loader
+                interfaces = NO_INTERFACES;
+            }
+            proxyInterfaces.putIfAbsent(targetClass, interfaces);
+        }
+        if (interfaces.length == 0) {
+            return Proxy.newProxyInstance(MeteredDataSource.class.getClassLoader(), new Class<?>[] { required }, handler);
+        }
+        return Proxy.newProxyInstance(getClassLoader(targetClass), interfaces, handler);
+    }
+
+    private static Class<?>[] getPublicInterfaces(final Class<?> targetClass) {
+        final Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        for (Class<?> type = targetClass; type != null; type = type.getSuperclass()) {
+            for (Class<?> iface : type.getInterfaces()) {
+                if (Modifier.isPublic(iface.getModifiers())) {
+                    interfaces.add(iface);
+                }
+            }
+        }
+        return interfaces.toArray(new Class<?>[interfaces.size()]);
+    }
+
+    private static ClassLoader getClassLoader(final Class<?> type) {
+        final ClassLoader classLoader = type.getClassLoader();
+        return classLoader == null ? MeteredDataSource.class.getClassLoader() : classLoader;
+    }
+
+    /**
+     * Implements {@link java.sql.Wrapper} for a proxy: the proxy itself stands in for every interface it implements.
+     *
+     * @return the result, or {@code null} if the call must go to the wrapped object
+     */
+    private static Object invokeWrapper(final Object proxy, final String name, final Object[] args) {
+        if (args == null || args.length != 1 || !(args[0] instanceof Class)) {
+            return null;
+        }
+        final Class<?> iface = (Class<?>) args[0];
+        if ("unwrap".equals(name) && iface.isInstance(proxy)) {
+            return proxy;
+        } else if ("isWrapperFor".equals(name) && iface.isInstance(proxy)) {
+            return Boolean.TRUE;
+        }
+        return null;
+    }
+
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(delegate)) {
+            return iface.cast(delegate);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    public Reference getReference() throws NamingException {
+        if (delegate instanceof Referenceable) {
+            return ((Referenceable) delegate).getReference();
+        }
+        throw new NamingException("Data-source " + delegate + " is not referenceable");
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private DataSourceStatistics.Lease lease;
+
+        ConnectionHandler(final Connection connection) {
+            this.connection = connection;
+        }
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if ("equals".equals(name) && method.getParameterTypes().length == 1) {
+                return Boolean.valueOf(proxy == args[0]);
+            } else if ("hashCode".equals(name) && method.getParameterTypes().length == 0) {
+                return Integer.valueOf(System.identityHashCode(proxy));
+            } else if ("close".equals(name) && method.getParameterTypes().length == 0 && lease != null) {
+                statistics.connectionReleased(lease);
+            }
+            final Object wrapper = invokeWrapper(proxy, name, args);
+            if (wrapper != null) {
+                return wrapper;
+            }
+            final Object result;
+            try {
+                result = method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())
+                    && statementStatistics.isEnabled()) {
+                // prepareStatement and prepareCall take the SQL first, createStatement passes it on execution
+                final String sql = name.startsWith("prepare") ? (String) args[0] : null;
+                return createProxy(result, method.getReturnType(), new StatementHandler((Statement) result, sql, proxy));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private final Object connection;
+
+        StatementHandler(final Statement statement, final String sql, final Object connection) {
+            this.statement = statement;
+            this.sql = sql;
+            this.connection = connection;
+        }
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            final int parameterCount = method.getParameterTypes().length;
+            if ("equals".equals(name) && parameterCount == 1) {
+                return Boolean.valueOf(proxy == args[0]);
+            } else if ("hashCode".equals(name) && parameterCount == 0) {
+                return Integer.valueOf(System.identityHashCode(proxy));
+            } else if ("getConnection".equals(name) && parameterCount == 0) {
+                return connection;
+            }
+            final Object wrapper = invokeWrapper(proxy, name, args);
+            if (wrapper != null) {
+                return wrapper;
+            } else if (sql != null && parameterCount == 0 && "getMetaData".equals(name)) {
+                return statementStatistics.getMetaData(sql, (PreparedStatement) statement);
+            } else if (sql != null && parameterCount == 0 && "getParameterMetaData".equals(name)) {
+                return statementStatistics.getParameterMetaData(sql, (PreparedStatement) statement);
+            }
+            final String executed = name.startsWith("execute") ? executedSql(args) : null;
+            if (executed == null || !statementStatistics.isTimingEnabled()) {
+                return invokeStatement(method, args);
+            }
+            final long start = System.nanoTime();
+            try {
+                return invokeStatement(method, args);
+            } finally {
+                statementStatistics.executed(executed, System.nanoTime() - start);
+            }
+        }
+
+        private String executedSql(final Object[] args) {
+            if (args != null && args.length > 0 && args[0] instanceof String) {
+                return (String) args[0];
+            }
+            return sql;
+        }
+
+        private Object invokeStatement(final Method method, final Object[] args) throws Throwable {
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.connector.subsystems.datasources.Constants.ACQUIRED;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ACQUISITION_FAILURE_COUNT;
+import static org.jboss.as.connector.subsystems.datasources.Constants.ACQUISITION_WAIT_TIME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.DATA_SOURCE;
+import static org.jboss.as.connector.subsystems.datasources.Constants.DEPLOYMENT_NAME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.HELD_TIME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.HOLD_TIME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.INCLUDE_STACK_TRACES;
+import static org.jboss.as.connector.subsystems.datasources.Constants.IN_USE_BY_DEPLOYMENT;
+import static org.jboss.as.connector.subsystems.datasources.Constants.IN_USE_COUNT;
+import static org.jboss.as.connector.subsystems.datasources.Constants.JDBC_STATISTICS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.LONGEST_HELD_CONNECTIONS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.MAX_HELD_CONNECTIONS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.POOL_STATISTICS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.STACK_TRACE;
+import static org.jboss.as.connector.subsystems.datasources.Constants.THREAD;
+import static org.jboss.as.connector.subsystems.datasources.Constants.XA_DATA_SOURCE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.connector.ConnectorServices;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.jca.core.api.management.DataSource;
+import org.jboss.jca.core.api.management.ManagementRepository;
+import org.jboss.jca.core.spi.statistics.StatisticsPlugin;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceRegistry;
+
+/**
+ * Reads the pool, JDBC and connection usage statistics of data-sources in a single operation.
+ * <p>
+ * Registered on each data-source, where it returns the statistics of that data-source, and on the subsystem, where it
+ * returns the statistics of every data-source keyed by resource type and name.
+ * </p>
+ */
+public class ReadPoolStatisticsHandler implements OperationStepHandler {
+
+    static final ReadPoolStatisticsHandler INSTANCE = new ReadPoolStatisticsHandler();
+
+    static final int DEFAULT_MAX_HELD_CONNECTIONS = 5;
+
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final int maxHeldConnections = operation.hasDefined(MAX_HELD_CONNECTIONS) ? operation.get(MAX_HELD_CONNECTIONS).asInt()
+                : DEFAULT_MAX_HELD_CONNECTIONS;
+        final boolean includeStackTraces = !operation.hasDefined(INCLUDE_STACK_TRACES)
+                || operation.get(INCLUDE_STACK_TRACES).asBoolean();
+        final PathAddress address = PathAddress.pathAddress(operation.require(OP_ADDR));
+        final Resource resource = context.readResource(PathAddress.EMPTY_ADDRESS);
+
+        // Result node for each data-source, keyed by jndi name
+        final Map<String, ModelNode> targets = new HashMap<String, ModelNode>();
+        final String type = address.getLastElement().getKey();
+        if (DATA_SOURCE.equals(type) || XA_DATA_SOURCE.equals(type)) {
+            targets.put(Util.getJndiName(resource.getModel()), context.getResult());
+        } else {
+            context.getResult().setEmptyObject();
+            for (String childType : new String[] { DATA_SOURCE, XA_DATA_SOURCE }) {
+                for (Resource.ResourceEntry entry : resource.getChildren(childType)) {
+                    targets.put(Util.getJndiName(entry.getModel()), context.getResult().get(childType, entry.getName()));
+                }
+            }
+        }
+
+        if (context.getType() == OperationContext.Type.SERVER) {
+            context.addStep(new OperationStepHandler() {
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    final ServiceRegistry registry = context.getServiceRegistry(false);
+                    final Map<String, DataSource> managed = getManagedDataSources(registry);
+                    for (Map.Entry<String, ModelNode> target : targets.entrySet()) {
+                        final String jndiName = target.getKey();
+                        final ModelNode node = target.getValue();
+                        final DataSource ds = managed.get(jndiName);
+                        if (ds != null) {
+                            if (ds.getPool() != null) {
+                                addStatistics(node.get(POOL_STATISTICS), ds.getPool().getStatistics());
+                            }
+                            addStatistics(node.get(JDBC_STATISTICS), ds.getStatistics());
+                        }
+                        final ServiceController<?> controller = registry.getService(AbstractDataSourceService.SERVICE_NAME_BASE.append(jndiName));
+                        if (controller != null && controller.getState() == ServiceController.State.UP
+                                && controller.getService() instanceof AbstractDataSourceService) {
+                            final DataSourceStatistics statistics = ((AbstractDataSourceService) controller.getService()).getStatistics();
+                            addStatistics(node, statistics, maxHeldConnections, includeStackTraces);
+                        }
+                    }
+                    context.completeStep();
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+
+        context.completeStep();
+    }
+
+    private static Map<String, DataSource> getManagedDataSources(final ServiceRegistry registry) {
+        final Map<String, DataSource> result = new HashMap<String, DataSource>();
+        final ServiceController<?> managementRepoService = registry.getService(ConnectorServices.MANAGEMENT_REPOSISTORY_SERVICE);
+        if (managementRepoService != null) {
+            final ManagementRepository repository = (ManagementRepository) managementRepoService.getValue();
+            if (repository.getDataSources() != null) {
+                for (DataSource ds : repository.getDataSources()) {
+                    result.put(ds.getJndiName(), ds);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void addStatistics(final ModelNode node, final StatisticsPlugin plugin) {
+        if (plugin == null) {
+            return;
+        }
+        node.setEmptyObject();
+        for (String name : plugin.getNames()) {
+            final Object value = plugin.getValue(name);
+            if (value instanceof Integer) {
+                node.get(name).set(((Integer) value).intValue());
+            } else if (value instanceof Long) {
+                node.get(name).set(((Long) value).longValue());
+            } else if (value instanceof Boolean) {
+                node.get(name).set(((Boolean) value).booleanValue());
+            } else if (value != null) {
+                node.get(name).set(value.toString());
+            }
+        }
+    }
+
+    private static void addStatistics(final ModelNode node, final DataSourceStatistics statistics, final int maxHeldConnections,
+            final boolean includeStackTraces) {
+        statistics.expireClosedLeases();
+        node.get(ACQUISITION_WAIT_TIME).set(statistics.getAcquisitionWaitTime().toModelNode());
+        node.get(HOLD_TIME).set(statistics.getHoldTime().toModelNode());
+        node.get(ACQUISITION_FAILURE_COUNT).set(statistics.getAcquisitionFailureCount());
+        node.get(IN_USE_COUNT).set(statistics.getInUseCount());
+        final ModelNode byDeployment = node.get(IN_USE_BY_DEPLOYMENT).setEmptyObject();
+        for (Map.Entry<String, Integer> entry : statistics.getInUseCountByDeployment().entrySet()) {
+            // Connections obtained outside any deployment are keyed by an empty name
+            byDeployment.get(entry.getKey() == null ? "" : entry.getKey()).set(entry.getValue().intValue());
+        }
+        final ModelNode held = node.get(LONGEST_HELD_CONNECTIONS).setEmptyList();
+        for (DataSourceStatistics.Lease lease : statistics.getLongestHeld(maxHeldConnections)) {
+            final ModelNode connection = new ModelNode();
+            if (lease.getDeployment() != null) {
+                connection.get(DEPLOYMENT_NAME).set(lease.getDeployment());
+            }
+            connection.get(THREAD).set(lease.getThreadName());
+            connection.get(ACQUIRED).set(lease.getAcquiredTimestamp());
+            connection.get(HELD_TIME).set(lease.getHeldTime(TimeUnit.MILLISECONDS));
+            if (includeStackTraces) {
+                final ModelNode stackTrace = connection.get(STACK_TRACE).setEmptyList();
+                for (StackTraceElement element : lease.getAcquisitionStackTrace()) {
+                    stackTrace.add(element.toString());
+                }
+            }
+            held.add(connection);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool-wide statement metadata cache and per-statement execution timings of a data-source.
+ * <p>
+ * The JDBC adapter caches prepared statements per physical connection, so every connection of the pool pays for
+ * describing the same statements again.  The metadata cache shares the result set and parameter metadata of a
+ * prepared statement between all connections of the pool, keyed by the SQL text.  It holds immutable copies of the
+ * driver's metadata, so nothing it hands out refers to the connection the metadata was read from, and evicts the
+ * least recently used statement once full.  Timings are recorded per SQL text while statement timing is enabled;
+ * once the timing table is full, new statements are no longer tracked individually.
+ * </p>
+ */
+public final class StatementStatistics {
+
+    /** The default maximum number of distinct statements for which timings are kept. */
+    public static final int DEFAULT_MAX_TRACKED_STATEMENTS = 1000;
+
+    private static final Comparator<Timing> SLOWEST_FIRST = new Comparator<Timing>() {
+        public int compare(final Timing o1, final Timing o2) {
+            final long a1 = o1.getAverageTime(TimeUnit.NANOSECONDS);
+            final long a2 = o2.getAverageTime(TimeUnit.NANOSECONDS);
+            return a1 > a2 ? -1 : a1 < a2 ? 1 : 0;
+        }
+    };
+
+    private final Map<String, Metadata> metadata = new LinkedHashMap<String, Metadata>(16, 0.75f, true) {
+        private static final long serialVersionUID = -2591335813405937044L;
+
+        protected boolean removeEldestEntry(final Map.Entry<String, Metadata> eldest) {
+            return size() > metadataCacheSize;
+        }
+    };
+    private final ConcurrentMap<String, Timing> timings = new ConcurrentHashMap<String, Timing>();
+    private final AtomicLong metadataHits = new AtomicLong();
+    private final AtomicLong metadataMisses = new AtomicLong();
+    private final AtomicLong untrackedExecutions = new AtomicLong();
+    private volatile int metadataCacheSize;
+    private volatile boolean timingEnabled;
+    private volatile int maxTrackedStatements = DEFAULT_MAX_TRACKED_STATEMENTS;
+
+    /**
+     * Returns the maximum number of statements whose metadata is shared, {@code 0} if the cache is disabled.
+     *
+     * @return the cache size
+     */
+    public int getMetadataCacheSize() {
+        return metadataCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of statements whose metadata is shared.  Shrinking the cache evicts the least recently
+     * used statements.
+     *
+     * @param metadataCacheSize the cache size, {@code 0} to disable the cache
+     */
+    public void setMetadataCacheSize(final int metadataCacheSize) {
+        if (metadataCacheSize < 0) {
+            throw new IllegalArgumentException("Negative metadata cache size " + metadataCacheSize);
+        }
+        synchronized (metadata) {
+            this.metadataCacheSize = metadataCacheSize;
+            final Iterator<String> iterator = metadata.keySet().iterator();
+            for (int excess = metadata.size() - metadataCacheSize; excess > 0; excess--) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    public boolean isTimingEnabled() {
+        return timingEnabled;
+    }
+
+    public void setTimingEnabled(final boolean timingEnabled) {
+        this.timingEnabled = timingEnabled;
+    }
+
+    /**
+     * Returns the maximum number of distinct statements for which timings are kept.
+     *
+     * @return the maximum number of tracked statements
+     */
+    public int getMaxTrackedStatements() {
+        return maxTrackedStatements;
+    }
+
+    /**
+     * Sets the maximum number of distinct statements for which timings are kept.  Lowering the limit keeps the timings
+     * already recorded, but no new statements are tracked until timings are cleared below the limit.
+     *
+     * @param maxTrackedStatements the maximum number of tracked statements
+     */
+    public void setMaxTrackedStatements(final int maxTrackedStatements) {
+        if (maxTrackedStatements < 0) {
+            throw new IllegalArgumentException("Negative maximum number of tracked statements " + maxTrackedStatements);
+        }
+        this.maxTrackedStatements = maxTrackedStatements;
+    }
+
+    /**
+     * Whether statements handed out by the data-source need to be intercepted at all.
+     *
+     * @return {@code true} if either the metadata cache or statement timing is enabled
+     */
+    public boolean isEnabled() {
+        return timingEnabled || metadataCacheSize > 0;
+    }
+
+    public int getMetadataCacheCount() {
+        synchronized (metadata) {
+            return metadata.size();
+        }
+    }
+
+    public long getMetadataHitCount() {
+        return metadataHits.get();
+    }
+
+    public long getMetadataMissCount() {
+        return metadataMisses.get();
+    }
+
+    /**
+     * Returns the number of timed executions which were not attributed to a statement because the timing table was
+     * full.
+     *
+     * @return the number of untracked executions
+     */
+    public long getUntrackedExecutionCount() {
+        return untrackedExecutions.get();
+    }
+
+    /**
+     * Returns the timings of the statements with the highest average execution time.
+     *
+     * @param max the maximum number of statements to return
+     * @return the timings, slowest first
+     */
+    public List<Timing> getSlowest(final int max) {
+        final List<Timing> sorted = new ArrayList<Timing>(timings.values());
+        Collections.sort(sorted, SLOWEST_FIRST);
+        return sorted.size() > max ? new ArrayList<Timing>(sorted.subList(0, max)) : sorted;
+    }
+
+    /**
+     * Discards all timings.
+     */
+    public void clearTimings() {
+        timings.clear();
+        untrackedExecutions.set(0);
+    }
+
+    ResultSetMetaData getMetaData(final String sql, final PreparedStatement statement) throws SQLException {
+        final Metadata entry = metadataFor(sql);
+        if (entry == null) {
+            return statement.getMetaData();
+        }
+        final ResultSetMetaData cached = entry.resultSet;
+        if (cached != null) {
+            metadataHits.incrementAndGet();
+            return cached;
+        }
+        metadataMisses.incrementAndGet();
+        final ResultSetMetaData result = statement.getMetaData();
+        if (result != null) {
+            try {
+                entry.resultSet = new CachedResultSetMetaData(result);
+            } catch (SQLException e) {
+                // the driver cannot describe every column up front, so this statement is not cached
+            }
+        }
+        return result;
+    }
+
+    ParameterMetaData getParameterMetaData(final String sql, final PreparedStatement statement) throws SQLException {
+        final Metadata entry = metadataFor(sql);
+        if (entry == null) {
+            return statement.getParameterMetaData();
+        }
+        final ParameterMetaData cached = entry.parameters;
+        if (cached != null) {
+            metadataHits.incrementAndGet();
+            return cached;
+        }
+        metadataMisses.incrementAndGet();
+        final ParameterMetaData result = statement.getParameterMetaData();
+        if (result != null) {
+            try {
+                entry.parameters = new CachedParameterMetaData(result);
+            } catch (SQLException e) {
+                // the driver cannot describe every parameter up front, so this statement is not cached
+            }
+        }
+        return result;
+    }
+
+    void executed(final String sql, final long nanos) {
+        Timing timing = timings.get(sql);
+        if (timing == null) {
+            if (timings.size() >= maxTrackedStatements) {
+                untrackedExecutions.incrementAndGet();
+                return;
+            }
+            final Timing existing = timings.putIfAbsent(sql, timing = new Timing(sql));
+            if (existing != null) {
+                timing = existing;
+            }
+        }
+        timing.record(nanos);
+    }
+
+    private Metadata metadataFor(final String sql) {
+        if (metadataCacheSize == 0) {
+            return null;
+        }
+        synchronized (metadata) {
+            Metadata entry = metadata.get(sql);
+            if (entry == null && metadataCacheSize > 0) {
+                metadata.put(sql, entry = new Metadata());
+            }
+            return entry;
+        }
+    }
+
+    private static final class Metadata {
+        volatile CachedResultSetMetaData resultSet;
+        volatile CachedParameterMetaData parameters;
+    }
+
+    /**
+     * The execution timings of a single statement.
+     */
+    public static final class Timing {
+        private final String sql;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        Timing(final String sql) {
+            this.sql = sql;
+        }
+
+        void record(final long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            long max;
+            while (nanos > (max = maxNanos.get())) {
+                if (maxNanos.compareAndSet(max, nanos)) {
+                    break;
+                }
+            }
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getExecuteCount() {
+            return count.get();
+        }
+
+        public long getTotalTime(final TimeUnit unit) {
+            return unit.convert(totalNanos.get(), TimeUnit.NANOSECONDS);
+        }
+
+        public long getAverageTime(final TimeUnit unit) {
+            final long executions = count.get();
+            return executions == 0 ? 0 : unit.convert(totalNanos.get() / executions, TimeUnit.NANOSECONDS);
+        }
+
+        public long getMaxTime(final TimeUnit unit) {
+            return unit.convert(maxNanos.get(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.connector.subsystems.datasources.Constants.AVERAGE_TIME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.CLEAR;
+import static org.jboss.as.connector.subsystems.datasources.Constants.CONNECTION_STATISTICS_ENABLED;
+import static org.jboss.as.connector.subsystems.datasources.Constants.EXECUTE_COUNT;
+import static org.jboss.as.connector.subsystems.datasources.Constants.HIT_COUNT;
+import static org.jboss.as.connector.subsystems.datasources.Constants.MAX_STATEMENTS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.MAX_TRACKED_STATEMENTS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.MAX_TIME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.MISS_COUNT;
+import static org.jboss.as.connector.subsystems.datasources.Constants.SIZE;
+import static org.jboss.as.connector.subsystems.datasources.Constants.SQL;
+import static org.jboss.as.connector.subsystems.datasources.Constants.STATEMENTS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.STATEMENT_METADATA_CACHE;
+import static org.jboss.as.connector.subsystems.datasources.Constants.STATEMENT_METADATA_CACHE_SIZE;
+import static org.jboss.as.connector.subsystems.datasources.Constants.STATEMENT_TIMING_ENABLED;
+import static org.jboss.as.connector.subsystems.datasources.Constants.TOTAL_TIME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.UNTRACKED_EXECUTION_COUNT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.ModelTypeValidator;
+import org.jboss.as.controller.operations.validation.ParameterValidator;
+import org.jboss.as.server.operations.ServerWriteAttributeOperationHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Operations exposing the {@link StatementStatistics} of a running data-source, and switching its
+ * {@link DataSourceStatistics} on and off.
+ * <p>
+ * Connection statistics, the statement metadata cache size, statement timing and the maximum number of timed statements
+ * are configuration attributes of the data-source: writes are persisted and applied to the running data-source at once,
+ * and the data-source add operation applies them when the data-source is installed.
+ * </p>
+ */
+public class StatementStatisticsOperations {
+
+    static final String[] ATTRIBUTES = new String[] { CONNECTION_STATISTICS_ENABLED, STATEMENT_METADATA_CACHE_SIZE,
+            STATEMENT_TIMING_ENABLED, MAX_TRACKED_STATEMENTS };
+
+    static final int DEFAULT_MAX_STATEMENTS = 10;
+
+    /**
+     * Applies the statistics attributes of a data-source model, or their defaults, to its statistics.
+     *
+     * @param service the data-source service
+     * @param model the data-source model or add operation
+     */
+    static void applyAttributes(final AbstractDataSourceService service, final ModelNode model) {
+        for (String name : ATTRIBUTES) {
+            apply(service, name, model.get(name));
+        }
+    }
+
+    private static void apply(final AbstractDataSourceService service, final String name, final ModelNode value) {
+        final ModelNode resolved = value.isDefined() ? value : getDefault(name);
+        if (CONNECTION_STATISTICS_ENABLED.equals(name)) {
+            service.getStatistics().setEnabled(resolved.asBoolean());
+        } else if (STATEMENT_METADATA_CACHE_SIZE.equals(name)) {
+            service.getStatementStatistics().setMetadataCacheSize(resolved.asInt());
+        } else if (STATEMENT_TIMING_ENABLED.equals(name)) {
+            service.getStatementStatistics().setTimingEnabled(resolved.asBoolean());
+        } else {
+            service.getStatementStatistics().setMaxTrackedStatements(resolved.asInt());
+        }
+    }
+
+    private static ModelNode getDefault(final String name) {
+        if (STATEMENT_METADATA_CACHE_SIZE.equals(name)) {
+            return new ModelNode().set(0);
+        } else if (MAX_TRACKED_STATEMENTS.equals(name)) {
+            return new ModelNode().set(StatementStatistics.DEFAULT_MAX_TRACKED_STATEMENTS);
+        }
+        return new ModelNode().set(false);
+    }
+
+    /**
+     * Reads the connection statistics, statement metadata cache size, statement timing and maximum number of timed
+     * statements attributes, reporting the default of an attribute that is not set.
+     */
+    public static class AttributeReadHandler implements OperationStepHandler {
+        public static final AttributeReadHandler INSTANCE = new AttributeReadHandler();
+
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String name = operation.require(NAME).asString();
+            final ModelNode model = context.readModel(PathAddress.EMPTY_ADDRESS);
+            context.getResult().set(model.hasDefined(name) ? model.get(name) : getDefault(name));
+            context.completeStep();
+        }
+    }
+
+    /**
+     * Writes the connection statistics, statement metadata cache size, statement timing and maximum number of timed
+     * statements attributes, and applies them to the running data-source.
+     */
+    public static class AttributeWriteHandler extends ServerWriteAttributeOperationHandler {
+        public static final AttributeWriteHandler INSTANCE = new AttributeWriteHandler();
+
+        private static final ParameterValidator sizeValidator = new IntRangeValidator(0, true);
+        private static final ParameterValidator booleanValidator = new ModelTypeValidator(ModelType.BOOLEAN, true);
+
+        @Override
+        protected void validateValue(final String name, final ModelNode value) throws OperationFailedException {
+            if (STATEMENT_METADATA_CACHE_SIZE.equals(name) || MAX_TRACKED_STATEMENTS.equals(name)) {
+                sizeValidator.validateParameter(VALUE, value);
+            } else {
+                booleanValidator.validateParameter(VALUE, value);
+            }
+        }
+
+        @Override
+        protected boolean applyUpdateToRuntime(final OperationContext context, final ModelNode operation,
+                final String attributeName, final ModelNode newValue, final ModelNode currentValue)
+                throws OperationFailedException {
+            final String jndiName = Util.getJndiName(context.readModel(PathAddress.EMPTY_ADDRESS));
+            context.addStep(new OperationStepHandler() {
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    // A data-source that is not installed picks the value up from the model when it is added
+                    final AbstractDataSourceService service = getDataSourceService(context, jndiName);
+                    if (service != null) {
+                        apply(service, attributeName, newValue);
+                    }
+                    if (context.completeStep() == OperationContext.ResultAction.ROLLBACK && service != null) {
+                        apply(service, attributeName, currentValue);
+                    }
+                }
+            }, OperationContext.Stage.RUNTIME);
+            return false;
+        }
+    }
+
+    /**
+     * Reads the statement metadata cache counters and the slowest statements of a data-source.
+     */
+    public static class ReadStatementStatistics implements OperationStepHandler {
+        public static final ReadStatementStatistics INSTANCE = new ReadStatementStatistics();
+
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final int maxStatements = operation.hasDefined(MAX_STATEMENTS) ? operation.get(MAX_STATEMENTS).asInt()
+                    : DEFAULT_MAX_STATEMENTS;
+            final boolean clear = operation.hasDefined(CLEAR) && operation.get(CLEAR).asBoolean();
+            final String jndiName = Util.getJndiName(context.readModel(PathAddress.EMPTY_ADDRESS));
+
+            if (context.getType() == OperationContext.Type.SERVER) {
+                context.addStep(new OperationStepHandler() {
+                    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                        final AbstractDataSourceService service = getDataSourceService(context, jndiName);
+                        if (service != null) {
+                            final StatementStatistics statistics = service.getStatementStatistics();
+                            final ModelNode result = context.getResult();
+                            final ModelNode cache = result.get(STATEMENT_METADATA_CACHE);
+                            cache.get(SIZE).set(statistics.getMetadataCacheCount());
+                            cache.get(HIT_COUNT).set(statistics.getMetadataHitCount());
+                            cache.get(MISS_COUNT).set(statistics.getMetadataMissCount());
+                            result.get(UNTRACKED_EXECUTION_COUNT).set(statistics.getUntrackedExecutionCount());
+                            final ModelNode statements = result.get(STATEMENTS).setEmptyList();
+                            for (StatementStatistics.Timing timing : statistics.getSlowest(maxStatements)) {
+                                final ModelNode statement = new ModelNode();
+                                statement.get(SQL).set(timing.getSql());
+                                statement.get(EXECUTE_COUNT).set(timing.getExecuteCount());
+                                statement.get(TOTAL_TIME).set(timing.getTotalTime(TimeUnit.MICROSECONDS));
+                                statement.get(AVERAGE_TIME).set(timing.getAverageTime(TimeUnit.MICROSECONDS));
+                                statement.get(MAX_TIME).set(timing.getMaxTime(TimeUnit.MICROSECONDS));
+                                statements.add(statement);
+                            }
+                            if (clear) {
+                                statistics.clearTimings();
+                            }
+                        }
+                        context.completeStep();
+                    }
+                }, OperationContext.Stage.RUNTIME);
+            }
+
+            context.completeStep();
+        }
+    }
+
+    private static AbstractDataSourceService getDataSourceService(final OperationContext context, final String jndiName) {
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(
+                AbstractDataSourceService.SERVICE_NAME_BASE.append(jndiName));
+        if (controller != null && controller.getService() instanceof AbstractDataSourceService) {
+            return (AbstractDataSourceService) controller.getService();
+        }
+        return null;
+    }
+
+    private StatementStatisticsOperations() {
+    }
+}
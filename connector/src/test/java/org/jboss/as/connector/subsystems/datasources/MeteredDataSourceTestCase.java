@@ -0,0 +1,332 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link MeteredDataSource}, {@link DataSourceStatistics} and {@link StatementStatistics}.
+ */
+public class MeteredDataSourceTestCase {
+
+    @Test
+    public void testConnectionLease() throws Exception {
+        final DataSourceStatistics statistics = new DataSourceStatistics();
+        statistics.setEnabled(true);
+        final DataSource dataSource = new MeteredDataSource(createDataSource(false), statistics,
+                new StatementStatistics());
+
+        final Connection first = dataSource.getConnection();
+        final Connection second = dataSource.getConnection();
+        assertEquals(2, statistics.getInUseCount());
+        assertEquals(2, statistics.getAcquisitionWaitTime().getCount());
+        assertEquals(Integer.valueOf(2), statistics.getInUseCountByDeployment().get(null));
+
+        final List<DataSourceStatistics.Lease> held = statistics.getLongestHeld(1);
+        assertEquals(1, held.size());
+        assertEquals(Thread.currentThread().getName(), held.get(0).getThreadName());
+        assertNull(held.get(0).getDeployment());
+        assertTrue(containsMethod(held.get(0).getAcquisitionStackTrace(), "testConnectionLease"));
+
+        first.close();
+        assertTrue(first.isClosed());
+        assertEquals(1, statistics.getInUseCount());
+        assertEquals(1, statistics.getHoldTime().getCount());
+
+        // Closing twice records the hold time once
+        first.close();
+        assertEquals(1, statistics.getHoldTime().getCount());
+
+        second.close();
+        assertEquals(0, statistics.getInUseCount());
+        assertEquals(2, statistics.getHoldTime().getCount());
+    }
+
+    @Test
+    public void testVendorInterfaces() throws Exception {
+        final DataSourceStatistics statistics = new DataSourceStatistics();
+        statistics.setEnabled(true);
+        final DataSource dataSource = new MeteredDataSource(createDataSource(false), statistics,
+                new StatementStatistics());
+
+        final Connection connection = dataSource.getConnection();
+        assertTrue(connection instanceof VendorConnection);
+        assertEquals("vendor", ((VendorConnection) connection).getVendorName());
+
+        // Unwrapping to an interface of the proxy must not escape the lease
+        assertTrue(connection.isWrapperFor(VendorConnection.class));
+        assertSame(connection, connection.unwrap(VendorConnection.class));
+        assertSame(connection, connection.unwrap(Connection.class));
+        assertFalse(connection.isWrapperFor(DataSource.class));
+
+        connection.unwrap(VendorConnection.class).close();
+        assertEquals(0, statistics.getInUseCount());
+        assertEquals(1, statistics.getHoldTime().getCount());
+    }
+
+    @Test
+    public void testDroppedConnectionExpires() throws Exception {
+        final DataSourceStatistics statistics = new DataSourceStatistics();
+        statistics.setEnabled(true);
+        final DataSource dataSource = new MeteredDataSource(createDataSource(false), statistics,
+                new StatementStatistics());
+
+        dataSource.getConnection();
+        for (int i = 0; i < 50 && statistics.getInUseCount() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, statistics.getInUseCount());
+        assertEquals(0, statistics.getHoldTime().getCount());
+    }
+
+    @Test
+    public void testDisabledStatistics() throws Exception {
+        final DataSourceStatistics statistics = new DataSourceStatistics();
+        final DataSource dataSource = new MeteredDataSource(createDataSource(false), statistics,
+                new StatementStatistics());
+
+        // Without connection or statement statistics the driver's connection is handed out as it is
+        final Connection connection = dataSource.getConnection();
+        assertSame(MeteredDataSourceTestCase.class, Proxy.getInvocationHandler(connection).getClass().getEnclosingClass());
+        assertEquals(0, statistics.getInUseCount());
+        assertEquals(0, statistics.getAcquisitionWaitTime().getCount());
+
+        // A connection obtained before tracking was enabled is not counted when closed
+        statistics.setEnabled(true);
+        connection.close();
+        assertEquals(0, statistics.getHoldTime().getCount());
+    }
+
+    @Test
+    public void testAcquisitionFailure() throws Exception {
+        final DataSourceStatistics statistics = new DataSourceStatistics();
+        final DataSource dataSource = new MeteredDataSource(createDataSource(true), statistics,
+                new StatementStatistics());
+        try {
+            dataSource.getConnection();
+        } catch (SQLException expected) {
+        }
+        assertEquals(1, statistics.getAcquisitionFailureCount());
+        assertEquals(0, statistics.getInUseCount());
+        assertEquals(0, statistics.getAcquisitionWaitTime().getCount());
+    }
+
+    @Test
+    public void testStatementStatistics() throws Exception {
+        final StatementStatistics statementStatistics = new StatementStatistics();
+        final DataSource dataSource = new MeteredDataSource(createDataSource(false), new DataSourceStatistics(),
+                statementStatistics);
+
+        // Disabled statistics leave statements alone
+        Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("select 1");
+        assertSame(MeteredDataSourceTestCase.class, Proxy.getInvocationHandler(statement).getClass().getEnclosingClass());
+        connection.close();
+
+        statementStatistics.setMetadataCacheSize(1);
+        statementStatistics.setTimingEnabled(true);
+        final Connection first = dataSource.getConnection();
+        final Connection second = dataSource.getConnection();
+        final PreparedStatement firstStatement = first.prepareStatement("select 1");
+        final PreparedStatement secondStatement = second.prepareStatement("select 1");
+        assertSame(first, firstStatement.getConnection());
+
+        // The first statement is described by its own connection, the second by a detached copy
+        final ResultSetMetaData metaData = firstStatement.getMetaData();
+        assertTrue(Proxy.isProxyClass(metaData.getClass()));
+        final ResultSetMetaData cached = secondStatement.getMetaData();
+        assertFalse(Proxy.isProxyClass(cached.getClass()));
+        assertEquals(metaData.getColumnCount(), cached.getColumnCount());
+        assertEquals(metaData.getColumnName(1), cached.getColumnName(1));
+        assertEquals(metaData.getColumnType(1), cached.getColumnType(1));
+        assertEquals(metaData.isNullable(1), cached.isNullable(1));
+        assertEquals(1, statementStatistics.getMetadataHitCount());
+        assertEquals(1, statementStatistics.getMetadataMissCount());
+        try {
+            cached.getColumnName(2);
+            fail("Column 2 does not exist");
+        } catch (SQLException expected) {
+        }
+
+        // The cache is full, so describing another statement evicts the least recently used one
+        second.prepareStatement("select 2").getMetaData();
+        assertEquals(1, statementStatistics.getMetadataCacheCount());
+        assertEquals(2, statementStatistics.getMetadataMissCount());
+        first.prepareStatement("select 1").getMetaData();
+        assertEquals(3, statementStatistics.getMetadataMissCount());
+        assertEquals(1, statementStatistics.getMetadataHitCount());
+
+        firstStatement.executeQuery();
+        secondStatement.executeQuery();
+        first.createStatement().execute("select 2");
+        final List<StatementStatistics.Timing> slowest = statementStatistics.getSlowest(10);
+        assertEquals(2, slowest.size());
+        for (StatementStatistics.Timing timing : slowest) {
+            assertEquals("select 1".equals(timing.getSql()) ? 2 : 1, timing.getExecuteCount());
+        }
+        assertEquals(1, statementStatistics.getSlowest(1).size());
+
+        statementStatistics.clearTimings();
+        assertTrue(statementStatistics.getSlowest(10).isEmpty());
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void testMaxTrackedStatements() throws Exception {
+        final StatementStatistics statementStatistics = new StatementStatistics();
+        final DataSource dataSource = new MeteredDataSource(createDataSource(false), new DataSourceStatistics(),
+                statementStatistics);
+        assertEquals(StatementStatistics.DEFAULT_MAX_TRACKED_STATEMENTS, statementStatistics.getMaxTrackedStatements());
+        statementStatistics.setTimingEnabled(true);
+        statementStatistics.setMaxTrackedStatements(1);
+
+        // Only the first statement is timed; executions of the second are only counted
+        final Connection connection = dataSource.getConnection();
+        connection.createStatement().execute("select 1");
+        connection.createStatement().execute("select 2");
+        connection.createStatement().execute("select 1");
+        final List<StatementStatistics.Timing> slowest = statementStatistics.getSlowest(10);
+        assertEquals(1, slowest.size());
+        assertEquals("select 1", slowest.get(0).getSql());
+        assertEquals(2, slowest.get(0).getExecuteCount());
+        assertEquals(1, statementStatistics.getUntrackedExecutionCount());
+
+        statementStatistics.setMaxTrackedStatements(2);
+        connection.createStatement().execute("select 2");
+        assertEquals(2, statementStatistics.getSlowest(10).size());
+        connection.close();
+    }
+
+    private static boolean containsMethod(final StackTraceElement[] stackTrace, final String methodName) {
+        for (StackTraceElement element : stackTrace) {
+            if (methodName.equals(element.getMethodName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static DataSource createDataSource(final boolean fail) {
+        return (DataSource) Proxy.newProxyInstance(MeteredDataSourceTestCase.class.getClassLoader(),
+                new Class<?>[] { DataSource.class }, new InvocationHandler() {
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                        if (!"getConnection".equals(method.getName())) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        if (fail) {
+                            throw new SQLException("No connection available");
+                        }
+                        return createConnection();
+                    }
+                });
+    }
+
+    /**
+     * A vendor specific extension of the connections handed out by a driver.
+     */
+    public interface VendorConnection extends Connection {
+        String getVendorName();
+    }
+
+    private static Connection createConnection() {
+        final AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(MeteredDataSourceTestCase.class.getClassLoader(),
+                new Class<?>[] { VendorConnection.class }, new InvocationHandler() {
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                        if ("getVendorName".equals(method.getName())) {
+                            return "vendor";
+                        } else if ("unwrap".equals(method.getName())) {
+                            return proxy;
+                        } else if ("isWrapperFor".equals(method.getName())) {
+                            return Boolean.valueOf(((Class<?>) args[0]).isInstance(proxy));
+                        } else if ("close".equals(method.getName())) {
+                            closed.set(true);
+                            return null;
+                        } else if ("isClosed".equals(method.getName())) {
+                            return Boolean.valueOf(closed.get());
+                        } else if (method.getName().startsWith("prepare") || "createStatement".equals(method.getName())) {
+                            return createStatement(method.getReturnType());
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static Object createStatement(final Class<?> type) {
+        return Proxy.newProxyInstance(MeteredDataSourceTestCase.class.getClassLoader(), new Class<?>[] { type },
+                new InvocationHandler() {
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                        if ("getMetaData".equals(method.getName())) {
+                            return createMetaData();
+                        } else if (method.getName().startsWith("execute")) {
+                            return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static ResultSetMetaData createMetaData() {
+        return (ResultSetMetaData) Proxy.newProxyInstance(MeteredDataSourceTestCase.class.getClassLoader(),
+                new Class<?>[] { ResultSetMetaData.class }, new InvocationHandler() {
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                        final String name = method.getName();
+                        if ("getColumnCount".equals(name)) {
+                            return Integer.valueOf(1);
+                        } else if ("getColumnType".equals(name)) {
+                            return Integer.valueOf(Types.INTEGER);
+                        } else if ("isNullable".equals(name)) {
+                            return Integer.valueOf(ResultSetMetaData.columnNoNulls);
+                        } else if (method.getReturnType() == int.class) {
+                            return Integer.valueOf(10);
+                        } else if (method.getReturnType() == boolean.class) {
+                            return Boolean.FALSE;
+                        } else if (method.getReturnType() == String.class) {
+                            return "X";
+                        }
+                        throw new UnsupportedOperationException(name);
+                    }
+                });
+    }
+}
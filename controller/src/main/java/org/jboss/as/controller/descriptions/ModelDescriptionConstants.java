@@ -118,7 +118,9 @@ public class ModelDescriptionConstants {
     public static final String MAX_FAILURE_PERCENTAGE = "max-failure-percentage";
     public static final String MAX_LENGTH = "max-length";
     public static final String MAX_OCCURS = "max-occurs";
+    public static final String MAX_READ_REQUESTS = "max-read-requests";
     public static final String MAX_THREADS = "max-threads";
+    public static final String MAX_WRITE_REQUESTS = "max-write-requests";
     public static final String MIN = "min";
     public static final String MIN_LENGTH = "min-length";
     public static final String MIN_OCCURS = "min-occurs";
@@ -28,6 +28,8 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DES
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HEAD_COMMENT_ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INTERFACE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_INTERFACE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_READ_REQUESTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_WRITE_REQUESTS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MIN_OCCURS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MODEL_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATIONS;
@@ -131,6 +133,15 @@ public class ManagementDescription {
         root.get(ATTRIBUTES, PORT, TYPE).set(ModelType.STRING);
         root.get(ATTRIBUTES, PORT, DESCRIPTION).set(bundle.getString("core.management.http-interface.port"));
         root.get(ATTRIBUTES, PORT, REQUIRED).set(false);
+        for (String limit : new String[] { MAX_READ_REQUESTS, MAX_WRITE_REQUESTS }) {
+            root.get(ATTRIBUTES, limit, TYPE).set(ModelType.INT);
+            root.get(ATTRIBUTES, limit, DESCRIPTION).set(bundle.getString("core.management.http-interface." + limit));
+            root.get(ATTRIBUTES, limit, REQUIRED).set(false);
+        }
+        for (String lane : new String[] { "read-requests", "write-requests" }) {
+            root.get(ATTRIBUTES, lane, TYPE).set(ModelType.OBJECT);
+            root.get(ATTRIBUTES, lane, DESCRIPTION).set(bundle.getString("core.management.http-interface." + lane));
+        }
         root.get(HEAD_COMMENT_ALLOWED).set(true);
         root.get(TAIL_COMMENT_ALLOWED).set(false);
         return root;
@@ -160,6 +171,11 @@ public class ManagementDescription {
         op.get(REQUEST_PROPERTIES, PORT, TYPE).set(ModelType.STRING);
         op.get(REQUEST_PROPERTIES, PORT, DESCRIPTION).set(bundle.getString("core.management.http-interface.port"));
         op.get(REQUEST_PROPERTIES, PORT, REQUIRED).set(false);
+        for (String limit : new String[] { MAX_READ_REQUESTS, MAX_WRITE_REQUESTS }) {
+            op.get(REQUEST_PROPERTIES, limit, TYPE).set(ModelType.INT);
+            op.get(REQUEST_PROPERTIES, limit, DESCRIPTION).set(bundle.getString("core.management.http-interface." + limit));
+            op.get(REQUEST_PROPERTIES, limit, REQUIRED).set(false);
+        }
 
         return op;
     }
@@ -55,8 +55,10 @@ public enum Attribute {
     INITIAL_CONTEXT_FACTORY("initial-context-factory"),
     INTERFACE("interface"),
     JAVA_HOME("java-home"),
+    MAX_READ_REQUESTS("max-read-requests"),
     MAX_SIZE("max-size"),
     MAX_THREADS("max-threads"),
+    MAX_WRITE_REQUESTS("max-write-requests"),
     MODULE("module"),
     MULTICAST_ADDRESS("multicast-address"),
     MULTICAST_PORT("multicast-port"),
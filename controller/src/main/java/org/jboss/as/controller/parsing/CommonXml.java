@@ -48,7 +48,9 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.KEY
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LDAP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_INTERFACE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_READ_REQUESTS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_THREADS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_WRITE_REQUESTS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MULTICAST_ADDRESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MULTICAST_PORT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
@@ -1122,6 +1124,8 @@ public abstract class CommonXml implements XMLElementReader<List<ModelNode>>, XM
         int port = -1;
         int securePort = -1;
         int maxThreads = -1;
+        int maxReadRequests = -1;
+        int maxWriteRequests = -1;
         String securityRealm = null;
         final int count = reader.getAttributeCount();
         for (int i = 0; i < count; i ++) {
@@ -1163,6 +1167,24 @@ public abstract class CommonXml implements XMLElementReader<List<ModelNode>>, XM
                         }
                         break;
                     }
+                    case MAX_READ_REQUESTS: {
+                        maxReadRequests = Integer.parseInt(value);
+                        if (maxReadRequests < 1) {
+                            throw new XMLStreamException("Illegal '" + attribute.getLocalName() +
+                                    "' value " + maxReadRequests + " -- must be greater than 0",
+                                    reader.getLocation());
+                        }
+                        break;
+                    }
+                    case MAX_WRITE_REQUESTS: {
+                        maxWriteRequests = Integer.parseInt(value);
+                        if (maxWriteRequests < 1) {
+                            throw new XMLStreamException("Illegal '" + attribute.getLocalName() +
+                                    "' value " + maxWriteRequests + " -- must be greater than 0",
+                                    reader.getLocation());
+                        }
+                        break;
+                    }
                     case SECURITY_REALM: {
                         securityRealm = value;
                         break;
@@ -1184,6 +1206,12 @@ public abstract class CommonXml implements XMLElementReader<List<ModelNode>>, XM
         if (securePort > -1) {
             mgmtSocket.get(SECURE_PORT).set(securePort);
         }
+        if (maxReadRequests > -1) {
+            mgmtSocket.get(MAX_READ_REQUESTS).set(maxReadRequests);
+        }
+        if (maxWriteRequests > -1) {
+            mgmtSocket.get(MAX_WRITE_REQUESTS).set(maxWriteRequests);
+        }
         if (securityRealm != null) {
             mgmtSocket.get(SECURITY_REALM).set(securityRealm);
         }
@@ -2492,6 +2520,12 @@ public abstract class CommonXml implements XMLElementReader<List<ModelNode>>, XM
         if (protocol.hasDefined(MAX_THREADS)) {
             writeAttribute(writer, Attribute.MAX_THREADS, protocol.get(MAX_THREADS).asString());
         }
+        if (protocol.hasDefined(MAX_READ_REQUESTS)) {
+            writeAttribute(writer, Attribute.MAX_READ_REQUESTS, protocol.get(MAX_READ_REQUESTS).asString());
+        }
+        if (protocol.hasDefined(MAX_WRITE_REQUESTS)) {
+            writeAttribute(writer, Attribute.MAX_WRITE_REQUESTS, protocol.get(MAX_WRITE_REQUESTS).asString());
+        }
         if (protocol.hasDefined(SECURITY_REALM)) {
             writeAttribute(writer, Attribute.SECURITY_REALM, protocol.get(SECURITY_REALM).asString());
         }
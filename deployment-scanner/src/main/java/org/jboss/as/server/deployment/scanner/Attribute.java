@@ -40,6 +40,7 @@ enum Attribute {
     AUTO_DEPLOY_ZIPPED(CommonAttributes.AUTO_DEPLOY_ZIPPED),
     AUTO_DEPLOY_EXPLODED(CommonAttributes.AUTO_DEPLOY_EXPLODED),
     DEPLOYMENT_TIMEOUT(CommonAttributes.DEPLOYMENT_TIMEOUT),
+    FULL_SCAN_INTERVAL(CommonAttributes.FULL_SCAN_INTERVAL),
     ;
 
     private final String name;
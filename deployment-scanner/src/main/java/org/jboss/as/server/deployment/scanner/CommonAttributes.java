@@ -31,6 +31,7 @@ interface CommonAttributes {
     String AUTO_DEPLOY_EXPLODED = "auto-deploy-exploded";
     String DEPLOYMENT_SCANNER = "deployment-scanner";
     String DEPLOYMENT_TIMEOUT = "deployment-timeout";
+    String FULL_SCAN_INTERVAL = "full-scan-interval";
     String NAME = "name";
     String PATH = "path";
     String RELATIVE_TO = "relative-to";
@@ -38,4 +39,11 @@ interface CommonAttributes {
     String SCAN_ENABLED = "scan-enabled";
     String SCAN_INTERVAL = "scan-interval";
 
+    // metrics
+    String AVERAGE_SCAN_DURATION = "average-scan-duration";
+    String LAST_SCAN_DURATION = "last-scan-duration";
+    String MAX_SCAN_DURATION = "max-scan-duration";
+    String SCAN_COUNT = "scan-count";
+    String SKIPPED_SCAN_COUNT = "skipped-scan-count";
+
 }
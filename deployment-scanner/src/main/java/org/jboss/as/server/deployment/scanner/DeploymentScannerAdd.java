@@ -62,6 +62,7 @@ class DeploymentScannerAdd extends AbstractAddStepHandler implements Description
         final Boolean autoDeployZip = operation.hasDefined(CommonAttributes.AUTO_DEPLOY_ZIPPED) ? operation.get(CommonAttributes.AUTO_DEPLOY_ZIPPED).asBoolean() : true;
         final Boolean autoDeployExp = operation.hasDefined(CommonAttributes.AUTO_DEPLOY_EXPLODED) ? operation.get(CommonAttributes.AUTO_DEPLOY_EXPLODED).asBoolean() : false;
         final Long deploymentTimeout = operation.hasDefined(CommonAttributes.DEPLOYMENT_TIMEOUT) ? operation.get(CommonAttributes.DEPLOYMENT_TIMEOUT).asLong() : 60L;
+        final Long fullScanInterval = operation.hasDefined(CommonAttributes.FULL_SCAN_INTERVAL) ? operation.get(CommonAttributes.FULL_SCAN_INTERVAL).asLong() : null;
 
         model.get(CommonAttributes.NAME).set(name);
         model.get(CommonAttributes.PATH).set(path);
@@ -71,6 +72,7 @@ class DeploymentScannerAdd extends AbstractAddStepHandler implements Description
         if (autoDeployExp != null) model.get(CommonAttributes.AUTO_DEPLOY_EXPLODED).set(autoDeployExp);
         if (relativeTo != null) model.get(CommonAttributes.RELATIVE_TO).set(relativeTo);
         if (deploymentTimeout != null) model.get(CommonAttributes.DEPLOYMENT_TIMEOUT).set(deploymentTimeout);
+        if (fullScanInterval != null) model.get(CommonAttributes.FULL_SCAN_INTERVAL).set(fullScanInterval);
 
     }
 
@@ -84,10 +86,11 @@ class DeploymentScannerAdd extends AbstractAddStepHandler implements Description
         final Boolean autoDeployZip = operation.hasDefined(CommonAttributes.AUTO_DEPLOY_ZIPPED) ? operation.get(CommonAttributes.AUTO_DEPLOY_ZIPPED).asBoolean() : true;
         final Boolean autoDeployExp = operation.hasDefined(CommonAttributes.AUTO_DEPLOY_EXPLODED) ? operation.get(CommonAttributes.AUTO_DEPLOY_EXPLODED).asBoolean() : false;
         final Long deploymentTimeout = operation.hasDefined(CommonAttributes.DEPLOYMENT_TIMEOUT) ? operation.get(CommonAttributes.DEPLOYMENT_TIMEOUT).asLong() : 60L;
+        final Long fullScanInterval = operation.hasDefined(CommonAttributes.FULL_SCAN_INTERVAL) ? operation.get(CommonAttributes.FULL_SCAN_INTERVAL).asLong() : null;
 
         final ServiceTarget serviceTarget = context.getServiceTarget();
         newControllers.add(DeploymentScannerService.addService(serviceTarget, name, relativeTo, path, interval, TimeUnit.MILLISECONDS,
-                autoDeployZip, autoDeployExp, enabled, deploymentTimeout, verificationHandler));
+                autoDeployZip, autoDeployExp, enabled, deploymentTimeout, fullScanInterval, verificationHandler));
     }
 
     @Override
@@ -106,6 +106,10 @@ public class DeploymentScannerExtension implements Extension {
         scanners.registerReadWriteAttribute(Attribute.AUTO_DEPLOY_ZIPPED.getLocalName(), null, WriteAutoDeployZipAttributeHandler.INSTANCE, Storage.CONFIGURATION);
         scanners.registerReadWriteAttribute(Attribute.AUTO_DEPLOY_EXPLODED.getLocalName(), null, WriteAutoDeployExplodedAttributeHandler.INSTANCE, Storage.CONFIGURATION);
         scanners.registerReadWriteAttribute(Attribute.DEPLOYMENT_TIMEOUT.getLocalName(), null, WriteDeploymentTimeoutAttributeHandler.INSTANCE, Storage.CONFIGURATION);
+        scanners.registerReadWriteAttribute(Attribute.FULL_SCAN_INTERVAL.getLocalName(), null, WriteFullScanIntervalAttributeHandler.INSTANCE, Storage.CONFIGURATION);
+        for (String metric : ScannerMetricsHandler.METRICS) {
+            scanners.registerMetric(metric, ScannerMetricsHandler.INSTANCE);
+        }
     }
 
     /** {@inheritDoc} */
@@ -158,6 +162,9 @@ public class DeploymentScannerExtension implements Extension {
                     if (configuration.hasDefined(CommonAttributes.DEPLOYMENT_TIMEOUT)) {
                         writer.writeAttribute(Attribute.DEPLOYMENT_TIMEOUT.getLocalName(), configuration.get(CommonAttributes.DEPLOYMENT_TIMEOUT).asString());
                     }
+                    if (configuration.hasDefined(CommonAttributes.FULL_SCAN_INTERVAL)) {
+                        writer.writeAttribute(Attribute.FULL_SCAN_INTERVAL.getLocalName(), configuration.get(CommonAttributes.FULL_SCAN_INTERVAL).asString());
+                    }
                 }
                 writer.writeEndElement();
             }
@@ -208,6 +215,7 @@ public class DeploymentScannerExtension implements Extension {
             Boolean autoDeployZipped = null;
             Boolean autoDeployExploded = null;
             Long deploymentTimeout = null;
+            Long fullScanInterval = null;
             final int attrCount = reader.getAttributeCount();
             for (int i = 0; i < attrCount; i++) {
                 requireNoNamespaceAttribute(reader, i);
@@ -246,6 +254,10 @@ public class DeploymentScannerExtension implements Extension {
                         deploymentTimeout = Long.parseLong(value);
                         break;
                     }
+                    case FULL_SCAN_INTERVAL: {
+                        fullScanInterval = Long.parseLong(value);
+                        break;
+                    }
                     default:
                         throw ParseUtils.unexpectedAttribute(reader, i);
                 }
@@ -268,6 +280,7 @@ public class DeploymentScannerExtension implements Extension {
             if (enabled != null) operation.get(CommonAttributes.SCAN_ENABLED).set(enabled.booleanValue());
             if(relativeTo != null) operation.get(CommonAttributes.RELATIVE_TO).set(relativeTo);
             if(deploymentTimeout != null) operation.get(CommonAttributes.DEPLOYMENT_TIMEOUT).set(deploymentTimeout);
+            if(fullScanInterval != null) operation.get(CommonAttributes.FULL_SCAN_INTERVAL).set(fullScanInterval);
             list.add(operation);
         }
 
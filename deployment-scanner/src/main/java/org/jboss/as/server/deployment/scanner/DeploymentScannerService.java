@@ -24,9 +24,12 @@ package org.jboss.as.server.deployment.scanner;
 
 import java.io.File;
 import java.security.AccessController;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.ModelController;
@@ -63,6 +66,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     private boolean autoDeployZipped;
     private boolean autoDeployExploded;
     private Long deploymentTimeout;
+    private Long fullScanInterval;
     private final String relativeTo;
 
     /**
@@ -77,6 +81,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     private final InjectedValue<ServerDeploymentRepository> deploymentRepositoryValue = new InjectedValue<ServerDeploymentRepository>();
     private final InjectedValue<ContentRepository> contentRepositoryValue = new InjectedValue<ContentRepository>();
     private final InjectedValue<ScheduledExecutorService> scheduledExecutorValue = new InjectedValue<ScheduledExecutorService>();
+    private final InjectedValue<ExecutorService> validationExecutorValue = new InjectedValue<ExecutorService>();
 
     public static ServiceName getServiceName(String repositoryName) {
         return DeploymentScanner.BASE_SERVICE_NAME.append(repositoryName);
@@ -92,11 +97,13 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
      * @param scanInterval      the scan interval
      * @param scanEnabled       scan enabled
      * @param deploymentTimeout the deployment timeout
+     * @param fullScanInterval  the interval between full scans, in {@code unit}
      * @return
      */
     public static ServiceController<?> addService(final ServiceTarget serviceTarget, final String name, final String relativeTo, final String path,
-                                  final Integer scanInterval, TimeUnit unit, final Boolean autoDeployZip, final Boolean autoDeployExploded, final Boolean scanEnabled, final Long deploymentTimeout, final ServiceListener<Object>... listeners) {
-        final DeploymentScannerService service = new DeploymentScannerService(relativeTo, scanInterval, unit, autoDeployZip, autoDeployExploded, scanEnabled, deploymentTimeout);
+                                  final Integer scanInterval, TimeUnit unit, final Boolean autoDeployZip, final Boolean autoDeployExploded, final Boolean scanEnabled, final Long deploymentTimeout,
+                                  final Long fullScanInterval, final ServiceListener<Object>... listeners) {
+        final DeploymentScannerService service = new DeploymentScannerService(relativeTo, scanInterval, unit, autoDeployZip, autoDeployExploded, scanEnabled, deploymentTimeout, fullScanInterval);
         final ServiceName serviceName = getServiceName(name);
         final ServiceName pathService = serviceName.append("path");
         final ServiceName relativePathService = relativeTo != null ? RelativePathService.pathNameOf(relativeTo) : null;
@@ -108,6 +115,10 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         }
         final ThreadFactory threadFactory = new JBossThreadFactory(new ThreadGroup("DeploymentScanner-threads"), Boolean.FALSE, null, "%G - %t", null, null, AccessController.getContext());
         final ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(2, threadFactory);
+        // Checks auto-deploy content for completeness; idle threads go away between scans
+        final ThreadPoolExecutor validationExecutor = new ThreadPoolExecutor(FileSystemDeploymentService.VALIDATION_THREADS,
+                FileSystemDeploymentService.VALIDATION_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+        validationExecutor.allowCoreThreadTimeOut(true);
 
         ServiceBuilder builder = serviceTarget.addService(serviceName, service)
                 .addDependency(pathService, String.class, service.pathValue)
@@ -115,7 +126,8 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
                 .addDependency(ServerDeploymentRepository.SERVICE_NAME, ServerDeploymentRepository.class, service.deploymentRepositoryValue)
                 .addDependency(ContentRepository.SERVICE_NAME, ContentRepository.class, service.contentRepositoryValue)
                 .addDependency(org.jboss.as.server.deployment.Services.JBOSS_DEPLOYMENT_CHAINS)
-                .addInjection(service.scheduledExecutorValue, scheduledExecutorService);
+                .addInjection(service.scheduledExecutorValue, scheduledExecutorService)
+                .addInjection(service.validationExecutorValue, validationExecutor);
         if (relativePathService != null) {
             builder.addDependency(relativePathService, String.class, service.relativePathValue);
         }
@@ -125,7 +137,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     }
 
     DeploymentScannerService(final String relativeTo, final Integer interval, final TimeUnit unit, final Boolean autoDeployZipped,
-                             final Boolean autoDeployExploded, final Boolean enabled, final Long deploymentTimeout) {
+                             final Boolean autoDeployExploded, final Boolean enabled, final Long deploymentTimeout, final Long fullScanInterval) {
         this.relativeTo = relativeTo;
         this.interval = interval == null ? DEFAULT_INTERVAL : interval.longValue();
         this.unit = unit;
@@ -133,6 +145,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         this.autoDeployExploded = autoDeployExploded == null ? false : autoDeployExploded.booleanValue();
         this.enabled = enabled == null ? true : enabled.booleanValue();
         this.deploymentTimeout = deploymentTimeout;
+        this.fullScanInterval = fullScanInterval;
     }
 
 
@@ -145,13 +158,16 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
             final String pathName = pathValue.getValue();
             final String relativePathName = relativePathValue.getOptionalValue();
             final File relativePath = relativePathName != null ? new File(relativePathName) : null;
-            final FileSystemDeploymentService scanner = new FileSystemDeploymentService(relativeTo, new File(pathName), relativePath, controllerValue.getValue().createClient(scheduledExecutorValue.getValue()), scheduledExecutorValue.getValue(), deploymentRepositoryValue.getValue(), contentRepositoryValue.getValue());
+            final FileSystemDeploymentService scanner = new FileSystemDeploymentService(relativeTo, new File(pathName), relativePath, controllerValue.getValue().createClient(scheduledExecutorValue.getValue()), scheduledExecutorValue.getValue(), validationExecutorValue.getValue(), deploymentRepositoryValue.getValue(), contentRepositoryValue.getValue());
             scanner.setScanInterval(unit.toMillis(interval));
             scanner.setAutoDeployExplodedContent(autoDeployExploded);
             scanner.setAutoDeployZippedContent(autoDeployZipped);
             if (deploymentTimeout != null) {
                 scanner.setDeploymentTimeout(deploymentTimeout);
             }
+            if (fullScanInterval != null) {
+                scanner.setFullScanInterval(unit.toMillis(fullScanInterval));
+            }
 
             if (enabled) {
                 scanner.startScanner();
@@ -171,6 +187,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         this.scanner = null;
         scanner.stopScanner();
         scheduledExecutorValue.getValue().shutdown();
+        validationExecutorValue.getValue().shutdown();
     }
 
     /**
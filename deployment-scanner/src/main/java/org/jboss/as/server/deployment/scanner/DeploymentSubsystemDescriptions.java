@@ -136,6 +136,14 @@ public class DeploymentSubsystemDescriptions {
         root.get(ATTRIBUTES, DEPLOYMENT_TIMEOUT, DESCRIPTION).set(bundle.getString("scanner.deployment.timeout"));
         root.get(ATTRIBUTES, DEPLOYMENT_TIMEOUT, REQUIRED).set(false);
         root.get(ATTRIBUTES, DEPLOYMENT_TIMEOUT, DEFAULT).set(60L);
+        root.get(ATTRIBUTES, FULL_SCAN_INTERVAL, TYPE).set(ModelType.LONG);
+        root.get(ATTRIBUTES, FULL_SCAN_INTERVAL, DESCRIPTION).set(bundle.getString("scanner.full.scan.interval"));
+        root.get(ATTRIBUTES, FULL_SCAN_INTERVAL, REQUIRED).set(false);
+        root.get(ATTRIBUTES, FULL_SCAN_INTERVAL, DEFAULT).set(0L);
+        for (String metric : ScannerMetricsHandler.METRICS) {
+            root.get(ATTRIBUTES, metric, TYPE).set(ModelType.LONG);
+            root.get(ATTRIBUTES, metric, DESCRIPTION).set(bundle.getString("scanner." + metric));
+        }
 
         root.get(OPERATIONS);
 
@@ -177,6 +185,10 @@ public class DeploymentSubsystemDescriptions {
         operation.get(REQUEST_PROPERTIES, DEPLOYMENT_TIMEOUT, DESCRIPTION).set(bundle.getString("scanner.deployment.timeout"));
         operation.get(REQUEST_PROPERTIES, DEPLOYMENT_TIMEOUT, REQUIRED).set(false);
         operation.get(REQUEST_PROPERTIES, DEPLOYMENT_TIMEOUT, DEFAULT).set(60L);
+        operation.get(REQUEST_PROPERTIES, FULL_SCAN_INTERVAL, TYPE).set(ModelType.LONG);
+        operation.get(REQUEST_PROPERTIES, FULL_SCAN_INTERVAL, DESCRIPTION).set(bundle.getString("scanner.full.scan.interval"));
+        operation.get(REQUEST_PROPERTIES, FULL_SCAN_INTERVAL, REQUIRED).set(false);
+        operation.get(REQUEST_PROPERTIES, FULL_SCAN_INTERVAL, DEFAULT).set(0L);
 
         operation.get(REPLY_PROPERTIES).setEmptyObject();
 
@@ -53,11 +53,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
@@ -110,8 +113,19 @@ class FileSystemDeploymentService implements DeploymentScanner {
     /** Default timeout for deployments to execute in seconds*/
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 60;
 
+    /** Threads checking auto-deploy content for completeness, in addition to the scanning thread */
+    static final int VALIDATION_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Period, in ms, after a directory change during which the directory's timestamp is not trusted to reveal further
+     * changes; covers file systems with coarse timestamp granularity
+     */
+    static final long DIRECTORY_TIMESTAMP_GRANULARITY = 2000;
+
     private File deploymentDir;
     private long scanInterval = 0;
+    private volatile long fullScanInterval = 0;
+    private long lastFullScan;
     private volatile boolean scanEnabled = false;
     private ScheduledFuture<?> scanTask;
     private ScheduledFuture<?> rescanIncompleteTask;
@@ -124,8 +138,11 @@ class FileSystemDeploymentService implements DeploymentScanner {
     private final HashSet<String> prematureExplodedContentDeletionLogged = new HashSet<String>();
     private final HashSet<File> nonscannableLogged = new HashSet<File>();
     private final Map<File, IncompleteDeploymentStatus> incompleteDeployments = new HashMap<File, IncompleteDeploymentStatus>();
+    private final Map<File, Long> scannedDirectories = new HashMap<File, Long>();
+    private final ScanStatistics statistics = new ScanStatistics();
 
     private final ScheduledExecutorService scheduledExecutor;
+    private final ExecutorService validationExecutor;
     private final ModelControllerClient controllerClient;
     private final ServerDeploymentRepository deploymentRepository;
     private final ContentRepository contentRepository;
@@ -153,10 +170,18 @@ class FileSystemDeploymentService implements DeploymentScanner {
 
     FileSystemDeploymentService(final String relativeTo, final File deploymentDir, final File relativeToDir, final ModelControllerClient controllerClient, final ScheduledExecutorService scheduledExecutor,
             final ServerDeploymentRepository deploymentRepository, final ContentRepository contentRepository) throws OperationFailedException {
+        this(relativeTo, deploymentDir, relativeToDir, controllerClient, scheduledExecutor, scheduledExecutor, deploymentRepository, contentRepository);
+    }
+
+    FileSystemDeploymentService(final String relativeTo, final File deploymentDir, final File relativeToDir, final ModelControllerClient controllerClient, final ScheduledExecutorService scheduledExecutor,
+            final ExecutorService validationExecutor, final ServerDeploymentRepository deploymentRepository, final ContentRepository contentRepository) throws OperationFailedException {
         assert contentRepository != null : "content repository is null";
         if (scheduledExecutor == null) {
             throw new IllegalStateException("null scheduled executor");
         }
+        if (validationExecutor == null) {
+            throw new IllegalStateException("null validation executor");
+        }
         if (controllerClient == null) {
             throw new IllegalStateException("null controller client");
         }
@@ -179,6 +204,7 @@ class FileSystemDeploymentService implements DeploymentScanner {
         this.deploymentDir = deploymentDir;
         this.controllerClient = controllerClient;
         this.scheduledExecutor = scheduledExecutor;
+        this.validationExecutor = validationExecutor;
         this.deploymentRepository = deploymentRepository;
         this.contentRepository = contentRepository;
 
@@ -248,6 +274,20 @@ class FileSystemDeploymentService implements DeploymentScanner {
         this.deploymentTimeout = deploymentTimeout;
     }
 
+    @Override
+    public long getFullScanInterval() {
+        return fullScanInterval;
+    }
+
+    @Override
+    public void setFullScanInterval(long fullScanInterval) {
+        this.fullScanInterval = fullScanInterval;
+    }
+
+    ScanStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -317,12 +357,26 @@ class FileSystemDeploymentService implements DeploymentScanner {
         }
 
         boolean scheduleRescan = false;
+        boolean scanned = false;
+        final long scanStart = System.nanoTime();
         try {
             if (scanEnabled) { // confirm the scan is still wanted
+                if (!isFullScanRequired()) {
+                    log.tracef("Skipping scan of unchanged directory %s", deploymentDir.getAbsolutePath());
+                    statistics.scanSkipped();
+                    return;
+                }
+                scanned = true;
                 log.tracef("Scanning directory %s for deployment content changes", deploymentDir.getAbsolutePath());
 
                 ScanContext scanContext = new ScanContext();
                 scanDirectory(deploymentDir, relativePath, scanContext);
+                if (!validateAutoDeployCandidates(scanContext)) {
+                    return;
+                }
+                scannedDirectories.clear();
+                scannedDirectories.putAll(scanContext.scannedDirectories);
+                lastFullScan = scanContext.scanStartTime;
 
                 // WARN about markers with no associated content. Do this first in case any auto-deploy issue
                 // is due to a file that wasn't meant to be auto-deployed, but has a misspelled marker
@@ -457,6 +511,10 @@ class FileSystemDeploymentService implements DeploymentScanner {
             }
         } finally {
 
+            if (scanned) {
+                statistics.scanCompleted(System.nanoTime() - scanStart);
+            }
+
             scanLock.unlock();
 
             if (scheduleRescan) {
@@ -469,6 +527,47 @@ class FileSystemDeploymentService implements DeploymentScanner {
         }
     }
 
+    /**
+     * Checks whether a full scan of the deployment directory is needed. If a full scan interval is configured, scans in
+     * between full scans only check the timestamps of the directories found by the last full scan. Adding, removing or
+     * renaming a file, marker files included, changes the timestamp of its directory; changes to the content of existing
+     * files are only detected by the next full scan.
+     *
+     * @return {@code true} if the deployment directory must be scanned
+     */
+    private boolean isFullScanRequired() {
+        final long fullScanInterval = this.fullScanInterval;
+        if (fullScanInterval <= 0 || scannedDirectories.isEmpty()) {
+            return true;
+        }
+        if (System.currentTimeMillis() - lastFullScan >= fullScanInterval) {
+            return true;
+        }
+        // Content that is still being copied needs to be checked until it is complete
+        if (!incompleteDeployments.isEmpty() || !nonscannableLogged.isEmpty()) {
+            return true;
+        }
+        for (Map.Entry<File, Long> entry : scannedDirectories.entrySet()) {
+            if (entry.getKey().lastModified() != entry.getValue().longValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records the timestamp of a directory about to be scanned, for use by {@link #isFullScanRequired()}.
+     */
+    private void recordScannedDirectory(final File directory, final ScanContext scanContext) {
+        final long lastModified = directory.lastModified();
+        if (scanContext.scanStartTime - lastModified < DIRECTORY_TIMESTAMP_GRANULARITY) {
+            // A later change in the same timestamp tick would go unnoticed, so force the next scan
+            scanContext.scannedDirectories.put(directory, Long.MIN_VALUE);
+        } else {
+            scanContext.scannedDirectories.put(directory, lastModified);
+        }
+    }
+
     /**
      * Scan the given directory for content changes.
      *
@@ -476,6 +575,7 @@ class FileSystemDeploymentService implements DeploymentScanner {
      * @param scanContext context of the scan
      */
     private void scanDirectory(final File directory, final String relativePath, final ScanContext scanContext) {
+        recordScannedDirectory(directory, scanContext);
         final File[] children = directory.listFiles(filter);
         if (children == null) {
             return;
@@ -545,19 +645,9 @@ class FileSystemDeploymentService implements DeploymentScanner {
 
                         DeploymentMarker marker = deployed.get(fileName);
                         if (marker == null || marker.lastModified != timestamp) {
-                            try {
-                                if (isZipComplete(child)) {
-                                    final String path =  relativeTo == null ? child.getAbsolutePath() : relativePath + fileName;
-                                    final boolean archive = child.isFile();
-                                    addContentAddingTask(path, archive, fileName, child, timestamp, scanContext);
-                                }
-                                else {
-                                    scanContext.incompleteFiles.put(child, new IncompleteDeploymentStatus(child, timestamp));
-                                }
-                            } catch (NonScannableZipException e) {
-                                // Track for possible logging in scan()
-                                scanContext.nonscannable.put(child, new NonScannableStatus(e, timestamp));
-                            }
+                            // Checked for completeness by validateAutoDeployCandidates()
+                            final String path =  relativeTo == null ? child.getAbsolutePath() : relativePath + fileName;
+                            scanContext.autoDeployCandidates.add(new AutoDeployCandidate(child, path, timestamp));
                         }
                     }
                 }
@@ -603,6 +693,66 @@ class FileSystemDeploymentService implements DeploymentScanner {
         return timestamp;
     }
 
+    /**
+     * Checks whether the auto-deploy content found by the scan is complete, and adds a deployment task for the content
+     * that is. Several candidates are checked in parallel, since each check reads the zip's central directory; the
+     * validation executor and the scanning thread together check up to {@link #VALIDATION_THREADS} + 1 at once.
+     *
+     * @param scanContext context of the scan
+     * @return {@code false} if the scan was interrupted
+     */
+    private boolean validateAutoDeployCandidates(final ScanContext scanContext) {
+        final List<AutoDeployCandidate> candidates = scanContext.autoDeployCandidates;
+        if (candidates.size() > 1) {
+            final List<Future<Void>> futures = new ArrayList<Future<Void>>(candidates.size());
+            try {
+                for (AutoDeployCandidate candidate : candidates) {
+                    futures.add(validationExecutor.submit(candidate));
+                }
+                // Check whatever the executor has not started yet here, so the scan never waits on a busy executor
+                for (AutoDeployCandidate candidate : candidates) {
+                    candidate.call();
+                }
+                for (Future<Void> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException(cause);
+            } finally {
+                for (Future<Void> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        } else {
+            for (AutoDeployCandidate candidate : candidates) {
+                candidate.call();
+            }
+        }
+
+        // Add the tasks in scan order, whatever order the checks completed in
+        for (AutoDeployCandidate candidate : candidates) {
+            final File file = candidate.file;
+            if (candidate.nonScannable != null) {
+                // Track for possible logging in scan()
+                scanContext.nonscannable.put(file, new NonScannableStatus(candidate.nonScannable, candidate.timestamp));
+            } else if (candidate.complete) {
+                addContentAddingTask(candidate.path, file.isFile(), file.getName(), file, candidate.timestamp, scanContext);
+            } else {
+                scanContext.incompleteFiles.put(file, new IncompleteDeploymentStatus(file, candidate.timestamp));
+            }
+        }
+        return true;
+    }
+
     private boolean isZipComplete(File file) throws NonScannableZipException {
         if (file.isDirectory()) {
             for (File child : file.listFiles()) {
@@ -1151,6 +1301,40 @@ class FileSystemDeploymentService implements DeploymentScanner {
         private final Map<File, NonScannableStatus> nonscannable = new HashMap<File, NonScannableStatus>();
         /** Timestamp when the scan started */
         private final long scanStartTime = System.currentTimeMillis();
+
+        private final Map<File, Long> scannedDirectories = new HashMap<File, Long>();
+
+        private final List<AutoDeployCandidate> autoDeployCandidates = new ArrayList<AutoDeployCandidate>();
+    }
+
+    /**
+     * Auto-deploy content whose completeness needs checking. The check runs once, on whichever thread gets to it first.
+     */
+    private class AutoDeployCandidate implements Callable<Void> {
+        private final File file;
+        private final String path;
+        private final long timestamp;
+        private final AtomicBoolean checked = new AtomicBoolean();
+        private volatile boolean complete;
+        private volatile NonScannableZipException nonScannable;
+
+        private AutoDeployCandidate(final File file, final String path, final long timestamp) {
+            this.file = file;
+            this.path = path;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public Void call() {
+            if (checked.compareAndSet(false, true)) {
+                try {
+                    complete = isZipComplete(file);
+                } catch (NonScannableZipException e) {
+                    nonScannable = e;
+                }
+            }
+            return null;
+        }
     }
 
     private static class IncompleteDeploymentStatus {
@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing of the scans performed by a {@link FileSystemDeploymentService}.
+ */
+class ScanStatistics {
+
+    private long scanCount;
+    private long skippedScanCount;
+    private long lastScanDuration;
+    private long maxScanDuration;
+    private long totalScanDuration;
+
+    synchronized void scanCompleted(final long durationNanos) {
+        scanCount++;
+        lastScanDuration = durationNanos;
+        totalScanDuration += durationNanos;
+        if (durationNanos > maxScanDuration) {
+            maxScanDuration = durationNanos;
+        }
+    }
+
+    synchronized void scanSkipped() {
+        skippedScanCount++;
+    }
+
+    /** The number of full scans of the deployment directory. */
+    synchronized long getScanCount() {
+        return scanCount;
+    }
+
+    /** The number of scans skipped because the deployment directory had not changed. */
+    synchronized long getSkippedScanCount() {
+        return skippedScanCount;
+    }
+
+    synchronized long getLastScanDuration() {
+        return TimeUnit.NANOSECONDS.toMillis(lastScanDuration);
+    }
+
+    synchronized long getMaxScanDuration() {
+        return TimeUnit.NANOSECONDS.toMillis(maxScanDuration);
+    }
+
+    synchronized long getAverageScanDuration() {
+        return scanCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalScanDuration / scanCount);
+    }
+}
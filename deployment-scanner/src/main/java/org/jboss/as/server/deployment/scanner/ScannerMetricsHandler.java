@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the scan metrics of a deployment scanner. Durations are in milliseconds.
+ */
+class ScannerMetricsHandler implements OperationStepHandler {
+
+    static final ScannerMetricsHandler INSTANCE = new ScannerMetricsHandler();
+
+    static final String[] METRICS = { CommonAttributes.SCAN_COUNT, CommonAttributes.SKIPPED_SCAN_COUNT,
+            CommonAttributes.LAST_SCAN_DURATION, CommonAttributes.MAX_SCAN_DURATION, CommonAttributes.AVERAGE_SCAN_DURATION };
+
+    private ScannerMetricsHandler() {
+        //
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        if (context.getType() == OperationContext.Type.SERVER) {
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+                    final String name = PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement().getValue();
+                    final ServiceController<?> controller = context.getServiceRegistry(false).getService(DeploymentScannerService.getServiceName(name));
+                    if (controller != null && controller.getValue() instanceof FileSystemDeploymentService) {
+                        final ScanStatistics statistics = ((FileSystemDeploymentService) controller.getValue()).getStatistics();
+                        context.getResult().set(getMetric(statistics, operation.require(NAME).asString()));
+                    }
+                    context.completeStep();
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+        context.completeStep();
+    }
+
+    private static long getMetric(final ScanStatistics statistics, final String metric) throws OperationFailedException {
+        if (CommonAttributes.SCAN_COUNT.equals(metric)) {
+            return statistics.getScanCount();
+        } else if (CommonAttributes.SKIPPED_SCAN_COUNT.equals(metric)) {
+            return statistics.getSkippedScanCount();
+        } else if (CommonAttributes.LAST_SCAN_DURATION.equals(metric)) {
+            return statistics.getLastScanDuration();
+        } else if (CommonAttributes.MAX_SCAN_DURATION.equals(metric)) {
+            return statistics.getMaxScanDuration();
+        } else if (CommonAttributes.AVERAGE_SCAN_DURATION.equals(metric)) {
+            return statistics.getAverageScanDuration();
+        }
+        throw new OperationFailedException(new ModelNode().set("Unknown metric " + metric));
+    }
+}
@@ -54,6 +54,21 @@ public interface DeploymentScanner {
      */
     void setScanInterval(long scanInterval);
 
+    /**
+     * Get the interval between full scans. Scans in between full scans only check whether the scanned directories
+     * changed.
+     *
+     * @return the full scan interval in ms, or a value less than 1 if every scan is a full scan
+     */
+    long getFullScanInterval();
+
+    /**
+     * Set the interval between full scans.
+     *
+     * @param fullScanInterval the full scan interval in ms, or a value less than 1 if every scan should be a full scan
+     */
+    void setFullScanInterval(long fullScanInterval);
+
     /**
      * Start the scanner, if not already started.
      */
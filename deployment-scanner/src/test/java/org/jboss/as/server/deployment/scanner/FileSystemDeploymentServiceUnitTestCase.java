@@ -183,6 +183,42 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertTrue(deployed2.exists());
     }
 
+    @Test
+    public void testSkipScanOfUnchangedDirectory() throws Exception {
+        TesteeSet ts = createTestee();
+        ts.testee.setFullScanInterval(TimeUnit.HOURS.toMillis(1));
+        // Make the directory timestamp trustworthy
+        assertTrue(tmpDir.setLastModified(System.currentTimeMillis() - 10000));
+        ts.testee.scan();
+        assertEquals(1, ts.testee.getStatistics().getScanCount());
+
+        ts.testee.scan();
+        assertEquals(1, ts.testee.getStatistics().getScanCount());
+        assertEquals(1, ts.testee.getStatistics().getSkippedScanCount());
+
+        File war = createFile("foo.war");
+        File dodeploy = createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
+        File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+        assertEquals(2, ts.testee.getStatistics().getScanCount());
+        assertTrue(war.exists());
+        assertFalse(dodeploy.exists());
+        assertTrue(deployed.exists());
+    }
+
+    @Test
+    public void testFullScanAfterFullScanInterval() throws Exception {
+        TesteeSet ts = createTestee();
+        ts.testee.setFullScanInterval(1);
+        assertTrue(tmpDir.setLastModified(System.currentTimeMillis() - 10000));
+        ts.testee.scan();
+        Thread.sleep(10);
+        ts.testee.scan();
+        assertEquals(2, ts.testee.getStatistics().getScanCount());
+        assertEquals(0, ts.testee.getStatistics().getSkippedScanCount());
+    }
+
     @Test
     public void testBasicFailure() throws Exception {
         File war = createFile("foo.war");
@@ -984,6 +1020,30 @@ public class FileSystemDeploymentServiceUnitTestCase {
 
     }
 
+    /**
+     * Test that many auto-deploy archives, checked for completeness in parallel, are deployed by a single scan
+     */
+    @Test
+    public void testAutoDeployManyArchives() throws Exception {
+
+        final int archives = 10;
+        final File[] deployed = new File[archives];
+        for (int i = 0; i < archives; i++) {
+            testSupport.createZip(new File(tmpDir, "foo" + i + ".war"), 0, false, false, true, false);
+            deployed[i] = new File(tmpDir, "foo" + i + ".war" + FileSystemDeploymentService.DEPLOYED);
+        }
+        TesteeSet ts = createTestee();
+        ts.testee.setAutoDeployZippedContent(true);
+        ts.controller.addCompositeSuccessResponse(archives);
+        ts.testee.scan();
+
+        for (File marker : deployed) {
+            assertTrue(marker.exists());
+        }
+        assertEquals(archives, ts.controller.added.size());
+        ts.testee.stopScanner();
+    }
+
     /**
      * Tests that an incomplete deployment that makes no progress gets a .failed marker
      */
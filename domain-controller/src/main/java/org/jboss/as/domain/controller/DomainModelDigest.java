@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Identifies a version of the domain wide model by a digest of its content. A slave host controller keeps the digest of
+ * the model it last applied from the master, so that when it registers again the master only needs to send the model
+ * if it has changed. As the digest depends on nothing but the content, it stays valid when the master is restarted or
+ * replaced.
+ */
+public final class DomainModelDigest {
+
+    private volatile byte[] applied;
+
+    /**
+     * Get the digest of the domain model this host last applied from the master.
+     *
+     * @return the digest, or {@code null} if no model has been applied yet
+     */
+    public byte[] getApplied() {
+        return applied;
+    }
+
+    /**
+     * Record the digest of a domain model this host has applied from the master.
+     *
+     * @param digest the digest
+     */
+    public void setApplied(final byte[] digest) {
+        applied = digest;
+    }
+
+    /**
+     * Calculate the digest of the domain model, described as the list of its resources.
+     *
+     * @param resources the resource descriptions
+     * @return the digest
+     */
+    public static byte[] calculate(final List<ModelNode> resources) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final DataOutputStream out = new DataOutputStream(new DigestOutputStream(new OutputStream() {
+            @Override
+            public void write(final int b) {
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+            }
+        }, digest));
+        try {
+            for (ModelNode resource : resources) {
+                resource.writeExternal(out);
+            }
+            out.flush();
+        } catch (IOException e) {
+            // Nothing is actually written anywhere
+            throw new IllegalStateException(e);
+        }
+        return digest.digest();
+    }
+}
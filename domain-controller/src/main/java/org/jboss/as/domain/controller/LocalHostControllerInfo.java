@@ -100,6 +100,20 @@ public interface LocalHostControllerInfo {
      */
     String getHttpManagementSecurityRealm();
 
+    /**
+     * Gets the number of read-only HTTP management requests which may execute concurrently.
+     *
+     * @return the limit, or {@code -1} if the default applies
+     */
+    int getHttpManagementMaxReadRequests();
+
+    /**
+     * Gets the number of other HTTP management requests which may execute concurrently.
+     *
+     * @return the limit, or {@code -1} if the default applies
+     */
+    int getHttpManagementMaxWriteRequests();
+
     /**
      *  Gets the host name of the remote domain controller
      *  @return the host name
@@ -24,6 +24,8 @@ package org.jboss.as.domain.controller.operations;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOMAIN_MODEL;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Locale;
 
 import org.jboss.as.controller.Extension;
@@ -35,6 +37,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.domain.controller.DomainModelDigest;
 import org.jboss.dmr.ModelNode;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleIdentifier;
@@ -52,17 +55,29 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
     private boolean appliedExensions;
 
     private final ExtensionContext extensionContext;
+    private final DomainModelDigest domainModelDigest;
 
-    public ApplyRemoteMasterDomainModelHandler(ExtensionContext extensionContext) {
+    public ApplyRemoteMasterDomainModelHandler(ExtensionContext extensionContext, DomainModelDigest domainModelDigest) {
         this.extensionContext = extensionContext;
+        this.domainModelDigest = domainModelDigest;
     }
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
-        final ModelNode domainModel = operation.get(DOMAIN_MODEL);
-        // We get the model as a list of resources descriptions
+        if (!operation.hasDefined(DOMAIN_MODEL)) {
+            // The master found we already have the current domain model
+            context.completeStep();
+            return;
+        }
 
         if (!appliedExensions) {
-            for(final ModelNode resourceDescription : domainModel.asList()) {
+            // We get the model as a list of resources descriptions, compressed by masters which know we have a digest
+            final List<ModelNode> domainModel;
+            try {
+                domainModel = DomainModelEncoding.decode(operation.get(DOMAIN_MODEL));
+            } catch (IOException e) {
+                throw new OperationFailedException(new ModelNode().set("Failed to read the domain model: " + e));
+            }
+            for(final ModelNode resourceDescription : domainModel) {
                 appliedExensions = true;
                 final PathAddress resourceAddress = PathAddress.pathAddress(resourceDescription.require("domain-resource-address"));
                 final Resource resource = context.createResource(resourceAddress);
@@ -83,6 +98,10 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
                 }
                 resource.writeModel(resourceDescription.get("domain-resource-model"));
             }
+            if (context.completeStep() == OperationContext.ResultAction.KEEP && operation.hasDefined(ReadMasterDomainModelHandler.DOMAIN_MODEL_DIGEST)) {
+                domainModelDigest.setApplied(operation.get(ReadMasterDomainModelHandler.DOMAIN_MODEL_DIGEST).asBytes());
+            }
+            return;
         }
         context.completeStep();
     }
@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * The compact form in which the master sends the domain model to a slave: the resource descriptions in binary DMR, gzip
+ * compressed. The model is mostly repeated keys and short strings, so it compresses well. Only slaves registering with a
+ * digest are known to read this form; the others get the resource descriptions as a DMR list.
+ */
+final class DomainModelEncoding {
+
+    private DomainModelEncoding() {
+    }
+
+    static byte[] encode(final List<ModelNode> resources) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            final DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes));
+            out.writeInt(resources.size());
+            for (ModelNode resource : resources) {
+                resource.writeExternal(out);
+            }
+            out.close();
+        } catch (IOException e) {
+            // Writing to memory
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the resource descriptions from the domain model sent by the master, in either form.
+     *
+     * @param domainModel the domain model
+     * @return the resource descriptions
+     * @throws IOException if the compressed form cannot be read
+     */
+    static List<ModelNode> decode(final ModelNode domainModel) throws IOException {
+        if (domainModel.getType() == ModelType.BYTES) {
+            return decode(domainModel.asBytes());
+        }
+        return domainModel.asList();
+    }
+
+    static List<ModelNode> decode(final byte[] encoded) throws IOException {
+        final DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(encoded)));
+        try {
+            final int size = in.readInt();
+            final List<ModelNode> resources = new ArrayList<ModelNode>(size);
+            for (int i = 0; i < size; i++) {
+                final ModelNode resource = new ModelNode();
+                resource.readExternal(in);
+                resources.add(resource);
+            }
+            return resources;
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -31,6 +31,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.atomic.AtomicReference;
@@ -47,6 +48,7 @@ import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.domain.controller.DomainModelDigest;
 import org.jboss.as.domain.controller.UnregisteredHostChannelRegistry;
 import org.jboss.dmr.ModelNode;
 
@@ -61,6 +63,9 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler, Descr
 
     public static final String FORCE_DIRECT_HACK = "force-direct-hack";
 
+    /** The digest of the domain model the slave already has, and of the one sent to it */
+    public static final String DOMAIN_MODEL_DIGEST = "domain-model-digest";
+
     private final DomainController domainController;
     private final UnregisteredHostChannelRegistry registry;
 
@@ -76,13 +81,14 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler, Descr
 
         // Get the list of all resources registered in this model
         final List<ModelNode> modelDescription = describeAsNodeList(root);
+        final byte[] digest = DomainModelDigest.calculate(modelDescription);
 
         ModelNode op = new ModelNode();
         op.get(OP).set(ApplyRemoteMasterDomainModelHandler.OPERATION_NAME);
         //FIXME this makes the op work after boot (i.e. slave connects to restarted master), but does not make the slave resync the servers
         op.get(OPERATION_HEADERS, "execute-for-coordinator").set(true);
         op.get(OP_ADDR).setEmptyList();
-        op.get(DOMAIN_MODEL).set(modelDescription);
+        setDomainModel(op, modelDescription, digest, operation.hasDefined(DOMAIN_MODEL_DIGEST) ? operation.get(DOMAIN_MODEL_DIGEST).asBytes() : null);
 
         //TODO get this from somewhere
         final ProxyController proxy = registry.popChannelAndCreateProxy(hostName);
@@ -134,6 +140,26 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler, Descr
         }
     }
 
+    /**
+     * Set the domain model on the operation applying it to the slave. Only a slave which sent the digest of its model is
+     * known to read the compressed form, and it needs no model at all if the digests match. Any other slave gets the
+     * model as a DMR list, which is all older slaves can read.
+     *
+     * @param op the operation applying the model
+     * @param modelDescription the resource descriptions of the model
+     * @param digest the digest of the model
+     * @param slaveDigest the digest sent by the slave, or {@code null} if it sent none
+     */
+    static void setDomainModel(final ModelNode op, final List<ModelNode> modelDescription, final byte[] digest, final byte[] slaveDigest) {
+        op.get(DOMAIN_MODEL_DIGEST).set(digest);
+        if (slaveDigest == null) {
+            op.get(DOMAIN_MODEL).set(modelDescription);
+        } else if (!Arrays.equals(digest, slaveDigest)) {
+            // A slave reconnecting to a restarted master usually has the model already
+            op.get(DOMAIN_MODEL).set(DomainModelEncoding.encode(modelDescription));
+        }
+    }
+
     /**
      * Describe the model as a list of resources with their address and model, which
      * the HC can directly apply to create the model. Although the format might appear
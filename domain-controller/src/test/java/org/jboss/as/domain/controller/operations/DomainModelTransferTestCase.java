@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.domain.controller.operations;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOMAIN_MODEL;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.domain.controller.DomainModelDigest;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+
+/**
+ * Tests the forms in which the domain model travels from the master to slaves of either version.
+ */
+public class DomainModelTransferTestCase {
+
+    @Test
+    public void testSlaveWithoutDigestGetsList() throws Exception {
+        final List<ModelNode> model = createModel();
+        final ModelNode op = new ModelNode();
+        ReadMasterDomainModelHandler.setDomainModel(op, model, DomainModelDigest.calculate(model), null);
+
+        // Older slaves read the model with asList()
+        assertEquals(ModelType.LIST, op.get(DOMAIN_MODEL).getType());
+        assertEquals(model, op.get(DOMAIN_MODEL).asList());
+        assertEquals(model, DomainModelEncoding.decode(op.get(DOMAIN_MODEL)));
+    }
+
+    @Test
+    public void testSlaveWithStaleDigestGetsCompressedModel() throws Exception {
+        final List<ModelNode> model = createModel();
+        final List<ModelNode> previous = new ArrayList<ModelNode>(model.subList(0, 1));
+        final ModelNode op = new ModelNode();
+        ReadMasterDomainModelHandler.setDomainModel(op, model, DomainModelDigest.calculate(model), DomainModelDigest.calculate(previous));
+
+        assertEquals(ModelType.BYTES, op.get(DOMAIN_MODEL).getType());
+        assertEquals(model, DomainModelEncoding.decode(op.get(DOMAIN_MODEL)));
+        assertArrayEquals(DomainModelDigest.calculate(model), op.get(ReadMasterDomainModelHandler.DOMAIN_MODEL_DIGEST).asBytes());
+    }
+
+    @Test
+    public void testSlaveWithCurrentDigestGetsNoModel() throws Exception {
+        final List<ModelNode> model = createModel();
+        final ModelNode op = new ModelNode();
+        ReadMasterDomainModelHandler.setDomainModel(op, model, DomainModelDigest.calculate(model), DomainModelDigest.calculate(createModel()));
+
+        assertFalse(op.hasDefined(DOMAIN_MODEL));
+    }
+
+    @Test
+    public void testSlaveReadsListFromOlderMaster() throws Exception {
+        final List<ModelNode> model = createModel();
+        final ModelNode op = new ModelNode();
+        // Older masters set the model as a list, and no digest
+        op.get(DOMAIN_MODEL).set(model);
+
+        assertEquals(model, DomainModelEncoding.decode(op.get(DOMAIN_MODEL)));
+        assertFalse(op.hasDefined(ReadMasterDomainModelHandler.DOMAIN_MODEL_DIGEST));
+    }
+
+    private static List<ModelNode> createModel() {
+        final List<ModelNode> model = new ArrayList<ModelNode>();
+        final ModelNode root = new ModelNode();
+        root.get("domain-resource-address").setEmptyList();
+        root.get("domain-resource-model", "name").set("domain");
+        model.add(root);
+        for (int i = 0; i < 3; i++) {
+            final ModelNode group = new ModelNode();
+            group.get("domain-resource-address").add("server-group", "group-" + i);
+            group.get("domain-resource-model", "profile").set("default");
+            model.add(group);
+        }
+        return model;
+    }
+}
@@ -228,7 +228,7 @@ public class ConsoleHandler implements ManagementHttpHandler {
     }
 
     public void start(HttpServer httpServer, SecurityRealm securityRealm) {
-        httpServer.createContext(CONTEXT, this);
+        httpServer.createContext(CONTEXT, this).getFilters().add(RejectedRequestFilter.INSTANCE);
     }
 
     public void stop(HttpServer httpServer) {
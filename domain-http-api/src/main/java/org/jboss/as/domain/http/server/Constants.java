@@ -41,11 +41,17 @@ public interface Constants {
      */
 
     String ACCEPT = "Accept";
+    String ACCEPT_ENCODING = "Accept-Encoding";
     String ACCESS_CONTROL_ALLOW_ORIGIN = "Access-Control-Allow-Origin";
     String AUTHORIZATION_HEADER = "Authorization";
     String CONTENT_DISPOSITION = "Content-Disposition";
+    String CONTENT_ENCODING = "Content-Encoding";
     String CONTENT_TYPE = "Content-Type";
+    String ETAG = "ETag";
+    String IF_NONE_MATCH = "If-None-Match";
     String LOCATION = "Location";
+    String RETRY_AFTER = "Retry-After";
+    String VARY = "Vary";
     String WWW_AUTHENTICATE_HEADER = "WWW-Authenticate";
 
     /*
@@ -62,6 +68,12 @@ public interface Constants {
     String TEXT_CSS = "text/css";
     String TEXT_HTML = "text/html";
 
+    /*
+     * Content Encodings
+     */
+
+    String GZIP = "gzip";
+
     /*
      * Charsets
      */
@@ -107,6 +119,7 @@ public interface Constants {
     int UNSUPPORTED_MEDIA_TYPE = 415;
     int REQUEST_RANGE_NOT_SATISFIABLE = 416;
     int EXPECTATION_FAILED = 417;
+    int TOO_MANY_REQUESTS = 429;
     int INTERNAL_SERVER_ERROR = 500;
     int NOT_IMPLEMENTED = 501;
     int BAD_GATEWAY = 502;
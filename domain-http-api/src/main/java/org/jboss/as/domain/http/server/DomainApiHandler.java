@@ -22,32 +22,50 @@
 
 package org.jboss.as.domain.http.server;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
 import static org.jboss.as.domain.http.server.Constants.ACCEPT;
+import static org.jboss.as.domain.http.server.Constants.ACCEPT_ENCODING;
 import static org.jboss.as.domain.http.server.Constants.ACCESS_CONTROL_ALLOW_ORIGIN;
 import static org.jboss.as.domain.http.server.Constants.APPLICATION_DMR_ENCODED;
 import static org.jboss.as.domain.http.server.Constants.APPLICATION_JSON;
 import static org.jboss.as.domain.http.server.Constants.CONTENT_DISPOSITION;
+import static org.jboss.as.domain.http.server.Constants.CONTENT_ENCODING;
 import static org.jboss.as.domain.http.server.Constants.CONTENT_TYPE;
+import static org.jboss.as.domain.http.server.Constants.ETAG;
 import static org.jboss.as.domain.http.server.Constants.GET;
+import static org.jboss.as.domain.http.server.Constants.GZIP;
+import static org.jboss.as.domain.http.server.Constants.IF_NONE_MATCH;
 import static org.jboss.as.domain.http.server.Constants.INTERNAL_SERVER_ERROR;
 import static org.jboss.as.domain.http.server.Constants.METHOD_NOT_ALLOWED;
+import static org.jboss.as.domain.http.server.Constants.NOT_MODIFIED;
 import static org.jboss.as.domain.http.server.Constants.OK;
 import static org.jboss.as.domain.http.server.Constants.POST;
+import static org.jboss.as.domain.http.server.Constants.RETRY_AFTER;
 import static org.jboss.as.domain.http.server.Constants.TEXT_HTML;
+import static org.jboss.as.domain.http.server.Constants.TOO_MANY_REQUESTS;
 import static org.jboss.as.domain.http.server.Constants.US_ASCII;
 import static org.jboss.as.domain.http.server.Constants.UTF_8;
+import static org.jboss.as.domain.http.server.Constants.VARY;
 
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLDecoder;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -55,6 +73,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
 import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.controller.client.OperationBuilder;
@@ -78,14 +97,19 @@ import org.jboss.logging.Logger;
  */
 class DomainApiHandler implements ManagementHttpHandler {
 
-    private static final String DOMAIN_API_CONTEXT = "/management";
-    private static final String UPLOAD_REQUEST = DOMAIN_API_CONTEXT + "/add-content";
+    static final String DOMAIN_API_CONTEXT = "/management";
+    static final String UPLOAD_REQUEST = DOMAIN_API_CONTEXT + "/add-content";
+    /** Query parameter with which a client polling a GET resource asks for the entity tag of the result */
+    static final String ETAG_PARAMETER = "etag";
 
     private static Pattern MULTIPART_FD_BOUNDARY =  Pattern.compile("^multipart/form-data.*;\\s*boundary=(.*)$");
     private static Pattern DISPOSITION_FILE =  Pattern.compile("^form-data.*filename=\"?([^\"]*)?\"?.*$");
 
     private static final Logger log = Logger.getLogger("org.jboss.as.domain.http.api");
 
+    /** Size of the buffer between the response serialization and the chunked HTTP output */
+    private static final int RESPONSE_BUFFER_SIZE = 8192;
+
     /**
      * Represents all possible management operations that can be executed using HTTP GET
      */
@@ -106,8 +130,14 @@ class DomainApiHandler implements ManagementHttpHandler {
 
     private ModelControllerClient modelController;
 
-    DomainApiHandler(ModelControllerClient modelController) {
+    private final RequestLane readLane;
+
+    private final RequestLane writeLane;
+
+    DomainApiHandler(ModelControllerClient modelController, RequestLane readLane, RequestLane writeLane) {
         this.modelController = modelController;
+        this.readLane = readLane;
+        this.writeLane = writeLane;
     }
 
     public void handle(HttpExchange http) throws IOException {
@@ -134,28 +164,37 @@ class DomainApiHandler implements ManagementHttpHandler {
         File tempUploadFile = null;
         ModelNode response = null;
 
-        try {
-            SeekResult result = seekToDeployment(http);
-
-            final ModelNode dmr = new ModelNode();
-            dmr.get("operation").set("upload-deployment-stream");
-            dmr.get("address").setEmptyList();
-            dmr.get("input-stream-index").set(0);
-
-            OperationBuilder operation = new OperationBuilder(dmr);
-            operation.addInputStream(result.stream);
-            response = modelController.execute(operation.build());
-            drain(http.getRequestBody());
-        } catch (Throwable t) {
-            // TODO Consider draining input stream
-            log.error("Unexpected error executing deployment upload request", t);
-            http.sendResponseHeaders(INTERNAL_SERVER_ERROR, -1);
-
+        if (!writeLane.tryEnter(UPLOAD_REQUEST)) {
+            rejectRequest(http);
             return;
         }
+        final long start = System.nanoTime();
+        try {
+            try {
+                SeekResult result = seekToDeployment(http);
+
+                final ModelNode dmr = new ModelNode();
+                dmr.get("operation").set("upload-deployment-stream");
+                dmr.get("address").setEmptyList();
+                dmr.get("input-stream-index").set(0);
+
+                OperationBuilder operation = new OperationBuilder(dmr);
+                operation.addInputStream(result.stream);
+                response = modelController.execute(operation.build());
+                drain(http.getRequestBody());
+            } catch (Throwable t) {
+                // TODO Consider draining input stream
+                log.error("Unexpected error executing deployment upload request", t);
+                http.sendResponseHeaders(INTERNAL_SERVER_ERROR, -1);
+
+                return;
+            }
 
-        // TODO Determine what format the response should be in for a deployment upload request.
-        writeResponse(http, false, false, response, OK, false, TEXT_HTML);
+            // TODO Determine what format the response should be in for a deployment upload request.
+            writeResponse(http, false, false, false, response, OK, false, TEXT_HTML);
+        } finally {
+            writeLane.exit(UPLOAD_REQUEST, start);
+        }
     }
 
     /**
@@ -185,7 +224,6 @@ class DomainApiHandler implements ManagementHttpHandler {
 
         try {
             dmr = isGet ? convertGetRequest(request) : convertPostRequest(http.getRequestBody(), encode);
-            response = modelController.execute(new OperationBuilder(dmr).build());
         } catch (Throwable t) {
             log.error("Unexpected error executing model request", t);
 
@@ -194,18 +232,75 @@ class DomainApiHandler implements ManagementHttpHandler {
             return;
         }
 
-        if (response.hasDefined(OUTCOME) && FAILED.equals(response.get(OUTCOME).asString())) {
-            status = INTERNAL_SERVER_ERROR;
+        final RequestLane lane = isGet || isReadOnly(dmr) ? readLane : writeLane;
+        if (!lane.tryEnter(DOMAIN_API_CONTEXT)) {
+            rejectRequest(http);
+            return;
         }
+        final long start = System.nanoTime();
+        try {
+            try {
+                response = modelController.execute(new OperationBuilder(dmr).build());
+            } catch (Throwable t) {
+                log.error("Unexpected error executing model request", t);
+
+                http.sendResponseHeaders(INTERNAL_SERVER_ERROR, -1);
+
+                return;
+            }
 
-        boolean pretty = dmr.hasDefined("json.pretty") && dmr.get("json.pretty").asBoolean();
-        writeResponse(http, isGet, pretty, response, status, encode);
+            if (response.hasDefined(OUTCOME) && FAILED.equals(response.get(OUTCOME).asString())) {
+                status = INTERNAL_SERVER_ERROR;
+            }
+
+            boolean pretty = dmr.hasDefined("json.pretty") && dmr.get("json.pretty").asBoolean();
+            boolean etag = isGet && (requestHeaders.getFirst(IF_NONE_MATCH) != null
+                    || dmr.hasDefined(ETAG_PARAMETER) && dmr.get(ETAG_PARAMETER).asBoolean());
+            writeResponse(http, isGet, pretty, etag, response, status, encode);
+        } finally {
+            lane.exit(DOMAIN_API_CONTEXT, start);
+        }
+    }
+
+    /**
+     * Turns a request away because its lane is already at its concurrency limit.  The client is expected to back off
+     * and retry rather than have the request queue behind the ones already running.
+     */
+    private void rejectRequest(final HttpExchange http) throws IOException {
+        http.getResponseHeaders().add(RETRY_AFTER, "1");
+        http.sendResponseHeaders(TOO_MANY_REQUESTS, -1);
+    }
+
+    /**
+     * Determines whether an operation only reads the model, in which case it is admitted to the read lane.  A composite
+     * operation is read-only only if all of its steps are.
+     *
+     * @param operation the operation
+     * @return {@code true} if the operation cannot modify the model
+     */
+    static boolean isReadOnly(final ModelNode operation) {
+        if (!operation.hasDefined(OP)) {
+            return false;
+        }
+        final String name = operation.get(OP).asString();
+        if (COMPOSITE.equals(name)) {
+            if (!operation.hasDefined(STEPS)) {
+                return false;
+            }
+            for (ModelNode step : operation.get(STEPS).asList()) {
+                if (!isReadOnly(step)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return name.startsWith("read-");
     }
 
-     private void writeResponse(final HttpExchange http, boolean isGet, boolean pretty, ModelNode response, int status,
-            boolean encode) throws IOException {
+     private void writeResponse(final HttpExchange http, boolean isGet, boolean pretty, boolean etag, ModelNode response,
+            int status, boolean encode) throws IOException {
          String contentType = encode ? APPLICATION_DMR_ENCODED : APPLICATION_JSON;
-         writeResponse(http, isGet, pretty, response, status, encode, contentType);
+         writeResponse(http, isGet, pretty, etag, response, status, encode, contentType);
      }
 
     /**
@@ -214,26 +309,48 @@ class DomainApiHandler implements ManagementHttpHandler {
      * @param http The HttpExchange object that allows access to the request and response.
      * @param isGet Flag indicating whether or not the request was a GET request or POST request.
      * @param pretty Flag indicating whether or not the output, if JSON, should be pretty printed or not.
+     * @param etag Flag indicating whether or not the client asked for an entity tag of the result.
      * @param response The DMR response from the operation.
      * @param status The HTTP status code to be included in the response.
      * @param encode Flag indicating whether or not to Base64 encode the response payload.
      * @throws IOException if an error occurs while attempting to generate the HTTP response.
      */
-    private void writeResponse(final HttpExchange http, boolean isGet, boolean pretty, ModelNode response, int status,
-            boolean encode, String contentType) throws IOException {
+    private void writeResponse(final HttpExchange http, boolean isGet, boolean pretty, boolean etag, ModelNode response,
+            int status, boolean encode, String contentType) throws IOException {
+        final Headers requestHeaders = http.getRequestHeaders();
         final Headers responseHeaders = http.getResponseHeaders();
         responseHeaders.add(CONTENT_TYPE, contentType);
         responseHeaders.add(ACCESS_CONTROL_ALLOW_ORIGIN, "*");
-        http.sendResponseHeaders(status, 0);
-
-        final OutputStream out = http.getResponseBody();
-        final PrintWriter print = new PrintWriter(out);
 
         // GET (read) operations will never have a compensating update, and the status is already
         // available via the http response status code, so unwrap them.
-        if (isGet && status == OK)
+        if (isGet && status == OK) {
             response = response.get("result");
 
+            // Let clients polling the model skip unchanged results.  The tag costs a second pass over the result, so
+            // it is only calculated for clients which ask for it or already hold one.
+            if (etag) {
+                final String tag = calculateETag(response, encode, pretty);
+                responseHeaders.add(ETAG, tag);
+                if (matchesETag(requestHeaders.getFirst(IF_NONE_MATCH), tag)) {
+                    http.sendResponseHeaders(NOT_MODIFIED, -1);
+                    return;
+                }
+            }
+        }
+
+        final boolean gzip = acceptsGzip(requestHeaders.getFirst(ACCEPT_ENCODING));
+        responseHeaders.add(VARY, ACCEPT_ENCODING);
+        if (gzip) {
+            responseHeaders.add(CONTENT_ENCODING, GZIP);
+        }
+        http.sendResponseHeaders(status, 0);
+
+        // The response is serialized as the tree is walked, buffered into reasonably sized chunks
+        final OutputStream body = gzip ? new GZIPOutputStream(http.getResponseBody(), RESPONSE_BUFFER_SIZE) : http.getResponseBody();
+        final OutputStream out = new BufferedOutputStream(body, RESPONSE_BUFFER_SIZE);
+        final PrintWriter print = new PrintWriter(new OutputStreamWriter(out, UTF_8));
+
         try {
             if (encode) {
                 response.writeBase64(out);
@@ -248,6 +365,86 @@ class DomainApiHandler implements ManagementHttpHandler {
         }
     }
 
+    /**
+     * Calculates a weak entity tag for the result of a read operation, from a digest of the result's binary DMR
+     * form and the requested representation.
+     *
+     * @param result the result of the operation
+     * @param encode Flag indicating whether or not the result is sent Base64 encoded.
+     * @param pretty Flag indicating whether or not the result, if JSON, is pretty printed.
+     * @return the entity tag
+     * @throws IOException if an error occurs while serializing the result
+     */
+    static String calculateETag(final ModelNode result, final boolean encode, final boolean pretty) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final DataOutputStream out = new DataOutputStream(new DigestOutputStream(new OutputStream() {
+            @Override
+            public void write(final int b) {
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+            }
+        }, digest));
+        result.writeExternal(out);
+        out.writeBoolean(encode);
+        out.writeBoolean(pretty);
+        out.flush();
+
+        final StringBuilder etag = new StringBuilder("W/\"");
+        for (byte b : digest.digest()) {
+            etag.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Checks an {@code If-None-Match} request header against the current entity tag.
+     */
+    static boolean matchesETag(final String ifNoneMatch, final String etag) {
+        if (ifNoneMatch == null)
+            return false;
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if ("*".equals(candidate) || etag.equals(candidate))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether an {@code Accept-Encoding} request header allows a gzip encoded response.
+     */
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null)
+            return false;
+
+        for (String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.split(";");
+            if (!GZIP.equalsIgnoreCase(parts[0].trim()))
+                continue;
+
+            for (int i = 1; i < parts.length; i++) {
+                final String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Float.parseFloat(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
     private static final class SeekResult {
         BoundaryDelimitedInputStream stream;
         String fileName;
@@ -424,6 +621,7 @@ class DomainApiHandler implements ManagementHttpHandler {
 
     public void start(HttpServer httpServer, SecurityRealm securityRealm) {
         HttpContext context = httpServer.createContext(DOMAIN_API_CONTEXT, this);
+        context.getFilters().add(RejectedRequestFilter.INSTANCE);
         if (securityRealm != null) {
             DomainCallbackHandler callbackHandler = securityRealm.getCallbackHandler();
             Class[] supportedCallbacks = callbackHandler.getSupportedCallbacks();
@@ -44,6 +44,19 @@ import org.jboss.com.sun.net.httpserver.HttpsServer;
  */
 public class ManagementHttpServer {
 
+    /** Default number of read-only management requests that may execute concurrently */
+    public static final int DEFAULT_MAX_READ_REQUESTS = 16;
+
+    /** Default number of other management requests that may execute concurrently */
+    public static final int DEFAULT_MAX_WRITE_REQUESTS = 4;
+
+    /** Worker threads kept in addition to the request limits, for the console and for requests turned away by a lane */
+    public static final int ADDITIONAL_WORKER_THREADS = 2;
+
+    public static final String READ_REQUESTS = "read-requests";
+
+    public static final String WRITE_REQUESTS = "write-requests";
+
     private final HttpServer httpServer;
 
     private final HttpServer secureHttpServer;
@@ -52,10 +65,17 @@ public class ManagementHttpServer {
 
     private List<ManagementHttpHandler> handlers = new LinkedList<ManagementHttpHandler>();
 
-    private ManagementHttpServer(HttpServer httpServer, HttpServer secureHttpServer, SecurityRealm securityRealm) {
+    private final RequestLane readLane;
+
+    private final RequestLane writeLane;
+
+    private ManagementHttpServer(HttpServer httpServer, HttpServer secureHttpServer, SecurityRealm securityRealm,
+            RequestLane readLane, RequestLane writeLane) {
         this.httpServer = httpServer;
         this.secureHttpServer = secureHttpServer;
         this.securityRealm = securityRealm;
+        this.readLane = readLane;
+        this.writeLane = writeLane;
     }
 
     private void addHandler(ManagementHttpHandler handler) {
@@ -92,8 +112,47 @@ public class ManagementHttpServer {
         }
     }
 
+    /**
+     * Get the statistics of the lane which admits read-only management requests.
+     */
+    public RequestLane getReadLane() {
+        return readLane;
+    }
+
+    /**
+     * Get the statistics of the lane which admits all other management requests, including deployment uploads.
+     */
+    public RequestLane getWriteLane() {
+        return writeLane;
+    }
+
+    /**
+     * Get the number of worker threads the executor of the server needs so that the request limits can be reached.
+     *
+     * @param maxReadRequests the number of read-only management requests which may execute concurrently
+     * @param maxWriteRequests the number of other management requests which may execute concurrently
+     * @return the number of worker threads
+     */
+    public static int getWorkerThreads(int maxReadRequests, int maxWriteRequests) {
+        return maxReadRequests + maxWriteRequests + ADDITIONAL_WORKER_THREADS;
+    }
+
+    /**
+     * Get the executor a bounded worker pool hands requests to once it is full.  It answers them with
+     * {@code 429 Too Many Requests} on the calling thread, so the pool must hand off without holding any lock.
+     */
+    public static Executor getRejectingExecutor() {
+        return RejectedRequestFilter.HANDOFF_EXECUTOR;
+    }
+
     public static ManagementHttpServer create(InetSocketAddress bindAddress, InetSocketAddress secureBindAddress, int backlog, ModelControllerClient modelControllerClient, Executor executor, SecurityRealm securityRealm)
             throws IOException {
+        return create(bindAddress, secureBindAddress, backlog, modelControllerClient, executor, securityRealm,
+                DEFAULT_MAX_READ_REQUESTS, DEFAULT_MAX_WRITE_REQUESTS);
+    }
+
+    public static ManagementHttpServer create(InetSocketAddress bindAddress, InetSocketAddress secureBindAddress, int backlog, ModelControllerClient modelControllerClient, Executor executor, SecurityRealm securityRealm,
+            int maxReadRequests, int maxWriteRequests) throws IOException {
         HttpServer httpServer = null;
         if (bindAddress != null) {
             httpServer = HttpServer.create(bindAddress, backlog);
@@ -155,9 +214,13 @@ public class ManagementHttpServer {
             secureHttpServer.setExecutor(executor);
         }
 
-        ManagementHttpServer managementHttpServer = new ManagementHttpServer(httpServer, secureHttpServer, securityRealm);
+        // Reads and writes are admitted separately so that heavy polling can not lock administrators out, and vice versa
+        RequestLane readLane = new RequestLane(READ_REQUESTS, maxReadRequests);
+        RequestLane writeLane = new RequestLane(WRITE_REQUESTS, maxWriteRequests);
+
+        ManagementHttpServer managementHttpServer = new ManagementHttpServer(httpServer, secureHttpServer, securityRealm, readLane, writeLane);
         managementHttpServer.addHandler(new RootHandler());
-        managementHttpServer.addHandler(new DomainApiHandler(modelControllerClient));
+        managementHttpServer.addHandler(new DomainApiHandler(modelControllerClient, readLane, writeLane));
         managementHttpServer.addHandler(new ConsoleHandler());
 
         return managementHttpServer;
@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.domain.http.server.Constants.RETRY_AFTER;
+import static org.jboss.as.domain.http.server.Constants.TOO_MANY_REQUESTS;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+import org.jboss.com.sun.net.httpserver.Filter;
+import org.jboss.com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Filter answering the requests the worker pool of the management HTTP server had no room for.
+ * <p>
+ * Such requests are handed to {@link #HANDOFF_EXECUTOR}, which runs them on the thread dispatching the connections
+ * with a flag set, so that this filter turns them away with {@code 429 Too Many Requests} before they are
+ * authenticated or reach a handler.  The filter is added to every context of the server.
+ * </p>
+ */
+class RejectedRequestFilter extends Filter {
+
+    static final RejectedRequestFilter INSTANCE = new RejectedRequestFilter();
+
+    private static final ThreadLocal<Boolean> REJECTED = new ThreadLocal<Boolean>();
+
+    static final Executor HANDOFF_EXECUTOR = new Executor() {
+        public void execute(final Runnable command) {
+            REJECTED.set(Boolean.TRUE);
+            try {
+                command.run();
+            } finally {
+                REJECTED.remove();
+            }
+        }
+    };
+
+    private RejectedRequestFilter() {
+    }
+
+    /**
+     * Sends a TOO_MANY_REQUESTS response for requests the worker pool rejected.
+     *
+     * @see org.jboss.com.sun.net.httpserver.Filter#doFilter(org.jboss.com.sun.net.httpserver.HttpExchange, org.jboss.com.sun.net.httpserver.Filter.Chain)
+     */
+    @Override
+    public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+        if (REJECTED.get() != null) {
+            exchange.getResponseHeaders().add(RETRY_AFTER, "1");
+            exchange.sendResponseHeaders(TOO_MANY_REQUESTS, -1);
+            exchange.close();
+        } else {
+            chain.doFilter(exchange);
+        }
+    }
+
+    /**
+     * @see org.jboss.com.sun.net.httpserver.Filter#description()
+     */
+    @Override
+    public String description() {
+        return "Turn away requests the worker pool has no room for.";
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.http.server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.threads.LatencyHistogram;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Admission control for one class of management requests.  A lane admits at most a fixed number of concurrent
+ * requests; anything above that is turned away immediately instead of queueing on the HTTP server's executor, so a
+ * burst of one kind of request cannot starve the other.  Latency and rejections are recorded per endpoint.
+ */
+public final class RequestLane {
+
+    private final String name;
+    private final int maxRequests;
+    private final Semaphore permits;
+    private final ConcurrentMap<String, EndpointStatistics> endpoints = new ConcurrentHashMap<String, EndpointStatistics>();
+
+    public RequestLane(final String name, final int maxRequests) {
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("maxRequests must be at least 1");
+        }
+        this.name = name;
+        this.maxRequests = maxRequests;
+        permits = new Semaphore(maxRequests);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public int getActiveRequests() {
+        return maxRequests - permits.availablePermits();
+    }
+
+    public long getRejectedRequests() {
+        long rejected = 0;
+        for (EndpointStatistics statistics : endpoints.values()) {
+            rejected += statistics.rejected.get();
+        }
+        return rejected;
+    }
+
+    /**
+     * Get the number of requests to an endpoint which were turned away because this lane was full.
+     *
+     * @param endpoint the path of the endpoint
+     */
+    public long getRejectedRequests(final String endpoint) {
+        final EndpointStatistics statistics = endpoints.get(endpoint);
+        return statistics == null ? 0 : statistics.rejected.get();
+    }
+
+    /**
+     * Get the latency of the requests to an endpoint which were admitted to this lane.
+     *
+     * @param endpoint the path of the endpoint
+     * @return the latency, or {@code null} if no request to the endpoint was seen yet
+     */
+    public LatencyHistogram getLatency(final String endpoint) {
+        final EndpointStatistics statistics = endpoints.get(endpoint);
+        return statistics == null ? null : statistics.latency;
+    }
+
+    /**
+     * Try to admit a request to this lane without waiting.
+     *
+     * @param endpoint the path of the endpoint the request was sent to; must be one of a fixed set of paths
+     * @return {@code true} if the request was admitted and must be completed with {@link #exit(String, long)}
+     */
+    boolean tryEnter(final String endpoint) {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        getStatistics(endpoint).rejected.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Complete a request previously admitted by {@link #tryEnter(String)}.
+     *
+     * @param endpoint the path of the endpoint the request was sent to
+     * @param startNanos the {@link System#nanoTime()} at which the request was admitted
+     */
+    void exit(final String endpoint, final long startNanos) {
+        getStatistics(endpoint).latency.record(System.nanoTime() - startNanos);
+        permits.release();
+    }
+
+    private EndpointStatistics getStatistics(final String endpoint) {
+        EndpointStatistics statistics = endpoints.get(endpoint);
+        if (statistics == null) {
+            statistics = new EndpointStatistics();
+            final EndpointStatistics existing = endpoints.putIfAbsent(endpoint, statistics);
+            if (existing != null) {
+                statistics = existing;
+            }
+        }
+        return statistics;
+    }
+
+    public ModelNode toModelNode() {
+        final ModelNode node = new ModelNode();
+        node.get("max-requests").set(maxRequests);
+        node.get("active-requests").set(getActiveRequests());
+        node.get("rejected-requests").set(getRejectedRequests());
+        final ModelNode endpointsNode = node.get("endpoints").setEmptyObject();
+        for (Map.Entry<String, EndpointStatistics> entry : endpoints.entrySet()) {
+            final ModelNode endpoint = endpointsNode.get(entry.getKey());
+            endpoint.get("rejected-requests").set(entry.getValue().rejected.get());
+            endpoint.get("latency").set(entry.getValue().latency.toModelNode());
+        }
+        return node;
+    }
+
+    private static final class EndpointStatistics {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong rejected = new AtomicLong();
+    }
+}
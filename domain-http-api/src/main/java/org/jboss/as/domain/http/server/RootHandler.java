@@ -50,7 +50,7 @@ public class RootHandler implements ManagementHttpHandler {
     private static final String CONSOLE_LOCATION = "/console/index.html";
 
     public void start(HttpServer httpServer, SecurityRealm securityRealm) {
-        httpServer.createContext(ROOT_CONTEXT, this);
+        httpServer.createContext(ROOT_CONTEXT, this).getFilters().add(RejectedRequestFilter.INSTANCE);
     }
 
     public void stop(HttpServer httpServer) {
@@ -0,0 +1,194 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.com.sun.net.httpserver.HttpServer;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the content negotiation and conditional GET support of the HTTP management API.
+ */
+public class DomainApiHandlerTestCase {
+
+    private final AtomicInteger value = new AtomicInteger();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private ExecutorService executor;
+    private HttpServer server;
+
+    @Before
+    public void startServer() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        new DomainApiHandler(createClient(), new RequestLane(ManagementHttpServer.READ_REQUESTS,
+                ManagementHttpServer.DEFAULT_MAX_READ_REQUESTS), new RequestLane(ManagementHttpServer.WRITE_REQUESTS,
+                ManagementHttpServer.DEFAULT_MAX_WRITE_REQUESTS)).start(server, null);
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testAcceptsGzip() {
+        assertFalse(DomainApiHandler.acceptsGzip(null));
+        assertFalse(DomainApiHandler.acceptsGzip(""));
+        assertFalse(DomainApiHandler.acceptsGzip("deflate"));
+        assertTrue(DomainApiHandler.acceptsGzip("gzip"));
+        assertTrue(DomainApiHandler.acceptsGzip("GZIP"));
+        assertTrue(DomainApiHandler.acceptsGzip("deflate, gzip"));
+        assertTrue(DomainApiHandler.acceptsGzip("deflate, gzip;q=0.5"));
+        assertTrue(DomainApiHandler.acceptsGzip("gzip; q=1.0"));
+        assertTrue(DomainApiHandler.acceptsGzip("gzip;level=1;q=0.1"));
+    }
+
+    @Test
+    public void testRefusedGzip() {
+        assertFalse(DomainApiHandler.acceptsGzip("gzip;q=0"));
+        assertFalse(DomainApiHandler.acceptsGzip("gzip; q=0.0"));
+        assertFalse(DomainApiHandler.acceptsGzip("deflate;q=1, gzip;q=0"));
+        assertFalse(DomainApiHandler.acceptsGzip("gzip;q=high"));
+    }
+
+    @Test
+    public void testMatchesETag() {
+        final String etag = "W/\"abc\"";
+        assertFalse(DomainApiHandler.matchesETag(null, etag));
+        assertFalse(DomainApiHandler.matchesETag("", etag));
+        assertFalse(DomainApiHandler.matchesETag("W/\"def\"", etag));
+        assertFalse(DomainApiHandler.matchesETag("\"abc\"", etag));
+        assertTrue(DomainApiHandler.matchesETag(etag, etag));
+        assertTrue(DomainApiHandler.matchesETag("W/\"def\",W/\"abc\"", etag));
+        assertTrue(DomainApiHandler.matchesETag(" W/\"def\" , W/\"abc\" ", etag));
+        assertTrue(DomainApiHandler.matchesETag("*", etag));
+        assertTrue(DomainApiHandler.matchesETag("W/\"def\", *", etag));
+    }
+
+    @Test
+    public void testETagDependsOnRepresentation() throws IOException {
+        final ModelNode result = new ModelNode().set(1);
+        final String etag = DomainApiHandler.calculateETag(result, false, false);
+        assertEquals(etag, DomainApiHandler.calculateETag(new ModelNode().set(1), false, false));
+        assertFalse(etag.equals(DomainApiHandler.calculateETag(new ModelNode().set(2), false, false)));
+        assertFalse(etag.equals(DomainApiHandler.calculateETag(result, true, false)));
+        assertFalse(etag.equals(DomainApiHandler.calculateETag(result, false, true)));
+    }
+
+    @Test
+    public void testNoETagUnlessRequested() throws IOException {
+        final HttpURLConnection connection = get("", null);
+        try {
+            assertEquals(Constants.OK, connection.getResponseCode());
+            assertNull(connection.getHeaderField(Constants.ETAG));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Test
+    public void testNotModified() throws IOException {
+        final String etag;
+        HttpURLConnection connection = get("?" + DomainApiHandler.ETAG_PARAMETER + "=true", null);
+        try {
+            assertEquals(Constants.OK, connection.getResponseCode());
+            etag = connection.getHeaderField(Constants.ETAG);
+            assertNotNull(etag);
+        } finally {
+            connection.disconnect();
+        }
+
+        // An unchanged result is not sent again
+        connection = get("", etag);
+        try {
+            assertEquals(Constants.NOT_MODIFIED, connection.getResponseCode());
+            assertEquals(etag, connection.getHeaderField(Constants.ETAG));
+        } finally {
+            connection.disconnect();
+        }
+
+        // A changed result is sent with its new tag
+        value.incrementAndGet();
+        connection = get("", etag);
+        try {
+            assertEquals(Constants.OK, connection.getResponseCode());
+            final String changed = connection.getHeaderField(Constants.ETAG);
+            assertNotNull(changed);
+            assertFalse(etag.equals(changed));
+        } finally {
+            connection.disconnect();
+        }
+        assertEquals(3, executions.get());
+    }
+
+    private HttpURLConnection get(final String query, final String ifNoneMatch) throws IOException {
+        final URL url = new URL("http", "localhost", server.getAddress().getPort(), DomainApiHandler.DOMAIN_API_CONTEXT + query);
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        if (ifNoneMatch != null) {
+            connection.setRequestProperty(Constants.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return connection;
+    }
+
+    /**
+     * A client whose read result changes whenever the test changes {@link #value}.
+     */
+    private ModelControllerClient createClient() {
+        return (ModelControllerClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ModelControllerClient.class }, new InvocationHandler() {
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                        if (!"execute".equals(method.getName())) {
+                            return null;
+                        }
+                        executions.incrementAndGet();
+                        final ModelNode result = new ModelNode();
+                        result.get("outcome").set("success");
+                        result.get("result", "value").set(value.get());
+                        return result;
+                    }
+                });
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.com.sun.net.httpserver.HttpServer;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.QueueExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the admission of requests to the HTTP management API through separate read and write lanes.
+ */
+public class RequestLaneTestCase {
+
+    private final CountDownLatch writeStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseWrite = new CountDownLatch(1);
+
+    private ExecutorService executor;
+    private HttpServer server;
+    private RequestLane readLane;
+    private RequestLane writeLane;
+
+    @Before
+    public void startServer() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        readLane = new RequestLane(ManagementHttpServer.READ_REQUESTS, 1);
+        writeLane = new RequestLane(ManagementHttpServer.WRITE_REQUESTS, 1);
+        new DomainApiHandler(createClient(), readLane, writeLane).start(server, null);
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        releaseWrite.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSaturatedWriteLaneDoesNotBlockReads() throws Exception {
+        final Future<Integer> write = executor.submit(new Callable<Integer>() {
+            public Integer call() throws Exception {
+                return post("write-attribute");
+            }
+        });
+        assertTrue(writeStarted.await(10, TimeUnit.SECONDS));
+        assertEquals(1, writeLane.getActiveRequests());
+
+        // Another write is turned away, but reads are still served
+        assertEquals(Constants.TOO_MANY_REQUESTS, post("write-attribute"));
+        assertEquals(Constants.OK, post("read-resource"));
+        assertEquals(Constants.OK, post("read-attribute"));
+
+        releaseWrite.countDown();
+        assertEquals(Constants.OK, write.get(10, TimeUnit.SECONDS).intValue());
+
+        assertEquals(0, readLane.getRejectedRequests());
+        assertEquals(1, writeLane.getRejectedRequests());
+        assertEquals(1, writeLane.getRejectedRequests(DomainApiHandler.DOMAIN_API_CONTEXT));
+        assertEquals(0, writeLane.getRejectedRequests(DomainApiHandler.UPLOAD_REQUEST));
+
+        final ModelNode statistics = writeLane.toModelNode();
+        assertEquals(1, statistics.get("rejected-requests").asLong());
+        assertEquals(1, statistics.get("endpoints", DomainApiHandler.DOMAIN_API_CONTEXT, "rejected-requests").asLong());
+    }
+
+    @Test
+    public void testFullWorkerPoolRejectsRequests() throws Exception {
+        final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<Runnable>(1);
+        final QueueExecutor workers = new QueueExecutor(1, 1, 60, TimeUnit.SECONDS, queue, Executors.defaultThreadFactory(), false,
+                ManagementHttpServer.getRejectingExecutor());
+        final HttpServer bounded = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        bounded.setExecutor(workers);
+        new DomainApiHandler(createClient(), readLane, writeLane).start(bounded, null);
+        bounded.start();
+        try {
+            final int port = bounded.getAddress().getPort();
+            final Future<Integer> write = executor.submit(new Callable<Integer>() {
+                public Integer call() throws Exception {
+                    return post(port, "write-attribute");
+                }
+            });
+            assertTrue(writeStarted.await(10, TimeUnit.SECONDS));
+            // The only worker is busy, the next request waits in the queue and the one after that is turned away
+            final Future<Integer> queued = executor.submit(new Callable<Integer>() {
+                public Integer call() throws Exception {
+                    return post(port, "read-resource");
+                }
+            });
+            while (queue.isEmpty()) {
+                Thread.sleep(10);
+            }
+            assertEquals(Constants.TOO_MANY_REQUESTS, post(port, "read-resource"));
+            // Turned away before reaching the handler, so the lanes did not see the request
+            assertEquals(0, readLane.getRejectedRequests());
+
+            releaseWrite.countDown();
+            assertEquals(Constants.OK, write.get(10, TimeUnit.SECONDS).intValue());
+            assertEquals(Constants.OK, queued.get(10, TimeUnit.SECONDS).intValue());
+        } finally {
+            bounded.stop(0);
+            workers.shutdown();
+        }
+    }
+
+    private int post(final String operationName) throws IOException {
+        return post(server.getAddress().getPort(), operationName);
+    }
+
+    private int post(final int port, final String operationName) throws IOException {
+        final ModelNode operation = new ModelNode();
+        operation.get("operation").set(operationName);
+        operation.get("address").setEmptyList();
+
+        final URL url = new URL("http", "localhost", port, DomainApiHandler.DOMAIN_API_CONTEXT);
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            final OutputStream out = connection.getOutputStream();
+            try {
+                out.write(operation.toJSONString(true).getBytes("UTF-8"));
+            } finally {
+                out.close();
+            }
+            return connection.getResponseCode();
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * A client which holds write operations until the test releases them.
+     */
+    private ModelControllerClient createClient() {
+        return (ModelControllerClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ModelControllerClient.class }, new InvocationHandler() {
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                        if (!"execute".equals(method.getName())) {
+                            return null;
+                        }
+                        final ModelNode operation = args[0] instanceof Operation ? ((Operation) args[0]).getOperation()
+                                : (ModelNode) args[0];
+                        if (!DomainApiHandler.isReadOnly(operation)) {
+                            writeStarted.countDown();
+                            releaseWrite.await(10, TimeUnit.SECONDS);
+                        }
+                        final ModelNode result = new ModelNode();
+                        result.get("outcome").set("success");
+                        result.get("result").set(true);
+                        return result;
+                    }
+                });
+    }
+}
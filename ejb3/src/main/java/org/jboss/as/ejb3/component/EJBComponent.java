@@ -32,11 +32,13 @@ import org.jboss.as.ejb3.tx.ApplicationExceptionDetails;
 import org.jboss.as.naming.context.NamespaceContextSelector;
 import org.jboss.as.security.service.SimpleSecurityManager;
 import org.jboss.as.server.CurrentServiceContainer;
+import org.jboss.as.txn.TransactionStatistics;
 import org.jboss.invocation.InterceptorFactory;
 import org.jboss.invocation.proxy.MethodIdentifier;
 import org.jboss.logging.Logger;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StopContext;
 
 import javax.ejb.EJBHome;
 import javax.ejb.EJBLocalHome;
@@ -74,6 +76,7 @@ public abstract class EJBComponent extends BasicComponent implements org.jboss.a
     private final TimerService timerService;
     protected final Map<Method, InterceptorFactory> timeoutInterceptors;
     private final Method timeoutMethod;
+    private final String deploymentName;
 
 
 
@@ -104,6 +107,7 @@ public abstract class EJBComponent extends BasicComponent implements org.jboss.a
         this.timerService = ejbComponentCreateService.getTimerService();
         this.timeoutInterceptors = ejbComponentCreateService.getTimeoutInterceptors();
         this.timeoutMethod = ejbComponentCreateService.getTimeoutMethod();
+        this.deploymentName = ejbComponentCreateService.getDeploymentName();
     }
 
     protected <T> T createViewInstanceProxy(final Class<T> viewInterface, final Map<Object, Object> contextData) {
@@ -356,4 +360,29 @@ public abstract class EJBComponent extends BasicComponent implements org.jboss.a
     public Method getTimeoutMethod() {
         return timeoutMethod;
     }
+
+    /**
+     * Returns the name of the deployment containing this component.
+     */
+    public String getDeploymentName() {
+        return deploymentName;
+    }
+
+    /**
+     * Returns the statistics of the container managed transactions started by this component, or {@code null} if the
+     * server keeps no transaction statistics.
+     */
+    public TransactionStatistics.ComponentStatistics getTransactionStatistics() {
+        final TransactionStatistics statistics = utilities.getTransactionStatistics();
+        return statistics == null ? null : statistics.getComponentStatistics(deploymentName, getComponentName());
+    }
+
+    @Override
+    public void stop(final StopContext stopContext) {
+        final TransactionStatistics statistics = utilities.getTransactionStatistics();
+        if (statistics != null) {
+            statistics.removeComponentStatistics(deploymentName, getComponentName());
+        }
+        super.stop(stopContext);
+    }
 }
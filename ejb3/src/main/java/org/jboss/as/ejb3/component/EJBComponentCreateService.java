@@ -146,6 +146,16 @@ public class EJBComponentCreateService extends BasicComponentCreateService {
         return serviceController.getValue();
     }
 
+    /**
+     * Returns the name of the deployment containing this component, qualified by the name of its parent deployment
+     * if it is a sub-deployment.
+     */
+    protected String getDeploymentName() {
+        final DeploymentUnit deploymentUnit = getDeploymentUnitInjector().getValue();
+        final DeploymentUnit parent = deploymentUnit.getParent();
+        return (parent == null) ? deploymentUnit.getName() : parent.getName() + "/" + deploymentUnit.getName();
+    }
+
     Map<MethodTransactionAttributeKey, TransactionAttributeType> getTxAttrs() {
         return txAttrs;
     }
@@ -23,6 +23,7 @@ package org.jboss.as.ejb3.component;
 
 import org.jboss.as.ejb3.inflow.EndpointDeployer;
 import org.jboss.as.security.service.SimpleSecurityManager;
+import org.jboss.as.txn.TransactionStatistics;
 import org.jboss.jca.common.api.metadata.ra.ResourceAdapter;
 import org.jboss.jca.common.api.metadata.ra.ResourceAdapter1516;
 import org.jboss.jca.core.spi.mdr.MetadataRepository;
@@ -73,6 +74,7 @@ public class EJBUtilities implements EndpointDeployer, Service<EJBUtilities> {
     private final InjectedValue<TransactionManager> transactionManagerValue = new InjectedValue<TransactionManager>();
     private final InjectedValue<TransactionSynchronizationRegistry> transactionSynchronizationRegistryValue = new InjectedValue<TransactionSynchronizationRegistry>();
     private final InjectedValue<UserTransaction> userTransactionValue = new InjectedValue<UserTransaction>();
+    private final InjectedValue<TransactionStatistics> transactionStatisticsValue = new InjectedValue<TransactionStatistics>();
 
     static {
         knownRar.put("hornetq-ra", "org.hornetq.ra");
@@ -207,6 +209,14 @@ public class EJBUtilities implements EndpointDeployer, Service<EJBUtilities> {
         return userTransactionValue;
     }
 
+    public TransactionStatistics getTransactionStatistics() {
+        return transactionStatisticsValue.getOptionalValue();
+    }
+
+    public Injector<TransactionStatistics> getTransactionStatisticsInjector() {
+        return transactionStatisticsValue;
+    }
+
     @Override
     public EJBUtilities getValue() throws IllegalStateException, IllegalArgumentException {
         return this;
@@ -25,6 +25,7 @@ import org.jboss.as.ee.component.BasicComponentInstance;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.pool.PoolConfig;
 import org.jboss.as.ejb3.component.pool.PooledComponent;
+import org.jboss.as.ejb3.inflow.DeliveryBatching;
 import org.jboss.as.ejb3.inflow.JBossMessageEndpointFactory;
 import org.jboss.as.ejb3.inflow.MessageEndpointService;
 import org.jboss.as.ejb3.timerservice.PooledTimedObjectInvokerImpl;
@@ -66,14 +67,16 @@ public class MessageDrivenComponent extends EJBComponent implements MessageDrive
     private final ActivationSpec activationSpec;
     private final MessageEndpointFactory endpointFactory;
     private final Class<?> messageListenerInterface;
+    private final DeliveryBatching batching;
     private ResourceAdapter resourceAdapter;
 
     /**
      * Construct a new instance.
      *
      * @param ejbComponentCreateService the component configuration
+     * @param batching the batch delivery settings, or {@code null} to deliver each message in its own transaction
      */
-    protected MessageDrivenComponent(final MessageDrivenComponentCreateService ejbComponentCreateService, final Class<?> messageListenerInterface, final ActivationSpec activationSpec) {
+    protected MessageDrivenComponent(final MessageDrivenComponentCreateService ejbComponentCreateService, final Class<?> messageListenerInterface, final ActivationSpec activationSpec, final DeliveryBatching batching) {
         super(ejbComponentCreateService);
 
         StatelessObjectFactory<MessageDrivenComponentInstance> factory = new StatelessObjectFactory<MessageDrivenComponentInstance>() {
@@ -99,6 +102,10 @@ public class MessageDrivenComponent extends EJBComponent implements MessageDrive
 
         this.activationSpec = activationSpec;
         this.messageListenerInterface = messageListenerInterface;
+        this.batching = batching;
+        if (batching != null) {
+            logger.debug("Delivering up to " + batching.getMaxBatchSize() + " messages per transaction to MDB " + ejbComponentCreateService.getComponentName());
+        }
         final MessageEndpointService<?> service = new MessageEndpointService<Object>() {
             @Override
             public Class<Object> getMessageListenerInterface() {
@@ -128,7 +135,7 @@ public class MessageDrivenComponent extends EJBComponent implements MessageDrive
                 // do nothing
             }
         };
-        this.endpointFactory = new JBossMessageEndpointFactory(getComponentClass().getClassLoader(), service);
+        this.endpointFactory = new JBossMessageEndpointFactory(getComponentClass().getClassLoader(), service, batching);
     }
 
     @Override
@@ -171,6 +178,9 @@ public class MessageDrivenComponent extends EJBComponent implements MessageDrive
     @Override
     public void stop(final StopContext stopContext) {
         resourceAdapter.endpointDeactivation(endpointFactory, activationSpec);
+        if (batching != null) {
+            batching.shutdown();
+        }
 
         super.stop(stopContext);
     }
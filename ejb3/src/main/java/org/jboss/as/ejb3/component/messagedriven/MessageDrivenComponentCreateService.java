@@ -27,6 +27,7 @@ import org.jboss.as.ee.component.ComponentConfiguration;
 import org.jboss.as.ejb3.component.EJBComponentCreateService;
 import org.jboss.as.ejb3.component.pool.PoolConfig;
 import org.jboss.as.ejb3.deployment.EjbJarConfiguration;
+import org.jboss.as.ejb3.inflow.DeliveryBatching;
 import org.jboss.as.ejb3.inflow.EndpointDeployer;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
@@ -37,12 +38,26 @@ import javax.resource.ResourceException;
 import javax.resource.spi.ActivationSpec;
 import javax.resource.spi.ResourceAdapter;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Stuart Douglas
  */
 public class MessageDrivenComponentCreateService extends EJBComponentCreateService {
 
+    /**
+     * The activation config property holding the largest number of messages delivered in a transaction.  Batch delivery
+     * is disabled unless it is greater than one.
+     */
+    public static final String DELIVERY_BATCH_SIZE = "deliveryBatchSize";
+
+    /**
+     * The activation config property holding the longest time, in milliseconds, a delivery batch is kept open.
+     */
+    public static final String DELIVERY_BATCH_TIMEOUT = "deliveryBatchTimeout";
+
+    private static final long DEFAULT_DELIVERY_BATCH_TIMEOUT = 100;
+
     private final Class<?> messageListenerInterface;
     private String resourceAdapterName;
     private final Properties activationProps;
@@ -73,9 +88,15 @@ public class MessageDrivenComponentCreateService extends EJBComponentCreateServi
         }
         final ServiceName raServiceName = this.getResourceAdapterServiceName();
 
-        final ActivationSpec activationSpec = getEndpointDeployer().createActivationSpecs(resourceAdapterName, messageListenerInterface, activationProps, getDeploymentClassLoader());
+        // the batch settings are ours, the resource adapter doesn't know about them
+        final Properties raActivationProps = new Properties();
+        raActivationProps.putAll(activationProps);
+        final String batchSize = (String) raActivationProps.remove(DELIVERY_BATCH_SIZE);
+        final String batchTimeout = (String) raActivationProps.remove(DELIVERY_BATCH_TIMEOUT);
+        final ActivationSpec activationSpec = getEndpointDeployer().createActivationSpecs(resourceAdapterName, messageListenerInterface, raActivationProps, getDeploymentClassLoader());
         //final ActivationSpec activationSpec = null;
-        final MessageDrivenComponent component = new MessageDrivenComponent(this, messageListenerInterface, activationSpec);
+        final DeliveryBatching batching = createDeliveryBatching(batchSize, batchTimeout);
+        final MessageDrivenComponent component = new MessageDrivenComponent(this, messageListenerInterface, activationSpec, batching);
         // TODO: should be injected by start service
         final ResourceAdapter resourceAdapter = getRequiredService(raServiceName, ResourceAdapter.class).getValue();
         component.setResourceAdapter(resourceAdapter);
@@ -87,6 +108,22 @@ public class MessageDrivenComponentCreateService extends EJBComponentCreateServi
         return component;
     }
 
+    private DeliveryBatching createDeliveryBatching(final String batchSize, final String batchTimeout) {
+        if (batchSize == null)
+            return null;
+        final int size;
+        final long timeout;
+        try {
+            size = Integer.parseInt(batchSize.trim());
+            timeout = batchTimeout == null ? DEFAULT_DELIVERY_BATCH_TIMEOUT : Long.parseLong(batchTimeout.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid delivery batch settings on MDB " + getComponentName(), e);
+        }
+        if (size <= 1)
+            return null;
+        return new DeliveryBatching(getComponentName(), size, timeout, TimeUnit.MILLISECONDS);
+    }
+
     PoolConfig getPoolConfig() {
         return this.poolConfig.getOptionalValue();
     }
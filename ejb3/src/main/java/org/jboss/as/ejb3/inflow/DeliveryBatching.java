@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.inflow;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The settings of batch delivery, where a message endpoint delivers several messages in the same transaction.  A batch
+ * is completed once it holds {@link #getMaxBatchSize()} messages, or once it has been open for
+ * {@link #getMaxBatchDelay(TimeUnit)}, whichever comes first.
+ * <p>
+ * The transaction of a batch is suspended between deliveries.  A batch which expires while a delivery is in progress is
+ * completed by that delivery.  A batch which expires while suspended is completed by the timer of this object, under the
+ * lock of its endpoint, so that it never runs concurrently with a delivery using the resource adapter's session.  If a
+ * batch is rolled back, the endpoint delivers as many following messages in their own transaction, so that a message
+ * which keeps failing only rolls back itself.
+ * </p>
+ */
+public final class DeliveryBatching {
+
+    private final int maxBatchSize;
+    private final long maxBatchDelay;
+    private final ScheduledThreadPoolExecutor timer;
+
+    /**
+     * Creates the settings of batch delivery.
+     *
+     * @param name the name used for the timer thread
+     * @param maxBatchSize the largest number of messages delivered in a transaction, greater than one
+     * @param maxBatchDelay the longest time a batch is kept open
+     * @param unit the unit of {@code maxBatchDelay}
+     */
+    public DeliveryBatching(final String name, final int maxBatchSize, final long maxBatchDelay, final TimeUnit unit) {
+        if (maxBatchSize < 2) {
+            throw new IllegalArgumentException("Batch size must be greater than one: " + maxBatchSize);
+        }
+        if (maxBatchDelay <= 0) {
+            throw new IllegalArgumentException("Batch delay must be positive: " + maxBatchDelay);
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelay = unit.toNanos(maxBatchDelay);
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "Delivery batch timer for " + name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.timer = executor;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long getMaxBatchDelay(final TimeUnit unit) {
+        return unit.convert(maxBatchDelay, TimeUnit.NANOSECONDS);
+    }
+
+    ScheduledFuture<?> schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        return timer.schedule(task, delay, unit);
+    }
+
+    /**
+     * Stops the timer.  Batches still open are completed by their endpoint's next delivery or release.
+     */
+    public void shutdown() {
+        timer.shutdown();
+    }
+}
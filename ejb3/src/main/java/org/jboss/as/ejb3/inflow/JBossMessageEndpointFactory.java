@@ -37,10 +37,19 @@ public class JBossMessageEndpointFactory implements MessageEndpointFactory {
     private final ClassLoader classLoader;
     private final Class<?>[] interfaces;
     private final MessageEndpointService service;
+    private final DeliveryBatching batching;
 
     public JBossMessageEndpointFactory(final ClassLoader classLoader, final MessageEndpointService service) {
+        this(classLoader, service, null);
+    }
+
+    /**
+     * @param batching the batch delivery settings, or {@code null} to deliver each message in its own transaction
+     */
+    public JBossMessageEndpointFactory(final ClassLoader classLoader, final MessageEndpointService service, final DeliveryBatching batching) {
         this.classLoader = classLoader;
         this.service = service;
+        this.batching = batching;
         this.interfaces = new Class[] { service.getMessageListenerInterface(), MessageEndpoint.class };
     }
 
@@ -52,7 +61,7 @@ public class JBossMessageEndpointFactory implements MessageEndpointFactory {
     @Override
     public MessageEndpoint createEndpoint(XAResource xaResource, long timeout) throws UnavailableException {
         Object delegate = service.obtain(timeout, MILLISECONDS);
-        MessageEndpointInvocationHandler handler = new MessageEndpointInvocationHandler(service, delegate, xaResource);
+        MessageEndpointInvocationHandler handler = new MessageEndpointInvocationHandler(service, delegate, xaResource, batching);
         return (MessageEndpoint) Proxy.newProxyInstance(classLoader, interfaces, handler);
     }
 
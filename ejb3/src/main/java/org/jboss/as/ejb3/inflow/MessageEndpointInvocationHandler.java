@@ -37,28 +37,50 @@ import javax.transaction.TransactionManager;
 import javax.transaction.xa.XAResource;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.jboss.logging.Logger;
+
 import static java.security.AccessController.doPrivileged;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.jboss.as.ejb3.inflow.ContextClassLoaderActions.contextClassLoader;
 
 /**
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class MessageEndpointInvocationHandler extends AbstractInvocationHandler implements MessageEndpoint {
+    private static final Logger logger = Logger.getLogger(MessageEndpointInvocationHandler.class);
+
     private final MessageEndpointService service;
     private final Object delegate;
     private final XAResource xaRes;
+    private final DeliveryBatching batching;
     private final AtomicBoolean released = new AtomicBoolean(false);
 
     private Transaction currentTx;
     private ClassLoader previousClassLoader;
     private Transaction previousTx;
 
+    // the state of batch delivery, guarded by this
+    private Transaction batchTx;
+    private ScheduledFuture<?> batchExpiry;
+    private int batchCount;
+    private long batchDeadline;
+    private boolean batchedDelivery;
+    // the number of deliveries left to make in their own transaction after a batch was rolled back
+    private int isolatedDeliveries;
+
     MessageEndpointInvocationHandler(final MessageEndpointService service, final Object delegate, final XAResource xaResource) {
+        this(service, delegate, xaResource, null);
+    }
+
+    MessageEndpointInvocationHandler(final MessageEndpointService service, final Object delegate, final XAResource xaResource, final DeliveryBatching batching) {
         this.service = service;
         this.delegate = delegate;
         this.xaRes = xaResource;
+        this.batching = batching;
     }
 
     @Override
@@ -66,11 +88,12 @@ public class MessageEndpointInvocationHandler extends AbstractInvocationHandler
         final TransactionManager tm = getTransactionManager();
         try {
             if (currentTx != null) {
-                if (currentTx.getStatus() == Status.STATUS_MARKED_ROLLBACK)
-                    tm.rollback();
-                else
-                    tm.commit();
+                final Transaction tx = currentTx;
                 currentTx = null;
+                if (batchedDelivery)
+                    afterBatchedDelivery(tm, tx);
+                else
+                    completeDelivery(tm, tx);
             }
             if (previousTx != null) {
                 tm.resume(previousTx);
@@ -104,10 +127,13 @@ public class MessageEndpointInvocationHandler extends AbstractInvocationHandler
             previousTx = tm.suspend();
             boolean isTransacted = service.isDeliveryTransacted(method);
             if (isTransacted) {
-                tm.begin();
-                currentTx = tm.getTransaction();
-                if (xaRes != null)
-                    currentTx.enlistResource(xaRes);
+                if (!resumeBatch(tm)) {
+                    tm.begin();
+                    currentTx = tm.getTransaction();
+                    if (xaRes != null)
+                        currentTx.enlistResource(xaRes);
+                    openBatch();
+                }
             }
         }
         catch(Throwable t) {
@@ -116,6 +142,119 @@ public class MessageEndpointInvocationHandler extends AbstractInvocationHandler
         }
     }
 
+    /**
+     * Resumes the open batch for the current delivery.  A batch which expired before its timer got to it is completed
+     * instead, on this thread.
+     */
+    private synchronized boolean resumeBatch(final TransactionManager tm) throws Exception {
+        if (batchTx == null)
+            return false;
+        final Transaction tx = batchTx;
+        batchTx = null;
+        batchExpiry.cancel(false);
+        batchExpiry = null;
+        tm.resume(tx);
+        if (batchDeadline - System.nanoTime() > 0) {
+            currentTx = tx;
+            batchedDelivery = true;
+            return true;
+        }
+        try {
+            completeBatch(tm, tx);
+        } catch (Exception e) {
+            logger.error("Failed to complete expired delivery batch of message endpoint " + this, e);
+        }
+        return false;
+    }
+
+    private synchronized void openBatch() {
+        batchedDelivery = batching != null && isolatedDeliveries == 0;
+        if (batchedDelivery) {
+            batchCount = 0;
+            batchDeadline = System.nanoTime() + batching.getMaxBatchDelay(NANOSECONDS);
+        }
+    }
+
+    /**
+     * Keeps the transaction of the current delivery open for the next one, unless the batch is full, has expired or is
+     * marked for rollback.
+     */
+    private synchronized void afterBatchedDelivery(final TransactionManager tm, final Transaction tx) throws SystemException, HeuristicMixedException, HeuristicRollbackException, RollbackException {
+        batchedDelivery = false;
+        final long remaining = batchDeadline - System.nanoTime();
+        if (++batchCount < batching.getMaxBatchSize() && remaining > 0
+                && tx.getStatus() == Status.STATUS_ACTIVE && !released.get()) {
+            try {
+                batchExpiry = batching.schedule(new Runnable() {
+                    public void run() {
+                        expireBatch(tx);
+                    }
+                }, remaining, NANOSECONDS);
+                batchTx = tm.suspend();
+                return;
+            } catch (RejectedExecutionException e) {
+                // the MDB is stopping, so don't keep the batch open
+            }
+        }
+        completeBatch(tm, tx);
+    }
+
+    /**
+     * Completes the batch if it is still suspended when it expires, so that it does not wait for a next message which
+     * may never come.  Holding the lock of this endpoint keeps any delivery from resuming the batch meanwhile.
+     */
+    private synchronized void expireBatch(final Transaction tx) {
+        if (batchTx != tx)
+            return; // resumed by a delivery, which completes it
+        batchTx = null;
+        batchExpiry = null;
+        completeSuspendedBatch(tx);
+    }
+
+    /**
+     * Completes the batch associated with the calling thread.  If it does not commit, its messages will be redelivered,
+     * so deliver that many messages in their own transaction to isolate the one which failed.
+     */
+    private void completeBatch(final TransactionManager tm, final Transaction tx) throws SystemException, HeuristicMixedException, HeuristicRollbackException, RollbackException {
+        assert Thread.holdsLock(this);
+        final int count = batchCount;
+        batchCount = 0;
+        boolean committed = false;
+        try {
+            committed = complete(tm, tx);
+        } finally {
+            if (!committed) {
+                isolatedDeliveries = count;
+                logger.debug("Delivery batch of " + count + " messages rolled back, redelivering them one by one to message endpoint " + this);
+            }
+        }
+    }
+
+    private void completeDelivery(final TransactionManager tm, final Transaction tx) throws SystemException, HeuristicMixedException, HeuristicRollbackException, RollbackException {
+        synchronized (this) {
+            if (isolatedDeliveries > 0)
+                isolatedDeliveries--;
+        }
+        complete(tm, tx);
+    }
+
+    /**
+     * @return whether the transaction committed
+     */
+    private static boolean complete(final TransactionManager tm, final Transaction tx) throws SystemException, HeuristicMixedException, HeuristicRollbackException, RollbackException {
+        if (tx.getStatus() == Status.STATUS_ACTIVE) {
+            tm.commit();
+            return true;
+        }
+        // marked for rollback by a delivery, or already rolled back, for instance by the transaction reaper
+        try {
+            tm.rollback();
+        } catch (IllegalStateException e) {
+            tm.suspend();
+        }
+        return false;
+    }
+
     @Override
     protected boolean doEquals(Object obj) {
         if (!(obj instanceof MessageEndpointInvocationHandler))
@@ -164,6 +303,42 @@ public class MessageEndpointInvocationHandler extends AbstractInvocationHandler
 
         // TODO: tidy up outstanding delivery
 
+        if (batching != null)
+            releaseBatch();
+
         service.release(delegate);
     }
+
+    /**
+     * Completes the open batch, if any, on the thread releasing the endpoint.
+     */
+    private synchronized void releaseBatch() {
+        if (batchTx == null)
+            return; // a delivery in progress will complete the batch
+        final Transaction tx = batchTx;
+        batchTx = null;
+        batchExpiry.cancel(false);
+        batchExpiry = null;
+        completeSuspendedBatch(tx);
+    }
+
+    /**
+     * Completes a batch no delivery is using on the calling thread.
+     */
+    private void completeSuspendedBatch(final Transaction tx) {
+        assert Thread.holdsLock(this);
+        final TransactionManager tm = getTransactionManager();
+        try {
+            final Transaction previous = tm.suspend();
+            tm.resume(tx);
+            try {
+                completeBatch(tm, tx);
+            } finally {
+                if (previous != null)
+                    tm.resume(previous);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to complete delivery batch of message endpoint " + this, e);
+        }
+    }
 }
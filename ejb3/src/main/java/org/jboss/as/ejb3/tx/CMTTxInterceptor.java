@@ -22,6 +22,7 @@
 package org.jboss.as.ejb3.tx;
 
 import org.jboss.as.ejb3.context.spi.InvocationContext;
+import org.jboss.as.txn.TransactionStatistics;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.logging.Logger;
@@ -60,6 +61,7 @@ public class CMTTxInterceptor implements Interceptor {
     private static final Random RANDOM = new Random();
 
     private TransactionManager tm;
+    private TransactionStatistics.ComponentStatistics statistics;
 
     /**
      * The <code>endTransaction</code> method ends a transaction and
@@ -95,6 +97,24 @@ public class CMTTxInterceptor implements Interceptor {
         }
     }
 
+    /**
+     * Records a transaction this interceptor has just begun into the statistics of the component, once it completes.
+     * Statistics are best effort, so a transaction that cannot be recorded is not failed.
+     *
+     * @param tx a <code>Transaction</code> value
+     */
+    private void recordTransaction(Transaction tx) {
+        final TransactionStatistics.ComponentStatistics statistics = this.statistics;
+        if (statistics == null || !statistics.isEnabled()) {
+            return;
+        }
+        try {
+            statistics.transactionBegun(tx);
+        } catch (IllegalStateException e) {
+            log.debug("Unable to record transaction statistics for " + tx, e);
+        }
+    }
+
     protected int getCurrentTransactionTimeout() throws SystemException {
         if (tm instanceof TransactionTimeoutConfiguration) {
             return ((TransactionTimeoutConfiguration) tm).getTransactionTimeout();
@@ -206,6 +226,7 @@ public class CMTTxInterceptor implements Interceptor {
         for (int i = 0; i < MAX_RETRIES; i++) {
             tm.begin();
             Transaction tx = tm.getTransaction();
+            recordTransaction(tx);
             try {
                 try {
                     return invocation.proceed();
@@ -341,6 +362,15 @@ public class CMTTxInterceptor implements Interceptor {
         this.tm = tm;
     }
 
+    /**
+     * Sets the statistics that the transactions started by this interceptor are recorded into.
+     *
+     * @param statistics the statistics, or {@code null} to record nothing
+     */
+    public void setTransactionStatistics(TransactionStatistics.ComponentStatistics statistics) {
+        this.statistics = statistics;
+    }
+
     protected Object supports(TransactionalInvocationContext invocation) throws Exception {
         Transaction tx = tm.getTransaction();
         if (tx == null) {
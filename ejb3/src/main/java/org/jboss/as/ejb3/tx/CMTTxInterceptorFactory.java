@@ -43,6 +43,7 @@ public class CMTTxInterceptorFactory extends ComponentInterceptorFactory {
     protected Interceptor create(Component component, InterceptorFactoryContext context) {
         final CMTTxInterceptor interceptor = new CMTTxInterceptor();
         interceptor.setTransactionManager(((EJBComponent) component).getTransactionManager());
+        interceptor.setTransactionStatistics(((EJBComponent) component).getTransactionStatistics());
         return interceptor;
     }
 }
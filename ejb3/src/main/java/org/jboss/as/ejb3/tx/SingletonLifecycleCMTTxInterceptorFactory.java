@@ -44,6 +44,7 @@ public class SingletonLifecycleCMTTxInterceptorFactory extends ComponentIntercep
     protected Interceptor create(Component component, InterceptorFactoryContext context) {
         final SingletonLifecycleCMTTxInterceptor interceptor = new SingletonLifecycleCMTTxInterceptor(txAttr);
         interceptor.setTransactionManager(((EJBComponent) component).getTransactionManager());
+        interceptor.setTransactionStatistics(((EJBComponent) component).getTransactionStatistics());
         return interceptor;
     }
 }
@@ -43,6 +43,7 @@ public class TimerCMTTxInterceptorFactory extends ComponentInterceptorFactory {
     protected Interceptor create(Component component, InterceptorFactoryContext context) {
         final TimerCMTTxInterceptor interceptor = new TimerCMTTxInterceptor();
         interceptor.setTransactionManager(((EJBComponent) component).getTransactionManager());
+        interceptor.setTransactionStatistics(((EJBComponent) component).getTransactionStatistics());
         return interceptor;
     }
 }
@@ -0,0 +1,258 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.inflow;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import javax.transaction.Status;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the batch delivery of {@link MessageEndpointInvocationHandler} against a transaction manager that only tracks
+ * the transaction associated with the calling thread.
+ */
+public class MessageEndpointBatchDeliveryTestCase {
+    public interface Listener {
+        void onMessage(Object message);
+    }
+
+    private static class FakeTransactionManager implements TransactionManager {
+        private final ThreadLocal<Transaction> current = new ThreadLocal<Transaction>();
+        private int begun;
+        private int committed;
+        private int rolledBack;
+        private int status = Status.STATUS_ACTIVE;
+        private final Set<Thread> completingThreads = new HashSet<Thread>();
+
+        @Override
+        public synchronized void begin() {
+            final Transaction tx = mock(Transaction.class);
+            try {
+                when(tx.getStatus()).thenAnswer(new Answer<Integer>() {
+                    @Override
+                    public Integer answer(final InvocationOnMock invocation) {
+                        return status;
+                    }
+                });
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            current.set(tx);
+            status = Status.STATUS_ACTIVE;
+            begun++;
+        }
+
+        @Override
+        public synchronized void commit() {
+            current.remove();
+            completingThreads.add(Thread.currentThread());
+            committed++;
+        }
+
+        synchronized int getCommitted() {
+            return committed;
+        }
+
+        @Override
+        public int getStatus() {
+            return current.get() == null ? Status.STATUS_NO_TRANSACTION : status;
+        }
+
+        @Override
+        public Transaction getTransaction() {
+            return current.get();
+        }
+
+        @Override
+        public void resume(final Transaction tx) {
+            current.set(tx);
+        }
+
+        @Override
+        public synchronized void rollback() {
+            current.remove();
+            completingThreads.add(Thread.currentThread());
+            rolledBack++;
+        }
+
+        @Override
+        public void setRollbackOnly() {
+            status = Status.STATUS_MARKED_ROLLBACK;
+        }
+
+        @Override
+        public void setTransactionTimeout(final int seconds) {
+        }
+
+        @Override
+        public Transaction suspend() {
+            final Transaction tx = current.get();
+            current.remove();
+            return tx;
+        }
+
+    }
+
+    private FakeTransactionManager tm;
+    private MessageEndpointService<Listener> service;
+    private Method onMessage;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        tm = new FakeTransactionManager();
+        service = mock(MessageEndpointService.class);
+        when(service.getMessageListenerInterface()).thenReturn(Listener.class);
+        when(service.getTransactionManager()).thenReturn(tm);
+        when(service.isDeliveryTransacted(any(Method.class))).thenReturn(true);
+        onMessage = Listener.class.getMethod("onMessage", Object.class);
+    }
+
+    private void deliver(final MessageEndpointInvocationHandler handler) throws Exception {
+        handler.beforeDelivery(onMessage);
+        handler.afterDelivery();
+    }
+
+    private void deliverPoison(final MessageEndpointInvocationHandler handler) throws Exception {
+        handler.beforeDelivery(onMessage);
+        tm.setRollbackOnly();
+        handler.afterDelivery();
+    }
+
+    @Test
+    public void testFullBatchCommitsOnce() throws Exception {
+        final DeliveryBatching batching = new DeliveryBatching("test", 3, 1, TimeUnit.MINUTES);
+        final MessageEndpointInvocationHandler handler = new MessageEndpointInvocationHandler(service, new Object(), null, batching);
+        for (int i = 0; i < 7; i++)
+            deliver(handler);
+        assertEquals(3, tm.begun);
+        assertEquals(2, tm.committed);
+        // the last, incomplete batch is completed on release
+        handler.release();
+        assertEquals(3, tm.committed);
+    }
+
+    @Test
+    public void testIdleBatchIsCompletedWhenItExpires() throws Exception {
+        final DeliveryBatching batching = new DeliveryBatching("test", 10, 20, TimeUnit.MILLISECONDS);
+        final MessageEndpointInvocationHandler handler = new MessageEndpointInvocationHandler(service, new Object(), null, batching);
+        try {
+            deliver(handler);
+            deliver(handler);
+            // no further message arrives, the timer completes the batch
+            for (int i = 0; i < 100 && tm.getCommitted() == 0; i++)
+                Thread.sleep(10);
+            assertEquals(1, tm.getCommitted());
+            assertFalse(tm.completingThreads.contains(Thread.currentThread()));
+            deliver(handler);
+            assertEquals(2, tm.begun);
+            handler.release();
+            assertEquals(2, tm.getCommitted());
+        } finally {
+            batching.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatchRolledBackBehindTheEndpointIsNotCommitted() throws Exception {
+        final DeliveryBatching batching = new DeliveryBatching("test", 10, 1, TimeUnit.MINUTES);
+        final MessageEndpointInvocationHandler handler = new MessageEndpointInvocationHandler(service, new Object(), null, batching);
+        deliver(handler);
+        deliver(handler);
+        // the transaction reaper rolls back the suspended transaction of the batch
+        tm.status = Status.STATUS_ROLLEDBACK;
+        deliver(handler);
+        assertEquals(1, tm.begun);
+        assertEquals(0, tm.getCommitted());
+        assertEquals(1, tm.rolledBack);
+        batching.shutdown();
+    }
+
+    @Test
+    public void testRollbackOnlyEndsBatch() throws Exception {
+        final DeliveryBatching batching = new DeliveryBatching("test", 10, 1, TimeUnit.MINUTES);
+        final MessageEndpointInvocationHandler handler = new MessageEndpointInvocationHandler(service, new Object(), null, batching);
+        deliver(handler);
+        handler.beforeDelivery(onMessage);
+        tm.setRollbackOnly();
+        handler.afterDelivery();
+        assertEquals(1, tm.begun);
+        assertEquals(1, tm.rolledBack);
+        assertEquals(0, tm.committed);
+    }
+
+    @Test
+    public void testRolledBackBatchIsRedeliveredOneByOne() throws Exception {
+        final DeliveryBatching batching = new DeliveryBatching("test", 3, 1, TimeUnit.MINUTES);
+        final MessageEndpointInvocationHandler handler = new MessageEndpointInvocationHandler(service, new Object(), null, batching);
+        deliver(handler);
+        deliver(handler);
+        deliverPoison(handler);
+        assertEquals(1, tm.begun);
+        assertEquals(1, tm.rolledBack);
+
+        // the three messages are redelivered, each in its own transaction, so only the poison one rolls back again
+        deliver(handler);
+        deliverPoison(handler);
+        deliver(handler);
+        assertEquals(4, tm.begun);
+        assertEquals(2, tm.committed);
+        assertEquals(2, tm.rolledBack);
+
+        // then batching resumes, and the poison message only takes its own batch down with it
+        deliverPoison(handler);
+        assertEquals(5, tm.begun);
+        assertEquals(3, tm.rolledBack);
+        deliverPoison(handler);
+        assertEquals(6, tm.begun);
+        assertEquals(4, tm.rolledBack);
+        deliver(handler);
+        deliver(handler);
+        deliver(handler);
+        assertEquals(7, tm.begun);
+        assertEquals(3, tm.committed);
+    }
+
+    @Test
+    public void testUnbatchedDelivery() throws Exception {
+        final MessageEndpointInvocationHandler handler = new MessageEndpointInvocationHandler(service, new Object(), null);
+        deliver(handler);
+        deliver(handler);
+        assertEquals(2, tm.begun);
+        assertEquals(2, tm.committed);
+    }
+}
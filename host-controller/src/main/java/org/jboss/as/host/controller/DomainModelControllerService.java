@@ -136,7 +136,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
         final LocalHostControllerInfoImpl hostControllerInfo = new LocalHostControllerInfoImpl(processState);
         final PrepareStepHandler prepareStepHandler = new PrepareStepHandler(hostControllerInfo, hostProxies, serverProxies);
         DomainModelControllerService service = new DomainModelControllerService(environment, processState,
-                hostControllerInfo, new HostControllerConfigurationPersister(environment, hostControllerInfo),
+                hostControllerInfo, new HostControllerConfigurationPersister(environment, hostControllerInfo, hostControllerInfo.getDomainModelDigest()),
                 hostProxies, serverProxies, prepareStepHandler);
         return serviceTarget.addService(SERVICE_NAME, service)
                 .addDependency(HostControllerBootstrap.SERVICE_NAME_BASE.append("executor"), ExecutorService.class, service.injectedExecutorService)
@@ -284,7 +284,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
                         hostControllerInfo.getRemoteDomainControllerHost(),
                         hostControllerInfo.getRemoteDomainControllertPort(),
                         hostControllerInfo.getRemoteDomainControllerSecurityRealm(),
-                        remoteFileRepository);
+                        remoteFileRepository,
+                        hostControllerInfo.getDomainModelDigest());
                 masterDomainControllerClient = getFuture(clientFuture);
                 //Registers us with the master and gets down the master copy of the domain model to our DC
                 //TODO make sure that the RDCS checks env.isUseCachedDC, and if true falls through to that
@@ -353,7 +354,9 @@ public class DomainModelControllerService extends AbstractControllerService impl
                 .addInjection(service.getTempDirInjector(), environment.getDomainTempDir().getAbsolutePath())
                 .addInjection(service.getPortInjector(), port)
                 .addInjection(service.getSecurePortInjector(), securePort)
-                .addInjection(service.getExecutorServiceInjector(), Executors.newCachedThreadPool(httpMgmtThreads));
+                .addInjection(service.getMaxReadRequestsInjector(), hostControllerInfo.getHttpManagementMaxReadRequests())
+                .addInjection(service.getMaxWriteRequestsInjector(), hostControllerInfo.getHttpManagementMaxWriteRequests())
+                .addInjection(service.getThreadFactoryInjector(), httpMgmtThreads);
 
         if (securityRealm != null) {
             builder.addDependency(SecurityRealmService.BASE_SERVICE_NAME.append(securityRealm), SecurityRealmService.class, service.getSecurityRealmInjector());
@@ -34,6 +34,7 @@ import org.jboss.as.controller.persistence.ConfigurationFile;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.controller.persistence.SubsystemMarshallingContext;
+import org.jboss.as.domain.controller.DomainModelDigest;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLElementWriter;
@@ -49,11 +50,14 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
     private ExtensibleConfigurationPersister domainPersister;
     private final ExtensibleConfigurationPersister hostPersister;
     private final LocalHostControllerInfo hostControllerInfo;
+    private final DomainModelDigest domainModelDigest;
     private Boolean slave;
 
-    public HostControllerConfigurationPersister(final HostControllerEnvironment environment, LocalHostControllerInfo localHostControllerInfo) {
+    public HostControllerConfigurationPersister(final HostControllerEnvironment environment, LocalHostControllerInfo localHostControllerInfo,
+                                                final DomainModelDigest domainModelDigest) {
         this.environment = environment;
         this.hostControllerInfo = localHostControllerInfo;
+        this.domainModelDigest = domainModelDigest;
         final File configDir = environment.getDomainConfigurationDir();
         final ConfigurationFile configurationFile = environment.getHostConfigurationFile();
         this.hostPersister = ConfigurationPersisterFactory.createHostXmlConfigurationPersister(configDir, configurationFile);
@@ -122,6 +126,11 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
                 }
                 if (delegates[1] != null) {
                     delegates[1].commit();
+                    if (slave) {
+                        // The domain model now differs from the one last applied from the master, which
+                        // records the new digest itself once this commit is done
+                        domainModelDigest.setApplied(null);
+                    }
                 }
             }
 
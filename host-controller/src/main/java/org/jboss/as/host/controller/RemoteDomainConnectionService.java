@@ -50,6 +50,7 @@ import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationMessageHandler;
 import org.jboss.as.controller.remote.ExistingChannelModelControllerClient;
 import org.jboss.as.controller.remote.TransactionalModelControllerOperationHandler;
+import org.jboss.as.domain.controller.DomainModelDigest;
 import org.jboss.as.domain.controller.FileRepository;
 import org.jboss.as.domain.controller.MasterDomainControllerClient;
 import org.jboss.as.domain.management.CallbackHandlerFactory;
@@ -98,6 +99,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private final int port;
     private final String name;
     private final RemoteFileRepository remoteFileRepository;
+    private final DomainModelDigest domainModelDigest;
 
     private volatile ProtocolChannelClient<ManagementChannel> channelClient;
     /** Used to invoke ModelController ops on the master */
@@ -112,18 +114,21 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private final InjectedValue<Endpoint> endpointInjector = new InjectedValue<Endpoint>();
     private final InjectedValue<CallbackHandlerFactory> callbackFactoryInjector = new InjectedValue<CallbackHandlerFactory>();
 
-    private RemoteDomainConnectionService(final ModelController controller, final String name, final InetAddress host, final int port, final RemoteFileRepository remoteFileRepository){
+    private RemoteDomainConnectionService(final ModelController controller, final String name, final InetAddress host, final int port,
+                                          final RemoteFileRepository remoteFileRepository, final DomainModelDigest domainModelDigest){
         this.controller = controller;
         this.name = name;
         this.host = host;
         this.port = port;
         this.remoteFileRepository = remoteFileRepository;
+        this.domainModelDigest = domainModelDigest;
         remoteFileRepository.setRemoteFileRepositoryExecutor(remoteFileRepositoryExecutor);
     }
 
     public static Future<MasterDomainControllerClient> install(final ServiceTarget serviceTarget, final ModelController controller,
                                                                   final String localHostName, final String remoteDcHost, final int remoteDcPort,
-                                                                  final String securityRealm, final RemoteFileRepository remoteFileRepository) {
+                                                                  final String securityRealm, final RemoteFileRepository remoteFileRepository,
+                                                                  final DomainModelDigest domainModelDigest) {
         RemoteDomainConnectionService service;
         try {
             service = new RemoteDomainConnectionService(
@@ -131,7 +136,8 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                     localHostName,
                     InetAddress.getByName(remoteDcHost),
                     remoteDcPort,
-                    remoteFileRepository);
+                    remoteFileRepository,
+                    domainModelDigest);
         } catch (UnknownHostException e) {
             throw new RuntimeException(e);
         }
@@ -364,13 +370,16 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     }
 
     private class RegisterModelControllerRequest extends RegistryRequest<String> {
+        // Let the master skip sending the domain model if we already have it
+        private final byte[] digest = domainModelDigest.getApplied();
 
         RegisterModelControllerRequest() {
         }
 
         @Override
         protected byte getRequestCode() {
-            return DomainControllerProtocol.REGISTER_HOST_CONTROLLER_REQUEST;
+            // Only a registration with a digest needs a master that understands it
+            return digest == null ? DomainControllerProtocol.REGISTER_HOST_CONTROLLER_REQUEST : DomainControllerProtocol.REGISTER_HOST_CONTROLLER_WITH_DIGEST_REQUEST;
         }
 
         /** {@inheritDoc} */
@@ -378,6 +387,11 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         protected void writeRequest(final int protocolVersion, final FlushableDataOutput output) throws IOException {
             output.write(DomainControllerProtocol.PARAM_HOST_ID);
             output.writeUTF(name);
+            if (digest != null) {
+                output.write(DomainControllerProtocol.PARAM_DOMAIN_MODEL_DIGEST);
+                output.writeInt(digest.length);
+                output.write(digest);
+            }
         }
 
         protected ManagementResponseHandler<String> getResponseHandler() {
@@ -34,6 +34,8 @@ public interface DomainControllerProtocol extends ModelControllerProtocol {
     byte UNREGISTER_HOST_CONTROLLER_REQUEST = 0x53;
     byte GET_FILE_REQUEST = 0x55;
     byte IS_ACTIVE_REQUEST = 0x57;
+    /** Registration carrying the digest of the domain model the host already has */
+    byte REGISTER_HOST_CONTROLLER_WITH_DIGEST_REQUEST = 0x59;
 
     byte PARAM_HOST_ID = 0x20;
     byte PARAM_OK = 0x21;
@@ -47,4 +49,5 @@ public interface DomainControllerProtocol extends ModelControllerProtocol {
     byte FILE_START = 0x30;
     byte PARAM_FILE_SIZE = 0x31;
     byte FILE_END = 0x32;
+    byte PARAM_DOMAIN_MODEL_DIGEST = 0x33;
 }
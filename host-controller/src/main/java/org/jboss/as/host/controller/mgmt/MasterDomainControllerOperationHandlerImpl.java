@@ -85,7 +85,9 @@ public class MasterDomainControllerOperationHandlerImpl extends AbstractModelCon
         }
         switch (id) {
         case DomainControllerProtocol.REGISTER_HOST_CONTROLLER_REQUEST:
-            return new RegisterOperation();
+            return new RegisterOperation(false);
+        case DomainControllerProtocol.REGISTER_HOST_CONTROLLER_WITH_DIGEST_REQUEST:
+            return new RegisterOperation(true);
         case DomainControllerProtocol.UNREGISTER_HOST_CONTROLLER_REQUEST:
             return new UnregisterOperation();
         case DomainControllerProtocol.GET_FILE_REQUEST:
@@ -108,11 +110,22 @@ public class MasterDomainControllerOperationHandlerImpl extends AbstractModelCon
     }
 
     private class RegisterOperation extends RegistryOperation {
+        final boolean withDigest;
         String error;
+        byte[] domainModelDigest;
+
+        RegisterOperation(final boolean withDigest) {
+            this.withDigest = withDigest;
+        }
+
         @Override
         protected void readRequest(final DataInput input) throws IOException {
-            expectHeader(input, DomainControllerProtocol.PARAM_HOST_ID);
-            hostId = input.readUTF();
+            super.readRequest(input);
+            if (withDigest) {
+                expectHeader(input, DomainControllerProtocol.PARAM_DOMAIN_MODEL_DIGEST);
+                domainModelDigest = new byte[input.readInt()];
+                input.readFully(domainModelDigest);
+            }
         }
 
 
@@ -130,6 +143,9 @@ public class MasterDomainControllerOperationHandlerImpl extends AbstractModelCon
                 op.get(OP).set(ReadMasterDomainModelHandler.OPERATION_NAME);
                 op.get(OP_ADDR).setEmptyList();
                 op.get(HOST).set(hostId);
+                if (domainModelDigest != null) {
+                    op.get(ReadMasterDomainModelHandler.DOMAIN_MODEL_DIGEST).set(domainModelDigest);
+                }
                 ModelNode result = controller.execute(op, OperationMessageHandler.logging, OperationTransactionControl.COMMIT, null);
                 if (result.hasDefined(FAILURE_DESCRIPTION)) {
                     error = result.get(FAILURE_DESCRIPTION).asString();
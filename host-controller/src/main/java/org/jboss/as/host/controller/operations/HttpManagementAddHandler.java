@@ -22,6 +22,8 @@
 
 package org.jboss.as.host.controller.operations;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_READ_REQUESTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_WRITE_REQUESTS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SECURITY_REALM;
 
 import java.util.Locale;
@@ -57,6 +59,8 @@ public class HttpManagementAddHandler extends AbstractAddStepHandler implements
         final String interfaceName = operation.require(ModelDescriptionConstants.INTERFACE).asString();
         final int port = getIntValue(operation, ModelDescriptionConstants.PORT);
         final int securePort = getIntValue(operation, ModelDescriptionConstants.SECURE_PORT);
+        final int maxReadRequests = getIntValue(operation, MAX_READ_REQUESTS);
+        final int maxWriteRequests = getIntValue(operation, MAX_WRITE_REQUESTS);
         final String securityRealm = operation.hasDefined(SECURITY_REALM) ? operation.get(SECURITY_REALM).asString() : null;
 
         model.get(ModelDescriptionConstants.INTERFACE).set(interfaceName);
@@ -66,6 +70,12 @@ public class HttpManagementAddHandler extends AbstractAddStepHandler implements
         if (securePort > -1) {
             model.get(ModelDescriptionConstants.SECURE_PORT).set(securePort);
         }
+        if (maxReadRequests > -1) {
+            model.get(MAX_READ_REQUESTS).set(maxReadRequests);
+        }
+        if (maxWriteRequests > -1) {
+            model.get(MAX_WRITE_REQUESTS).set(maxWriteRequests);
+        }
         if (securityRealm != null) {
             model.get(ModelDescriptionConstants.SECURITY_REALM).set(securityRealm);
         }
@@ -74,6 +84,8 @@ public class HttpManagementAddHandler extends AbstractAddStepHandler implements
         hostControllerInfo.setHttpManagementPort(port);
         hostControllerInfo.setHttpManagementSecurePort(securePort);
         hostControllerInfo.setHttpManagementSecurityRealm(securityRealm);
+        hostControllerInfo.setHttpManagementMaxReadRequests(maxReadRequests);
+        hostControllerInfo.setHttpManagementMaxWriteRequests(maxWriteRequests);
     }
 
     /**
@@ -85,7 +97,7 @@ public class HttpManagementAddHandler extends AbstractAddStepHandler implements
     }
 
     private int getIntValue(ModelNode source, String name) {
-        if (source.has(name)) {
+        if (source.hasDefined(name)) {
             return source.require(name).asInt();
         }
         return -1;
@@ -23,10 +23,11 @@
 package org.jboss.as.host.controller.operations;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INTERFACE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_READ_REQUESTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_WRITE_REQUESTS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SECURITY_REALM;
 
 import java.security.AccessController;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 
 import org.jboss.as.controller.ModelController;
@@ -37,6 +38,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.ServiceVerificationHandler;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.global.WriteAttributeHandlers;
+import org.jboss.as.controller.operations.validation.ParameterValidator;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.management.security.SecurityRealmService;
@@ -73,6 +75,13 @@ public class HttpManagementAttributeHandlers {
             this.environment = environment;
         }
 
+        public HttpManagementAttributeHandler(final LocalHostControllerInfoImpl hostControllerInfo, final HostControllerEnvironment environment,
+                final ParameterValidator valueValidator) {
+            super(valueValidator);
+            this.hostControllerInfo = hostControllerInfo;
+            this.environment = environment;
+        }
+
 
         @Override
         protected void modelChanged(final OperationContext context, final ModelNode operation, String attributeName, ModelNode newValue, ModelNode currentValue) throws OperationFailedException {
@@ -86,10 +95,14 @@ public class HttpManagementAttributeHandlers {
                         final String interfaceName = subModel.require(INTERFACE).asString();
                         final int port = subModel.require(ModelDescriptionConstants.PORT).asInt();
                         final String realmName = subModel.hasDefined(SECURITY_REALM) ? subModel.require(SECURITY_REALM).asString() : null;
+                        final int maxReadRequests = subModel.hasDefined(MAX_READ_REQUESTS) ? subModel.require(MAX_READ_REQUESTS).asInt() : -1;
+                        final int maxWriteRequests = subModel.hasDefined(MAX_WRITE_REQUESTS) ? subModel.require(MAX_WRITE_REQUESTS).asInt() : -1;
 
                         hostControllerInfo.setHttpManagementInterface(interfaceName);
                         hostControllerInfo.setHttpManagementPort(port);
                         hostControllerInfo.setHttpManagementSecurityRealm(realmName);
+                        hostControllerInfo.setHttpManagementMaxReadRequests(maxReadRequests);
+                        hostControllerInfo.setHttpManagementMaxWriteRequests(maxWriteRequests);
 
                         context.removeService(HttpManagementService.SERVICE_NAME);
                         final ServiceVerificationHandler handler = new ServiceVerificationHandler();
@@ -134,7 +147,9 @@ public class HttpManagementAttributeHandlers {
                 .addInjection(service.getTempDirInjector(), environment.getDomainTempDir().getAbsolutePath())
                 .addInjection(service.getPortInjector(), port)
                 .addInjection(service.getSecurePortInjector(), securePort)
-                .addInjection(service.getExecutorServiceInjector(), Executors.newCachedThreadPool(httpMgmtThreads))
+                .addInjection(service.getMaxReadRequestsInjector(), hostControllerInfo.getHttpManagementMaxReadRequests())
+                .addInjection(service.getMaxWriteRequestsInjector(), hostControllerInfo.getHttpManagementMaxWriteRequests())
+                .addInjection(service.getThreadFactoryInjector(), httpMgmtThreads)
                 .addListener(verificationHandler);
 
         if (securityRealm != null) {
@@ -29,6 +29,7 @@ import java.util.Map;
 
 import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.interfaces.ParsedInterfaceCriteria;
+import org.jboss.as.domain.controller.DomainModelDigest;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.network.NetworkInterfaceBinding;
 import org.jboss.as.server.deployment.repository.api.ContentRepository;
@@ -59,6 +60,9 @@ public class LocalHostControllerInfoImpl implements LocalHostControllerInfo {
     private int httpManagementSecurePort;
     private String nativeManagementSecurityRealm;
     private String httpManagementSecurityRealm;
+    private int httpManagementMaxReadRequests = -1;
+    private int httpManagementMaxWriteRequests = -1;
+    private final DomainModelDigest domainModelDigest = new DomainModelDigest();
 
     public LocalHostControllerInfoImpl(final ControlledProcessState processState) {
         this.processState = processState;
@@ -112,6 +116,16 @@ public class LocalHostControllerInfoImpl implements LocalHostControllerInfo {
         return httpManagementSecurityRealm;
     }
 
+    @Override
+    public int getHttpManagementMaxReadRequests() {
+        return httpManagementMaxReadRequests;
+    }
+
+    @Override
+    public int getHttpManagementMaxWriteRequests() {
+        return httpManagementMaxWriteRequests;
+    }
+
     public NetworkInterfaceBinding getNetworkInterfaceBinding(String name) throws SocketException, UnknownHostException {
         ParsedInterfaceCriteria criteria = parsedInterfaceCriteria.get(name);
         if (criteria == null) {
@@ -176,6 +190,14 @@ public class LocalHostControllerInfoImpl implements LocalHostControllerInfo {
         this.httpManagementSecurityRealm = httpManagementSecurityRealm;
     }
 
+    void setHttpManagementMaxReadRequests(int httpManagementMaxReadRequests) {
+        this.httpManagementMaxReadRequests = httpManagementMaxReadRequests;
+    }
+
+    void setHttpManagementMaxWriteRequests(int httpManagementMaxWriteRequests) {
+        this.httpManagementMaxWriteRequests = httpManagementMaxWriteRequests;
+    }
+
     void addNetworkInterfaceBinding(String name, ParsedInterfaceCriteria criteria) {
         parsedInterfaceCriteria.put(name, criteria);
     }
@@ -195,4 +217,13 @@ public class LocalHostControllerInfoImpl implements LocalHostControllerInfo {
     public void setRemoteDomainControllerSecurityRealm(String remoteSecurityRealm) {
         this.remoteSecurityRealm = remoteSecurityRealm;
     }
+
+    /**
+     * Gets the digest of the domain model this slave host controller last applied from the master.
+     *
+     * @return the digest holder
+     */
+    public DomainModelDigest getDomainModelDigest() {
+        return domainModelDigest;
+    }
 }
@@ -217,7 +217,7 @@ public abstract class AbstractEntityManager implements EntityManager {
             start = System.currentTimeMillis();
         try {
             final EntityManager underlyingEntityManager = getEntityManager();
-            T result = getEntityManager().find(entityClass, primaryKey);
+            T result = underlyingEntityManager.find(entityClass, primaryKey);
             detachNonTxInvocation(underlyingEntityManager);
             return result;
         } finally {
@@ -40,12 +40,20 @@ import java.util.Map;
 public class TransactionScopedEntityManager extends AbstractEntityManager {
 
     private final String puScopedName;          // Scoped name of the persistent unit
+    private final int slot;                     // Slot of the persistent unit in the per transaction cache
     private final Map properties;
     private final EntityManagerFactory emf;
 
-    public TransactionScopedEntityManager(String puScopedName, Map properties, EntityManagerFactory emf) {
+    /**
+     * @param puScopedName is the scoped name of the persistence unit
+     * @param slot         is the slot allocated to the persistence unit service or {@link TransactionUtil#NO_SLOT}
+     * @param properties   are the properties used to create the underlying entity manager
+     * @param emf          is the entity manager factory of the persistence unit
+     */
+    public TransactionScopedEntityManager(String puScopedName, int slot, Map properties, EntityManagerFactory emf) {
         super(puScopedName, false);
         this.puScopedName = puScopedName;
+        this.slot = slot;
         this.properties = properties;
         this.emf = emf;
     }
@@ -58,7 +66,7 @@ public class TransactionScopedEntityManager extends AbstractEntityManager {
         isInTx = TransactionUtil.getInstance().isInTx();
 
         if (isInTx) {
-            result = TransactionUtil.getInstance().getOrCreateTransactionScopedEntityManager(emf, puScopedName, properties);
+            result = TransactionUtil.getInstance().getOrCreateTransactionScopedEntityManager(emf, puScopedName, slot, properties);
         } else {
             result = NonTxEmCloser.get(puScopedName);
             if (result == null) {
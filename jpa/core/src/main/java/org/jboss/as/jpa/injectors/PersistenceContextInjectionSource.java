@@ -154,7 +154,7 @@ public class PersistenceContextInjectionSource extends InjectionSource {
             boolean isExtended;
             if (type.equals(PersistenceContextType.TRANSACTION)) {
                 isExtended = false;
-                entityManager = new TransactionScopedEntityManager(unitName, properties, emf);
+                entityManager = new TransactionScopedEntityManager(unitName, service.getEntityManagerSlot(), properties, emf);
                 if (log.isDebugEnabled())
                     log.debug("created new TransactionScopedEntityManager for unit name=" + unitName);
             } else {
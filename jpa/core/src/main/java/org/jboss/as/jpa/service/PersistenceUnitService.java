@@ -24,6 +24,7 @@ package org.jboss.as.jpa.service;
 
 import org.jboss.as.jpa.spi.PersistenceProviderAdaptor;
 import org.jboss.as.jpa.spi.PersistenceUnitMetadata;
+import org.jboss.as.jpa.transaction.TransactionUtil;
 import org.jboss.logging.Logger;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.Service;
@@ -61,6 +62,7 @@ public class PersistenceUnitService implements Service<PersistenceUnitService> {
     private final PersistenceUnitMetadata pu;
 
     private volatile EntityManagerFactory entityManagerFactory;
+    private volatile int entityManagerSlot = TransactionUtil.NO_SLOT;
 
     public PersistenceUnitService(final PersistenceUnitMetadata pu, final PersistenceProviderAdaptor persistenceProviderAdaptor, final PersistenceProvider persistenceProvider) {
         this.pu = pu;
@@ -75,6 +77,7 @@ public class PersistenceUnitService implements Service<PersistenceUnitService> {
             pu.setJtaDataSource(jtaDataSource.getOptionalValue());
             pu.setNonJtaDataSource(nonJtaDataSource.getOptionalValue());
             this.entityManagerFactory = createContainerEntityManagerFactory();
+            this.entityManagerSlot = TransactionUtil.allocateEntityManagerSlot();
 
         } finally {
             pu.setTempClassloader(null);    // release the temp classloader (only needed when creating the EMF)
@@ -88,6 +91,10 @@ public class PersistenceUnitService implements Service<PersistenceUnitService> {
             entityManagerFactory.close();
             entityManagerFactory = null;
         }
+        if (entityManagerSlot != TransactionUtil.NO_SLOT) {
+            TransactionUtil.releaseEntityManagerSlot(entityManagerSlot);
+            entityManagerSlot = TransactionUtil.NO_SLOT;
+        }
     }
 
     @Override
@@ -104,6 +111,15 @@ public class PersistenceUnitService implements Service<PersistenceUnitService> {
         return entityManagerFactory;
     }
 
+    /**
+     * Get the slot under which transaction scoped entity managers of this persistence unit are cached per transaction
+     *
+     * @return the slot
+     */
+    public int getEntityManagerSlot() {
+        return entityManagerSlot;
+    }
+
     public Injector<Map> getPropertiesInjector() {
         return properties;
     }
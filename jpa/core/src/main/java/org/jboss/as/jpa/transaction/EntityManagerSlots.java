@@ -0,0 +1,183 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.jpa.transaction;
+
+import javax.persistence.EntityManager;
+import javax.transaction.RollbackException;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionSynchronizationRegistry;
+import java.util.BitSet;
+
+/**
+ * Per transaction cache of the transaction scoped entity managers, indexed by the slot of their persistence unit.
+ * <p/>
+ * Looking up the entity manager of a persistence unit in the TransactionSynchronizationRegistry hashes the scoped
+ * persistence unit name and synchronizes on the transaction for every call on a transaction scoped entity manager.
+ * Each persistence unit service is assigned a small integer slot instead, and the entity managers of a transaction
+ * are kept in an array indexed by that slot.  The slots of a transaction are created and synchronized with once, and
+ * kept in the registry; the current thread remembers the slots of the last transaction it used, so the registry is
+ * only consulted when a thread switches transactions, e.g. around a REQUIRES_NEW call.  The registry remains the
+ * authoritative store of the entity managers: a cache miss falls back to it, so extended persistence contexts and
+ * threads sharing a transaction stay consistent.
+ * <p/>
+ * Slots are reused once a persistence unit service stops, so each cached entry also remembers the scoped persistence
+ * unit name it belongs to.
+ */
+final class EntityManagerSlots implements Synchronization {
+
+    private static final BitSet allocated = new BitSet();
+
+    private static final ThreadLocal<EntityManagerSlots> current = new ThreadLocal<EntityManagerSlots>();
+
+    /**
+     * The key of the slots of a transaction in the TransactionSynchronizationRegistry.
+     */
+    private static final Object REGISTRY_KEY = EntityManagerSlots.class.getName();
+
+    private volatile Transaction transaction;
+    private volatile Entry[] entries;
+
+    private EntityManagerSlots(final Transaction transaction) {
+        this.transaction = transaction;
+    }
+
+    /**
+     * Allocate a slot for a persistence unit.
+     *
+     * @return the slot
+     */
+    static int allocate() {
+        synchronized (allocated) {
+            final int slot = allocated.nextClearBit(0);
+            allocated.set(slot);
+            return slot;
+        }
+    }
+
+    /**
+     * Release the slot of a persistence unit, it may be handed out to another persistence unit.
+     *
+     * @param slot the slot
+     */
+    static void release(final int slot) {
+        synchronized (allocated) {
+            allocated.clear(slot);
+        }
+    }
+
+    /**
+     * Get the slots of the specified transaction.
+     *
+     * @param transaction the active transaction of the current thread
+     * @param registry    the TransactionSynchronizationRegistry
+     * @return the slots or {@code null} if the transaction can no longer be synchronized with, in which case the caller
+     *         looks the entity manager up in the TransactionSynchronizationRegistry
+     */
+    static EntityManagerSlots forTransaction(final Transaction transaction, final TransactionSynchronizationRegistry registry) {
+        if (transaction == null) {
+            return null;
+        }
+        EntityManagerSlots slots = current.get();
+        if (slots != null && slots.transaction == transaction) {
+            return slots;
+        }
+        try {
+            // the thread switched transactions, the slots of this one may already exist
+            slots = (EntityManagerSlots) registry.getResource(REGISTRY_KEY);
+            if (slots == null) {
+                slots = new EntityManagerSlots(transaction);
+                transaction.registerSynchronization(slots);
+                registry.putResource(REGISTRY_KEY, slots);
+            }
+        } catch (RollbackException e) {
+            return null;
+        } catch (SystemException e) {
+            return null;
+        } catch (IllegalStateException e) {
+            // the transaction is no longer active, e.g. it is being completed
+            return null;
+        }
+        current.set(slots);
+        return slots;
+    }
+
+    /**
+     * Get the entity manager cached in the specified slot.
+     *
+     * @param slot         the slot of the persistence unit
+     * @param scopedPuName the scoped name of the persistence unit
+     * @return the entity manager or {@code null} if none is cached
+     */
+    EntityManager get(final int slot, final String scopedPuName) {
+        final Entry[] entries = this.entries;
+        if (entries == null || slot >= entries.length) {
+            return null;
+        }
+        final Entry entry = entries[slot];
+        if (entry == null || (entry.scopedPuName != scopedPuName && !entry.scopedPuName.equals(scopedPuName))) {
+            return null;
+        }
+        return entry.entityManager;
+    }
+
+    /**
+     * Cache the entity manager of a persistence unit.  Threads sharing the transaction may call this concurrently.
+     *
+     * @param slot          the slot of the persistence unit
+     * @param scopedPuName  the scoped name of the persistence unit
+     * @param entityManager the entity manager
+     */
+    synchronized void put(final int slot, final String scopedPuName, final EntityManager entityManager) {
+        if (transaction == null) {
+            return;
+        }
+        // copy on write, so that readers always see a consistent array
+        final Entry[] entries = this.entries;
+        final Entry[] newEntries = new Entry[Math.max(slot + 1, entries == null ? 4 : entries.length)];
+        if (entries != null) {
+            System.arraycopy(entries, 0, newEntries, 0, entries.length);
+        }
+        newEntries[slot] = new Entry(scopedPuName, entityManager);
+        this.entries = newEntries;
+    }
+
+    public void beforeCompletion() {
+    }
+
+    public synchronized void afterCompletion(final int status) {
+        // may be called by another thread (e.g. the transaction reaper), just drop the references
+        transaction = null;
+        entries = null;
+    }
+
+    private static final class Entry {
+        private final String scopedPuName;
+        private final EntityManager entityManager;
+
+        Entry(final String scopedPuName, final EntityManager entityManager) {
+            this.scopedPuName = scopedPuName;
+            this.entityManager = entityManager;
+        }
+    }
+}
@@ -48,6 +48,12 @@ public class TransactionUtil {
     private static final TransactionUtil INSTANCE = new TransactionUtil();
     private static final Logger log = Logger.getLogger("org.jboss.jpa");
 
+    /**
+     * Slot of entity managers whose persistence unit has no slot, these are always looked up in the
+     * TransactionSynchronizationRegistry.
+     */
+    public static final int NO_SLOT = -1;
+
     private static volatile TransactionSynchronizationRegistry transactionSynchronizationRegistry;
     private static volatile TransactionManager transactionManager;
 
@@ -55,6 +61,25 @@ public class TransactionUtil {
         return INSTANCE;
     }
 
+    /**
+     * Allocate the slot under which the transaction scoped entity managers of a persistence unit are cached
+     * per transaction.
+     *
+     * @return the slot
+     */
+    public static int allocateEntityManagerSlot() {
+        return EntityManagerSlots.allocate();
+    }
+
+    /**
+     * Release a slot allocated by {@link #allocateEntityManagerSlot()}.
+     *
+     * @param slot the slot
+     */
+    public static void releaseEntityManagerSlot(int slot) {
+        EntityManagerSlots.release(slot);
+    }
+
     public static void setTransactionManager(TransactionManager tm) {
         if (transactionManager == null) {
             transactionManager = tm;
@@ -109,11 +134,19 @@ public class TransactionUtil {
      *
      * @param emf
      * @param scopedPuName
+     * @param slot         is the slot of the persistence unit or {@link #NO_SLOT}
      * @param properties
      * @return
      */
-    public EntityManager getOrCreateTransactionScopedEntityManager(EntityManagerFactory emf, String scopedPuName, Map properties) {
-        EntityManager entityManager = getEntityManagerInTransactionRegistry(scopedPuName);
+    public EntityManager getOrCreateTransactionScopedEntityManager(EntityManagerFactory emf, String scopedPuName, int slot, Map properties) {
+        final EntityManagerSlots slots = slot == NO_SLOT ? null : EntityManagerSlots.forTransaction(getTransaction(),
+            getTransactionSynchronizationRegistry());
+        EntityManager entityManager = slots != null ? slots.get(slot, scopedPuName) : null;
+        if (entityManager != null) {
+            // fast path, already looked up by this thread in the current transaction
+            return entityManager;
+        }
+        entityManager = getEntityManagerInTransactionRegistry(scopedPuName);
         if (entityManager == null) {
             entityManager = EntityManagerUtil.createEntityManager(emf, properties);
             if (log.isDebugEnabled())
@@ -128,6 +161,9 @@ public class TransactionUtil {
                     getTransaction().toString());
             }
         }
+        if (slots != null) {
+            slots.put(slot, scopedPuName, entityManager);
+        }
         return entityManager;
     }
 
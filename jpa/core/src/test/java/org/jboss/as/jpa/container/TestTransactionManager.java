@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.container;
+
+import org.jboss.as.jpa.transaction.TransactionUtil;
+
+import javax.transaction.HeuristicMixedException;
+import javax.transaction.HeuristicRollbackException;
+import javax.transaction.InvalidTransactionException;
+import javax.transaction.NotSupportedException;
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import javax.transaction.xa.XAResource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory transaction manager, associating transactions with threads and running their synchronizations.
+ * {@link TransactionUtil} only accepts the first transaction manager it is given, so all tests share one instance.
+ */
+final class TestTransactionManager implements TransactionManager {
+    static final TestTransactionManager INSTANCE = new TestTransactionManager();
+
+    private final ThreadLocal<TestTransaction> current = new ThreadLocal<TestTransaction>();
+
+    private TestTransactionManager() {
+    }
+
+    public void begin() throws NotSupportedException {
+        current.set(new TestTransaction());
+    }
+
+    public void commit() throws RollbackException, HeuristicMixedException, HeuristicRollbackException {
+        // synchronizations run while the transaction is still associated with the thread
+        current.get().commit();
+        current.remove();
+    }
+
+    public int getStatus() {
+        final TestTransaction transaction = current.get();
+        return transaction == null ? Status.STATUS_NO_TRANSACTION : transaction.getStatus();
+    }
+
+    public TestTransaction getTransaction() {
+        return current.get();
+    }
+
+    public void resume(final Transaction tobj) throws InvalidTransactionException {
+        current.set((TestTransaction) tobj);
+    }
+
+    public void rollback() {
+        current.get().rollback();
+        current.remove();
+    }
+
+    public void setRollbackOnly() {
+        current.get().setRollbackOnly();
+    }
+
+    public void setTransactionTimeout(final int seconds) throws SystemException {
+    }
+
+    public Transaction suspend() {
+        final TestTransaction transaction = current.get();
+        current.remove();
+        return transaction;
+    }
+
+    static final class TestTransaction implements Transaction {
+        final Map<Object, Object> resources = new HashMap<Object, Object>();
+        final List<Synchronization> synchronizations = new ArrayList<Synchronization>();
+        private int status = Status.STATUS_ACTIVE;
+        private boolean completing;
+
+        public void commit() {
+            completing = true;
+            for (Synchronization synchronization : new ArrayList<Synchronization>(synchronizations)) {
+                synchronization.beforeCompletion();
+            }
+            complete(Status.STATUS_COMMITTED);
+        }
+
+        public void rollback() {
+            complete(Status.STATUS_ROLLEDBACK);
+        }
+
+        private void complete(final int status) {
+            this.status = status;
+            for (Synchronization synchronization : synchronizations) {
+                synchronization.afterCompletion(status);
+            }
+        }
+
+        public boolean delistResource(final XAResource xaRes, final int flag) {
+            throw new UnsupportedOperationException();
+        }
+
+        public boolean enlistResource(final XAResource xaRes) {
+            throw new UnsupportedOperationException();
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public void registerSynchronization(final Synchronization sync) {
+            // like the transaction manager, refuse synchronizations once the transaction started completing
+            if (completing) {
+                throw new IllegalStateException("Transaction is completing");
+            }
+            synchronizations.add(sync);
+        }
+
+        public void setRollbackOnly() {
+            status = Status.STATUS_MARKED_ROLLBACK;
+        }
+
+        public String toString() {
+            return "TestTransaction@" + Integer.toHexString(System.identityHashCode(this));
+        }
+    }
+}
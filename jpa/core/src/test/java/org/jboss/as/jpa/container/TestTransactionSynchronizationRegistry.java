@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.container;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps resources in a synchronized map per transaction, like the transaction manager's registry does.
+ */
+final class TestTransactionSynchronizationRegistry implements TransactionSynchronizationRegistry {
+    static final TestTransactionSynchronizationRegistry INSTANCE = new TestTransactionSynchronizationRegistry(
+            TestTransactionManager.INSTANCE);
+
+    final AtomicInteger lookups = new AtomicInteger();
+    private final TestTransactionManager transactionManager;
+
+    private TestTransactionSynchronizationRegistry(final TestTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    public Object getTransactionKey() {
+        return transactionManager.getTransaction();
+    }
+
+    public void putResource(final Object key, final Object value) {
+        final TestTransactionManager.TestTransaction transaction = transaction();
+        synchronized (transaction) {
+            transaction.resources.put(key, value);
+        }
+    }
+
+    public Object getResource(final Object key) {
+        lookups.incrementAndGet();
+        final TestTransactionManager.TestTransaction transaction = transaction();
+        synchronized (transaction) {
+            return transaction.resources.get(key);
+        }
+    }
+
+    public void registerInterposedSynchronization(final Synchronization sync) {
+        transaction().registerSynchronization(sync);
+    }
+
+    public int getTransactionStatus() {
+        return transactionManager.getStatus();
+    }
+
+    public void setRollbackOnly() {
+        transactionManager.setRollbackOnly();
+    }
+
+    public boolean getRollbackOnly() {
+        return transactionManager.getStatus() == Status.STATUS_MARKED_ROLLBACK;
+    }
+
+    private TestTransactionManager.TestTransaction transaction() {
+        final TestTransactionManager.TestTransaction transaction = transactionManager.getTransaction();
+        if (transaction == null) {
+            throw new IllegalStateException("No transaction");
+        }
+        return transaction;
+    }
+}
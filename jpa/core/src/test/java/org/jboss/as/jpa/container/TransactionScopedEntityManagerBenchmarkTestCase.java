@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.container;
+
+import org.jboss.as.jpa.transaction.TransactionUtil;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.Transaction;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.assertSame;
+
+/**
+ * Measures {@link TransactionScopedEntityManager#find(Class, Object)} inside a single transaction, with and without
+ * the per transaction entity manager slots, and around REQUIRES_NEW transactions, against an in-memory transaction
+ * manager and persistence provider.
+ * <p/>
+ * Only run by the benchmark-tests profile.
+ */
+public class TransactionScopedEntityManagerBenchmarkTestCase {
+
+    private static final int ITERATIONS = 1000000;
+
+    private static final TestTransactionManager transactionManager = TestTransactionManager.INSTANCE;
+    private static final TestTransactionSynchronizationRegistry registry = TestTransactionSynchronizationRegistry.INSTANCE;
+
+    @BeforeClass
+    public static void installTransactionManager() {
+        TransactionUtil.setTransactionManager(transactionManager);
+        TransactionUtil.setTransactionSynchronizationRegistry(registry);
+    }
+
+    @Test
+    public void testFindInTransaction() throws Exception {
+        final int slot = TransactionUtil.allocateEntityManagerSlot();
+        try {
+            final EntityManager slotted = new TransactionScopedEntityManager("app.jar#pu", slot, null,
+                    createEntityManagerFactory());
+            final EntityManager unslotted = new TransactionScopedEntityManager("app.jar#pu2", TransactionUtil.NO_SLOT,
+                    null, createEntityManagerFactory());
+
+            transactionManager.begin();
+            // warm up both paths
+            find(slotted, ITERATIONS / 10);
+            find(unslotted, ITERATIONS / 10);
+            final long unslottedTime = find(unslotted, ITERATIONS);
+            final long slottedTime = find(slotted, ITERATIONS);
+            transactionManager.commit();
+
+            System.out.printf("%d em.find calls in one transaction: %d ms through the registry, %d ms through the slot%n",
+                    ITERATIONS, unslottedTime / 1000000, slottedTime / 1000000);
+        } finally {
+            TransactionUtil.releaseEntityManagerSlot(slot);
+        }
+    }
+
+    @Test
+    public void testFindAroundRequiresNew() throws Exception {
+        final int slot = TransactionUtil.allocateEntityManagerSlot();
+        try {
+            final EntityManager entityManager = new TransactionScopedEntityManager("app.jar#pu", slot, null,
+                    createEntityManagerFactory());
+            final int calls = ITERATIONS / 100;
+
+            transactionManager.begin();
+            final long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                find(entityManager, 10);
+                final Transaction suspended = transactionManager.suspend();
+                transactionManager.begin();
+                find(entityManager, 10);
+                transactionManager.commit();
+                transactionManager.resume(suspended);
+            }
+            final long time = System.nanoTime() - start;
+            final int synchronizations = transactionManager.getTransaction().synchronizations.size();
+            transactionManager.commit();
+
+            System.out.printf("%d REQUIRES_NEW calls of 10 em.find each, between 10 em.find calls in the outer transaction: "
+                    + "%d ms, %d synchronizations on the outer transaction%n", calls, time / 1000000, synchronizations);
+        } finally {
+            TransactionUtil.releaseEntityManagerSlot(slot);
+        }
+    }
+
+    private static long find(final EntityManager entityManager, final int iterations) {
+        final Integer key = Integer.valueOf(42);
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            assertSame(key, entityManager.find(Object.class, key));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static EntityManagerFactory createEntityManagerFactory() {
+        return (EntityManagerFactory) Proxy.newProxyInstance(TransactionScopedEntityManagerBenchmarkTestCase.class
+                .getClassLoader(), new Class<?>[] { EntityManagerFactory.class }, new InvocationHandler() {
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                        if ("createEntityManager".equals(method.getName())) {
+                            return createEntityManager();
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static EntityManager createEntityManager() {
+        return (EntityManager) Proxy.newProxyInstance(TransactionScopedEntityManagerBenchmarkTestCase.class
+                .getClassLoader(), new Class<?>[] { EntityManager.class }, new InvocationHandler() {
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                        final String name = method.getName();
+                        if ("find".equals(name)) {
+                            return args[1];
+                        } else if ("joinTransaction".equals(name) || "close".equals(name) || "clear".equals(name)
+                                || "unwrap".equals(name)) {
+                            return null;
+                        }
+                        throw new UnsupportedOperationException(name);
+                    }
+                });
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.jpa.container;
+
+import org.jboss.as.jpa.transaction.TransactionUtil;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the lookup of the underlying entity manager of a {@link TransactionScopedEntityManager}, with and without the
+ * per transaction entity manager slots, against an in-memory transaction manager and persistence provider.
+ */
+public class TransactionScopedEntityManagerTestCase {
+
+    private static final int ITERATIONS = 100;
+
+    private static final TestTransactionManager transactionManager = TestTransactionManager.INSTANCE;
+    private static final TestTransactionSynchronizationRegistry registry = TestTransactionSynchronizationRegistry.INSTANCE;
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final List<Integer> slots = new ArrayList<Integer>();
+
+    @BeforeClass
+    public static void installTransactionManager() {
+        TransactionUtil.setTransactionManager(transactionManager);
+        TransactionUtil.setTransactionSynchronizationRegistry(registry);
+    }
+
+    @After
+    public void releaseSlots() throws Exception {
+        for (Integer slot : slots) {
+            TransactionUtil.releaseEntityManagerSlot(slot);
+        }
+        if (transactionManager.getTransaction() != null) {
+            transactionManager.rollback();
+        }
+    }
+
+    @Test
+    public void testSlotAvoidsRegistryLookups() throws Exception {
+        final EntityManager slotted = new TransactionScopedEntityManager("app.jar#pu", allocateSlot(), null,
+                createEntityManagerFactory());
+        final EntityManager unslotted = new TransactionScopedEntityManager("app.jar#pu2", TransactionUtil.NO_SLOT, null,
+                createEntityManagerFactory());
+
+        transactionManager.begin();
+        find(slotted, 1);
+        find(unslotted, 1);
+
+        registry.lookups.set(0);
+        find(unslotted, ITERATIONS);
+        assertEquals(ITERATIONS, registry.lookups.get());
+
+        registry.lookups.set(0);
+        find(slotted, ITERATIONS);
+        assertEquals(0, registry.lookups.get());
+        transactionManager.commit();
+
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void testInactiveTransactionFallsBackToRegistry() throws Exception {
+        final EntityManager slotted = new TransactionScopedEntityManager("app.jar#pu", allocateSlot(), null,
+                createEntityManagerFactory());
+        final EntityManager unslotted = new TransactionScopedEntityManager("app.jar#pu", TransactionUtil.NO_SLOT, null,
+                createEntityManagerFactory());
+
+        transactionManager.begin();
+        find(unslotted, 1);
+        final AtomicInteger found = new AtomicInteger();
+        // the first slotted lookup of this thread happens while the transaction completes, so it cannot be synchronized with
+        transactionManager.getTransaction().registerSynchronization(new Synchronization() {
+            public void beforeCompletion() {
+                find(slotted, 1);
+                found.incrementAndGet();
+            }
+
+            public void afterCompletion(final int status) {
+            }
+        });
+        registry.lookups.set(0);
+        transactionManager.commit();
+
+        assertEquals(1, found.get());
+        // one lookup for the slots of the transaction, which do not exist yet, and one for the entity manager
+        assertEquals(2, registry.lookups.get());
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void testSwitchingTransactionsKeepsTheirSlots() throws Exception {
+        final EntityManager entityManager = new TransactionScopedEntityManager("app.jar#pu", allocateSlot(), null,
+                createEntityManagerFactory());
+
+        transactionManager.begin();
+        final TestTransactionManager.TestTransaction outer = transactionManager.getTransaction();
+        entityManager.find(Object.class, "1");
+        final int synchronizations = outer.synchronizations.size();
+        final EntityManager underlying = (EntityManager) registry.getResource("app.jar#pu");
+
+        // alternate with a REQUIRES_NEW transaction, the outer transaction is only synchronized with once
+        for (int i = 0; i < 10; i++) {
+            final Transaction suspended = transactionManager.suspend();
+            transactionManager.begin();
+            entityManager.find(Object.class, "1");
+            assertNotSame(underlying, registry.getResource("app.jar#pu"));
+            transactionManager.commit();
+            transactionManager.resume(suspended);
+
+            registry.lookups.set(0);
+            entityManager.find(Object.class, "1");
+            entityManager.find(Object.class, "1");
+            // the slots of the outer transaction are found in the registry once, then cached by the thread
+            assertEquals(1, registry.lookups.get());
+            assertSame(underlying, registry.getResource("app.jar#pu"));
+        }
+        assertEquals(synchronizations, outer.synchronizations.size());
+        transactionManager.commit();
+        assertEquals(11, created.get());
+    }
+
+    @Test
+    public void testSlotsClearedAtCompletion() throws Exception {
+        final EntityManager entityManager = new TransactionScopedEntityManager("app.jar#pu", allocateSlot(), null,
+                createEntityManagerFactory());
+
+        transactionManager.begin();
+        entityManager.find(Object.class, "1");
+        entityManager.find(Object.class, "2");
+        transactionManager.commit();
+        assertEquals(1, created.get());
+
+        transactionManager.begin();
+        entityManager.find(Object.class, "1");
+        transactionManager.commit();
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void testReusedSlot() throws Exception {
+        final int slot = allocateSlot();
+        final EntityManagerFactory first = createEntityManagerFactory();
+        final EntityManagerFactory second = createEntityManagerFactory();
+        final EntityManager firstEntityManager = new TransactionScopedEntityManager("app.jar#first", slot, null, first);
+        // a stale slot shared with another persistence unit must not hand out the other unit's entity manager
+        final EntityManager secondEntityManager = new TransactionScopedEntityManager("app.jar#second", slot, null, second);
+
+        transactionManager.begin();
+        firstEntityManager.find(Object.class, "1");
+        secondEntityManager.find(Object.class, "1");
+        assertEquals(2, created.get());
+        final EntityManager underlying = (EntityManager) registry.getResource("app.jar#first");
+        assertNotSame(underlying, registry.getResource("app.jar#second"));
+        firstEntityManager.find(Object.class, "1");
+        assertSame(underlying, registry.getResource("app.jar#first"));
+        assertEquals(2, created.get());
+        transactionManager.commit();
+    }
+
+    private int allocateSlot() {
+        final int slot = TransactionUtil.allocateEntityManagerSlot();
+        slots.add(slot);
+        return slot;
+    }
+
+    private static void find(final EntityManager entityManager, final int iterations) {
+        final Integer key = Integer.valueOf(42);
+        for (int i = 0; i < iterations; i++) {
+            assertSame(key, entityManager.find(Object.class, key));
+        }
+    }
+
+    private EntityManagerFactory createEntityManagerFactory() {
+        return (EntityManagerFactory) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { EntityManagerFactory.class }, new InvocationHandler() {
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                        if ("createEntityManager".equals(method.getName())) {
+                            created.incrementAndGet();
+                            return createEntityManager();
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private EntityManager createEntityManager() {
+        return (EntityManager) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { EntityManager.class },
+                new InvocationHandler() {
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                        final String name = method.getName();
+                        if ("find".equals(name)) {
+                            return args[1];
+                        } else if ("joinTransaction".equals(name) || "close".equals(name) || "clear".equals(name)) {
+                            return null;
+                        } else if ("unwrap".equals(name)) {
+                            return null;
+                        }
+                        throw new UnsupportedOperationException(name);
+                    }
+                });
+    }
+}
@@ -28,6 +28,7 @@ import org.jboss.logmanager.formatters.PatternFormatter;
 import java.io.Serializable;
 import java.util.logging.Handler;
 
+import static org.jboss.as.logging.CommonAttributes.COMPILED_FORMATTER;
 import static org.jboss.as.logging.CommonAttributes.FORMATTER;
 
 /**
@@ -60,6 +61,9 @@ public abstract class AbstractFormatterSpec implements Serializable {
 
         public static AbstractFormatterSpec create(final ModelNode node) {
             if (node.hasDefined(FORMATTER)) {
+                if (node.hasDefined(COMPILED_FORMATTER) && node.get(COMPILED_FORMATTER).asBoolean()) {
+                    return new CompiledPatternFormatterSpec(node.get(FORMATTER).asString());
+                }
                 return new PatternFormatterSpec((node.get(FORMATTER).asString()));
             }
             return DEFAULT_FORMATTER_SPEC;
@@ -90,7 +90,7 @@ public class AsyncHandlerAssignSubhandler extends AbstractModelUpdateHandler {
             opFailed("Handler " + handlerNameToAssign + " not found.");
         }
 
-        AsyncHandlerService service = (AsyncHandlerService)asyncHandlerController.getService();
+        SubhandlerService service = (SubhandlerService) asyncHandlerController.getService();
         InjectedValue<Handler> injectedHandler = new InjectedValue<Handler>();
         injectedHandler.inject(handlerToAssignController.getValue());
 
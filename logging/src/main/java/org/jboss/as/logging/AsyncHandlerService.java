@@ -37,7 +37,7 @@ import java.util.logging.Level;
 /**
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
-public final class AsyncHandlerService implements Service<Handler> {
+public final class AsyncHandlerService implements Service<Handler>, SubhandlerService {
 
     private final List<InjectedValue<Handler>> subhandlers = new ArrayList<InjectedValue<Handler>>();
 
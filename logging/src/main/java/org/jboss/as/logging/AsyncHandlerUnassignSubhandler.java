@@ -96,7 +96,7 @@ public class AsyncHandlerUnassignSubhandler extends AbstractModelUpdateHandler {
         ServiceController<Handler> asyncHandlerController = (ServiceController<Handler>) serviceRegistry.getService(LogServices.handlerName(asyncHandlerName));
         ServiceController<Handler> handlerToUnassignController = (ServiceController<Handler>) serviceRegistry.getService(LogServices.handlerName(handlerNameToUnassign));
 
-        AsyncHandlerService service = (AsyncHandlerService)asyncHandlerController.getService();
+        SubhandlerService service = (SubhandlerService) asyncHandlerController.getService();
         Handler injectedHandler = handlerToUnassignController.getService().getValue();
         service.removeHandler(injectedHandler);
     }
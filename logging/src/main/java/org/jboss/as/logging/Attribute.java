@@ -57,6 +57,7 @@ public enum Attribute {
     TARGET(CommonAttributes.TARGET),
     USE_PARENT_HANDLERS(CommonAttributes.USE_PARENT_HANDLERS),
     VALUE(CommonAttributes.VALUE),
+    WAIT_STRATEGY(CommonAttributes.WAIT_STRATEGY),
     ;
 
     private final String name;
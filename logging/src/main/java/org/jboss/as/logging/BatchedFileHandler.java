@@ -0,0 +1,596 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.zip.GZIPOutputStream;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+
+/**
+ * A file handler which groups the writes of many records into one.
+ * <p>
+ * Formatted records are encoded straight into a direct buffer, which is written to the file channel when it fills
+ * up, when the flush interval elapses or when the handler is flushed explicitly.  A flush interval of zero writes
+ * each record as it is published.  Records at or above the flush level are written straight away together with
+ * everything buffered before them, so that an error logged just before the process dies is not lost.
+ * <p>
+ * The file is rotated once it reaches the rotate size, or when the period given by the date suffix ends.  Rotation
+ * runs on the handler's background thread: publishing threads only ever wait for the rename of the live file, and
+ * renaming the older backups and optionally compressing them with gzip happen outside the handler's lock.  A
+ * period rotation may therefore lag its boundary by up to one flush interval.
+ */
+public final class BatchedFileHandler extends ExtHandler {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final long DEFAULT_FLUSH_INTERVAL = 1000L;
+    public static final Level DEFAULT_FLUSH_LEVEL = org.jboss.logmanager.Level.ERROR;
+
+    private static final String COMPRESSED_EXTENSION = ".gz";
+
+    private final Object lock = new Object();
+    private final Thread thread;
+
+    private File file;
+    private FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+    private CharsetEncoder encoder = newEncoder(Charset.defaultCharset());
+    private long written;
+    private boolean append = true;
+    private long rotateSize;
+    private int maxBackupIndex = 1;
+    private SimpleDateFormat suffixFormat;
+    private String suffix;
+    private long nextRollover = Long.MAX_VALUE;
+    private int rotations;
+
+    private volatile long flushInterval = DEFAULT_FLUSH_INTERVAL;
+    private volatile int flushLevel = DEFAULT_FLUSH_LEVEL.intValue();
+    private volatile boolean compress;
+    private volatile boolean rotationPending;
+    private volatile boolean closed;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param threadFactory the factory for the thread which flushes and rotates the file
+     */
+    public BatchedFileHandler(final ThreadFactory threadFactory) {
+        thread = threadFactory.newThread(new Flusher());
+        if (thread == null) {
+            throw new IllegalArgumentException("Thread factory did not create a thread");
+        }
+        thread.start();
+    }
+
+    /**
+     * Set the file to write to, opening it and closing the previous one.
+     *
+     * @param fileName the file name, or {@code null} to stop writing
+     * @throws IOException if the file cannot be opened
+     */
+    public void setFileName(final String fileName) throws IOException {
+        checkAccess();
+        FileChannel oldChannel;
+        synchronized (lock) {
+            writeBuffer();
+            oldChannel = channel;
+            channel = null;
+            file = null;
+            written = 0L;
+            if (fileName != null) {
+                final File file = new File(fileName).getAbsoluteFile();
+                final File parent = file.getParentFile();
+                if (parent != null) {
+                    parent.mkdirs();
+                }
+                channel = open(file, append);
+                written = channel.size();
+                this.file = file;
+                nextRollover = nextRollover(file.lastModified() > 0L && append ? file.lastModified() : System.currentTimeMillis());
+            }
+        }
+        safeClose(oldChannel);
+    }
+
+    public void setAppend(final boolean append) {
+        checkAccess();
+        synchronized (lock) {
+            this.append = append;
+        }
+    }
+
+    /**
+     * Set the size of the buffer records are collected in before being written.
+     *
+     * @param bufferSize the buffer size in bytes
+     */
+    public void setBufferSize(final int bufferSize) {
+        checkAccess();
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        synchronized (lock) {
+            writeBuffer();
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+    }
+
+    /**
+     * Set the longest time a record may wait in the buffer before it is written.
+     *
+     * @param flushInterval the interval in milliseconds, or {@code 0} to write every record as it is published
+     */
+    public void setFlushInterval(final long flushInterval) {
+        checkAccess();
+        if (flushInterval < 0L) {
+            throw new IllegalArgumentException("flushInterval must not be negative");
+        }
+        this.flushInterval = flushInterval;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Set the level at or above which a record is written as soon as it is published.
+     *
+     * @param flushLevel the level, or {@code null} to only write on the flush interval
+     */
+    public void setFlushLevel(final Level flushLevel) {
+        checkAccess();
+        this.flushLevel = flushLevel == null ? Integer.MAX_VALUE : flushLevel.intValue();
+    }
+
+    /**
+     * Set the size at which the file is rotated.
+     *
+     * @param rotateSize the size in bytes, or {@code 0} to never rotate by size
+     */
+    public void setRotateSize(final long rotateSize) {
+        checkAccess();
+        synchronized (lock) {
+            this.rotateSize = rotateSize;
+        }
+    }
+
+    public void setMaxBackupIndex(final int maxBackupIndex) {
+        checkAccess();
+        synchronized (lock) {
+            this.maxBackupIndex = maxBackupIndex;
+        }
+    }
+
+    /**
+     * Set the date suffix appended to rotated files.  The smallest calendar field in the suffix determines how often
+     * the file is rotated.
+     *
+     * @param suffix a {@link SimpleDateFormat} pattern, or {@code null} to never rotate by time
+     */
+    public void setSuffix(final String suffix) {
+        checkAccess();
+        synchronized (lock) {
+            this.suffix = suffix;
+            suffixFormat = suffix == null ? null : new SimpleDateFormat(suffix);
+            nextRollover = nextRollover(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Set whether rotated files are compressed with gzip.
+     *
+     * @param compress {@code true} to compress rotated files
+     */
+    public void setCompress(final boolean compress) {
+        checkAccess();
+        this.compress = compress;
+    }
+
+    public void setEncoding(final String encoding) throws SecurityException, UnsupportedEncodingException {
+        super.setEncoding(encoding);
+        final Charset charset;
+        try {
+            charset = encoding == null ? Charset.defaultCharset() : Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEncodingException(encoding);
+        }
+        synchronized (lock) {
+            encoder = newEncoder(charset);
+        }
+    }
+
+    private static CharsetEncoder newEncoder(final Charset charset) {
+        return charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    protected void doPublish(final ExtLogRecord record) {
+        final Formatter formatter = getFormatter();
+        final String formatted;
+        try {
+            formatted = formatter.format(record);
+        } catch (Exception e) {
+            reportError("Formatting error", e, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+        if (formatted.length() == 0) {
+            return;
+        }
+        boolean rotate = false;
+        synchronized (lock) {
+            if (channel == null) {
+                return;
+            }
+            try {
+                encode(formatted);
+                if (flushInterval == 0L || record.getLevel().intValue() >= flushLevel) {
+                    write();
+                }
+            } catch (IOException e) {
+                reportError("Error writing log message", e, ErrorManager.WRITE_FAILURE);
+                return;
+            }
+            if (!rotationPending && (rotateSize > 0L && written >= rotateSize || record.getMillis() >= nextRollover)) {
+                rotationPending = rotate = true;
+            }
+        }
+        if (rotate) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void encode(final String formatted) throws IOException {
+        final CharBuffer chars = CharBuffer.wrap(formatted);
+        final CharsetEncoder encoder = this.encoder;
+        encoder.reset();
+        for (;;) {
+            final int start = buffer.position();
+            final CoderResult result = encoder.encode(chars, buffer, true);
+            written += buffer.position() - start;
+            if (result.isUnderflow()) {
+                break;
+            } else if (result.isOverflow()) {
+                write();
+            } else {
+                result.throwException();
+            }
+        }
+        for (;;) {
+            final int start = buffer.position();
+            final CoderResult result = encoder.flush(buffer);
+            written += buffer.position() - start;
+            if (!result.isOverflow()) {
+                break;
+            }
+            write();
+        }
+    }
+
+    private void write() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void writeBuffer() {
+        if (channel != null && buffer.position() > 0) {
+            try {
+                write();
+            } catch (IOException e) {
+                reportError("Error writing log message", e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    public void flush() {
+        synchronized (lock) {
+            writeBuffer();
+        }
+    }
+
+    public void close() throws SecurityException {
+        checkAccess();
+        closed = true;
+        LockSupport.unpark(thread);
+        boolean interrupted = false;
+        try {
+            for (;;) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final FileChannel oldChannel;
+        synchronized (lock) {
+            writeBuffer();
+            oldChannel = channel;
+            channel = null;
+            file = null;
+        }
+        safeClose(oldChannel);
+    }
+
+    /**
+     * Move the live file aside and reopen it, then finish the rotation outside the lock.
+     */
+    private void rotate() {
+        final File file;
+        final File rotated;
+        final String suffix;
+        final int maxBackupIndex;
+        final FileChannel oldChannel;
+        synchronized (lock) {
+            rotationPending = false;
+            if (channel == null) {
+                return;
+            }
+            final long now = System.currentTimeMillis();
+            final boolean periodEnded = now >= nextRollover;
+            if (!periodEnded && !(rotateSize > 0L && written >= rotateSize)) {
+                return;
+            }
+            writeBuffer();
+            file = this.file;
+            // the records in the live file belong to the period before the rollover
+            suffix = suffixFormat == null ? null : suffixFormat.format(Long.valueOf(periodEnded ? nextRollover - 1L : now));
+            maxBackupIndex = this.maxBackupIndex;
+            rotated = new File(file.getPath() + ".rotating-" + (++rotations));
+            oldChannel = channel;
+            try {
+                if (!file.renameTo(rotated)) {
+                    // some platforms refuse to rename an open file
+                    safeClose(oldChannel);
+                    channel = null;
+                    if (!file.renameTo(rotated)) {
+                        reportError("Unable to rename " + file + " for rotation", null, ErrorManager.GENERIC_FAILURE);
+                        channel = open(file, true);
+                        return;
+                    }
+                }
+                channel = open(file, false);
+                written = 0L;
+                nextRollover = nextRollover(now);
+            } catch (IOException e) {
+                reportError("Unable to reopen " + file + " after rotation", e, ErrorManager.OPEN_FAILURE);
+                return;
+            }
+        }
+        safeClose(oldChannel);
+        final boolean compress = this.compress;
+        final String extension = compress ? COMPRESSED_EXTENSION : "";
+        final File target;
+        if (suffix != null) {
+            target = unusedFile(file.getPath() + suffix, extension);
+        } else {
+            if (maxBackupIndex < 1) {
+                rotated.delete();
+                return;
+            }
+            new File(file.getPath() + "." + maxBackupIndex + extension).delete();
+            for (int i = maxBackupIndex - 1; i >= 1; i--) {
+                final File backup = new File(file.getPath() + "." + i + extension);
+                if (backup.exists()) {
+                    backup.renameTo(new File(file.getPath() + "." + (i + 1) + extension));
+                }
+            }
+            target = new File(file.getPath() + ".1");
+        }
+        if (compress) {
+            compress(rotated, new File(target.getPath() + COMPRESSED_EXTENSION));
+        } else if (!rotated.renameTo(target)) {
+            reportError("Unable to rename " + rotated + " to " + target, null, ErrorManager.GENERIC_FAILURE);
+        }
+    }
+
+    private static File unusedFile(final String path, final String extension) {
+        File file = new File(path);
+        for (int i = 1; new File(file.getPath() + extension).exists(); i++) {
+            file = new File(path + "." + i);
+        }
+        return file;
+    }
+
+    private void compress(final File source, final File target) {
+        final byte[] bytes = new byte[8192];
+        InputStream in = null;
+        OutputStream out = null;
+        try {
+            in = new FileInputStream(source);
+            out = new GZIPOutputStream(new FileOutputStream(target));
+            int res;
+            while ((res = in.read(bytes)) != -1) {
+                out.write(bytes, 0, res);
+            }
+            out.close();
+            out = null;
+            in.close();
+            in = null;
+            source.delete();
+        } catch (IOException e) {
+            reportError("Unable to compress " + source, e, ErrorManager.GENERIC_FAILURE);
+        } finally {
+            safeClose(in);
+            safeClose(out);
+        }
+    }
+
+    private static FileChannel open(final File file, final boolean append) throws IOException {
+        return new FileOutputStream(file, append).getChannel();
+    }
+
+    private static void safeClose(final java.io.Closeable closeable) {
+        if (closeable != null) try {
+            closeable.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * Calculate the start of the period following the one containing {@code millis}, judged by the smallest
+     * calendar field in the suffix.
+     */
+    private long nextRollover(final long millis) {
+        final String suffix = this.suffix;
+        if (suffix == null) {
+            return Long.MAX_VALUE;
+        }
+        final int field = smallestField(suffix);
+        if (field == -1) {
+            return Long.MAX_VALUE;
+        }
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        calendar.set(Calendar.MILLISECOND, 0);
+        calendar.set(Calendar.SECOND, 0);
+        if (field == Calendar.MINUTE) {
+            calendar.add(Calendar.MINUTE, 1);
+            return calendar.getTimeInMillis();
+        }
+        calendar.set(Calendar.MINUTE, 0);
+        if (field == Calendar.HOUR_OF_DAY) {
+            calendar.add(Calendar.HOUR_OF_DAY, 1);
+            return calendar.getTimeInMillis();
+        }
+        if (field == Calendar.AM_PM) {
+            calendar.set(Calendar.HOUR, 0);
+            calendar.add(Calendar.HOUR_OF_DAY, 12);
+            return calendar.getTimeInMillis();
+        }
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        if (field == Calendar.DAY_OF_MONTH) {
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        } else if (field == Calendar.WEEK_OF_YEAR) {
+            calendar.set(Calendar.DAY_OF_WEEK, calendar.getFirstDayOfWeek());
+            calendar.add(Calendar.WEEK_OF_YEAR, 1);
+        } else if (field == Calendar.MONTH) {
+            calendar.set(Calendar.DAY_OF_MONTH, 1);
+            calendar.add(Calendar.MONTH, 1);
+        } else {
+            calendar.set(Calendar.DAY_OF_YEAR, 1);
+            calendar.add(Calendar.YEAR, 1);
+        }
+        return calendar.getTimeInMillis();
+    }
+
+    private static int smallestField(final String pattern) {
+        int field = -1;
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+                continue;
+            }
+            if (quoted) {
+                continue;
+            }
+            final int candidate;
+            switch (c) {
+                case 'y': candidate = Calendar.YEAR; break;
+                case 'M': candidate = Calendar.MONTH; break;
+                case 'w': case 'W': candidate = Calendar.WEEK_OF_YEAR; break;
+                case 'D': case 'd': case 'F': case 'E': candidate = Calendar.DAY_OF_MONTH; break;
+                case 'a': candidate = Calendar.AM_PM; break;
+                case 'H': case 'k': case 'K': case 'h': candidate = Calendar.HOUR_OF_DAY; break;
+                case 'm': candidate = Calendar.MINUTE; break;
+                default: continue;
+            }
+            if (field == -1 || rank(candidate) < rank(field)) {
+                field = candidate;
+            }
+        }
+        return field;
+    }
+
+    private static int rank(final int field) {
+        switch (field) {
+            case Calendar.MINUTE: return 0;
+            case Calendar.HOUR_OF_DAY: return 1;
+            case Calendar.AM_PM: return 2;
+            case Calendar.DAY_OF_MONTH: return 3;
+            case Calendar.WEEK_OF_YEAR: return 4;
+            case Calendar.MONTH: return 5;
+            default: return 6;
+        }
+    }
+
+    private final class Flusher implements Runnable {
+
+        public void run() {
+            long lastFlush = System.nanoTime();
+            while (!closed) {
+                final long interval = TimeUnit.MILLISECONDS.toNanos(flushInterval);
+                if (interval == 0L) {
+                    LockSupport.park(BatchedFileHandler.this);
+                } else {
+                    final long remaining = lastFlush + interval - System.nanoTime();
+                    if (remaining > 0L) {
+                        LockSupport.parkNanos(BatchedFileHandler.this, remaining);
+                    }
+                }
+                if (closed) {
+                    break;
+                }
+                // woken early by a pending rotation or a new interval; only flush once the interval is up
+                final long now = System.nanoTime();
+                if (now - lastFlush >= interval) {
+                    flush();
+                    lastFlush = now;
+                }
+                rotate();
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+
+/**
+ * Service for a {@link BatchedFileHandler}.
+ */
+public final class BatchedFileHandlerService implements Service<Handler> {
+
+    private final InjectedValue<String> fileName = new InjectedValue<String>();
+
+    private final String name;
+
+    private AbstractFormatterSpec formatterSpec;
+
+    private Level level;
+
+    private String encoding;
+
+    private boolean append = true;
+
+    private int bufferSize = BatchedFileHandler.DEFAULT_BUFFER_SIZE;
+
+    private long flushInterval = BatchedFileHandler.DEFAULT_FLUSH_INTERVAL;
+
+    private Level flushLevel = BatchedFileHandler.DEFAULT_FLUSH_LEVEL;
+
+    private long rotateSize;
+
+    private int maxBackupIndex = 1;
+
+    private String suffix;
+
+    private boolean compress;
+
+    private BatchedFileHandler value;
+
+    public BatchedFileHandlerService(final String name) {
+        this.name = name;
+    }
+
+    public synchronized void start(final StartContext context) throws StartException {
+        final BatchedFileHandler handler = new BatchedFileHandler(new ThreadFactory() {
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "Batched file handler " + name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        value = handler;
+        formatterSpec.apply(handler);
+        if (level != null) handler.setLevel(level);
+        try {
+            handler.setEncoding(encoding);
+        } catch (UnsupportedEncodingException e) {
+            handler.close();
+            throw new StartException(e);
+        }
+        handler.setAppend(append);
+        handler.setBufferSize(bufferSize);
+        handler.setFlushInterval(flushInterval);
+        handler.setFlushLevel(flushLevel);
+        handler.setRotateSize(rotateSize);
+        handler.setMaxBackupIndex(maxBackupIndex);
+        handler.setSuffix(suffix);
+        handler.setCompress(compress);
+        try {
+            handler.setFileName(fileName.getValue());
+        } catch (IOException e) {
+            handler.close();
+            throw new StartException(e);
+        }
+    }
+
+    public synchronized void stop(final StopContext context) {
+        final BatchedFileHandler handler = value;
+        handler.close();
+        value = null;
+    }
+
+    public synchronized Handler getValue() throws IllegalStateException {
+        return value;
+    }
+
+    public synchronized Level getLevel() {
+        return level;
+    }
+
+    public synchronized void setLevel(final Level level) {
+        this.level = level;
+        final BatchedFileHandler handler = value;
+        if (handler != null) handler.setLevel(level);
+    }
+
+    public synchronized AbstractFormatterSpec getFormatterSpec() {
+        return formatterSpec;
+    }
+
+    public synchronized void setFormatterSpec(final AbstractFormatterSpec formatterSpec) {
+        this.formatterSpec = formatterSpec;
+        final BatchedFileHandler handler = value;
+        if (handler != null) formatterSpec.apply(handler);
+    }
+
+    public synchronized String getEncoding() {
+        return encoding;
+    }
+
+    public synchronized void setEncoding(final String encoding) throws UnsupportedEncodingException {
+        final BatchedFileHandler handler = value;
+        if (handler != null) handler.setEncoding(encoding);
+        this.encoding = encoding;
+    }
+
+    public synchronized boolean isAppend() {
+        return append;
+    }
+
+    public synchronized void setAppend(final boolean append) {
+        this.append = append;
+        final BatchedFileHandler handler = value;
+        if (handler != null) handler.setAppend(append);
+    }
+
+    public synchronized int getBufferSize() {
+        return bufferSize;
+    }
+
+    public synchronized void setBufferSize(final int bufferSize) {
+        this.bufferSize = bufferSize;
+        final BatchedFileHandler handler = value;
+        if (handler != null) handler.setBufferSize(bufferSize);
+    }
+
+    public synchronized long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public synchronized void setFlushInterval(final long flushInterval) {
+        this.flushInterval = flushInterval;
+        final BatchedFileHandler handler = value;
+        if (handler != null) handler.setFlushInterval(flushInterval);
+    }
+
+    public synchronized Level getFlushLevel() {
+        return flushLevel;
+    }
+
+    public synchronized void setFlushLevel(final Level flushLevel) {
+        this.flushLevel = flushLevel;
+        final BatchedFileHandler handler = value;
+        if (handler != null) handler.setFlushLevel(flushLevel);
+    }
+
+    public synchronized long getRotateSize() {
+        return rotateSize;
+    }
+
+    public synchronized void setRotateSize(final long rotateSize) {
+        this.rotateSize = rotateSize;
+        final BatchedFileHandler handler = value;
+        if (handler != null) handler.setRotateSize(rotateSize);
+    }
+
+    public synchronized int getMaxBackupIndex() {
+        return maxBackupIndex;
+    }
+
+    public synchronized void setMaxBackupIndex(final int maxBackupIndex) {
+        this.maxBackupIndex = maxBackupIndex;
+        final BatchedFileHandler handler = value;
+        if (handler != null) handler.setMaxBackupIndex(maxBackupIndex);
+    }
+
+    public synchronized String getSuffix() {
+        return suffix;
+    }
+
+    public synchronized void setSuffix(final String suffix) {
+        this.suffix = suffix;
+        final BatchedFileHandler handler = value;
+        if (handler != null) handler.setSuffix(suffix);
+    }
+
+    public synchronized boolean isCompress() {
+        return compress;
+    }
+
+    public synchronized void setCompress(final boolean compress) {
+        this.compress = compress;
+        final BatchedFileHandler handler = value;
+        if (handler != null) handler.setCompress(compress);
+    }
+
+    public Injector<String> getFileNameInjector() {
+        return fileName;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import org.jboss.as.controller.OperationFailedException;
+import static org.jboss.as.logging.CommonAttributes.BUFFER_SIZE;
+import static org.jboss.as.logging.CommonAttributes.COMPRESS;
+import static org.jboss.as.logging.CommonAttributes.FLUSH_INTERVAL;
+import static org.jboss.as.logging.CommonAttributes.FLUSH_LEVEL;
+import static org.jboss.as.logging.CommonAttributes.MAX_BACKUP_INDEX;
+import static org.jboss.as.logging.CommonAttributes.ROTATE_SIZE;
+import static org.jboss.as.logging.CommonAttributes.SUFFIX;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Operation responsible for updating the properties of a batched file handler.
+ */
+public class BatchedFileHandlerUpdateProperties extends HandlerUpdateProperties {
+    static final BatchedFileHandlerUpdateProperties INSTANCE = new BatchedFileHandlerUpdateProperties();
+
+    protected void updateModel(final ModelNode operation, final ModelNode model) {
+        if (operation.hasDefined(BUFFER_SIZE)) {
+            apply(operation, model, BUFFER_SIZE);
+        }
+        if (operation.hasDefined(FLUSH_INTERVAL)) {
+            apply(operation, model, FLUSH_INTERVAL);
+        }
+        if (operation.hasDefined(FLUSH_LEVEL)) {
+            apply(operation, model, FLUSH_LEVEL);
+        }
+        if (operation.hasDefined(ROTATE_SIZE)) {
+            apply(operation, model, ROTATE_SIZE);
+        }
+        if (operation.hasDefined(MAX_BACKUP_INDEX)) {
+            apply(operation, model, MAX_BACKUP_INDEX);
+        }
+        if (operation.hasDefined(SUFFIX)) {
+            apply(operation, model, SUFFIX);
+        }
+        if (operation.hasDefined(COMPRESS)) {
+            apply(operation, model, COMPRESS);
+        }
+    }
+
+    protected void updateRuntime(final ModelNode operation, final Handler handler) throws OperationFailedException {
+        final BatchedFileHandler batchedHandler = BatchedFileHandler.class.cast(handler);
+        try {
+            if (operation.hasDefined(BUFFER_SIZE)) {
+                batchedHandler.setBufferSize((int) LoggingSubsystemParser.parseSize(operation.get(BUFFER_SIZE).asString()));
+            }
+            if (operation.hasDefined(ROTATE_SIZE)) {
+                batchedHandler.setRotateSize(LoggingSubsystemParser.parseSize(operation.get(ROTATE_SIZE).asString()));
+            }
+        } catch (Throwable t) {
+            throw new OperationFailedException(new ModelNode().set(t.getLocalizedMessage()));
+        }
+        if (operation.hasDefined(FLUSH_INTERVAL)) {
+            batchedHandler.setFlushInterval(operation.get(FLUSH_INTERVAL).asLong());
+        }
+        if (operation.hasDefined(FLUSH_LEVEL)) {
+            batchedHandler.setFlushLevel(Level.parse(operation.get(FLUSH_LEVEL).asString()));
+        }
+        if (operation.hasDefined(MAX_BACKUP_INDEX)) {
+            batchedHandler.setMaxBackupIndex(operation.get(MAX_BACKUP_INDEX).asInt());
+        }
+        if (operation.hasDefined(SUFFIX)) {
+            batchedHandler.setSuffix(operation.get(SUFFIX).asString());
+        }
+        if (operation.hasDefined(COMPRESS)) {
+            batchedHandler.setCompress(operation.get(COMPRESS).asBoolean());
+        }
+    }
+}
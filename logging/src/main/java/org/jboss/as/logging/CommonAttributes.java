@@ -33,25 +33,36 @@ interface CommonAttributes {
     String APPEND ="append";
     String ASYNC_HANDLER ="async-handler";
     String AUTOFLUSH ="autoflush";
+    String AVERAGE_FLUSH_LATENCY ="average-flush-latency";
+    String BATCHED_FILE_HANDLER ="batched-file-handler";
+    String BUFFER_SIZE ="buffer-size";
     String CATEGORY ="category";
     String CHANGE_LEVEL ="change-level";
     String CLASS = "class";
+    String COMPILED_FORMATTER ="compiled-formatter";
+    String COMPILED_PATTERN_FORMATTER ="compiled-pattern-formatter";
+    String COMPRESS ="compress";
     String CONSOLE_HANDLER ="console-handler";
     String CUSTOM_HANDLER = "custom-handler";
     String DENY ="deny";
+    String DROPPED_RECORDS ="dropped-records";
     String ENCODING ="encoding";
     String FILE ="file";
     String FILE_HANDLER ="file-handler";
     String FILE_NAME ="file-name";
     String FILTER ="filter";
+    String FLUSH_INTERVAL ="flush-interval";
+    String FLUSH_LEVEL ="flush-level";
     String FORMATTER ="formatter";
     String HANDLER ="handler";
     String HANDLERS ="handlers";
     String LEVEL ="level";
     String LEVEL_RANGE ="level-range";
     String LOGGER ="logger";
+    String LOGGING_METRICS ="logging-metrics";
     String MATCH ="match";
     String MAX_BACKUP_INDEX ="max-backup-index";
+    String MAX_FLUSH_LATENCY ="max-flush-latency";
     String MAX_INCLUSIVE ="max-inclusive";
     String MAX_LEVEL ="max-level";
     String MIN_INCLUSIVE ="min-inclusive";
@@ -68,10 +79,15 @@ interface CommonAttributes {
     String PROPERTIES ="properties";
     String PROPERTY = "property";
     String QUEUE_LENGTH ="queue-length";
+    String QUEUED_RECORDS ="queued-records";
+    String RECORDS ="records";
+    String RECORDS_PER_HANDLER ="records-per-handler";
+    String RECORDS_PER_LEVEL ="records-per-level";
     String RELATIVE_TO ="relative-to";
     String REPLACE ="replace";
     String REPLACEMENT ="replacement";
     String REPLACE_ALL ="replace-all";
+    String RING_BUFFER_ASYNC_HANDLER ="ring-buffer-async-handler";
     String ROOT_LOGGER ="root-logger";
     String ROTATE_SIZE ="rotate-size";
     String SIZE_ROTATING_FILE_HANDLER ="size-rotating-file-handler";
@@ -80,5 +96,6 @@ interface CommonAttributes {
     String TARGET ="target";
     String USE_PARENT_HANDLERS ="use-parent-handlers";
     String VALUE ="value";
+    String WAIT_STRATEGY ="wait-strategy";
 
 }
@@ -0,0 +1,274 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.logmanager.ExtFormatter;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.formatters.FormatStep;
+import org.jboss.logmanager.formatters.Formatters;
+
+/**
+ * A pattern formatter which accepts the same syntax as {@link org.jboss.logmanager.formatters.PatternFormatter} but
+ * is tuned for the per-record cost of formatting.
+ * <p>
+ * The pattern is compiled once into a fixed array of steps.  Plain date conversions are rendered through a cache
+ * holding the text for the most recent millisecond instead of a shared, synchronized {@link SimpleDateFormat}, and
+ * every record is rendered into a per-thread builder which is reused across records.  The formatter also records
+ * whether the pattern refers to caller information at all, so asynchronous handlers can avoid walking the stack
+ * for records whose caller will never be printed.
+ */
+public final class CompiledPatternFormatter extends ExtFormatter {
+
+    private static final Pattern PATTERN = Pattern.compile("([^%]++)|(?:%(?:(-)?(\\d+))?(?:\\.(\\d+))?(.)(?:\\{([^}]*)\\})?)");
+
+    private static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss,SSS";
+
+    /**
+     * Builders which grew past this capacity are not kept for reuse, so one huge record does not pin its buffer.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+
+    private final String pattern;
+    private final FormatStep[] steps;
+    private final int estimatedLength;
+    private final boolean callerCalculationRequired;
+
+    private final ThreadLocal<StringBuilder> builders = new ThreadLocal<StringBuilder>();
+
+    public CompiledPatternFormatter(final String pattern) {
+        final long startTime = System.currentTimeMillis();
+        final List<FormatStep> steps = new ArrayList<FormatStep>();
+        final Matcher matcher = PATTERN.matcher(pattern);
+        TimeZone timeZone = TimeZone.getDefault();
+        boolean callerCalculationRequired = false;
+        while (matcher.find()) {
+            final String text = matcher.group(1);
+            if (text != null) {
+                steps.add(Formatters.textFormatStep(text));
+                continue;
+            }
+            final boolean leftJustify = matcher.group(2) != null;
+            final int minimumWidth = matcher.group(3) == null ? 0 : Integer.parseInt(matcher.group(3));
+            final int maximumWidth = matcher.group(4) == null ? 0 : Integer.parseInt(matcher.group(4));
+            final char conversion = matcher.group(5).charAt(0);
+            final String argument = matcher.group(6);
+            switch (conversion) {
+                case 'c': {
+                    steps.add(Formatters.loggerNameFormatStep(leftJustify, minimumWidth, maximumWidth, argument == null ? 0 : Integer.parseInt(argument)));
+                    break;
+                }
+                case 'C': {
+                    callerCalculationRequired = true;
+                    steps.add(Formatters.classNameFormatStep(leftJustify, minimumWidth, maximumWidth, argument == null ? 0 : Integer.parseInt(argument)));
+                    break;
+                }
+                case 'd': {
+                    if (minimumWidth == 0 && maximumWidth == 0) {
+                        steps.add(new CachedDateFormatStep(timeZone, argument == null ? DEFAULT_DATE_FORMAT : argument));
+                    } else {
+                        steps.add(Formatters.dateFormatStep(timeZone, argument, leftJustify, minimumWidth, maximumWidth));
+                    }
+                    break;
+                }
+                case 'e': {
+                    steps.add(Formatters.exceptionFormatStep(leftJustify, minimumWidth, maximumWidth, false));
+                    break;
+                }
+                case 'E': {
+                    steps.add(Formatters.exceptionFormatStep(leftJustify, minimumWidth, maximumWidth, true));
+                    break;
+                }
+                case 'F': {
+                    callerCalculationRequired = true;
+                    steps.add(Formatters.fileNameFormatStep(leftJustify, minimumWidth, maximumWidth));
+                    break;
+                }
+                case 'k': {
+                    steps.add(Formatters.resourceKeyFormatStep(leftJustify, minimumWidth, maximumWidth));
+                    break;
+                }
+                case 'l': {
+                    callerCalculationRequired = true;
+                    steps.add(Formatters.locationInformationFormatStep(leftJustify, minimumWidth, maximumWidth));
+                    break;
+                }
+                case 'L': {
+                    callerCalculationRequired = true;
+                    steps.add(Formatters.lineNumberFormatStep(leftJustify, minimumWidth, maximumWidth));
+                    break;
+                }
+                case 'm': {
+                    steps.add(Formatters.messageFormatStep(leftJustify, minimumWidth, maximumWidth));
+                    break;
+                }
+                case 'M': {
+                    callerCalculationRequired = true;
+                    steps.add(Formatters.methodNameFormatStep(leftJustify, minimumWidth, maximumWidth));
+                    break;
+                }
+                case 'n': {
+                    steps.add(Formatters.lineSeparatorFormatStep(leftJustify, minimumWidth, maximumWidth));
+                    break;
+                }
+                case 'p': {
+                    steps.add(Formatters.levelFormatStep(leftJustify, minimumWidth, maximumWidth));
+                    break;
+                }
+                case 'r': {
+                    steps.add(Formatters.relativeTimeFormatStep(startTime, leftJustify, minimumWidth, maximumWidth));
+                    break;
+                }
+                case 's': {
+                    steps.add(Formatters.simpleMessageFormatStep(leftJustify, minimumWidth, maximumWidth));
+                    break;
+                }
+                case 't': {
+                    steps.add(Formatters.threadNameFormatStep(leftJustify, minimumWidth, maximumWidth));
+                    break;
+                }
+                case 'x': {
+                    steps.add(Formatters.ndcFormatStep(leftJustify, minimumWidth, maximumWidth, argument == null ? 0 : Integer.parseInt(argument)));
+                    break;
+                }
+                case 'X': {
+                    steps.add(Formatters.mdcFormatStep(argument, leftJustify, minimumWidth, maximumWidth));
+                    break;
+                }
+                case 'z': {
+                    timeZone = TimeZone.getTimeZone(argument);
+                    break;
+                }
+                case '%': {
+                    steps.add(Formatters.textFormatStep("%"));
+                    break;
+                }
+                default: {
+                    throw new IllegalArgumentException("Encountered an unknown format character");
+                }
+            }
+        }
+        this.pattern = pattern;
+        this.steps = steps.toArray(new FormatStep[steps.size()]);
+        int estimatedLength = 0;
+        for (FormatStep step : this.steps) {
+            estimatedLength += step.estimateLength();
+        }
+        this.estimatedLength = Math.max(estimatedLength, 32);
+        this.callerCalculationRequired = callerCalculationRequired;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Determine whether the pattern prints any caller information (class, method, file, line or location).
+     *
+     * @return {@code true} if the caller of a record must be known to format it
+     */
+    public boolean isCallerCalculationRequired() {
+        return callerCalculationRequired;
+    }
+
+    public String format(final ExtLogRecord record) {
+        StringBuilder builder = builders.get();
+        if (builder == null) {
+            builder = new StringBuilder(estimatedLength);
+            builders.set(builder);
+        } else {
+            builder.setLength(0);
+        }
+        for (FormatStep step : steps) {
+            step.render(builder, record);
+        }
+        final String result = builder.toString();
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            builders.remove();
+        }
+        return result;
+    }
+
+    private static final class CachedDateFormatStep implements FormatStep {
+        private final ThreadLocal<DateFormatter> formatters;
+        private final int estimatedLength;
+        private volatile CachedDate cached = new CachedDate(Long.MIN_VALUE, null);
+
+        CachedDateFormatStep(final TimeZone timeZone, final String format) {
+            // fail on a bad format when the pattern is compiled, not on the first record
+            new SimpleDateFormat(format);
+            formatters = new ThreadLocal<DateFormatter>() {
+                protected DateFormatter initialValue() {
+                    return new DateFormatter(timeZone, format);
+                }
+            };
+            estimatedLength = format.length() + 5;
+        }
+
+        public void render(final StringBuilder builder, final ExtLogRecord record) {
+            final long millis = record.getMillis();
+            CachedDate cached = this.cached;
+            if (cached.millis != millis) {
+                cached = new CachedDate(millis, formatters.get().format(millis));
+                this.cached = cached;
+            }
+            builder.append(cached.text);
+        }
+
+        public int estimateLength() {
+            return estimatedLength;
+        }
+    }
+
+    private static final class CachedDate {
+        private final long millis;
+        private final String text;
+
+        CachedDate(final long millis, final String text) {
+            this.millis = millis;
+            this.text = text;
+        }
+    }
+
+    private static final class DateFormatter {
+        private final SimpleDateFormat format;
+        private final Date date = new Date();
+
+        DateFormatter(final TimeZone timeZone, final String pattern) {
+            format = new SimpleDateFormat(pattern);
+            format.setTimeZone(timeZone);
+        }
+
+        String format(final long millis) {
+            date.setTime(millis);
+            return format.format(date);
+        }
+    }
+}
@@ -39,6 +39,7 @@ import java.util.logging.Level;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.logging.CommonAttributes.CLASS;
+import static org.jboss.as.logging.CommonAttributes.COMPILED_FORMATTER;
 import static org.jboss.as.logging.CommonAttributes.CUSTOM_HANDLER;
 import static org.jboss.as.logging.CommonAttributes.ENCODING;
 import static org.jboss.as.logging.CommonAttributes.FORMATTER;
@@ -60,6 +61,7 @@ class CustomHandlerAdd extends AbstractAddStepHandler {
         LoggingValidators.validate(operation);
         model.get(ENCODING).set(operation.get(ENCODING));
         model.get(FORMATTER).set(operation.get(FORMATTER));
+        model.get(COMPILED_FORMATTER).set(operation.get(COMPILED_FORMATTER));
         if (operation.hasDefined(LEVEL)) model.get(LEVEL).set(operation.get(LEVEL));
         model.get(MODULE).set(operation.get(MODULE));
         model.get(CLASS).set(operation.get(CLASS));
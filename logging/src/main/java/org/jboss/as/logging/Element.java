@@ -37,7 +37,11 @@ public enum Element {
     ANY(CommonAttributes.ANY),
     APPEND(CommonAttributes.APPEND),
     ASYNC_HANDLER(CommonAttributes.ASYNC_HANDLER),
+    BATCHED_FILE_HANDLER(CommonAttributes.BATCHED_FILE_HANDLER),
+    BUFFER_SIZE(CommonAttributes.BUFFER_SIZE),
     CHANGE_LEVEL(CommonAttributes.CHANGE_LEVEL),
+    COMPILED_PATTERN_FORMATTER(CommonAttributes.COMPILED_PATTERN_FORMATTER),
+    COMPRESS(CommonAttributes.COMPRESS),
     CONSOLE_HANDLER(CommonAttributes.CONSOLE_HANDLER),
     CUSTOM_HANDLER(CommonAttributes.CUSTOM_HANDLER),
     DENY(CommonAttributes.DENY),
@@ -45,6 +49,8 @@ public enum Element {
     FILE(CommonAttributes.FILE),
     FILE_HANDLER(CommonAttributes.FILE_HANDLER),
     FILTER(CommonAttributes.FILTER),
+    FLUSH_INTERVAL(CommonAttributes.FLUSH_INTERVAL),
+    FLUSH_LEVEL(CommonAttributes.FLUSH_LEVEL),
     FORMATTER(CommonAttributes.FORMATTER),
     HANDLER(CommonAttributes.HANDLER),
     HANDLERS(CommonAttributes.HANDLERS),
@@ -61,12 +67,14 @@ public enum Element {
     PROPERTY(CommonAttributes.PROPERTY),
     QUEUE_LENGTH(CommonAttributes.QUEUE_LENGTH),
     REPLACE(CommonAttributes.REPLACE),
+    RING_BUFFER_ASYNC_HANDLER(CommonAttributes.RING_BUFFER_ASYNC_HANDLER),
     ROOT_LOGGER(CommonAttributes.ROOT_LOGGER),
     ROTATE_SIZE(CommonAttributes.ROTATE_SIZE),
     SIZE_ROTATING_FILE_HANDLER(CommonAttributes.SIZE_ROTATING_FILE_HANDLER),
     SUBHANDLERS(CommonAttributes.SUBHANDLERS),
     SUFFIX(CommonAttributes.SUFFIX),
     TARGET(CommonAttributes.TARGET),
+    WAIT_STRATEGY(CommonAttributes.WAIT_STRATEGY),
     ;
 
     private final String name;
@@ -30,6 +30,7 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.logging.CommonAttributes.ENCODING;
+import static org.jboss.as.logging.CommonAttributes.COMPILED_FORMATTER;
 import static org.jboss.as.logging.CommonAttributes.FORMATTER;
 import static org.jboss.as.logging.CommonAttributes.LEVEL;
 import org.jboss.dmr.ModelNode;
@@ -58,6 +59,9 @@ public abstract class HandlerUpdateProperties implements OperationStepHandler {
         if (operation.hasDefined(FORMATTER)) {
             apply(operation, model, FORMATTER);
         }
+        if (operation.hasDefined(COMPILED_FORMATTER)) {
+            apply(operation, model, COMPILED_FORMATTER);
+        }
         if (operation.hasDefined(ENCODING)) {
             apply(operation, model, ENCODING);
         }
@@ -76,8 +80,8 @@ public abstract class HandlerUpdateProperties implements OperationStepHandler {
                         if (operation.hasDefined(LEVEL)) {
                             handler.setLevel(Level.parse(operation.get(LEVEL).asString()));
                         }
-                        if (operation.hasDefined(FORMATTER)) {
-                            new PatternFormatterSpec(operation.get(FORMATTER).asString()).apply(handler);
+                        if (operation.hasDefined(FORMATTER) || operation.hasDefined(COMPILED_FORMATTER)) {
+                            AbstractFormatterSpec.Factory.create(model).apply(handler);
                         }
                         if (operation.hasDefined(ENCODING)) {
                             try {
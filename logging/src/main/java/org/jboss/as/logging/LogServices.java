@@ -90,7 +90,7 @@ public final class LogServices {
         // Install logger handler services
         for(final ModelNode handler : handlers.asList()) {
             final String handlerName = handler.asString();
-            final LoggerHandlerService service = new LoggerHandlerService(loggerName);
+            final LoggerHandlerService service = new LoggerHandlerService(loggerName, handlerName);
             final Injector<Handler> injector = service.getHandlerInjector();
             controllers.add(serviceTarget.addService(LogServices.loggerHandlerName(loggerName, handlerName), service)
                     .addDependency(LogServices.loggerName(loggerName))
@@ -107,7 +107,7 @@ public class LoggerAssignHandler extends AbstractModelUpdateHandler {
         if (handlerController == null) opFailed("Handler " + handlerName + " not found.");
 
         ServiceTarget target = context.getServiceTarget();
-        LoggerHandlerService service = new LoggerHandlerService(loggerName);
+        LoggerHandlerService service = new LoggerHandlerService(loggerName, handlerName);
         ServiceBuilder<Logger> builder = target.addService(LogServices.loggerHandlerName(loggerName, handlerName), service);
         builder.addDependency(LogServices.loggerName(loggerName));
         builder.addDependency(LogServices.handlerName(handlerName), Handler.class, service.getHandlerInjector());
@@ -29,6 +29,7 @@ import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Handler;
 
 /**
@@ -38,14 +39,19 @@ final class LoggerHandlerService extends AbstractLoggerService {
 
     private final InjectedValue<Handler> handlerValue = new InjectedValue<Handler>();
 
+    private final String handlerName;
+
+    private final AtomicLong recordCount = new AtomicLong();
+
     private Handler handler;
 
-    protected LoggerHandlerService(final String name) {
+    protected LoggerHandlerService(final String name, final String handlerName) {
         super(name);
+        this.handlerName = handlerName;
     }
 
     protected synchronized void start(final StartContext context, final Logger logger) throws StartException {
-        logger.addHandler(handler = handlerValue.getValue());
+        logger.addHandler(handler = new RecordCounters.HandlerCounter(recordCount, handlerValue.getValue()));
     }
 
     protected synchronized void stop(final StopContext context, final Logger logger) {
@@ -56,6 +62,19 @@ final class LoggerHandlerService extends AbstractLoggerService {
         }
     }
 
+    String getHandlerName() {
+        return handlerName;
+    }
+
+    /**
+     * Get the number of records the handler accepted from this logger.
+     *
+     * @return the record count
+     */
+    long getRecordCount() {
+        return recordCount.get();
+    }
+
     Injector<Handler> getHandlerInjector() {
         return handlerValue;
     }
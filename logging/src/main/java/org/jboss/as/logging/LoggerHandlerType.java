@@ -33,10 +33,12 @@ enum LoggerHandlerType {
     UNKNOWN(null),
 
     ASYNC_HANDLER(CommonAttributes.ASYNC_HANDLER),
+    BATCHED_FILE_HANDLER(CommonAttributes.BATCHED_FILE_HANDLER),
     CONSOLE_HANDLER(CommonAttributes.CONSOLE_HANDLER),
     FILE_HANDLER(CommonAttributes.FILE_HANDLER),
     HANDLER(CommonAttributes.HANDLER),
     PERIODIC_ROTATING_FILE_HANDLER(CommonAttributes.PERIODIC_ROTATING_FILE_HANDLER),
+    RING_BUFFER_ASYNC_HANDLER(CommonAttributes.RING_BUFFER_ASYNC_HANDLER),
     SIZE_ROTATING_FILE_HANDLER(CommonAttributes.SIZE_ROTATING_FILE_HANDLER),
     ;
 
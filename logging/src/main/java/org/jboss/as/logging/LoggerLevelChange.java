@@ -31,7 +31,6 @@ import static org.jboss.as.logging.CommonAttributes.LEVEL;
 
 import org.jboss.dmr.ModelNode;
 import org.jboss.logmanager.Level;
-import org.jboss.logmanager.Logger;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceRegistry;
 
@@ -58,9 +57,10 @@ public class LoggerLevelChange implements OperationStepHandler {
             context.addStep(new OperationStepHandler() {
                 public void execute(OperationContext context, ModelNode operation) {
                     final ServiceRegistry serviceRegistry = context.getServiceRegistry(false);
-                    final ServiceController<Logger> controller = (ServiceController<Logger>) serviceRegistry.getService(LogServices.loggerName(name));
+                    final ServiceController<?> controller = serviceRegistry.getService(LogServices.loggerName(name));
                     if (controller != null && operation.hasDefined(LEVEL)) {
-                        controller.getValue().setLevel(Level.parse(level));
+                        // keep the service in step so a restart applies the new level
+                        ((LoggerService) controller.getService()).setLevel(Level.parse(level));
                     }
                     context.completeStep();
                 }
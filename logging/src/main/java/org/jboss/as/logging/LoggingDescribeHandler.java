@@ -29,14 +29,21 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import org.jboss.as.controller.descriptions.common.CommonDescriptions;
 import org.jboss.as.controller.operations.common.Util;
+import static org.jboss.as.logging.CommonAttributes.APPEND;
 import static org.jboss.as.logging.CommonAttributes.ASYNC_HANDLER;
 import static org.jboss.as.logging.CommonAttributes.AUTOFLUSH;
+import static org.jboss.as.logging.CommonAttributes.BATCHED_FILE_HANDLER;
+import static org.jboss.as.logging.CommonAttributes.BUFFER_SIZE;
 import static org.jboss.as.logging.CommonAttributes.CLASS;
+import static org.jboss.as.logging.CommonAttributes.COMPILED_FORMATTER;
+import static org.jboss.as.logging.CommonAttributes.COMPRESS;
 import static org.jboss.as.logging.CommonAttributes.CONSOLE_HANDLER;
 import static org.jboss.as.logging.CommonAttributes.CUSTOM_HANDLER;
 import static org.jboss.as.logging.CommonAttributes.ENCODING;
 import static org.jboss.as.logging.CommonAttributes.FILE;
 import static org.jboss.as.logging.CommonAttributes.FILE_HANDLER;
+import static org.jboss.as.logging.CommonAttributes.FLUSH_INTERVAL;
+import static org.jboss.as.logging.CommonAttributes.FLUSH_LEVEL;
 import static org.jboss.as.logging.CommonAttributes.FORMATTER;
 import static org.jboss.as.logging.CommonAttributes.HANDLERS;
 import static org.jboss.as.logging.CommonAttributes.LEVEL;
@@ -47,11 +54,13 @@ import static org.jboss.as.logging.CommonAttributes.OVERFLOW_ACTION;
 import static org.jboss.as.logging.CommonAttributes.PERIODIC_ROTATING_FILE_HANDLER;
 import static org.jboss.as.logging.CommonAttributes.PROPERTIES;
 import static org.jboss.as.logging.CommonAttributes.QUEUE_LENGTH;
+import static org.jboss.as.logging.CommonAttributes.RING_BUFFER_ASYNC_HANDLER;
 import static org.jboss.as.logging.CommonAttributes.ROOT_LOGGER;
 import static org.jboss.as.logging.CommonAttributes.ROTATE_SIZE;
 import static org.jboss.as.logging.CommonAttributes.SIZE_ROTATING_FILE_HANDLER;
 import static org.jboss.as.logging.CommonAttributes.SUBHANDLERS;
 import static org.jboss.as.logging.CommonAttributes.SUFFIX;
+import static org.jboss.as.logging.CommonAttributes.WAIT_STRATEGY;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
 
@@ -89,6 +98,11 @@ public class LoggingDescribeHandler implements OperationStepHandler, Description
                 result.add(defineAsynchHandler(prop.getName(), prop.getValue(), rootAddress));
             }
         }
+        if (model.hasDefined(RING_BUFFER_ASYNC_HANDLER)) {
+            for (Property prop : model.get(RING_BUFFER_ASYNC_HANDLER).asPropertyList()) {
+                result.add(defineRingBufferAsyncHandler(prop.getName(), prop.getValue(), rootAddress));
+            }
+        }
         if (model.hasDefined(CONSOLE_HANDLER)) {
             for (Property prop : model.get(CONSOLE_HANDLER).asPropertyList()) {
                 result.add(defineConsoleHandler(prop.getName(), prop.getValue(), rootAddress));
@@ -114,6 +128,11 @@ public class LoggingDescribeHandler implements OperationStepHandler, Description
                 result.add(defineSizeRotatingFileHandler(prop.getName(), prop.getValue(), rootAddress));
             }
         }
+        if (model.hasDefined(BATCHED_FILE_HANDLER)) {
+            for (Property prop : model.get(BATCHED_FILE_HANDLER).asPropertyList()) {
+                result.add(defineBatchedFileHandler(prop.getName(), prop.getValue(), rootAddress));
+            }
+        }
         context.completeStep();
     }
 
@@ -128,6 +147,18 @@ public class LoggingDescribeHandler implements OperationStepHandler, Description
         return add;
     }
 
+    private ModelNode defineRingBufferAsyncHandler(final String name, final ModelNode handler, final PathAddress rootAddress) {
+        ModelNode add = Util.getEmptyOperation(ADD, rootAddress.append(PathElement.pathElement(RING_BUFFER_ASYNC_HANDLER, name)).toModelNode());
+
+        add.get(QUEUE_LENGTH).set(handler.get(QUEUE_LENGTH));
+        add.get(SUBHANDLERS).set(handler.get(SUBHANDLERS));
+        add.get(LEVEL).set(handler.get(LEVEL));
+        add.get(OVERFLOW_ACTION).set(handler.get(OVERFLOW_ACTION));
+        add.get(WAIT_STRATEGY).set(handler.get(WAIT_STRATEGY));
+
+        return add;
+    }
+
 
     private ModelNode defineConsoleHandler(final String name, final ModelNode handler, final PathAddress rootAddress) {
         ModelNode add = Util.getEmptyOperation(ADD, rootAddress.append(PathElement.pathElement(CONSOLE_HANDLER, name)).toModelNode());
@@ -141,6 +172,9 @@ public class LoggingDescribeHandler implements OperationStepHandler, Description
         if (handler.hasDefined(FORMATTER)) {
             add.get(FORMATTER).set(handler.get(FORMATTER));
         }
+        if (handler.hasDefined(COMPILED_FORMATTER)) {
+            add.get(COMPILED_FORMATTER).set(handler.get(COMPILED_FORMATTER));
+        }
         if (handler.hasDefined(LEVEL)) {
             add.get(LEVEL).set(handler.get(LEVEL));
         }
@@ -163,6 +197,9 @@ public class LoggingDescribeHandler implements OperationStepHandler, Description
         if (handler.hasDefined(FORMATTER)) {
             add.get(FORMATTER).set(handler.get(FORMATTER));
         }
+        if (handler.hasDefined(COMPILED_FORMATTER)) {
+            add.get(COMPILED_FORMATTER).set(handler.get(COMPILED_FORMATTER));
+        }
         if (handler.hasDefined(LEVEL)) {
             add.get(LEVEL).set(handler.get(LEVEL));
         }
@@ -186,6 +223,9 @@ public class LoggingDescribeHandler implements OperationStepHandler, Description
         if (handler.hasDefined(FORMATTER)) {
             add.get(FORMATTER).set(handler.get(FORMATTER));
         }
+        if (handler.hasDefined(COMPILED_FORMATTER)) {
+            add.get(COMPILED_FORMATTER).set(handler.get(COMPILED_FORMATTER));
+        }
         if (handler.hasDefined(LEVEL)) {
             add.get(LEVEL).set(handler.get(LEVEL));
         }
@@ -217,6 +257,9 @@ public class LoggingDescribeHandler implements OperationStepHandler, Description
         if (handler.hasDefined(FORMATTER)) {
             add.get(FORMATTER).set(handler.get(FORMATTER));
         }
+        if (handler.hasDefined(COMPILED_FORMATTER)) {
+            add.get(COMPILED_FORMATTER).set(handler.get(COMPILED_FORMATTER));
+        }
         if (handler.hasDefined(LEVEL)) {
             add.get(LEVEL).set(handler.get(LEVEL));
         }
@@ -245,6 +288,9 @@ public class LoggingDescribeHandler implements OperationStepHandler, Description
         if (handler.hasDefined(FORMATTER)) {
             add.get(FORMATTER).set(handler.get(FORMATTER));
         }
+        if (handler.hasDefined(COMPILED_FORMATTER)) {
+            add.get(COMPILED_FORMATTER).set(handler.get(COMPILED_FORMATTER));
+        }
         if (handler.hasDefined(LEVEL)) {
             add.get(LEVEL).set(handler.get(LEVEL));
         }
@@ -261,6 +307,18 @@ public class LoggingDescribeHandler implements OperationStepHandler, Description
         return add;
     }
 
+    private ModelNode defineBatchedFileHandler(final String name, final ModelNode handler, final PathAddress rootAddress) {
+        ModelNode add = Util.getEmptyOperation(ADD, rootAddress.append(PathElement.pathElement(BATCHED_FILE_HANDLER, name)).toModelNode());
+
+        for (String attribute : new String[] {ENCODING, FORMATTER, COMPILED_FORMATTER, LEVEL, FILE, APPEND, BUFFER_SIZE, FLUSH_INTERVAL, FLUSH_LEVEL, ROTATE_SIZE, MAX_BACKUP_INDEX, SUFFIX, COMPRESS}) {
+            if (handler.hasDefined(attribute)) {
+                add.get(attribute).set(handler.get(attribute));
+            }
+        }
+
+        return add;
+    }
+
     @Override
     public ModelNode getModelDescription(Locale locale) {
         return CommonDescriptions.getSubsystemDescribeOperation(locale);
@@ -38,6 +38,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REM
 import org.jboss.as.controller.parsing.ExtensionParsingContext;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
 import org.jboss.sasl.util.AbstractSaslServer;
 
@@ -52,6 +53,8 @@ public class LoggingExtension implements Extension {
     private static final PathElement consoleHandlersPath = PathElement.pathElement(CommonAttributes.CONSOLE_HANDLER);
     private static final PathElement customHandlerPath = PathElement.pathElement(CommonAttributes.CUSTOM_HANDLER);
     private static final PathElement fileHandlersPath = PathElement.pathElement(CommonAttributes.FILE_HANDLER);
+    private static final PathElement batchedFileHandlersPath = PathElement.pathElement(CommonAttributes.BATCHED_FILE_HANDLER);
+    private static final PathElement ringBufferAsyncHandlersPath = PathElement.pathElement(CommonAttributes.RING_BUFFER_ASYNC_HANDLER);
     private static final PathElement periodicHandlersPath = PathElement.pathElement(CommonAttributes.PERIODIC_ROTATING_FILE_HANDLER);
     private static final PathElement sizePeriodicHandlersPath = PathElement.pathElement(CommonAttributes.SIZE_ROTATING_FILE_HANDLER);
 
@@ -91,6 +94,20 @@ public class LoggingExtension implements Extension {
         asyncHandler.registerOperationHandler(AsyncHandlerAssignSubhandler.getOperationName(), AsyncHandlerAssignSubhandler.getInstance(), LoggingSubsystemProviders.ASYNC_HANDLER_ASSIGN_SUBHANDLER, false);
         asyncHandler.registerOperationHandler(AsyncHandlerUnassignSubhandler.getOperationName(), AsyncHandlerUnassignSubhandler.getInstance(), LoggingSubsystemProviders.ASYNC_HANDLER_UNASSIGN_SUBHANDLER, false);
 
+        //  Ring buffer async handlers
+        final ManagementResourceRegistration ringBufferAsyncHandler = registration.registerSubModel(ringBufferAsyncHandlersPath, LoggingSubsystemProviders.RING_BUFFER_ASYNC_HANDLER);
+        ringBufferAsyncHandler.registerOperationHandler(ADD, RingBufferAsyncHandlerAdd.INSTANCE, LoggingSubsystemProviders.RING_BUFFER_ASYNC_HANDLER_ADD, false);
+        ringBufferAsyncHandler.registerOperationHandler(REMOVE, LoggerHandlerRemove.INSTANCE, LoggingSubsystemProviders.HANDLER_REMOVE, false);
+        ringBufferAsyncHandler.registerOperationHandler(ENABLE, HandlerEnable.INSTANCE, LoggingSubsystemProviders.HANDLER_ENABLE, false);
+        ringBufferAsyncHandler.registerOperationHandler(DISABLE, HandlerDisable.INSTANCE, LoggingSubsystemProviders.HANDLER_DISABLE, false);
+        ringBufferAsyncHandler.registerOperationHandler(HandlerLevelChange.OPERATION_NAME, HandlerLevelChange.INSTANCE, LoggingSubsystemProviders.HANDLER_CHANGE_LEVEL, false);
+        ringBufferAsyncHandler.registerOperationHandler(RingBufferAsyncHandlerUpdateProperties.OPERATION_NAME, RingBufferAsyncHandlerUpdateProperties.INSTANCE, LoggingSubsystemProviders.RING_BUFFER_ASYNC_HANDLER_UPDATE, false);
+        ringBufferAsyncHandler.registerOperationHandler(AsyncHandlerAssignSubhandler.getOperationName(), AsyncHandlerAssignSubhandler.getInstance(), LoggingSubsystemProviders.ASYNC_HANDLER_ASSIGN_SUBHANDLER, false);
+        ringBufferAsyncHandler.registerOperationHandler(AsyncHandlerUnassignSubhandler.getOperationName(), AsyncHandlerUnassignSubhandler.getInstance(), LoggingSubsystemProviders.ASYNC_HANDLER_UNASSIGN_SUBHANDLER, false);
+        for (final String metric : RingBufferAsyncHandlerMetrics.METRICS) {
+            ringBufferAsyncHandler.registerMetric(metric, RingBufferAsyncHandlerMetrics.INSTANCE);
+        }
+
         //  Console handlers
         final ManagementResourceRegistration consoleHandler = registration.registerSubModel(consoleHandlersPath, LoggingSubsystemProviders.CONSOLE_HANDLER);
         consoleHandler.registerOperationHandler(ADD, ConsoleHandlerAdd.INSTANCE, LoggingSubsystemProviders.CONSOLE_HANDLER_ADD, false);
@@ -127,6 +144,21 @@ public class LoggingExtension implements Extension {
         sizePeriodicHandler.registerOperationHandler(HandlerFileChange.OPERATION_NAME, HandlerFileChange.INSTANCE, LoggingSubsystemProviders.HANDLER_CHANGE_FILE, false);
         sizePeriodicHandler.registerOperationHandler(SizeRotatingHandlerUpdateProperties.OPERATION_NAME, SizeRotatingHandlerUpdateProperties.INSTANCE, LoggingSubsystemProviders.SIZE_PERIODIC_HANDLER_UPDATE, false);
 
+        final ManagementResourceRegistration batchedFileHandler = registration.registerSubModel(batchedFileHandlersPath, LoggingSubsystemProviders.BATCHED_FILE_HANDLER);
+        batchedFileHandler.registerOperationHandler(ADD, BatchedFileHandlerAdd.INSTANCE, LoggingSubsystemProviders.BATCHED_FILE_HANDLER_ADD, false);
+        batchedFileHandler.registerOperationHandler(REMOVE, LoggerHandlerRemove.INSTANCE, LoggingSubsystemProviders.HANDLER_REMOVE, false);
+        batchedFileHandler.registerOperationHandler(ENABLE, HandlerEnable.INSTANCE, LoggingSubsystemProviders.HANDLER_ENABLE, false);
+        batchedFileHandler.registerOperationHandler(DISABLE, HandlerDisable.INSTANCE, LoggingSubsystemProviders.HANDLER_DISABLE, false);
+        batchedFileHandler.registerOperationHandler(HandlerLevelChange.OPERATION_NAME, HandlerLevelChange.INSTANCE, LoggingSubsystemProviders.HANDLER_CHANGE_LEVEL, false);
+        batchedFileHandler.registerOperationHandler(HandlerFileChange.OPERATION_NAME, HandlerFileChange.INSTANCE, LoggingSubsystemProviders.HANDLER_CHANGE_FILE, false);
+        batchedFileHandler.registerOperationHandler(BatchedFileHandlerUpdateProperties.OPERATION_NAME, BatchedFileHandlerUpdateProperties.INSTANCE, LoggingSubsystemProviders.BATCHED_FILE_HANDLER_UPDATE, false);
+
+        // Record counts
+        final ManagementResourceRegistration loggingMetrics = registration.registerSubModel(LoggingMetrics.PATH, LoggingSubsystemProviders.LOGGING_METRICS);
+        for (final String metric : LoggingMetrics.METRICS) {
+            loggingMetrics.registerMetric(metric, LoggingMetrics.INSTANCE);
+        }
+
         // Custom logging handler
         final ManagementResourceRegistration customHandler = registration.registerSubModel(customHandlerPath, LoggingSubsystemProviders.CUSTOM_HANDLER);
         customHandler.registerOperationHandler(ADD, CustomHandlerAdd.INSTANCE, LoggingSubsystemProviders.CUSTOM_HANDLER_ADD, false);
@@ -151,13 +183,20 @@ public class LoggingExtension implements Extension {
 
         static final NewLoggingSubsystemAdd ADD_INSTANCE = new NewLoggingSubsystemAdd();
 
+        protected void populateModel(ModelNode operation, Resource resource) {
+            populateModel(operation, resource.getModel());
+            resource.registerChild(LoggingMetrics.PATH, Resource.Factory.create());
+        }
+
         protected void populateModel(ModelNode operation, ModelNode model) {
             model.get(CommonAttributes.LOGGER).setEmptyObject();
             model.get(CommonAttributes.ASYNC_HANDLER).setEmptyObject();
+            model.get(CommonAttributes.BATCHED_FILE_HANDLER).setEmptyObject();
             model.get(CommonAttributes.CONSOLE_HANDLER).setEmptyObject();
             model.get(CommonAttributes.CUSTOM_HANDLER).setEmptyObject();
             model.get(CommonAttributes.FILE_HANDLER).setEmptyObject();
             model.get(CommonAttributes.PERIODIC_ROTATING_FILE_HANDLER).setEmptyObject();
+            model.get(CommonAttributes.RING_BUFFER_ASYNC_HANDLER).setEmptyObject();
             model.get(CommonAttributes.SIZE_ROTATING_FILE_HANDLER).setEmptyObject();
         }
 
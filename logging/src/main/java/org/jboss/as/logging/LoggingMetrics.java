@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathElement;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.logging.CommonAttributes.LOGGING_METRICS;
+import static org.jboss.as.logging.CommonAttributes.RECORDS;
+import static org.jboss.as.logging.CommonAttributes.RECORDS_PER_HANDLER;
+import static org.jboss.as.logging.CommonAttributes.RECORDS_PER_LEVEL;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceRegistry;
+
+/**
+ * Reads the record counts of the logging subsystem, to help find noisy categories and handlers.
+ */
+class LoggingMetrics implements OperationStepHandler {
+
+    static final LoggingMetrics INSTANCE = new LoggingMetrics();
+
+    static final PathElement PATH = PathElement.pathElement(LOGGING_METRICS, RECORDS);
+
+    static final String[] METRICS = { RECORDS_PER_LEVEL, RECORDS_PER_HANDLER };
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        if (context.getType() == OperationContext.Type.SERVER) {
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    final String metric = operation.require(NAME).asString();
+                    final ServiceRegistry serviceRegistry = context.getServiceRegistry(false);
+                    final Map<String, Long> counts;
+                    if (RECORDS_PER_LEVEL.equals(metric)) {
+                        counts = getLevelCounts(serviceRegistry);
+                    } else if (RECORDS_PER_HANDLER.equals(metric)) {
+                        counts = getHandlerCounts(serviceRegistry);
+                    } else {
+                        counts = null;
+                    }
+                    if (counts != null) {
+                        final ModelNode result = context.getResult();
+                        result.setEmptyObject();
+                        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+                            result.get(entry.getKey()).set(entry.getValue().longValue());
+                        }
+                    }
+                    context.completeStep();
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+        context.completeStep();
+    }
+
+    static Map<String, Long> getLevelCounts(final ServiceRegistry serviceRegistry) {
+        final ServiceController<?> controller = serviceRegistry.getService(LogServices.ROOT_LOGGER);
+        if (controller == null) {
+            return Collections.emptyMap();
+        }
+        return ((RootLoggerService) controller.getService()).getLevelCounts();
+    }
+
+    /**
+     * Sum the counts of the handlers assigned to the loggers, by handler name.
+     */
+    static Map<String, Long> getHandlerCounts(final ServiceRegistry serviceRegistry) {
+        final Map<String, Long> counts = new TreeMap<String, Long>();
+        for (ServiceName name : serviceRegistry.getServiceNames()) {
+            if (LogServices.LOGGER_HANDLER.isParentOf(name) || LogServices.ROOT_LOGGER_HANDLER.isParentOf(name)) {
+                final ServiceController<?> controller = serviceRegistry.getService(name);
+                if (controller != null && controller.getService() instanceof LoggerHandlerService) {
+                    final LoggerHandlerService service = (LoggerHandlerService) controller.getService();
+                    final Long count = counts.get(service.getHandlerName());
+                    counts.put(service.getHandlerName(), Long.valueOf((count == null ? 0L : count.longValue()) + service.getRecordCount()));
+                }
+            }
+        }
+        return counts;
+    }
+}
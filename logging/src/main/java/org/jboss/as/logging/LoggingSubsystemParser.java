@@ -57,12 +57,18 @@ import static org.jboss.as.controller.parsing.ParseUtils.unexpectedElement;
 import static org.jboss.as.logging.CommonAttributes.APPEND;
 import static org.jboss.as.logging.CommonAttributes.ASYNC_HANDLER;
 import static org.jboss.as.logging.CommonAttributes.AUTOFLUSH;
+import static org.jboss.as.logging.CommonAttributes.BATCHED_FILE_HANDLER;
+import static org.jboss.as.logging.CommonAttributes.BUFFER_SIZE;
 import static org.jboss.as.logging.CommonAttributes.CLASS;
+import static org.jboss.as.logging.CommonAttributes.COMPILED_FORMATTER;
+import static org.jboss.as.logging.CommonAttributes.COMPRESS;
 import static org.jboss.as.logging.CommonAttributes.CONSOLE_HANDLER;
 import static org.jboss.as.logging.CommonAttributes.CUSTOM_HANDLER;
 import static org.jboss.as.logging.CommonAttributes.ENCODING;
 import static org.jboss.as.logging.CommonAttributes.FILE;
 import static org.jboss.as.logging.CommonAttributes.FILE_HANDLER;
+import static org.jboss.as.logging.CommonAttributes.FLUSH_INTERVAL;
+import static org.jboss.as.logging.CommonAttributes.FLUSH_LEVEL;
 import static org.jboss.as.logging.CommonAttributes.FORMATTER;
 import static org.jboss.as.logging.CommonAttributes.HANDLERS;
 import static org.jboss.as.logging.CommonAttributes.LEVEL;
@@ -74,6 +80,7 @@ import static org.jboss.as.logging.CommonAttributes.PATH;
 import static org.jboss.as.logging.CommonAttributes.PERIODIC_ROTATING_FILE_HANDLER;
 import static org.jboss.as.logging.CommonAttributes.PROPERTIES;
 import static org.jboss.as.logging.CommonAttributes.QUEUE_LENGTH;
+import static org.jboss.as.logging.CommonAttributes.RING_BUFFER_ASYNC_HANDLER;
 import static org.jboss.as.logging.CommonAttributes.ROOT_LOGGER;
 import static org.jboss.as.logging.CommonAttributes.ROTATE_SIZE;
 import static org.jboss.as.logging.CommonAttributes.SIZE_ROTATING_FILE_HANDLER;
@@ -81,6 +88,7 @@ import static org.jboss.as.logging.CommonAttributes.SUBHANDLERS;
 import static org.jboss.as.logging.CommonAttributes.SUFFIX;
 import static org.jboss.as.logging.CommonAttributes.TARGET;
 import static org.jboss.as.logging.CommonAttributes.USE_PARENT_HANDLERS;
+import static org.jboss.as.logging.CommonAttributes.WAIT_STRATEGY;
 
 /**
  * @author Emanuel Muckenhuber
@@ -160,6 +168,14 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
                             parseAsyncHandlerElement(reader, address, list, handlerNames);
                             break;
                         }
+                        case RING_BUFFER_ASYNC_HANDLER: {
+                            parseRingBufferAsyncHandlerElement(reader, address, list, handlerNames);
+                            break;
+                        }
+                        case BATCHED_FILE_HANDLER: {
+                            parseBatchedFileHandlerElement(reader, address, list, handlerNames);
+                            break;
+                        }
                         default: {
                             reader.handleAny(list);
                             break;
@@ -321,6 +337,70 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         list.add(node);
     }
 
+    static void parseRingBufferAsyncHandlerElement(final XMLExtendedStreamReader reader, final ModelNode address, final List<ModelNode> list, final Set<String> names) throws XMLStreamException {
+        // Attributes
+        String name = null;
+        final EnumSet<Attribute> required = EnumSet.of(Attribute.NAME);
+        final int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            required.remove(attribute);
+            switch (attribute) {
+                case NAME: {
+                    name = value;
+                    break;
+                }
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (!required.isEmpty()) {
+            throw missingRequired(reader, required);
+        }
+        if (!names.add(name)) {
+            throw duplicateNamedElement(reader, name);
+        }
+        // Elements
+        final ModelNode node = new ModelNode();
+        node.get(OP).set(ADD);
+        node.get(OP_ADDR).set(address).add(RING_BUFFER_ASYNC_HANDLER, name);
+        final EnumSet<Element> encountered = EnumSet.noneOf(Element.class);
+        while (reader.nextTag() != END_ELEMENT) {
+            final Element element = Element.forName(reader.getLocalName());
+            if (!encountered.add(element)) {
+                throw unexpectedElement(reader);
+            }
+            switch (element) {
+                case LEVEL: {
+                    node.get(LEVEL).set(readStringAttributeElement(reader, "name"));
+                    break;
+                }
+                case SUBHANDLERS: {
+                    node.get(SUBHANDLERS).set(parseHandlersElement(reader));
+                    break;
+                }
+                case QUEUE_LENGTH: {
+                    node.get(QUEUE_LENGTH).set(Integer.parseInt(readStringAttributeElement(reader, "value")));
+                    break;
+                }
+                case OVERFLOW_ACTION: {
+                    node.get(OVERFLOW_ACTION).set(OverflowAction.valueOf(readStringAttributeElement(reader, "value").toUpperCase(Locale.US)).toString());
+                    break;
+                }
+                case WAIT_STRATEGY: {
+                    node.get(WAIT_STRATEGY).set(WaitStrategy.valueOf(readStringAttributeElement(reader, "value").toUpperCase(Locale.US)).toString());
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+        list.add(node);
+    }
+
     static void parseRootLoggerElement(final XMLExtendedStreamReader reader, final ModelNode address, final List<ModelNode> list) throws XMLStreamException {
         // No attributes
         if (reader.getAttributeCount() > 0) {
@@ -401,7 +481,7 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         // Elements
         String levelName = null;
         String encoding = null;
-        String formatterSpec = null;
+        ModelNode formatterSpec = null;
         String target = null;
         final EnumSet<Element> encountered = EnumSet.noneOf(Element.class);
         while (reader.nextTag() != END_ELEMENT) {
@@ -439,7 +519,7 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         node.get(OP_ADDR).set(address).add(CONSOLE_HANDLER, name);
         node.get(AUTOFLUSH).set(autoflush);
         if (levelName != null) node.get(LEVEL).set(levelName);
-        if (formatterSpec != null) node.get(FORMATTER).set(formatterSpec);
+        if (formatterSpec != null) setFormatter(node, formatterSpec);
         if (encoding != null) node.get(ENCODING).set(encoding);
         list.add(node);
     }
@@ -479,7 +559,7 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         String encoding = null;
         ModelNode fileSpec = null;
         boolean append = true;
-        String formatterSpec = null;
+        ModelNode formatterSpec = null;
 
         final EnumSet<Element> requiredElem = EnumSet.of(Element.FILE);
         final EnumSet<Element> encountered = EnumSet.noneOf(Element.class);
@@ -524,7 +604,7 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         node.get(AUTOFLUSH).set(autoflush);
         if (levelName != null) node.get(LEVEL).set(levelName);
         if (encoding != null) node.get(ENCODING).set(encoding);
-        if (formatterSpec != null) node.get(FORMATTER).set(formatterSpec);
+        if (formatterSpec != null) setFormatter(node, formatterSpec);
         node.get(FILE).set(fileSpec);
         node.get(APPEND).set(append);
         list.add(node);
@@ -568,7 +648,7 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         // Elements
         String levelName = null;
         String encoding = null;
-        String formatterSpec = null;
+        ModelNode formatterSpec = null;
         ModelNode properties = null;
 
 
@@ -606,7 +686,7 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         node.get(OP_ADDR).set(address).add(CUSTOM_HANDLER, name);
         if (levelName != null) node.get(LEVEL).set(levelName);
         if (encoding != null) node.get(ENCODING).set(encoding);
-        if (formatterSpec != null) node.get(FORMATTER).set(formatterSpec);
+        if (formatterSpec != null) setFormatter(node, formatterSpec);
         if (properties != null) node.get(PROPERTIES).set(properties);
         node.get(CLASS).set(className);
         node.get(MODULE).set(moduleName);
@@ -649,7 +729,7 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         String suffix = null;
         ModelNode fileSpec = null;
         boolean append = true;
-        String formatterSpec = null;
+        ModelNode formatterSpec = null;
 
         final EnumSet<Element> requiredElem = EnumSet.of(Element.FILE, Element.SUFFIX);
         final EnumSet<Element> encountered = EnumSet.noneOf(Element.class);
@@ -698,7 +778,7 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         node.get(AUTOFLUSH).set(autoflush);
         if (levelName != null) node.get(LEVEL).set(levelName);
         if (encoding != null) node.get(ENCODING).set(encoding);
-        if (formatterSpec != null) node.get(FORMATTER).set(formatterSpec);
+        if (formatterSpec != null) setFormatter(node, formatterSpec);
         node.get(FILE).set(fileSpec);
         node.get(APPEND).set(append);
         if (suffix != null) node.get(SUFFIX).set(suffix);
@@ -742,7 +822,7 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         boolean append = true;
         String rotateSize = null;
         int maxBackupIndex = 1;
-        String formatterSpec = null;
+        ModelNode formatterSpec = null;
 
         final EnumSet<Element> requiredElem = EnumSet.of(Element.FILE);
         final EnumSet<Element> encountered = EnumSet.noneOf(Element.class);
@@ -799,7 +879,7 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         node.get(AUTOFLUSH).set(autoflush);
         if (levelName != null) node.get(LEVEL).set(levelName);
         if (encoding != null) node.get(ENCODING).set(encoding);
-        if (formatterSpec != null) node.get(FORMATTER).set(formatterSpec);
+        if (formatterSpec != null) setFormatter(node, formatterSpec);
         node.get(FILE).set(fileSpec);
         node.get(APPEND).set(append);
         if (rotateSize != null) {
@@ -811,6 +891,111 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         list.add(node);
     }
 
+    static void parseBatchedFileHandlerElement(final XMLExtendedStreamReader reader, final ModelNode address, final List<ModelNode> list, final Set<String> names) throws XMLStreamException {
+        // Attributes
+        String name = null;
+        final EnumSet<Attribute> required = EnumSet.of(Attribute.NAME);
+        final int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            required.remove(attribute);
+            switch (attribute) {
+                case NAME: {
+                    name = value;
+                    break;
+                }
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (!required.isEmpty()) {
+            throw missingRequired(reader, required);
+        }
+        if (!names.add(name)) {
+            throw duplicateNamedElement(reader, name);
+        }
+        // Elements
+        final ModelNode node = new ModelNode();
+        node.get(OP).set(ADD);
+        node.get(OP_ADDR).set(address).add(BATCHED_FILE_HANDLER, name);
+        final EnumSet<Element> requiredElem = EnumSet.of(Element.FILE);
+        final EnumSet<Element> encountered = EnumSet.noneOf(Element.class);
+        while (reader.nextTag() != END_ELEMENT) {
+            final Element element = Element.forName(reader.getLocalName());
+            if (!encountered.add(element)) {
+                throw unexpectedElement(reader);
+            }
+            requiredElem.remove(element);
+            switch (element) {
+                case LEVEL: {
+                    node.get(LEVEL).set(readStringAttributeElement(reader, "name"));
+                    break;
+                }
+                case ENCODING: {
+                    node.get(ENCODING).set(readStringAttributeElement(reader, "value"));
+                    break;
+                }
+                case FORMATTER: {
+                    setFormatter(node, parseFormatterElement(reader));
+                    break;
+                }
+                case FILE: {
+                    node.get(FILE).set(parseFileElement(reader));
+                    break;
+                }
+                case APPEND: {
+                    node.get(APPEND).set(Boolean.parseBoolean(readStringAttributeElement(reader, "value")));
+                    break;
+                }
+                case BUFFER_SIZE: {
+                    node.get(BUFFER_SIZE).set(readStringAttributeElement(reader, "value"));
+                    break;
+                }
+                case FLUSH_INTERVAL: {
+                    try {
+                        node.get(FLUSH_INTERVAL).set(Long.parseLong(readStringAttributeElement(reader, "value")));
+                    } catch (NumberFormatException e) {
+                        throw new XMLStreamException(e.getMessage(), reader.getLocation(), e);
+                    }
+                    break;
+                }
+                case FLUSH_LEVEL: {
+                    node.get(FLUSH_LEVEL).set(readStringAttributeElement(reader, "name"));
+                    break;
+                }
+                case ROTATE_SIZE: {
+                    node.get(ROTATE_SIZE).set(readStringAttributeElement(reader, "value"));
+                    break;
+                }
+                case MAX_BACKUP_INDEX: {
+                    try {
+                        node.get(MAX_BACKUP_INDEX).set(Integer.parseInt(readStringAttributeElement(reader, "value")));
+                    } catch (NumberFormatException e) {
+                        throw new XMLStreamException(e.getMessage(), reader.getLocation(), e);
+                    }
+                    break;
+                }
+                case SUFFIX: {
+                    node.get(SUFFIX).set(readStringAttributeElement(reader, "value"));
+                    break;
+                }
+                case COMPRESS: {
+                    node.get(COMPRESS).set(Boolean.parseBoolean(readStringAttributeElement(reader, "value")));
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+        if (!requiredElem.isEmpty()) {
+            throw missingRequired(reader, requiredElem);
+        }
+        list.add(node);
+    }
+
     private static final Pattern SIZE_PATTERN = Pattern.compile("(\\d+)([kKmMgGbBtT])?");
 
     public static long parseSize(final String value) {
@@ -880,11 +1065,18 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         return node;
     }
 
-    private static String parseFormatterElement(final XMLExtendedStreamReader reader) throws XMLStreamException {
+    private static void setFormatter(final ModelNode node, final ModelNode formatterSpec) {
+        node.get(FORMATTER).set(formatterSpec.get(FORMATTER));
+        if (formatterSpec.hasDefined(COMPILED_FORMATTER)) {
+            node.get(COMPILED_FORMATTER).set(formatterSpec.get(COMPILED_FORMATTER));
+        }
+    }
+
+    private static ModelNode parseFormatterElement(final XMLExtendedStreamReader reader) throws XMLStreamException {
         if (reader.getAttributeCount() > 0) {
             throw unexpectedAttribute(reader, 0);
         }
-        String formatterSpec = null;
+        final ModelNode formatterSpec = new ModelNode();
         if (reader.nextTag() != START_ELEMENT) {
             throw new XMLStreamException("Missing required nested filter element", reader.getLocation());
         }
@@ -894,7 +1086,12 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
                 final Element element = Element.forName(reader.getLocalName());
                 switch (element) {
                     case PATTERN_FORMATTER: {
-                        formatterSpec = parsePatternFormatterElement(reader);
+                        formatterSpec.get(FORMATTER).set(parsePatternFormatterElement(reader));
+                        break;
+                    }
+                    case COMPILED_PATTERN_FORMATTER: {
+                        formatterSpec.get(FORMATTER).set(parsePatternFormatterElement(reader));
+                        formatterSpec.get(COMPILED_FORMATTER).set(true);
                         break;
                     }
                     default: {
@@ -1023,6 +1220,18 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
                 writeAsynchHandler(writer, handler, name);
             }
         }
+        if (node.hasDefined(RING_BUFFER_ASYNC_HANDLER)) {
+            final ModelNode handlers = node.get(RING_BUFFER_ASYNC_HANDLER);
+
+            for (Property handlerProp : handlers.asPropertyList()) {
+                final String name = handlerProp.getName();
+                final ModelNode handler = handlerProp.getValue();
+                if (!handler.isDefined()) {
+                    continue;
+                }
+                writeRingBufferAsyncHandler(writer, handler, name);
+            }
+        }
         if (node.hasDefined(CONSOLE_HANDLER)) {
             final ModelNode handlers = node.get(CONSOLE_HANDLER);
 
@@ -1083,6 +1292,18 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
                 writeSizeRotatingFileHandler(writer, handler, name);
             }
         }
+        if (node.hasDefined(BATCHED_FILE_HANDLER)) {
+            final ModelNode handlers = node.get(BATCHED_FILE_HANDLER);
+
+            for (Property handlerProp : handlers.asPropertyList()) {
+                final String name = handlerProp.getName();
+                final ModelNode handler = handlerProp.getValue();
+                if (!handler.isDefined()) {
+                    continue;
+                }
+                writeBatchedFileHandler(writer, handler, name);
+            }
+        }
         if (node.hasDefined(LOGGER)) {
             for (String name : node.get(LOGGER).keys()) {
                 writeLogger(writer, name, node.get(LOGGER, name));
@@ -1220,6 +1441,67 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
         writer.writeEndElement();
     }
 
+    private void writeRingBufferAsyncHandler(final XMLExtendedStreamWriter writer, final ModelNode node, final String name) throws XMLStreamException {
+        writer.writeStartElement(Element.RING_BUFFER_ASYNC_HANDLER.getLocalName());
+        writer.writeAttribute(Attribute.NAME.getLocalName(), name);
+        writeLevel(writer, node);
+        writeFilter(writer, node);
+        writeProperties(writer, node);
+        if (node.hasDefined(QUEUE_LENGTH)) {
+            writer.writeStartElement(Element.QUEUE_LENGTH.getLocalName());
+            writeAttribute(writer, Attribute.VALUE, node.get(QUEUE_LENGTH));
+            writer.writeEndElement();
+        }
+        if (node.hasDefined(OVERFLOW_ACTION)) {
+            writer.writeStartElement(Element.OVERFLOW_ACTION.getLocalName());
+            writer.writeAttribute(Attribute.VALUE.getLocalName(), node.get(OVERFLOW_ACTION).asString().toLowerCase(Locale.US));
+            writer.writeEndElement();
+        }
+        if (node.hasDefined(WAIT_STRATEGY)) {
+            writer.writeStartElement(Element.WAIT_STRATEGY.getLocalName());
+            writer.writeAttribute(Attribute.VALUE.getLocalName(), node.get(WAIT_STRATEGY).asString().toLowerCase(Locale.US));
+            writer.writeEndElement();
+        }
+        if (node.hasDefined(SUBHANDLERS)) {
+            final ModelNode handlers = node.get(SUBHANDLERS);
+            writeHandlersContent(writer, Element.SUBHANDLERS, handlers);
+        }
+
+        writer.writeEndElement();
+    }
+
+    private void writeBatchedFileHandler(final XMLExtendedStreamWriter writer, final ModelNode node, final String name) throws XMLStreamException {
+        writer.writeStartElement(Element.BATCHED_FILE_HANDLER.getLocalName());
+        writer.writeAttribute(Attribute.NAME.getLocalName(), name);
+        writeLevel(writer, node);
+        writeEncoding(writer, node);
+        writeFilter(writer, node);
+        writeFormatter(writer, node);
+        writeFile(writer, node);
+        writeValueElement(writer, Element.BUFFER_SIZE, node, BUFFER_SIZE);
+        writeValueElement(writer, Element.FLUSH_INTERVAL, node, FLUSH_INTERVAL);
+        if (node.hasDefined(FLUSH_LEVEL)) {
+            writer.writeStartElement(Element.FLUSH_LEVEL.getLocalName());
+            writeAttribute(writer, Attribute.NAME, node.get(FLUSH_LEVEL));
+            writer.writeEndElement();
+        }
+        writeValueElement(writer, Element.ROTATE_SIZE, node, ROTATE_SIZE);
+        writeValueElement(writer, Element.MAX_BACKUP_INDEX, node, MAX_BACKUP_INDEX);
+        writeValueElement(writer, Element.SUFFIX, node, SUFFIX);
+        writeValueElement(writer, Element.COMPRESS, node, COMPRESS);
+        writeAppend(writer, node);
+
+        writer.writeEndElement();
+    }
+
+    private void writeValueElement(final XMLExtendedStreamWriter writer, final Element element, final ModelNode node, final String name) throws XMLStreamException {
+        if (node.hasDefined(name)) {
+            writer.writeStartElement(element.getLocalName());
+            writeAttribute(writer, Attribute.VALUE, node.get(name));
+            writer.writeEndElement();
+        }
+    }
+
     private void writeLogger(final XMLExtendedStreamWriter writer, String name, final ModelNode node) throws XMLStreamException {
         writer.writeStartElement(Element.LOGGER.getLocalName());
         writer.writeAttribute(Attribute.CATEGORY.getLocalName(), name);
@@ -1269,7 +1551,11 @@ public class LoggingSubsystemParser implements XMLStreamConstants, XMLElementRea
     private void writeFormatter(final XMLExtendedStreamWriter writer, final ModelNode node) throws XMLStreamException {
         if (node.hasDefined(FORMATTER)) {
             writer.writeStartElement(Element.FORMATTER.getLocalName());
-            writer.writeStartElement(Element.PATTERN_FORMATTER.getLocalName());
+            if (node.hasDefined(COMPILED_FORMATTER) && node.get(COMPILED_FORMATTER).asBoolean()) {
+                writer.writeStartElement(Element.COMPILED_PATTERN_FORMATTER.getLocalName());
+            } else {
+                writer.writeStartElement(Element.PATTERN_FORMATTER.getLocalName());
+            }
             writeAttribute(writer, Attribute.PATTERN, node.get(FORMATTER));
             writer.writeEndElement();
             writer.writeEndElement();
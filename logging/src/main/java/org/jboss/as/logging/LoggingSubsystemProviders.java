@@ -39,10 +39,15 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYP
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
 import static org.jboss.as.logging.CommonAttributes.APPEND;
 import static org.jboss.as.logging.CommonAttributes.AUTOFLUSH;
+import static org.jboss.as.logging.CommonAttributes.BUFFER_SIZE;
 import static org.jboss.as.logging.CommonAttributes.CLASS;
+import static org.jboss.as.logging.CommonAttributes.COMPILED_FORMATTER;
+import static org.jboss.as.logging.CommonAttributes.COMPRESS;
 import static org.jboss.as.logging.CommonAttributes.ENCODING;
 import static org.jboss.as.logging.CommonAttributes.FILE;
 import static org.jboss.as.logging.CommonAttributes.FILTER;
+import static org.jboss.as.logging.CommonAttributes.FLUSH_INTERVAL;
+import static org.jboss.as.logging.CommonAttributes.FLUSH_LEVEL;
 import static org.jboss.as.logging.CommonAttributes.FORMATTER;
 import static org.jboss.as.logging.CommonAttributes.HANDLER;
 import static org.jboss.as.logging.CommonAttributes.LEVEL;
@@ -63,6 +68,7 @@ import static org.jboss.as.logging.CommonAttributes.PATH;
 import static org.jboss.as.logging.CommonAttributes.QUEUE_LENGTH;
 import static org.jboss.as.logging.CommonAttributes.RELATIVE_TO;
 import static org.jboss.as.logging.CommonAttributes.VALUE;
+import static org.jboss.as.logging.CommonAttributes.WAIT_STRATEGY;
 
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -89,10 +95,13 @@ class LoggingSubsystemProviders {
 
             subsystem.get(CHILDREN, CommonAttributes.ROOT_LOGGER, DESCRIPTION).set(bundle.getString("root.logger"));
             subsystem.get(CHILDREN, CommonAttributes.ASYNC_HANDLER, DESCRIPTION).set(bundle.getString("async.handler"));
+            subsystem.get(CHILDREN, CommonAttributes.RING_BUFFER_ASYNC_HANDLER, DESCRIPTION).set(bundle.getString("ring-buffer-async.handler"));
             subsystem.get(CHILDREN, CommonAttributes.CONSOLE_HANDLER, DESCRIPTION).set(bundle.getString("console.handler"));
             subsystem.get(CHILDREN, CommonAttributes.FILE_HANDLER, DESCRIPTION).set(bundle.getString("file.handler"));
             subsystem.get(CHILDREN, CommonAttributes.PERIODIC_ROTATING_FILE_HANDLER, DESCRIPTION).set(bundle.getString("periodic.handler"));
             subsystem.get(CHILDREN, CommonAttributes.SIZE_ROTATING_FILE_HANDLER, DESCRIPTION).set(bundle.getString("size.periodic.handler"));
+            subsystem.get(CHILDREN, CommonAttributes.BATCHED_FILE_HANDLER, DESCRIPTION).set(bundle.getString("batched.file.handler"));
+            subsystem.get(CHILDREN, CommonAttributes.LOGGING_METRICS, DESCRIPTION).set(bundle.getString("logging-metrics"));
             subsystem.get(CHILDREN, CommonAttributes.CUSTOM_HANDLER, DESCRIPTION).set(bundle.getString("custom.handler"));
 
             return subsystem;
@@ -333,6 +342,9 @@ class LoggingSubsystemProviders {
         modelNode.get(ATTRIBUTES, FORMATTER, TYPE).set(ModelType.STRING);
         modelNode.get(ATTRIBUTES, FORMATTER, DESCRIPTION).set(bundle.getString("handler.formatter"));
 
+        modelNode.get(ATTRIBUTES, COMPILED_FORMATTER, TYPE).set(ModelType.BOOLEAN);
+        modelNode.get(ATTRIBUTES, COMPILED_FORMATTER, DESCRIPTION).set(bundle.getString("handler.compiled-formatter"));
+
         modelNode.get(ATTRIBUTES, AUTOFLUSH, TYPE).set(ModelType.BOOLEAN);
         modelNode.get(ATTRIBUTES, AUTOFLUSH, DESCRIPTION).set(bundle.getString("handler.autoflush"));
     }
@@ -358,6 +370,10 @@ class LoggingSubsystemProviders {
         modelNode.get(REQUEST_PROPERTIES, FORMATTER, DESCRIPTION).set(bundle.getString("handler.formatter"));
         modelNode.get(REQUEST_PROPERTIES, FORMATTER, REQUIRED).set(true);
 
+        modelNode.get(REQUEST_PROPERTIES, COMPILED_FORMATTER, TYPE).set(ModelType.BOOLEAN);
+        modelNode.get(REQUEST_PROPERTIES, COMPILED_FORMATTER, DESCRIPTION).set(bundle.getString("handler.compiled-formatter"));
+        modelNode.get(REQUEST_PROPERTIES, COMPILED_FORMATTER, REQUIRED).set(false);
+
         modelNode.get(REQUEST_PROPERTIES, AUTOFLUSH, TYPE).set(ModelType.BOOLEAN);
         modelNode.get(REQUEST_PROPERTIES, AUTOFLUSH, DESCRIPTION).set(bundle.getString("handler.autoflush"));
         modelNode.get(REQUEST_PROPERTIES, AUTOFLUSH, REQUIRED).set(false);
@@ -380,6 +396,10 @@ class LoggingSubsystemProviders {
         modelNode.get(REQUEST_PROPERTIES, FORMATTER, DESCRIPTION).set(bundle.getString("handler.formatter"));
         modelNode.get(REQUEST_PROPERTIES, FORMATTER, REQUIRED).set(true);
 
+        modelNode.get(REQUEST_PROPERTIES, COMPILED_FORMATTER, TYPE).set(ModelType.BOOLEAN);
+        modelNode.get(REQUEST_PROPERTIES, COMPILED_FORMATTER, DESCRIPTION).set(bundle.getString("handler.compiled-formatter"));
+        modelNode.get(REQUEST_PROPERTIES, COMPILED_FORMATTER, REQUIRED).set(false);
+
         modelNode.get(REQUEST_PROPERTIES, AUTOFLUSH, TYPE).set(ModelType.BOOLEAN);
         modelNode.get(REQUEST_PROPERTIES, AUTOFLUSH, DESCRIPTION).set(bundle.getString("handler.autoflush"));
         modelNode.get(REQUEST_PROPERTIES, AUTOFLUSH, REQUIRED).set(false);
@@ -480,6 +500,88 @@ class LoggingSubsystemProviders {
         }
     };
 
+    static final DescriptionProvider RING_BUFFER_ASYNC_HANDLER = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+
+            final ModelNode node = new ModelNode();
+            node.get(DESCRIPTION).set(bundle.getString("ring-buffer-async.handler"));
+
+            addCommonHandlerAttributes(node, bundle);
+
+            node.get(ATTRIBUTES, HANDLER, TYPE).set(ModelType.LIST);
+            node.get(ATTRIBUTES, HANDLER, VALUE_TYPE).set(ModelType.STRING);
+            node.get(ATTRIBUTES, HANDLER, DESCRIPTION).set(bundle.getString("logger.handlers"));
+
+            node.get(ATTRIBUTES, QUEUE_LENGTH, TYPE).set(ModelType.INT);
+            node.get(ATTRIBUTES, QUEUE_LENGTH, DESCRIPTION).set(bundle.getString("ring-buffer-async.queue-length"));
+
+            node.get(ATTRIBUTES, OVERFLOW_ACTION, TYPE).set(ModelType.STRING);
+            node.get(ATTRIBUTES, OVERFLOW_ACTION, DESCRIPTION).set(bundle.getString("async.overflow-action"));
+
+            node.get(ATTRIBUTES, WAIT_STRATEGY, TYPE).set(ModelType.STRING);
+            node.get(ATTRIBUTES, WAIT_STRATEGY, DESCRIPTION).set(bundle.getString("ring-buffer-async.wait-strategy"));
+
+            for (String metric : RingBufferAsyncHandlerMetrics.METRICS) {
+                node.get(ATTRIBUTES, metric, TYPE).set(ModelType.LONG);
+                node.get(ATTRIBUTES, metric, DESCRIPTION).set(bundle.getString("ring-buffer-async." + metric));
+            }
+
+            return node;
+        }
+    };
+
+    static final DescriptionProvider RING_BUFFER_ASYNC_HANDLER_ADD = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(ADD);
+            operation.get(DESCRIPTION).set(bundle.getString("ring-buffer-async.handler.add"));
+
+            addCommonHandlerRequestProperties(operation, bundle);
+
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, TYPE).set(ModelType.INT);
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, DESCRIPTION).set(bundle.getString("ring-buffer-async.queue-length"));
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, REQUIRED).set(false);
+
+            operation.get(REQUEST_PROPERTIES, OVERFLOW_ACTION, TYPE).set(ModelType.STRING);
+            operation.get(REQUEST_PROPERTIES, OVERFLOW_ACTION, DESCRIPTION).set(bundle.getString("async.overflow-action"));
+            operation.get(REQUEST_PROPERTIES, OVERFLOW_ACTION, REQUIRED).set(false);
+
+            operation.get(REQUEST_PROPERTIES, WAIT_STRATEGY, TYPE).set(ModelType.STRING);
+            operation.get(REQUEST_PROPERTIES, WAIT_STRATEGY, DESCRIPTION).set(bundle.getString("ring-buffer-async.wait-strategy"));
+            operation.get(REQUEST_PROPERTIES, WAIT_STRATEGY, REQUIRED).set(false);
+
+            return operation;
+        }
+    };
+
+    static final DescriptionProvider RING_BUFFER_ASYNC_HANDLER_UPDATE = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(RingBufferAsyncHandlerUpdateProperties.OPERATION_NAME);
+            operation.get(DESCRIPTION).set(bundle.getString("ring-buffer-async.handler.update"));
+
+            addCommonHandlerUpdateRequestProperties(operation, bundle);
+
+            operation.get(REQUEST_PROPERTIES, OVERFLOW_ACTION, TYPE).set(ModelType.STRING);
+            operation.get(REQUEST_PROPERTIES, OVERFLOW_ACTION, DESCRIPTION).set(bundle.getString("async.overflow-action"));
+            operation.get(REQUEST_PROPERTIES, OVERFLOW_ACTION, REQUIRED).set(false);
+
+            operation.get(REQUEST_PROPERTIES, WAIT_STRATEGY, TYPE).set(ModelType.STRING);
+            operation.get(REQUEST_PROPERTIES, WAIT_STRATEGY, DESCRIPTION).set(bundle.getString("ring-buffer-async.wait-strategy"));
+            operation.get(REQUEST_PROPERTIES, WAIT_STRATEGY, REQUIRED).set(false);
+
+            return operation;
+        }
+    };
+
     static final DescriptionProvider CONSOLE_HANDLER = new DescriptionProvider() {
         @Override
         public ModelNode getModelDescription(Locale locale) {
@@ -726,6 +828,122 @@ class LoggingSubsystemProviders {
         }
     };
 
+    static final DescriptionProvider BATCHED_FILE_HANDLER = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+
+            final ModelNode node = new ModelNode();
+            node.get(DESCRIPTION).set(bundle.getString("batched.file.handler"));
+
+            addCommonFileHandlerAttributes(node, bundle);
+            // records are flushed by size and interval instead
+            node.get(ATTRIBUTES).remove(AUTOFLUSH);
+
+            node.get(ATTRIBUTES, BUFFER_SIZE, TYPE).set(ModelType.STRING);
+            node.get(ATTRIBUTES, BUFFER_SIZE, DESCRIPTION).set(bundle.getString("batched.file.handler.buffer-size"));
+
+            node.get(ATTRIBUTES, FLUSH_INTERVAL, TYPE).set(ModelType.LONG);
+            node.get(ATTRIBUTES, FLUSH_INTERVAL, DESCRIPTION).set(bundle.getString("batched.file.handler.flush-interval"));
+            node.get(ATTRIBUTES, FLUSH_LEVEL, TYPE).set(ModelType.STRING);
+            node.get(ATTRIBUTES, FLUSH_LEVEL, DESCRIPTION).set(bundle.getString("batched.file.handler.flush-level"));
+
+            node.get(ATTRIBUTES, ROTATE_SIZE, TYPE).set(ModelType.STRING);
+            node.get(ATTRIBUTES, ROTATE_SIZE, DESCRIPTION).set(bundle.getString("batched.file.handler.rotate-size"));
+
+            node.get(ATTRIBUTES, MAX_BACKUP_INDEX, TYPE).set(ModelType.INT);
+            node.get(ATTRIBUTES, MAX_BACKUP_INDEX, DESCRIPTION).set(bundle.getString("size.periodic.handler.max-backup"));
+
+            node.get(ATTRIBUTES, SUFFIX, TYPE).set(ModelType.STRING);
+            node.get(ATTRIBUTES, SUFFIX, DESCRIPTION).set(bundle.getString("periodic.handler.suffix"));
+
+            node.get(ATTRIBUTES, COMPRESS, TYPE).set(ModelType.BOOLEAN);
+            node.get(ATTRIBUTES, COMPRESS, DESCRIPTION).set(bundle.getString("batched.file.handler.compress"));
+
+            return node;
+        }
+    };
+
+    private static void addBatchedFileHandlerRequestProperties(final ModelNode operation, final ResourceBundle bundle) {
+        operation.get(REQUEST_PROPERTIES).remove(AUTOFLUSH);
+
+        operation.get(REQUEST_PROPERTIES, BUFFER_SIZE, TYPE).set(ModelType.STRING);
+        operation.get(REQUEST_PROPERTIES, BUFFER_SIZE, DESCRIPTION).set(bundle.getString("batched.file.handler.buffer-size"));
+        operation.get(REQUEST_PROPERTIES, BUFFER_SIZE, REQUIRED).set(false);
+
+        operation.get(REQUEST_PROPERTIES, FLUSH_INTERVAL, TYPE).set(ModelType.LONG);
+        operation.get(REQUEST_PROPERTIES, FLUSH_INTERVAL, DESCRIPTION).set(bundle.getString("batched.file.handler.flush-interval"));
+        operation.get(REQUEST_PROPERTIES, FLUSH_INTERVAL, REQUIRED).set(false);
+
+        operation.get(REQUEST_PROPERTIES, FLUSH_LEVEL, TYPE).set(ModelType.STRING);
+        operation.get(REQUEST_PROPERTIES, FLUSH_LEVEL, DESCRIPTION).set(bundle.getString("batched.file.handler.flush-level"));
+        operation.get(REQUEST_PROPERTIES, FLUSH_LEVEL, REQUIRED).set(false);
+
+        operation.get(REQUEST_PROPERTIES, ROTATE_SIZE, TYPE).set(ModelType.STRING);
+        operation.get(REQUEST_PROPERTIES, ROTATE_SIZE, DESCRIPTION).set(bundle.getString("batched.file.handler.rotate-size"));
+        operation.get(REQUEST_PROPERTIES, ROTATE_SIZE, REQUIRED).set(false);
+
+        operation.get(REQUEST_PROPERTIES, MAX_BACKUP_INDEX, TYPE).set(ModelType.INT);
+        operation.get(REQUEST_PROPERTIES, MAX_BACKUP_INDEX, DESCRIPTION).set(bundle.getString("size.periodic.handler.max-backup"));
+        operation.get(REQUEST_PROPERTIES, MAX_BACKUP_INDEX, REQUIRED).set(false);
+
+        operation.get(REQUEST_PROPERTIES, SUFFIX, TYPE).set(ModelType.STRING);
+        operation.get(REQUEST_PROPERTIES, SUFFIX, DESCRIPTION).set(bundle.getString("periodic.handler.suffix"));
+        operation.get(REQUEST_PROPERTIES, SUFFIX, REQUIRED).set(false);
+
+        operation.get(REQUEST_PROPERTIES, COMPRESS, TYPE).set(ModelType.BOOLEAN);
+        operation.get(REQUEST_PROPERTIES, COMPRESS, DESCRIPTION).set(bundle.getString("batched.file.handler.compress"));
+        operation.get(REQUEST_PROPERTIES, COMPRESS, REQUIRED).set(false);
+    }
+
+    static final DescriptionProvider BATCHED_FILE_HANDLER_ADD = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(ADD);
+            operation.get(DESCRIPTION).set(bundle.getString("batched.file.handler.add"));
+
+            addCommonFileHandlerRequestProperties(operation, bundle);
+            addBatchedFileHandlerRequestProperties(operation, bundle);
+
+            return operation;
+        }
+    };
+
+    static final DescriptionProvider BATCHED_FILE_HANDLER_UPDATE = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(BatchedFileHandlerUpdateProperties.OPERATION_NAME);
+            operation.get(DESCRIPTION).set(bundle.getString("batched.file.handler.update"));
+
+            addCommonHandlerUpdateRequestProperties(operation, bundle);
+            addBatchedFileHandlerRequestProperties(operation, bundle);
+
+            return operation;
+        }
+    };
+
+    static final DescriptionProvider LOGGING_METRICS = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+
+            final ModelNode node = new ModelNode();
+            node.get(DESCRIPTION).set(bundle.getString("logging-metrics"));
+
+            for (String metric : LoggingMetrics.METRICS) {
+                node.get(ATTRIBUTES, metric, TYPE).set(ModelType.OBJECT);
+                node.get(ATTRIBUTES, metric, VALUE_TYPE).set(ModelType.LONG);
+                node.get(ATTRIBUTES, metric, DESCRIPTION).set(bundle.getString("logging-metrics." + metric));
+            }
+
+            return node;
+        }
+    };
+
     static final DescriptionProvider CUSTOM_HANDLER = new DescriptionProvider() {
         @Override
         public ModelNode getModelDescription(Locale locale) {
@@ -28,6 +28,7 @@ import org.jboss.dmr.ModelNode;
 
 import java.util.Set;
 
+import static org.jboss.as.logging.CommonAttributes.FLUSH_LEVEL;
 import static org.jboss.as.logging.CommonAttributes.LEVEL;
 
 /**
@@ -42,6 +43,7 @@ class LoggingValidators {
     private LoggingValidators() {
         validator = new ParametersValidator();
         validator.registerValidator(LEVEL, new LogLevelValidator());
+        validator.registerValidator(FLUSH_LEVEL, new LogLevelValidator());
     }
 
     /**
@@ -33,6 +33,7 @@ import org.jboss.as.controller.ServiceVerificationHandler;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.logging.CommonAttributes.APPEND;
 import static org.jboss.as.logging.CommonAttributes.AUTOFLUSH;
+import static org.jboss.as.logging.CommonAttributes.COMPILED_FORMATTER;
 import static org.jboss.as.logging.CommonAttributes.ENCODING;
 import static org.jboss.as.logging.CommonAttributes.FILE;
 import static org.jboss.as.logging.CommonAttributes.FORMATTER;
@@ -61,6 +62,7 @@ class PeriodicRotatingFileHandlerAdd extends AbstractAddStepHandler {
         model.get(AUTOFLUSH).set(operation.get(AUTOFLUSH));
         model.get(ENCODING).set(operation.get(ENCODING));
         model.get(FORMATTER).set(operation.get(FORMATTER));
+        model.get(COMPILED_FORMATTER).set(operation.get(COMPILED_FORMATTER));
         model.get(LEVEL).set(operation.get(LEVEL));
         if (operation.hasDefined(LEVEL)) model.get(FILE).set(operation.get(FILE));
         model.get(SUFFIX).set(operation.get(SUFFIX));
@@ -0,0 +1,162 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.logging;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+
+/**
+ * Handlers which count the log records published by the subsystem's loggers, per level and per handler.
+ * <p>
+ * The counters belong to the logger services which install them: {@link RootLoggerService} counts the records
+ * reaching the root logger's handlers by level, so records of categories which do not use their parent handlers are
+ * not included, and each {@link LoggerHandlerService} counts the records its handler accepts.  The counts go away
+ * with the services, so removing a handler or a logger also removes its counts.
+ */
+final class RecordCounters {
+
+    private RecordCounters() {
+    }
+
+    /**
+     * Counts records by level.  The standard levels are counted in a fixed array indexed by level value; only
+     * custom levels need a map lookup.
+     */
+    static final class LevelCounter extends ExtHandler {
+
+        private static final Level[] LEVELS = {
+                org.jboss.logmanager.Level.FATAL,
+                org.jboss.logmanager.Level.ERROR,
+                org.jboss.logmanager.Level.WARN,
+                org.jboss.logmanager.Level.INFO,
+                Level.CONFIG,
+                org.jboss.logmanager.Level.DEBUG,
+                org.jboss.logmanager.Level.TRACE,
+                Level.FINEST,
+        };
+
+        private final AtomicLongArray counts = new AtomicLongArray(LEVELS.length);
+
+        private final ConcurrentMap<String, AtomicLong> others = new ConcurrentHashMap<String, AtomicLong>();
+
+        protected void doPublish(final ExtLogRecord record) {
+            final Level level = record.getLevel();
+            final int index = index(level.intValue());
+            if (index >= 0) {
+                counts.incrementAndGet(index);
+            } else {
+                counter(level.getName()).incrementAndGet();
+            }
+        }
+
+        private static int index(final int value) {
+            switch (value) {
+                case 1100: return 0;
+                case 1000: return 1;
+                case 900: return 2;
+                case 800: return 3;
+                case 700: return 4;
+                case 500: return 5;
+                case 400: return 6;
+                case 300: return 7;
+                default: return -1;
+            }
+        }
+
+        private AtomicLong counter(final String name) {
+            AtomicLong counter = others.get(name);
+            if (counter == null) {
+                final AtomicLong newCounter = new AtomicLong();
+                counter = others.putIfAbsent(name, newCounter);
+                if (counter == null) {
+                    counter = newCounter;
+                }
+            }
+            return counter;
+        }
+
+        /**
+         * Get the number of records counted per level.
+         *
+         * @return the non-zero counts keyed by level name
+         */
+        Map<String, Long> getCounts() {
+            final Map<String, Long> snapshot = new TreeMap<String, Long>();
+            for (int i = 0; i < LEVELS.length; i++) {
+                final long count = counts.get(i);
+                if (count > 0L) {
+                    snapshot.put(LEVELS[i].getName(), Long.valueOf(count));
+                }
+            }
+            for (Map.Entry<String, AtomicLong> entry : others.entrySet()) {
+                snapshot.put(entry.getKey(), Long.valueOf(entry.getValue().get()));
+            }
+            return snapshot;
+        }
+
+        public void flush() {
+        }
+
+        public void close() {
+        }
+    }
+
+    /**
+     * Counts the records a handler accepts before passing them on to it.
+     */
+    static final class HandlerCounter extends Handler {
+
+        private final AtomicLong counter;
+
+        private final Handler delegate;
+
+        HandlerCounter(final AtomicLong counter, final Handler delegate) {
+            this.counter = counter;
+            this.delegate = delegate;
+        }
+
+        public void publish(final LogRecord record) {
+            if (delegate.isLoggable(record)) {
+                counter.incrementAndGet();
+                delegate.publish(record);
+            }
+        }
+
+        public void flush() {
+            delegate.flush();
+        }
+
+        public void close() {
+            // the handler service owns the delegate
+        }
+    }
+}
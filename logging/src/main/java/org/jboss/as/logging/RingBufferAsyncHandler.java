@@ -0,0 +1,381 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+
+/**
+ * An asynchronous handler which hands records to a single consumer thread through a preallocated, lock-free ring.
+ * <p>
+ * Producers claim a slot with a single compare-and-set on the tail sequence and publish the record by advancing the
+ * slot's own sequence, so neither side takes a lock or allocates a queue node per record.  The consumer drains
+ * whatever has been published in one batch before dispatching to the subhandlers, and waits for more records
+ * according to its {@link WaitStrategy}.  When the ring is full the {@link OverflowAction} decides whether the
+ * producer waits for a free slot or the record is dropped.
+ */
+public final class RingBufferAsyncHandler extends ExtHandler {
+
+    public static final int DEFAULT_QUEUE_LENGTH = 512;
+
+    private static final int SPIN_TRIES = 128;
+    private static final long SLEEP_NANOS = 100000L;
+
+    private static final int STATE_NEW = 0;
+    private static final int STATE_RUNNING = 1;
+    private static final int STATE_CLOSED = 2;
+
+    private static final AtomicIntegerFieldUpdater<RingBufferAsyncHandler> stateUpdater = AtomicIntegerFieldUpdater.newUpdater(RingBufferAsyncHandler.class, "state");
+
+    private final ExtLogRecord[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final Thread thread;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushTime = new AtomicLong();
+    private final AtomicLong maxFlushTime = new AtomicLong();
+
+    @SuppressWarnings("unused")
+    private volatile int state;
+    private volatile boolean waiting;
+    private volatile OverflowAction overflowAction = OverflowAction.BLOCK;
+    private volatile WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param queueLength the minimum number of records the ring can hold, rounded up to a power of two
+     * @param threadFactory the factory for the consumer thread
+     */
+    public RingBufferAsyncHandler(final int queueLength, final ThreadFactory threadFactory) {
+        final int capacity = capacityFor(queueLength < 1 ? DEFAULT_QUEUE_LENGTH : queueLength);
+        entries = new ExtLogRecord[capacity];
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        mask = capacity - 1;
+        thread = threadFactory.newThread(new Consumer());
+        if (thread == null) {
+            throw new IllegalArgumentException("Thread factory did not create a thread");
+        }
+    }
+
+    private static int capacityFor(final int queueLength) {
+        int capacity = 2;
+        while (capacity < queueLength && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    public OverflowAction getOverflowAction() {
+        return overflowAction;
+    }
+
+    public void setOverflowAction(final OverflowAction overflowAction) {
+        checkAccess();
+        if (overflowAction == null) {
+            throw new IllegalArgumentException("overflowAction is null");
+        }
+        this.overflowAction = overflowAction;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public void setWaitStrategy(final WaitStrategy waitStrategy) {
+        checkAccess();
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("waitStrategy is null");
+        }
+        this.waitStrategy = waitStrategy;
+        if (waiting) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Get the number of slots in the ring.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Get the number of records published but not yet handed to the subhandlers.
+     *
+     * @return the number of queued records
+     */
+    public long getQueuedCount() {
+        final long queued = tail.get() - head.get();
+        return queued < 0L ? 0L : queued;
+    }
+
+    /**
+     * Get the number of records dropped because the ring was full or the handler was closed.
+     *
+     * @return the number of dropped records
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Get the average time the consumer took to hand a batch of records to the subhandlers.
+     *
+     * @return the average batch latency in nanoseconds
+     */
+    public long getAverageFlushLatency() {
+        final long count = flushCount.get();
+        return count == 0L ? 0L : flushTime.get() / count;
+    }
+
+    /**
+     * Get the longest time the consumer took to hand a batch of records to the subhandlers.
+     *
+     * @return the maximum batch latency in nanoseconds
+     */
+    public long getMaxFlushLatency() {
+        return maxFlushTime.get();
+    }
+
+    protected void doPublish(final ExtLogRecord record) {
+        switch (state) {
+            case STATE_NEW: {
+                if (stateUpdater.compareAndSet(this, STATE_NEW, STATE_RUNNING)) {
+                    thread.start();
+                }
+                break;
+            }
+            case STATE_RUNNING: {
+                break;
+            }
+            default: {
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+        // the consumer thread must not see any caller-dependent state
+        if (isCallerCalculationRequired()) {
+            record.copyAll();
+        } else {
+            record.copyMdc();
+            record.getFormattedMessage();
+        }
+        final long sequence = claim();
+        if (sequence < 0L) {
+            dropped.incrementAndGet();
+            return;
+        }
+        final int index = (int) sequence & mask;
+        entries[index] = record;
+        sequences.set(index, sequence + 1L);
+        if (waiting) {
+            LockSupport.unpark(thread);
+        }
+        if (state == STATE_CLOSED) {
+            // the handler was closed while this record was being published; once the consumer has exited, a record
+            // it did not pick up is lost and must be counted
+            awaitConsumer();
+            if (sequences.get(index) == sequence + 1L) {
+                entries[index] = null;
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The stack walk to find a record's caller is the most expensive part of handing a record to another thread, so
+     * it is skipped when every subhandler formats with a pattern that never prints the caller.
+     */
+    private boolean isCallerCalculationRequired() {
+        for (Handler handler : handlers) {
+            final Formatter formatter = handler.getFormatter();
+            if (!(formatter instanceof CompiledPatternFormatter) || ((CompiledPatternFormatter) formatter).isCallerCalculationRequired()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long claim() {
+        int tries = 0;
+        for (;;) {
+            final long sequence = tail.get();
+            final long delta = sequences.get((int) sequence & mask) - sequence;
+            if (delta == 0L) {
+                if (tail.compareAndSet(sequence, sequence + 1L)) {
+                    return sequence;
+                }
+            } else if (delta < 0L) {
+                // the slot still holds a record from the previous lap; the ring is full
+                if (overflowAction == OverflowAction.DISCARD || state == STATE_CLOSED) {
+                    return -1L;
+                }
+                if (++tries > SPIN_TRIES) {
+                    LockSupport.parkNanos(this, SLEEP_NANOS);
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+    }
+
+    public void flush() {
+        for (Handler handler : handlers) {
+            handler.flush();
+        }
+    }
+
+    public void close() throws SecurityException {
+        checkAccess();
+        if (stateUpdater.getAndSet(this, STATE_CLOSED) == STATE_RUNNING) {
+            LockSupport.unpark(thread);
+            awaitConsumer();
+        }
+    }
+
+    private void awaitConsumer() {
+        if (Thread.currentThread() == thread) {
+            // a subhandler logging back into this handler
+            return;
+        }
+        boolean interrupted = false;
+        try {
+            for (;;) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void dispatch(final ExtLogRecord record) {
+        for (Handler handler : handlers) {
+            try {
+                handler.publish(record);
+            } catch (Exception e) {
+                reportError("Failed to publish log record", e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    private void recordFlush(final long elapsed) {
+        flushCount.incrementAndGet();
+        flushTime.addAndGet(elapsed);
+        long max;
+        while (elapsed > (max = maxFlushTime.get())) {
+            if (maxFlushTime.compareAndSet(max, elapsed)) {
+                break;
+            }
+        }
+    }
+
+    private final class Consumer implements Runnable {
+
+        public void run() {
+            long sequence = 0L;
+            int idle = 0;
+            for (;;) {
+                int index = (int) sequence & mask;
+                if (sequences.get(index) == sequence + 1L) {
+                    idle = 0;
+                    final long start = System.nanoTime();
+                    do {
+                        final ExtLogRecord record = entries[index];
+                        entries[index] = null;
+                        // hand the slot back before dispatching so producers are not held up by slow subhandlers
+                        sequences.set(index, sequence + entries.length);
+                        head.lazySet(++sequence);
+                        dispatch(record);
+                        index = (int) sequence & mask;
+                    } while (sequences.get(index) == sequence + 1L);
+                    recordFlush(System.nanoTime() - start);
+                } else if (state == STATE_CLOSED && tail.get() == sequence) {
+                    return;
+                } else {
+                    await(++idle, index, sequence);
+                }
+            }
+        }
+
+        private void await(final int idle, final int index, final long sequence) {
+            switch (waitStrategy) {
+                case SPINNING: {
+                    break;
+                }
+                case YIELDING: {
+                    if (idle > SPIN_TRIES) {
+                        Thread.yield();
+                    }
+                    break;
+                }
+                case SLEEPING: {
+                    if (idle > SPIN_TRIES) {
+                        LockSupport.parkNanos(RingBufferAsyncHandler.this, SLEEP_NANOS);
+                    } else if (idle > SPIN_TRIES >> 1) {
+                        Thread.yield();
+                    }
+                    break;
+                }
+                case BLOCKING: {
+                    if (idle > SPIN_TRIES) {
+                        waiting = true;
+                        // re-check after announcing, a producer publishing concurrently will see the flag and unpark
+                        if (sequences.get(index) != sequence + 1L && state != STATE_CLOSED && waitStrategy == WaitStrategy.BLOCKING) {
+                            LockSupport.park(RingBufferAsyncHandler.this);
+                        }
+                        waiting = false;
+                    } else if (idle > SPIN_TRIES >> 1) {
+                        Thread.yield();
+                    }
+                    break;
+                }
+            }
+        }
+    }
+}
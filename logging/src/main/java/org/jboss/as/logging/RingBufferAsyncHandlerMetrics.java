@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import java.util.logging.Handler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.logging.CommonAttributes.AVERAGE_FLUSH_LATENCY;
+import static org.jboss.as.logging.CommonAttributes.DROPPED_RECORDS;
+import static org.jboss.as.logging.CommonAttributes.MAX_FLUSH_LATENCY;
+import static org.jboss.as.logging.CommonAttributes.QUEUED_RECORDS;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the runtime metrics of a ring buffer async logging handler.
+ */
+class RingBufferAsyncHandlerMetrics implements OperationStepHandler {
+
+    static final RingBufferAsyncHandlerMetrics INSTANCE = new RingBufferAsyncHandlerMetrics();
+
+    static final String[] METRICS = { DROPPED_RECORDS, QUEUED_RECORDS, AVERAGE_FLUSH_LATENCY, MAX_FLUSH_LATENCY };
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        if (context.getType() == OperationContext.Type.SERVER) {
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    final String name = PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement().getValue();
+                    final ServiceController<?> controller = context.getServiceRegistry(false).getService(LogServices.handlerName(name));
+                    if (controller != null && controller.getState() == ServiceController.State.UP) {
+                        final Handler handler = (Handler) controller.getValue();
+                        if (handler instanceof RingBufferAsyncHandler) {
+                            final RingBufferAsyncHandler ringBufferHandler = (RingBufferAsyncHandler) handler;
+                            final String metric = operation.require(NAME).asString();
+                            final ModelNode result = context.getResult();
+                            if (DROPPED_RECORDS.equals(metric)) {
+                                result.set(ringBufferHandler.getDroppedCount());
+                            } else if (QUEUED_RECORDS.equals(metric)) {
+                                result.set(ringBufferHandler.getQueuedCount());
+                            } else if (AVERAGE_FLUSH_LATENCY.equals(metric)) {
+                                result.set(ringBufferHandler.getAverageFlushLatency());
+                            } else if (MAX_FLUSH_LATENCY.equals(metric)) {
+                                result.set(ringBufferHandler.getMaxFlushLatency());
+                            }
+                        }
+                    }
+                    context.completeStep();
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+        context.completeStep();
+    }
+}
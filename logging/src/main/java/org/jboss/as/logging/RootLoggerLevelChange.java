@@ -28,7 +28,6 @@ import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.dmr.ModelNode;
 import org.jboss.logmanager.Level;
-import org.jboss.logmanager.Logger;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceRegistry;
 
@@ -55,9 +54,10 @@ public class RootLoggerLevelChange implements OperationStepHandler {
             context.addStep(new OperationStepHandler() {
                 public void execute(OperationContext context, ModelNode operation) {
                     final ServiceRegistry serviceRegistry = context.getServiceRegistry(false);
-                    final ServiceController<Logger> controller = (ServiceController<Logger>) serviceRegistry.getService(LogServices.ROOT_LOGGER);
+                    final ServiceController<?> controller = serviceRegistry.getService(LogServices.ROOT_LOGGER);
                     if (controller != null && operation.hasDefined(LEVEL)) {
-                        controller.getValue().setLevel(Level.parse(level));
+                        // keep the service in step so a restart applies the new level
+                        ((RootLoggerService) controller.getService()).setLevel(Level.parse(level));
                     }
                     context.completeStep();
                 }
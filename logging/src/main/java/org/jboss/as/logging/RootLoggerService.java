@@ -27,6 +27,7 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 
+import java.util.Map;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 
@@ -41,6 +42,8 @@ final class RootLoggerService extends AbstractLoggerService {
 
     private Handler[] saved;
 
+    private final RecordCounters.LevelCounter levelCounter = new RecordCounters.LevelCounter();
+
     protected RootLoggerService() {
         super("");
     }
@@ -49,6 +52,7 @@ final class RootLoggerService extends AbstractLoggerService {
         logger.setLevel(level);
         log.info("Removing bootstrap log handlers");
         saved = logger.clearHandlers();
+        logger.addHandler(levelCounter);
     }
 
     protected synchronized void stop(final StopContext context, final Logger logger) {
@@ -61,6 +65,15 @@ final class RootLoggerService extends AbstractLoggerService {
         log.info("Restored bootstrap log handlers");
     }
 
+    /**
+     * Get the number of records which reached the root logger's handlers, per level.
+     *
+     * @return the counts keyed by level name
+     */
+    Map<String, Long> getLevelCounts() {
+        return levelCounter.getCounts();
+    }
+
     public synchronized Level getLevel() {
         return level;
     }
@@ -0,0 +1,230 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.jboss.logmanager.formatters.PatternFormatter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link BatchedFileHandler}.
+ */
+public class BatchedFileHandlerTestCase {
+
+    private static final long TIMEOUT = 10000L;
+
+    private File dir;
+    private File file;
+    private BatchedFileHandler handler;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = File.createTempFile("batched", "");
+        dir.delete();
+        dir.mkdir();
+        file = new File(dir, "server.log");
+        handler = new BatchedFileHandler(Executors.defaultThreadFactory());
+        handler.setFormatter(new PatternFormatter("%s%n"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        handler.close();
+        for (File child : dir.listFiles()) {
+            child.delete();
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void testSizeRotation() throws Exception {
+        handler.setRotateSize(5L);
+        handler.setMaxBackupIndex(3);
+        handler.setFlushInterval(0L);
+        handler.setFileName(file.getPath());
+
+        // each round exceeds the rotate size and rotates the live file to .1, shifting the older backups up
+        for (int round = 1; round <= 4; round++) {
+            handler.publish(record(Level.INFO, "round " + round));
+            awaitContent(new File(file.getPath() + ".1"), false, "round " + round);
+        }
+        assertEquals(lines("round 3"), read(new File(file.getPath() + ".2"), false));
+        assertEquals(lines("round 2"), read(new File(file.getPath() + ".3"), false));
+        assertFalse(new File(file.getPath() + ".4").exists());
+        assertEquals(0L, file.length());
+
+        handler.setRotateSize(0L);
+        handler.publish(record(Level.INFO, "live"));
+        handler.publish(record(Level.INFO, "not rotated"));
+        handler.close();
+        assertEquals(lines("live", "not rotated"), read(file, false));
+    }
+
+    @Test
+    public void testCompression() throws Exception {
+        handler.setRotateSize(5L);
+        handler.setMaxBackupIndex(2);
+        handler.setCompress(true);
+        handler.setFlushInterval(0L);
+        handler.setFileName(file.getPath());
+
+        for (int round = 1; round <= 3; round++) {
+            handler.publish(record(Level.INFO, "round " + round));
+            awaitContent(new File(file.getPath() + ".1.gz"), true, "round " + round);
+        }
+        assertEquals(lines("round 2"), read(new File(file.getPath() + ".2.gz"), true));
+        assertFalse(new File(file.getPath() + ".3.gz").exists());
+        assertFalse(new File(file.getPath() + ".1").exists());
+        // nothing is left behind from moving the live file aside
+        assertEquals(3, dir.list().length);
+    }
+
+    @Test
+    public void testPeriodRotation() throws Exception {
+        final String suffix = ".yyyy-MM-dd";
+        final long yesterday = System.currentTimeMillis() - 24L * 60L * 60L * 1000L;
+        handler.setFileName(file.getPath());
+        handler.publish(record(Level.INFO, "yesterday"));
+        handler.close();
+        file.setLastModified(yesterday);
+
+        // the existing file was last written in the previous period, so the next record rotates it
+        handler = new BatchedFileHandler(Executors.defaultThreadFactory());
+        handler.setFormatter(new PatternFormatter("%s%n"));
+        handler.setSuffix(suffix);
+        handler.setFileName(file.getPath());
+        handler.publish(record(Level.INFO, "today"));
+
+        // rotation happens in the background, so the record which crossed the boundary is still in the old file
+        final File rotated = new File(file.getPath() + new SimpleDateFormat(suffix).format(new Date(yesterday)));
+        awaitContent(rotated, false, "yesterday", "today");
+        handler.publish(record(Level.INFO, "later"));
+        handler.close();
+        assertEquals(lines("later"), read(file, false));
+    }
+
+    @Test
+    public void testCloseFlushes() throws Exception {
+        handler.setFlushInterval(60L * 60L * 1000L);
+        handler.setFileName(file.getPath());
+        for (int i = 0; i < 100; i++) {
+            handler.publish(record(Level.INFO, "record " + i));
+        }
+        // still buffered
+        assertEquals(0L, file.length());
+
+        handler.close();
+        final List<String> lines = read(file, false);
+        assertEquals(100, lines.size());
+        assertEquals("record 99", lines.get(99));
+    }
+
+    @Test
+    public void testFlushLevel() throws Exception {
+        handler.setFlushInterval(60L * 60L * 1000L);
+        handler.setFileName(file.getPath());
+        handler.publish(record(Level.INFO, "info"));
+        assertEquals(0L, file.length());
+
+        // an error is written straight away, together with what was buffered before it
+        handler.publish(record(Level.ERROR, "error"));
+        assertEquals(lines("info", "error"), read(file, false));
+
+        handler.setFlushLevel(null);
+        handler.publish(record(Level.FATAL, "fatal"));
+        assertEquals(lines("info", "error"), read(file, false));
+        handler.flush();
+        assertEquals(lines("info", "error", "fatal"), read(file, false));
+    }
+
+    private static ExtLogRecord record(final Level level, final String message) {
+        final ExtLogRecord record = new ExtLogRecord(level, message, BatchedFileHandlerTestCase.class.getName());
+        record.setLoggerName("test");
+        return record;
+    }
+
+    private static List<String> lines(final String... lines) {
+        final List<String> list = new ArrayList<String>();
+        for (String line : lines) {
+            list.add(line);
+        }
+        return list;
+    }
+
+    /**
+     * Wait for the background thread to finish a rotation which leaves {@code file} with the lines given.
+     */
+    private static void awaitContent(final File file, final boolean compressed, final String... lines) throws Exception {
+        final long deadline = System.currentTimeMillis() + TIMEOUT;
+        for (;;) {
+            if (file.exists()) {
+                try {
+                    if (lines(lines).equals(read(file, compressed))) {
+                        return;
+                    }
+                } catch (IOException e) {
+                    // still being written
+                }
+            }
+            assertTrue("Timed out waiting for " + file + " to contain " + lines(lines), System.currentTimeMillis() < deadline);
+            Thread.sleep(10L);
+        }
+    }
+
+    private static List<String> read(final File file, final boolean compressed) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            if (compressed) {
+                in = new GZIPInputStream(in);
+            }
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(in));
+            final List<String> lines = new ArrayList<String>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            return lines;
+        } finally {
+            in.close();
+        }
+    }
+}
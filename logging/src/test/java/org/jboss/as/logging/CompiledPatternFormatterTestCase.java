@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.StreamHandler;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.jboss.logmanager.formatters.PatternFormatter;
+import org.junit.Test;
+
+/**
+ * Checks that {@link CompiledPatternFormatter} produces the same text as the log manager's {@link PatternFormatter}
+ * on the patterns shipped in the default configurations.
+ */
+public class CompiledPatternFormatterTestCase {
+
+    static final String[] PATTERNS = {
+            "%d{HH:mm:ss,SSS} %-5p [%c] (%t) %s%E%n",
+            "%d{HH:mm:ss,SSS} %-5p [%c] %s%E%n",
+            "%d %-5p [%c] (%t) %s%E%n",
+            "%d{HH:mm:ss,SSS} %-5p [%c{1}] %X{user} %x %m%n",
+    };
+
+    @Test
+    public void testSameOutput() throws Exception {
+        final ExtLogRecord[] records = createRecords();
+        for (String pattern : PATTERNS) {
+            final Formatter expected = new PatternFormatter(pattern);
+            final Formatter actual = new CompiledPatternFormatter(pattern);
+            for (ExtLogRecord record : records) {
+                assertEquals(pattern, expected.format(record), actual.format(record));
+            }
+        }
+    }
+
+    @Test
+    public void testCallerCalculationRequired() throws Exception {
+        for (String pattern : PATTERNS) {
+            assertFalse(pattern, new CompiledPatternFormatter(pattern).isCallerCalculationRequired());
+        }
+        assertTrue(new CompiledPatternFormatter("%d %-5p [%C.%M] %s%n").isCallerCalculationRequired());
+        assertTrue(new CompiledPatternFormatter("%d %-5p (%F:%L) %s%n").isCallerCalculationRequired());
+        assertTrue(new CompiledPatternFormatter("%d %-5p %l %s%n").isCallerCalculationRequired());
+    }
+
+    @Test
+    public void testFormatterSpec() throws Exception {
+        final ModelNode model = new ModelNode();
+        final Handler handler = new StreamHandler();
+
+        AbstractFormatterSpec.Factory.create(model).apply(handler);
+        assertTrue(handler.getFormatter() instanceof PatternFormatter);
+
+        model.get(CommonAttributes.FORMATTER).set(PATTERNS[0]);
+        AbstractFormatterSpec.Factory.create(model).apply(handler);
+        assertTrue(handler.getFormatter() instanceof PatternFormatter);
+
+        model.get(CommonAttributes.COMPILED_FORMATTER).set(true);
+        AbstractFormatterSpec.Factory.create(model).apply(handler);
+        assertTrue(handler.getFormatter() instanceof CompiledPatternFormatter);
+    }
+
+    static ExtLogRecord[] createRecords() {
+        final ExtLogRecord[] records = new ExtLogRecord[16];
+        final long now = System.currentTimeMillis();
+        for (int i = 0; i < records.length; i++) {
+            final ExtLogRecord record = new ExtLogRecord(i % 4 == 0 ? Level.WARN : Level.INFO, "Deployed \"{0}\" in {1} ms",
+                    ExtLogRecord.FormatStyle.MESSAGE_FORMAT, CompiledPatternFormatterTestCase.class.getName());
+            record.setParameters(new Object[] { "app-" + i + ".war", Integer.valueOf(i * 7) });
+            record.setLoggerName("org.jboss.as.server.deployment");
+            // a few records share a millisecond, as they do under load
+            record.setMillis(now + (i >> 2));
+            if (i == records.length - 1) {
+                record.setThrown(new IllegalStateException("failed"));
+            }
+            records[i] = record;
+        }
+        return records;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.logging.Handler;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.jboss.logmanager.Logger;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ValueService;
+import org.jboss.msc.value.ImmediateValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the record counts kept by the logger services and that runtime level changes survive a service restart.
+ */
+public class LoggingMetricsTestCase {
+
+    private static final String CATEGORY = LoggingMetricsTestCase.class.getName();
+
+    private ServiceContainer container;
+
+    private NullHandler consoleHandler;
+
+    private NullHandler fileHandler;
+
+    @Before
+    public void setUp() throws Exception {
+        container = ServiceContainer.Factory.create();
+        consoleHandler = new NullHandler();
+        fileHandler = new NullHandler();
+        fileHandler.setLevel(Level.WARN);
+        install(LogServices.handlerName("CONSOLE"), new ValueService<Handler>(new ImmediateValue<Handler>(consoleHandler)));
+        install(LogServices.handlerName("FILE"), new ValueService<Handler>(new ImmediateValue<Handler>(fileHandler)));
+
+        final RootLoggerService rootLogger = new RootLoggerService();
+        rootLogger.setLevel(Level.INFO);
+        install(LogServices.ROOT_LOGGER, rootLogger);
+        installLoggerHandler("", "CONSOLE");
+        installLoggerHandler("", "FILE");
+
+        final LoggerService logger = new LoggerService(CATEGORY);
+        logger.setLevel(Level.DEBUG);
+        install(LogServices.loggerName(CATEGORY), logger);
+        installLoggerHandler(CATEGORY, "FILE");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        container.shutdown();
+        container.awaitTermination();
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        final Logger logger = Logger.getLogger(CATEGORY);
+        logger.log(Level.DEBUG, "debug");
+        logger.info("info");
+        logger.info("info");
+        logger.log(Level.WARN, "warn");
+        logger.log(Level.ERROR, "error");
+        Logger.getLogger("other.category").info("info");
+
+        final Map<String, Long> levels = LoggingMetrics.getLevelCounts(container);
+        assertEquals(Long.valueOf(1L), levels.get("DEBUG"));
+        assertEquals(Long.valueOf(3L), levels.get("INFO"));
+        assertEquals(Long.valueOf(1L), levels.get("WARN"));
+        assertEquals(Long.valueOf(1L), levels.get("ERROR"));
+        assertEquals(4, levels.size());
+
+        final Map<String, Long> handlers = LoggingMetrics.getHandlerCounts(container);
+        assertEquals(Long.valueOf(6L), handlers.get("CONSOLE"));
+        // FILE is assigned to both loggers and only accepts WARN and above
+        assertEquals(Long.valueOf(4L), handlers.get("FILE"));
+        assertEquals(6, consoleHandler.count);
+        assertEquals(4, fileHandler.count);
+    }
+
+    @Test
+    public void testCountsRemovedWithHandler() throws Exception {
+        Logger.getLogger(CATEGORY).log(Level.WARN, "warn");
+        assertEquals(Long.valueOf(2L), LoggingMetrics.getHandlerCounts(container).get("FILE"));
+
+        remove(LogServices.loggerHandlerName(CATEGORY, "FILE"));
+        remove(LogServices.loggerHandlerName("", "FILE"));
+        assertNull(LoggingMetrics.getHandlerCounts(container).get("FILE"));
+        assertEquals(Long.valueOf(1L), LoggingMetrics.getHandlerCounts(container).get("CONSOLE"));
+    }
+
+    @Test
+    public void testLevelChangeSurvivesRestart() throws Exception {
+        final ServiceController<?> controller = container.getRequiredService(LogServices.loggerName(CATEGORY));
+        // as change-log-level does
+        ((LoggerService) controller.getService()).setLevel(Level.ERROR);
+        final Logger logger = Logger.getLogger(CATEGORY);
+        assertEquals(Level.ERROR, logger.getLevel());
+
+        awaitState(controller, ServiceController.Mode.NEVER, ServiceController.State.DOWN);
+        assertNull(logger.getLevel());
+        awaitState(controller, ServiceController.Mode.ACTIVE, ServiceController.State.UP);
+        assertEquals(Level.ERROR, logger.getLevel());
+
+        // the handler assignment restarted with the logger and kept its count
+        logger.log(Level.WARN, "not logged");
+        logger.log(Level.ERROR, "logged");
+        awaitState(container.getRequiredService(LogServices.loggerHandlerName(CATEGORY, "FILE")), ServiceController.Mode.ACTIVE, ServiceController.State.UP);
+        assertEquals(Long.valueOf(2L), LoggingMetrics.getHandlerCounts(container).get("FILE"));
+    }
+
+    private void installLoggerHandler(final String loggerName, final String handlerName) throws Exception {
+        final LoggerHandlerService service = new LoggerHandlerService(loggerName, handlerName);
+        final ServiceName name = LogServices.loggerHandlerName(loggerName, handlerName);
+        final ServiceController<?> controller = container.addService(name, service)
+                .addDependency(LogServices.loggerName(loggerName))
+                .addDependency(LogServices.handlerName(handlerName), Handler.class, service.getHandlerInjector())
+                .install();
+        awaitState(controller, ServiceController.Mode.ACTIVE, ServiceController.State.UP);
+    }
+
+    private void install(final ServiceName name, final org.jboss.msc.service.Service<?> service) throws Exception {
+        awaitState(container.addService(name, service).install(), ServiceController.Mode.ACTIVE, ServiceController.State.UP);
+    }
+
+    private void remove(final ServiceName name) throws Exception {
+        final ServiceController<?> controller = container.getRequiredService(name);
+        controller.setMode(ServiceController.Mode.REMOVE);
+        final long deadline = System.currentTimeMillis() + 10000L;
+        while (container.getService(name) != null) {
+            assertTrue("Timed out removing " + name, System.currentTimeMillis() < deadline);
+            Thread.sleep(10L);
+        }
+    }
+
+    private static void awaitState(final ServiceController<?> controller, final ServiceController.Mode mode, final ServiceController.State state) throws Exception {
+        controller.setMode(mode);
+        final long deadline = System.currentTimeMillis() + 10000L;
+        while (controller.getState() != state) {
+            assertTrue("Timed out waiting for " + controller.getName() + " to be " + state, System.currentTimeMillis() < deadline);
+            Thread.sleep(10L);
+        }
+    }
+
+    private static final class NullHandler extends ExtHandler {
+
+        private int count;
+
+        protected void doPublish(final ExtLogRecord record) {
+            count++;
+        }
+
+        public void flush() {
+        }
+
+        public void close() {
+        }
+    }
+}
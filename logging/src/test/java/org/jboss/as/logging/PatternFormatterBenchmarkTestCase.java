@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.logging;
+
+import java.util.logging.Formatter;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.formatters.PatternFormatter;
+import org.junit.Test;
+
+/**
+ * Times {@link CompiledPatternFormatter} against the log manager's {@link PatternFormatter}.  This is excluded from
+ * the default test run; enable the {@code benchmark-tests} profile to run it.
+ */
+public class PatternFormatterBenchmarkTestCase {
+
+    private static final int ITERATIONS = 200000;
+
+    @Test
+    public void testFormat() throws Exception {
+        final ExtLogRecord[] records = CompiledPatternFormatterTestCase.createRecords();
+        for (String pattern : CompiledPatternFormatterTestCase.PATTERNS) {
+            final Formatter patternFormatter = new PatternFormatter(pattern);
+            final Formatter compiledFormatter = new CompiledPatternFormatter(pattern);
+            // warm up both paths
+            format(patternFormatter, records, ITERATIONS / 10);
+            format(compiledFormatter, records, ITERATIONS / 10);
+
+            final long patternTime = format(patternFormatter, records, ITERATIONS);
+            final long compiledTime = format(compiledFormatter, records, ITERATIONS);
+            System.out.printf("%d records formatted with \"%s\": %d ms with PatternFormatter, %d ms with CompiledPatternFormatter%n",
+                    ITERATIONS, pattern.replace("\n", "\\n"), patternTime / 1000000, compiledTime / 1000000);
+        }
+    }
+
+    private static long format(final Formatter formatter, final ExtLogRecord[] records, final int iterations) {
+        int length = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            length += formatter.format(records[i & (records.length - 1)]).length();
+        }
+        final long time = System.nanoTime() - start;
+        if (length == 0) {
+            throw new AssertionError();
+        }
+        return time;
+    }
+}
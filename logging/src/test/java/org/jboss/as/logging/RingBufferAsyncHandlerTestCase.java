@@ -0,0 +1,264 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.junit.Test;
+
+/**
+ * Tests for {@link RingBufferAsyncHandler}.
+ */
+public class RingBufferAsyncHandlerTestCase {
+
+    private static final int PRODUCERS = 4;
+    private static final int RECORDS_PER_PRODUCER = 20000;
+
+    @Test
+    public void testConcurrentProducersBlock() throws Exception {
+        final CollectingHandler collector = new CollectingHandler(null);
+        final RingBufferAsyncHandler handler = createHandler(16, OverflowAction.BLOCK, collector);
+        produce(handler);
+        handler.close();
+
+        assertEquals(0L, handler.getDroppedCount());
+        assertEquals(PRODUCERS * RECORDS_PER_PRODUCER, collector.size());
+        // every record arrives exactly once
+        final Set<String> messages = new HashSet<String>(collector.messages());
+        assertEquals(PRODUCERS * RECORDS_PER_PRODUCER, messages.size());
+    }
+
+    @Test
+    public void testConcurrentProducersDiscard() throws Exception {
+        final CollectingHandler collector = new CollectingHandler(null);
+        final RingBufferAsyncHandler handler = createHandler(16, OverflowAction.DISCARD, collector);
+        produce(handler);
+        handler.close();
+
+        // nothing is lost without being counted
+        assertEquals(PRODUCERS * RECORDS_PER_PRODUCER, collector.size() + handler.getDroppedCount());
+        assertEquals(collector.size(), new HashSet<String>(collector.messages()).size());
+    }
+
+    @Test
+    public void testFullRingDiscard() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CollectingHandler collector = new CollectingHandler(release);
+        final RingBufferAsyncHandler handler = createHandler(2, OverflowAction.DISCARD, collector);
+        fill(handler, collector);
+
+        handler.publish(record("overflow"));
+        assertEquals(1L, handler.getDroppedCount());
+
+        release.countDown();
+        handler.close();
+        assertEquals(3, collector.size());
+        assertFalse(collector.messages().contains("overflow"));
+    }
+
+    @Test
+    public void testFullRingBlock() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CollectingHandler collector = new CollectingHandler(release);
+        final RingBufferAsyncHandler handler = createHandler(2, OverflowAction.BLOCK, collector);
+        fill(handler, collector);
+
+        final CountDownLatch published = new CountDownLatch(1);
+        final Thread producer = new Thread(new Runnable() {
+            public void run() {
+                handler.publish(record("overflow"));
+                published.countDown();
+            }
+        });
+        producer.start();
+        assertFalse("publish did not block on a full ring", published.await(200L, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        assertTrue(published.await(10L, TimeUnit.SECONDS));
+        handler.close();
+        assertEquals(0L, handler.getDroppedCount());
+        assertEquals(4, collector.size());
+        assertEquals("overflow", collector.messages().get(3));
+    }
+
+    @Test
+    public void testCloseDrains() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CollectingHandler collector = new CollectingHandler(release);
+        final RingBufferAsyncHandler handler = createHandler(64, OverflowAction.BLOCK, collector);
+        for (int i = 0; i < 50; i++) {
+            handler.publish(record("record " + i));
+        }
+        final Thread closer = new Thread(new Runnable() {
+            public void run() {
+                handler.close();
+            }
+        });
+        closer.start();
+        release.countDown();
+        closer.join(10000L);
+        assertFalse(closer.isAlive());
+
+        assertEquals(50, collector.size());
+        assertEquals(0L, handler.getQueuedCount());
+
+        handler.publish(record("after close"));
+        assertEquals(1L, handler.getDroppedCount());
+        assertEquals(50, collector.size());
+    }
+
+    @Test
+    public void testCloseWhilePublishing() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            final CollectingHandler collector = new CollectingHandler(null);
+            final RingBufferAsyncHandler handler = createHandler(8, OverflowAction.BLOCK, collector);
+            final int[] published = new int[PRODUCERS];
+            final Thread[] producers = new Thread[PRODUCERS];
+            for (int i = 0; i < PRODUCERS; i++) {
+                final int id = i;
+                producers[i] = new Thread(new Runnable() {
+                    public void run() {
+                        for (int j = 0; j < RECORDS_PER_PRODUCER / 10; j++) {
+                            handler.publish(record(id + ":" + j));
+                            published[id]++;
+                        }
+                    }
+                });
+                producers[i].start();
+            }
+            Thread.sleep(1L);
+            handler.close();
+            int total = 0;
+            for (int i = 0; i < PRODUCERS; i++) {
+                producers[i].join();
+                total += published[i];
+            }
+            // records published around the close are either delivered or counted as dropped
+            assertEquals(total, collector.size() + handler.getDroppedCount());
+        }
+    }
+
+    private static RingBufferAsyncHandler createHandler(final int queueLength, final OverflowAction overflowAction, final Handler subhandler) {
+        final RingBufferAsyncHandler handler = new RingBufferAsyncHandler(queueLength, Executors.defaultThreadFactory());
+        handler.setOverflowAction(overflowAction);
+        handler.addHandler(subhandler);
+        return handler;
+    }
+
+    /**
+     * Publish one record which blocks the consumer in the subhandler, then fill the ring behind it.
+     */
+    private static void fill(final RingBufferAsyncHandler handler, final CollectingHandler collector) throws InterruptedException {
+        handler.publish(record("blocking"));
+        assertTrue(collector.awaitFirst());
+        for (int i = 0; i < handler.getCapacity(); i++) {
+            handler.publish(record("queued " + i));
+        }
+        assertEquals(0L, handler.getDroppedCount());
+        assertEquals(handler.getCapacity(), handler.getQueuedCount());
+    }
+
+    private static void produce(final RingBufferAsyncHandler handler) throws InterruptedException {
+        final Thread[] producers = new Thread[PRODUCERS];
+        for (int i = 0; i < PRODUCERS; i++) {
+            final int id = i;
+            producers[i] = new Thread(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < RECORDS_PER_PRODUCER; j++) {
+                        handler.publish(record(id + ":" + j));
+                    }
+                }
+            });
+            producers[i].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+    }
+
+    private static ExtLogRecord record(final String message) {
+        final ExtLogRecord record = new ExtLogRecord(Level.INFO, message, RingBufferAsyncHandlerTestCase.class.getName());
+        record.setLoggerName("test");
+        return record;
+    }
+
+    private static final class CollectingHandler extends ExtHandler {
+
+        private final List<String> messages = new ArrayList<String>();
+        private final CountDownLatch first = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        CollectingHandler(final CountDownLatch release) {
+            this.release = release;
+        }
+
+        protected void doPublish(final ExtLogRecord record) {
+            synchronized (messages) {
+                messages.add(record.getMessage());
+            }
+            first.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        boolean awaitFirst() throws InterruptedException {
+            return first.await(10L, TimeUnit.SECONDS);
+        }
+
+        int size() {
+            synchronized (messages) {
+                return messages.size();
+            }
+        }
+
+        List<String> messages() {
+            synchronized (messages) {
+                return new ArrayList<String>(messages);
+            }
+        }
+
+        public void flush() {
+        }
+
+        public void close() {
+        }
+    }
+}
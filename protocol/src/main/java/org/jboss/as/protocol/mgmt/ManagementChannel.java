@@ -23,9 +23,10 @@ import static org.jboss.as.protocol.old.ProtocolUtils.expectHeader;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.protocol.ProtocolChannel;
@@ -47,6 +48,8 @@ public class ManagementChannel extends ProtocolChannel {
     private final ManagementChannelPinger pinger = ManagementChannelPinger.getInstance();
     private final RequestReceiver requestReceiver = new RequestReceiver();
     private final ResponseReceiver responseReceiver = new ResponseReceiver();
+    private final ManagementChannelStatistics statistics = new ManagementChannelStatistics();
+    private volatile Executor requestExecutor;
     private final AtomicBoolean byeByeSent = new AtomicBoolean();
     private volatile long lastResponseReceived;
     private AtomicBoolean awaitingPong = new AtomicBoolean();
@@ -98,6 +101,25 @@ public class ManagementChannel extends ProtocolChannel {
         requestReceiver.setOperationHandler(handler);
     }
 
+    /**
+     * Set the executor used to process incoming requests and write their responses. Without one, or if the executor
+     * rejects a request, the request is processed by the thread which received it.
+     *
+     * @param executor the executor, or {@code null}
+     */
+    public void setRequestExecutor(final Executor executor) {
+        this.requestExecutor = executor;
+    }
+
+    /**
+     * Get the counters of the requests sent and handled on this channel.
+     *
+     * @return the statistics
+     */
+    public ManagementChannelStatistics getStatistics() {
+        return statistics;
+    }
+
     @Override
     protected void doHandle(final MessageInputStream message) {
         log.tracef("%s handling incoming data", this);
@@ -149,25 +171,57 @@ public class ManagementChannel extends ProtocolChannel {
         }
 
         if (requestHeader != null) {
-            if (error == null) {
+            dispatchRequest(requestHeader, requestHandler, error);
+        } else if (wasPing) {
+            log.tracef("Sending pong on %s", this);
+            ManagementPongHeader pongHeader = new ManagementPongHeader(ManagementProtocol.VERSION);
+            sendHeaderAndCloseOnError(pongHeader);
+        }
+    }
+
+    /**
+     * Process a request which has been read and write its response, on the request executor if there is one so that
+     * the receiving thread is free to read the next message.
+     */
+    private void dispatchRequest(final ManagementRequestHeader requestHeader, final ManagementRequestHandler requestHandler, final Exception readError) {
+        final long start = System.nanoTime();
+        statistics.getHandledRequests().started();
+        final Runnable task = new Runnable() {
+            public void run() {
                 try {
-                    requestReceiver.processRequest(requestHeader, requestHandler);
-                } catch (Exception e) {
-                    error = e;
+                    handleRequest(requestHeader, requestHandler, readError);
+                } finally {
+                    statistics.getHandledRequests().completed(start);
                 }
             }
+        };
+        final Executor executor = requestExecutor;
+        if (executor != null) {
+            try {
+                executor.execute(task);
+                return;
+            } catch (RejectedExecutionException e) {
+                log.tracef("%s request executor is saturated, processing request %d in place", this, requestHeader.getRequestId());
+            }
+        }
+        task.run();
+    }
 
-            if (error != null) {
-                log.tracef(error, "Error processing request %s", this);
-                //TODO temporary debug stack
-                error.printStackTrace();
+    private void handleRequest(final ManagementRequestHeader requestHeader, final ManagementRequestHandler requestHandler, Exception error) {
+        if (error == null) {
+            try {
+                requestReceiver.processRequest(requestHeader, requestHandler);
+            } catch (Exception e) {
+                error = e;
             }
-            requestReceiver.writeResponse(requestHeader, requestHandler, error);
-        } else if (wasPing) {
-            log.tracef("Sending pong on %s", this);
-            ManagementPongHeader pongHeader = new ManagementPongHeader(ManagementProtocol.VERSION);
-            sendHeaderAndCloseOnError(pongHeader);
         }
+
+        if (error != null) {
+            log.tracef(error, "Error processing request %s", this);
+            //TODO temporary debug stack
+            error.printStackTrace();
+        }
+        requestReceiver.writeResponse(requestHeader, requestHandler, error);
     }
 
     private void gotIncomingResponse() {
@@ -179,13 +233,15 @@ public class ManagementChannel extends ProtocolChannel {
     void executeRequest(ManagementRequest<?> request, ManagementResponseHandler<?> responseHandler) throws IOException {
         addCloseHandler(request, responseHandler);
         responseReceiver.registerResponseHandler(request.getCurrentRequestId(), responseHandler);
-        final FlushableDataOutputImpl output = FlushableDataOutputImpl.create(this.writeMessage());
+        FlushableDataOutputImpl output = null;
         try {
+            output = FlushableDataOutputImpl.create(this.writeMessage());
             final ManagementRequestHeader managementRequestHeader = new ManagementRequestHeader(ManagementProtocol.VERSION, request.getCurrentRequestId(), request.getBatchId(), request.getRequestCode());
             managementRequestHeader.write(output);
 
             request.writeRequest(this, output);
         } catch (Exception e) {
+            responseReceiver.unregisterResponseHandler(request.getCurrentRequestId());
             responseHandler.removeCloseHandler();
             if (e instanceof RuntimeException) throw (RuntimeException)e;
             if (e instanceof IOException) throw (IOException)e;
@@ -356,20 +412,31 @@ public class ManagementChannel extends ProtocolChannel {
 
     private class ResponseReceiver {
 
-        private final Map<Integer, ManagementResponseHandler<?>> responseHandlers = Collections.synchronizedMap(new HashMap<Integer, ManagementResponseHandler<?>>());
+        private final ConcurrentMap<Integer, PendingResponse> responseHandlers = new ConcurrentHashMap<Integer, PendingResponse>();
 
         private void registerResponseHandler(final int requestId, final ManagementResponseHandler<?> handler) throws IOException {
-            if (responseHandlers.put(requestId, handler) != null) {
+            statistics.getSentRequests().started();
+            if (responseHandlers.putIfAbsent(requestId, new PendingResponse(handler)) != null) {
+                statistics.getSentRequests().cancelled();
                 throw new IOException("Response handler already registered for request");
             }
         }
 
+        private void unregisterResponseHandler(final int requestId) {
+            final PendingResponse pending = responseHandlers.remove(requestId);
+            if (pending != null) {
+                statistics.getSentRequests().completed(pending.start);
+            }
+        }
+
         private void handleResponse(ManagementResponseHeader header, DataInput input) throws IOException {
             log.tracef("%s handling response %d", ManagementChannel.this, header.getResponseId());
-            ManagementResponseHandler<?> responseHandler = responseHandlers.remove(header.getResponseId());
-            if (responseHandler == null) {
+            final PendingResponse pending = responseHandlers.remove(header.getResponseId());
+            if (pending == null) {
                 throw new IOException("No response handler for request " + header.getResponseId());
             }
+            statistics.getSentRequests().completed(pending.start);
+            final ManagementResponseHandler<?> responseHandler = pending.handler;
             try {
                 responseHandler.setContextInfo(header, ManagementChannel.this);
                 responseHandler.readResponse(input);
@@ -382,4 +449,13 @@ public class ManagementChannel extends ProtocolChannel {
             }
         }
     }
+
+    private static final class PendingResponse {
+        private final ManagementResponseHandler<?> handler;
+        private final long start = System.nanoTime();
+
+        private PendingResponse(final ManagementResponseHandler<?> handler) {
+            this.handler = handler;
+        }
+    }
 }
@@ -18,6 +18,8 @@
  */
 package org.jboss.as.protocol.mgmt;
 
+import java.util.concurrent.Executor;
+
 import org.jboss.as.protocol.ProtocolChannelFactory;
 import org.jboss.remoting3.Channel;
 
@@ -29,13 +31,26 @@ import org.jboss.remoting3.Channel;
 public class ManagementChannelFactory extends ProtocolChannelFactory <ManagementChannel> {
 
     private final ManagementOperationHandler operationHandler;
+    private final Executor requestExecutor;
 
     public ManagementChannelFactory() {
         this(null);
     }
 
     public ManagementChannelFactory(ManagementOperationHandler operationHandler) {
+        this(operationHandler, null);
+    }
+
+    /**
+     * Create a factory for channels which process incoming requests on the given executor, rather than on the thread
+     * which received them.
+     *
+     * @param operationHandler the operation handler for incoming requests
+     * @param requestExecutor the executor to process incoming requests on, or {@code null}
+     */
+    public ManagementChannelFactory(ManagementOperationHandler operationHandler, Executor requestExecutor) {
         this.operationHandler = operationHandler;
+        this.requestExecutor = requestExecutor;
     }
 
     public ManagementChannel create(String name, Channel channel) {
@@ -43,6 +58,7 @@ public class ManagementChannelFactory extends ProtocolChannelFactory <Management
         if (operationHandler != null) {
             createdChannel.setOperationHandler(operationHandler);
         }
+        createdChannel.setRequestExecutor(requestExecutor);
         return createdChannel;
     }
 
@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol.mgmt;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters for the requests travelling over a {@link ManagementChannel}, kept separately for the requests sent on the
+ * channel and for the requests received and handled on it.
+ */
+public final class ManagementChannelStatistics {
+
+    private final Counter sent = new Counter();
+    private final Counter handled = new Counter();
+
+    ManagementChannelStatistics() {
+    }
+
+    /**
+     * Get the counters of the requests sent over the channel; their latency is the time until the response was received.
+     */
+    public Counter getSentRequests() {
+        return sent;
+    }
+
+    /**
+     * Get the counters of the requests received over the channel; their latency is the time taken to process them and
+     * write the response.
+     */
+    public Counter getHandledRequests() {
+        return handled;
+    }
+
+    @Override
+    public String toString() {
+        return "sent[" + sent + "], handled[" + handled + "]";
+    }
+
+    public static final class Counter {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalTime = new AtomicLong();
+        private final AtomicLong maxTime = new AtomicLong();
+
+        private Counter() {
+        }
+
+        void started() {
+            inFlight.incrementAndGet();
+        }
+
+        void cancelled() {
+            inFlight.decrementAndGet();
+        }
+
+        void completed(final long startNanos) {
+            final long elapsed = System.nanoTime() - startNanos;
+            inFlight.decrementAndGet();
+            count.incrementAndGet();
+            totalTime.addAndGet(elapsed);
+            long max;
+            do {
+                max = maxTime.get();
+            } while (elapsed > max && !maxTime.compareAndSet(max, elapsed));
+        }
+
+        /**
+         * Get the number of requests started but not yet completed.
+         */
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        /**
+         * Get the number of completed requests.
+         */
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getAverageTime(final TimeUnit unit) {
+            final long count = this.count.get();
+            return count == 0 ? 0 : unit.convert(totalTime.get() / count, TimeUnit.NANOSECONDS);
+        }
+
+        public long getMaxTime(final TimeUnit unit) {
+            return unit.convert(maxTime.get(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return "in-flight=" + getInFlight() + ", count=" + getCount() + ", average=" + getAverageTime(TimeUnit.MICROSECONDS)
+                    + "us, max=" + getMaxTime(TimeUnit.MICROSECONDS) + "us";
+        }
+    }
+}
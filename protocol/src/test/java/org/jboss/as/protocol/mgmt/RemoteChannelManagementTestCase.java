@@ -33,6 +33,7 @@ import java.util.concurrent.Future;
 
 import junit.framework.Assert;
 
+import org.jboss.as.protocol.mgmt.support.ConcurrentProcessingOperationHandler;
 import org.jboss.as.protocol.mgmt.support.ConcurrentRequestOperationHandler;
 import org.jboss.as.protocol.mgmt.support.RemoteChannelPairSetup;
 import org.jboss.as.protocol.mgmt.support.RemotingChannelPairSetup;
@@ -117,6 +118,35 @@ public class RemoteChannelManagementTestCase {
         Assert.assertEquals(Integer.valueOf(1200), future1.get());
     }
 
+    @Test
+    public void testConcurrentRequestsOnRequestExecutor() throws Exception {
+        ManagementChannel channel = channels.getServerChannel();
+        channels.getClientChannel().startReceiving();
+        channel.setOperationHandler(new ConcurrentProcessingOperationHandler(3));
+        ExecutorService requestExecutor = Executors.newFixedThreadPool(3);
+        channel.setRequestExecutor(requestExecutor);
+        try {
+            ManagementClientChannelStrategy strategy =  ManagementClientChannelStrategy.create(channels.getClientChannel());
+
+            ExecutorService executorService = Executors.newCachedThreadPool();
+            Future<Integer> future1 = new SimpleHandlers.Request(SimpleHandlers.SIMPLE_REQUEST, 600).execute(executorService, strategy);
+            Future<Integer> future2 = new SimpleHandlers.Request(SimpleHandlers.SIMPLE_REQUEST, 650).execute(executorService, strategy);
+            Future<Integer> future3 = new SimpleHandlers.Request(SimpleHandlers.SIMPLE_REQUEST, 700).execute(executorService, strategy);
+            Assert.assertEquals(Integer.valueOf(1400), future3.get());
+            Assert.assertEquals(Integer.valueOf(1300), future2.get());
+            Assert.assertEquals(Integer.valueOf(1200), future1.get());
+
+            ManagementChannelStatistics.Counter sent = channels.getClientChannel().getStatistics().getSentRequests();
+            Assert.assertEquals(3, sent.getCount());
+            Assert.assertEquals(0, sent.getInFlight());
+            ManagementChannelStatistics.Counter handled = channel.getStatistics().getHandledRequests();
+            Assert.assertEquals(0, handled.getInFlight());
+            Assert.assertEquals(3, handled.getCount());
+        } finally {
+            requestExecutor.shutdown();
+        }
+    }
+
     @Test
     public void testMissingOperationHandler() throws Exception {
         ManagementChannel channel = channels.getServerChannel();
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.protocol.mgmt.support;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jboss.as.protocol.mgmt.FlushableDataOutput;
+import org.jboss.as.protocol.mgmt.ManagementOperationHandler;
+import org.jboss.as.protocol.mgmt.ManagementRequestHandler;
+import org.jboss.as.protocol.mgmt.RequestProcessingException;
+
+/**
+ * Operation handler whose requests only complete once the given number of them are being processed at the same time.
+ */
+public class ConcurrentProcessingOperationHandler implements ManagementOperationHandler {
+
+    private final CyclicBarrier barrier;
+
+    public ConcurrentProcessingOperationHandler(final int concurrentRequests) {
+        barrier = new CyclicBarrier(concurrentRequests);
+    }
+
+    @Override
+    public ManagementRequestHandler getRequestHandler(byte id) {
+        if (id != SimpleHandlers.SIMPLE_REQUEST) {
+            return null;
+        }
+        return new RequestHandler();
+    }
+
+    private class RequestHandler extends ManagementRequestHandler {
+        int data;
+
+        @Override
+        public void readRequest(DataInput input) throws IOException {
+            data = input.readInt();
+        }
+
+        @Override
+        protected void processRequest() throws RequestProcessingException {
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RequestProcessingException(e);
+            } catch (BrokenBarrierException e) {
+                throw new RequestProcessingException(e);
+            } catch (TimeoutException e) {
+                throw new RequestProcessingException(e);
+            }
+        }
+
+        @Override
+        public void writeResponse(FlushableDataOutput output) throws IOException {
+            output.writeInt(data * 2);
+        }
+    }
+}
@@ -22,9 +22,13 @@
 package org.jboss.as.remoting;
 
 import java.io.IOException;
+import java.security.AccessController;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.controller.remote.ManagementOperationHandlerFactory;
@@ -43,6 +47,9 @@ import org.jboss.remoting3.CloseHandler;
 import org.jboss.remoting3.Endpoint;
 import org.jboss.remoting3.OpenListener;
 import org.jboss.remoting3.Registration;
+import org.jboss.threads.JBossExecutors;
+import org.jboss.threads.JBossThreadFactory;
+import org.jboss.threads.QueueExecutor;
 import org.xnio.OptionMap;
 
 
@@ -54,6 +61,10 @@ import org.xnio.OptionMap;
  */
 public class ChannelOpenListenerService implements Service<Void>, OpenListener {
 
+    private static final long REQUEST_EXECUTOR_KEEP_ALIVE_TIME = 60000;
+    private static final int REQUEST_EXECUTOR_MAX_THREADS = 16;
+    private static final int REQUEST_EXECUTOR_QUEUE_LENGTH = 256;
+
     private final Logger log = Logger.getLogger("org.jboss.as.remoting");
 
     private final InjectedValue<Endpoint> endpointValue = new InjectedValue<Endpoint>();
@@ -65,6 +76,7 @@ public class ChannelOpenListenerService implements Service<Void>, OpenListener {
     private final Set<ManagementChannel> channels = Collections.synchronizedSet(new HashSet<ManagementChannel>());
 
     private volatile Registration registration;
+    private volatile ExecutorService requestExecutor;
     private final AtomicBoolean closed = new AtomicBoolean();
 
     public ChannelOpenListenerService(final String channelName, OptionMap optionMap) {
@@ -93,6 +105,7 @@ public class ChannelOpenListenerService implements Service<Void>, OpenListener {
     public void start(StartContext context) throws StartException {
         try {
             log.debugf("Registering channel listener for %s", channelName);
+            requestExecutor = createRequestExecutor();
             registration = endpointValue.getValue().registerService(channelName, this, optionMap);
         } catch (Exception e) {
             throw new StartException(e);
@@ -113,12 +126,29 @@ public class ChannelOpenListenerService implements Service<Void>, OpenListener {
             }
 
         }
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+            requestExecutor = null;
+        }
+    }
+
+    /**
+     * Create the executor on which requests received over all the channels opened by this listener are processed, so
+     * that a connection can have several requests in flight. It is bounded; once it is saturated a channel processes
+     * further requests on its receiving thread, which pushes back on the sender.
+     */
+    private ExecutorService createRequestExecutor() {
+        ThreadFactory threadFactory = new JBossThreadFactory(new ThreadGroup("Management " + channelName), Boolean.FALSE, null, "Management " + channelName + " %f thread %t", null, null, AccessController.getContext());
+
+        QueueExecutor executor = new QueueExecutor(REQUEST_EXECUTOR_MAX_THREADS / 4 + 1, REQUEST_EXECUTOR_MAX_THREADS, REQUEST_EXECUTOR_KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS, REQUEST_EXECUTOR_QUEUE_LENGTH, threadFactory, false, null);
+
+        return JBossExecutors.protectedExecutorService(executor);
     }
 
     @Override
     public void channelOpened(Channel channel) {
         final ManagementOperationHandler handler = operationHandlerFactoryValue.getValue().createOperationHandler();
-        final ManagementChannel managementChannel = new ManagementChannelFactory(handler).create(channelName, channel);
+        final ManagementChannel managementChannel = new ManagementChannelFactory(handler, requestExecutor).create(channelName, channel);
         channels.add(managementChannel);
         log.tracef("Opened %s: %s with handler %s", channelName, managementChannel, handler);
         managementChannel.startReceiving();
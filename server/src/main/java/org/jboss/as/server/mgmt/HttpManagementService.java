@@ -24,11 +24,13 @@ package org.jboss.as.server.mgmt;
 
 import java.net.BindException;
 import java.net.InetSocketAddress;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.ModelController;
 import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.domain.http.server.ManagementHttpServer;
+import org.jboss.as.domain.http.server.RequestLane;
 import org.jboss.as.domain.management.security.SecurityRealmService;
 import org.jboss.as.network.NetworkInterfaceBinding;
 import org.jboss.as.server.mgmt.domain.HttpManagement;
@@ -39,6 +41,7 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.QueueExecutor;
 
 /**
  * A service which launches the domain HTTP API and serverManagement.
@@ -52,10 +55,13 @@ public class HttpManagementService implements Service<HttpManagement> {
     private final InjectedValue<NetworkInterfaceBinding> interfaceBindingValue = new InjectedValue<NetworkInterfaceBinding>();
     private final InjectedValue<Integer> portValue = new InjectedValue<Integer>();
     private final InjectedValue<Integer> securePortValue = new InjectedValue<Integer>();
-    private final InjectedValue<ExecutorService> executorServiceValue = new InjectedValue<ExecutorService>();
+    private final InjectedValue<Integer> maxReadRequestsValue = new InjectedValue<Integer>();
+    private final InjectedValue<Integer> maxWriteRequestsValue = new InjectedValue<Integer>();
+    private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
     private final InjectedValue<String> tempDirValue = new InjectedValue<String>();
     private final InjectedValue<SecurityRealmService> securityRealmServiceValue = new InjectedValue<SecurityRealmService>();
     private ManagementHttpServer serverManagement;
+    private QueueExecutor executor;
     private ModelControllerClient modelControllerClient;
 
     private HttpManagement httpManagement = new HttpManagement() {
@@ -80,9 +86,7 @@ public class HttpManagementService implements Service<HttpManagement> {
      */
     public synchronized void start(StartContext context) throws StartException {
         final ModelController modelController = modelControllerValue.getValue();
-        final ExecutorService executorService = executorServiceValue.getValue();
         final NetworkInterfaceBinding interfaceBinding = interfaceBindingValue.getValue();
-        modelControllerClient = modelController.createClient(executorService);
 
         final int port = portValue.getOptionalValue();
         InetSocketAddress bindAddress = null;
@@ -96,11 +100,22 @@ public class HttpManagementService implements Service<HttpManagement> {
         }
 
         final SecurityRealmService securityRealmService = securityRealmServiceValue.getOptionalValue();
+        final int maxReadRequests = getLimit(maxReadRequestsValue, ManagementHttpServer.DEFAULT_MAX_READ_REQUESTS);
+        final int maxWriteRequests = getLimit(maxWriteRequestsValue, ManagementHttpServer.DEFAULT_MAX_WRITE_REQUESTS);
+
+        // The worker pool only grows as far as the request limits need, requests it has no room for are turned away
+        final int workerThreads = ManagementHttpServer.getWorkerThreads(maxReadRequests, maxWriteRequests);
+        executor = new QueueExecutor(workerThreads, workerThreads, 60, TimeUnit.SECONDS, workerThreads, threadFactoryValue.getValue(),
+                false, ManagementHttpServer.getRejectingExecutor());
+        executor.setAllowCoreThreadTimeout(true);
+        modelControllerClient = modelController.createClient(executor);
 
         try {
-            serverManagement = ManagementHttpServer.create(bindAddress, secureBindAddress, 50, modelControllerClient, executorService, securityRealmService);
+            serverManagement = ManagementHttpServer.create(bindAddress, secureBindAddress, 50, modelControllerClient, executor, securityRealmService,
+                    maxReadRequests, maxWriteRequests);
             serverManagement.start();
         } catch (BindException e) {
+            executor.shutdown();
             final StringBuilder sb = new StringBuilder().append(e.getMessage());
             if (port > 0)
                 sb.append(" ").append(bindAddress);
@@ -108,10 +123,16 @@ public class HttpManagementService implements Service<HttpManagement> {
                 sb.append(" ").append(secureBindAddress);
             throw new StartException(sb.toString(), e);
         } catch (Exception e) {
+            executor.shutdown();
             throw new StartException("Failed to start serverManagement socket", e);
         }
     }
 
+    private static int getLimit(final InjectedValue<Integer> value, final int defaultLimit) {
+        final Integer limit = value.getOptionalValue();
+        return limit == null || limit.intValue() < 1 ? defaultLimit : limit.intValue();
+    }
+
     /**
      * Stops the service.
      *
@@ -120,7 +141,30 @@ public class HttpManagementService implements Service<HttpManagement> {
     public synchronized void stop(StopContext context) {
         if (serverManagement != null) {
             serverManagement.stop();
+            serverManagement = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Get the admission lane for a class of management requests.
+     *
+     * @param name {@link ManagementHttpServer#READ_REQUESTS} or {@link ManagementHttpServer#WRITE_REQUESTS}
+     * @return the lane, or {@code null} if the server is not running or the name is unknown
+     */
+    public synchronized RequestLane getRequestLane(String name) {
+        if (serverManagement == null) {
+            return null;
+        }
+        if (ManagementHttpServer.READ_REQUESTS.equals(name)) {
+            return serverManagement.getReadLane();
+        } else if (ManagementHttpServer.WRITE_REQUESTS.equals(name)) {
+            return serverManagement.getWriteLane();
         }
+        return null;
     }
 
     /**
@@ -140,12 +184,12 @@ public class HttpManagementService implements Service<HttpManagement> {
     }
 
     /**
-     * Get the executor service injector.
+     * Get the injector for the factory of the threads handling requests.
      *
      * @return The injector
      */
-    public Injector<ExecutorService> getExecutorServiceInjector() {
-        return executorServiceValue;
+    public Injector<ThreadFactory> getThreadFactoryInjector() {
+        return threadFactoryValue;
     }
 
     /**
@@ -166,6 +210,24 @@ public class HttpManagementService implements Service<HttpManagement> {
         return securePortValue;
     }
 
+    /**
+     * Get the injector for the number of read-only management requests which may execute concurrently.
+     *
+     * @return The injector
+     */
+    public Injector<Integer> getMaxReadRequestsInjector() {
+        return maxReadRequestsValue;
+    }
+
+    /**
+     * Get the injector for the number of other management requests which may execute concurrently.
+     *
+     * @return The injector
+     */
+    public Injector<Integer> getMaxWriteRequestsInjector() {
+        return maxWriteRequestsValue;
+    }
+
     /**
      * Get the model controller injector to dispatch management requests to
      *
@@ -23,6 +23,8 @@
 package org.jboss.as.server.operations;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INTERFACE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_READ_REQUESTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_WRITE_REQUESTS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PORT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SECURE_PORT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SECURITY_REALM;
@@ -30,7 +32,6 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SEC
 import java.security.AccessController;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.Executors;
 
 import org.jboss.as.controller.AbstractAddStepHandler;
 import org.jboss.as.controller.ModelController;
@@ -72,6 +73,12 @@ public class HttpManagementAddHandler extends AbstractAddStepHandler implements
         if (operation.hasDefined(SECURE_PORT)) {
             model.get(ModelDescriptionConstants.SECURE_PORT).set(operation.require(SECURE_PORT).asInt());
         }
+        if (operation.hasDefined(MAX_READ_REQUESTS)) {
+            model.get(MAX_READ_REQUESTS).set(operation.require(MAX_READ_REQUESTS).asInt());
+        }
+        if (operation.hasDefined(MAX_WRITE_REQUESTS)) {
+            model.get(MAX_WRITE_REQUESTS).set(operation.require(MAX_WRITE_REQUESTS).asInt());
+        }
         if (operation.hasDefined(SECURITY_REALM)) {
             model.get(ModelDescriptionConstants.SECURITY_REALM).set(operation.get(SECURITY_REALM).asString());
         }
@@ -81,6 +88,8 @@ public class HttpManagementAddHandler extends AbstractAddStepHandler implements
         final String interfaceName = operation.require(ModelDescriptionConstants.INTERFACE).asString();
         final int port = getIntValue(operation, ModelDescriptionConstants.PORT);
         final int securePort = getIntValue(operation, ModelDescriptionConstants.SECURE_PORT);
+        final int maxReadRequests = getIntValue(operation, MAX_READ_REQUESTS);
+        final int maxWriteRequests = getIntValue(operation, MAX_WRITE_REQUESTS);
         final String securityRealm = operation.hasDefined(SECURITY_REALM) ? operation.get(SECURITY_REALM).asString() : null;
 
         final ServiceTarget serviceTarget = context.getServiceTarget();
@@ -104,7 +113,9 @@ public class HttpManagementAddHandler extends AbstractAddStepHandler implements
                 .addDependency(AbstractPathService.pathNameOf(ServerEnvironment.SERVER_TEMP_DIR), String.class, service.getTempDirInjector())
                 .addInjection(service.getPortInjector(), port)
                 .addInjection(service.getSecurePortInjector(), securePort)
-                .addInjection(service.getExecutorServiceInjector(), Executors.newCachedThreadPool(new JBossThreadFactory(new ThreadGroup("HttpManagementService-threads"), Boolean.FALSE, null, "%G - %t", null, null, AccessController.getContext())));
+                .addInjection(service.getMaxReadRequestsInjector(), maxReadRequests)
+                .addInjection(service.getMaxWriteRequestsInjector(), maxWriteRequests)
+                .addInjection(service.getThreadFactoryInjector(), new JBossThreadFactory(new ThreadGroup("HttpManagementService-threads"), Boolean.FALSE, null, "%G - %t", null, null, AccessController.getContext()));
 
         if (securityRealm != null) {
             builder.addDependency(SecurityRealmService.BASE_SERVICE_NAME.append(securityRealm), SecurityRealmService.class, service.getSecurityRealmInjector());
@@ -26,12 +26,16 @@ import org.jboss.as.controller.ModelController;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.ServiceVerificationHandler;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_READ_REQUESTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_WRITE_REQUESTS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SECURITY_REALM;
 
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.global.WriteAttributeHandlers;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.ParameterValidator;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.domain.management.security.SecurityRealmService;
 import org.jboss.as.network.NetworkInterfaceBinding;
@@ -48,7 +52,6 @@ import org.jboss.msc.service.ServiceTarget;
 import org.jboss.threads.JBossThreadFactory;
 
 import java.security.AccessController;
-import java.util.concurrent.Executors;
 
 /**
  * {@code OperationStepHandler} for changing attributes on the http management interface.
@@ -59,6 +62,9 @@ public class HttpManagementAttributeHandlers {
 
     public static final OperationStepHandler INSTANCE = new HttpManagementAttributeHandler();
 
+    /** Handles the attributes limiting the number of concurrent requests */
+    public static final OperationStepHandler LIMIT_INSTANCE = new HttpManagementAttributeHandler(new IntRangeValidator(1, true));
+
     private HttpManagementAttributeHandlers() {
         //
     }
@@ -66,6 +72,14 @@ public class HttpManagementAttributeHandlers {
 
     static class HttpManagementAttributeHandler extends WriteAttributeHandlers.WriteAttributeOperationHandler {
 
+        HttpManagementAttributeHandler() {
+            super();
+        }
+
+        HttpManagementAttributeHandler(final ParameterValidator valueValidator) {
+            super(valueValidator);
+        }
+
         @Override
         protected void modelChanged(final OperationContext context, final ModelNode operation, String attributeName, ModelNode newValue, ModelNode currentValue) throws OperationFailedException {
             final Resource resource = context.readResource(PathAddress.EMPTY_ADDRESS);
@@ -90,6 +104,8 @@ public class HttpManagementAttributeHandlers {
         final String interfaceName = subModel.require(ModelDescriptionConstants.INTERFACE).asString();
         final int port = getIntValue(subModel, ModelDescriptionConstants.PORT);
         final int securePort = getIntValue(subModel, ModelDescriptionConstants.SECURE_PORT);
+        final int maxReadRequests = getIntValue(subModel, MAX_READ_REQUESTS);
+        final int maxWriteRequests = getIntValue(subModel, MAX_WRITE_REQUESTS);
         final String securityRealm = subModel.hasDefined(SECURITY_REALM) ? subModel.get(SECURITY_REALM).asString() : null;
 
         final HttpManagementService service = new HttpManagementService();
@@ -102,7 +118,9 @@ public class HttpManagementAttributeHandlers {
                 .addDependency(AbstractPathService.pathNameOf(ServerEnvironment.SERVER_TEMP_DIR), String.class, service.getTempDirInjector())
                 .addInjection(service.getPortInjector(), port)
                 .addInjection(service.getSecurePortInjector(), securePort)
-                .addInjection(service.getExecutorServiceInjector(), Executors.newCachedThreadPool(new JBossThreadFactory(new ThreadGroup("HttpManagementService-threads"), Boolean.FALSE, null, "%G - %t", null, null, AccessController.getContext())));
+                .addInjection(service.getMaxReadRequestsInjector(), maxReadRequests)
+                .addInjection(service.getMaxWriteRequestsInjector(), maxWriteRequests)
+                .addInjection(service.getThreadFactoryInjector(), new JBossThreadFactory(new ThreadGroup("HttpManagementService-threads"), Boolean.FALSE, null, "%G - %t", null, null, AccessController.getContext()));
 
         if (securityRealm != null) {
             builder.addDependency(SecurityRealmService.BASE_SERVICE_NAME.append(securityRealm), SecurityRealmService.class, service.getSecurityRealmInjector());
@@ -114,7 +132,7 @@ public class HttpManagementAttributeHandlers {
     }
 
     static int getIntValue(ModelNode source, String name) {
-        if (source.has(name)) {
+        if (source.hasDefined(name)) {
             return source.require(name).asInt();
         }
         return -1;
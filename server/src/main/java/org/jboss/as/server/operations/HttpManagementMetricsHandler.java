@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.operations;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.domain.http.server.ManagementHttpServer;
+import org.jboss.as.domain.http.server.RequestLane;
+import org.jboss.as.server.mgmt.HttpManagementService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the admission and latency statistics of the HTTP management interface's request lanes.
+ */
+public class HttpManagementMetricsHandler implements OperationStepHandler {
+
+    public static final HttpManagementMetricsHandler INSTANCE = new HttpManagementMetricsHandler();
+
+    public static final String[] METRICS = { ManagementHttpServer.READ_REQUESTS, ManagementHttpServer.WRITE_REQUESTS };
+
+    private HttpManagementMetricsHandler() {
+        //
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+                final ServiceController<?> controller = context.getServiceRegistry(false).getService(HttpManagementService.SERVICE_NAME);
+                if (controller != null) {
+                    final HttpManagementService service = HttpManagementService.class.cast(controller.getService());
+                    final RequestLane lane = service.getRequestLane(operation.require(NAME).asString());
+                    if (lane != null) {
+                        context.getResult().set(lane.toModelNode());
+                    }
+                }
+                context.completeStep();
+            }
+        }, OperationContext.Stage.RUNTIME);
+        context.completeStep();
+    }
+}
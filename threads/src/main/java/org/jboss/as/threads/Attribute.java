@@ -40,6 +40,7 @@ public enum Attribute {
     TIME(CommonAttributes.TIME),
     PER_CPU(CommonAttributes.PER_CPU),
     PRIORITY(CommonAttributes.PRIORITY),
+    STATISTICS_ENABLED(CommonAttributes.STATISTICS_ENABLED),
     UNIT(CommonAttributes.UNIT),
     VALUE(CommonAttributes.VALUE),
     ;
@@ -40,6 +40,7 @@ import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
 import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
 import static org.jboss.as.threads.CommonAttributes.QUEUE_LENGTH;
+import static org.jboss.as.threads.CommonAttributes.STATISTICS_ENABLED;
 import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import org.jboss.as.threads.ThreadsSubsystemThreadPoolOperationUtils.BoundedOperationParameters;
 import org.jboss.dmr.ModelNode;
@@ -79,6 +80,9 @@ public class BoundedQueueThreadPoolAdd implements OperationStepHandler, Descript
         if (params.getMaxThreads() != null) {
             model.get(MAX_THREADS).set(operation.get(MAX_THREADS));
         }
+        if (params.isStatisticsEnabled()) {
+            model.get(STATISTICS_ENABLED).set(true);
+        }
 
         if (params.getKeepAliveTime() != null) {
             model.get(KEEPALIVE_TIME).set(operation.get(KEEPALIVE_TIME));
@@ -113,6 +117,7 @@ public class BoundedQueueThreadPoolAdd implements OperationStepHandler, Descript
                             params.isBlocking(),
                             params.getKeepAliveTime(),
                             params.isAllowCoreTimeout());
+                    service.getStatistics().setEnabled(params.isStatisticsEnabled());
 
                     //TODO add the handoffExceutor injection
 
@@ -42,12 +42,14 @@ import java.util.concurrent.TimeUnit;
  *
  * @author John E. Bailey
  */
-public class BoundedQueueThreadPoolService implements Service<ExecutorService> {
+public class BoundedQueueThreadPoolService implements Service<ExecutorService>, ManagedThreadPoolService {
     private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
     private final InjectedValue<Executor> handoffExecutorValue = new InjectedValue<Executor>();
 
     private QueueExecutor executor;
     private ExecutorService value;
+    private MeteredExecutor meteredExecutor;
+    private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
 
     private int coreThreads;
     private int maxThreads;
@@ -70,7 +72,8 @@ public class BoundedQueueThreadPoolService implements Service<ExecutorService> {
         long keepAliveTime = keepAliveSpec == null ? Long.MAX_VALUE : keepAliveSpec.getUnit().toNanos(keepAliveSpec.getDuration());
         executor = new QueueExecutor(coreThreads, maxThreads, keepAliveTime, TimeUnit.NANOSECONDS, queueLength, threadFactoryValue.getValue(), blocking, handoffExecutorValue.getOptionalValue());
         executor.setAllowCoreThreadTimeout(allowCoreTimeout);
-        value = JBossExecutors.protectedBlockingExecutorService(executor);
+        meteredExecutor = new MeteredExecutor(executor, statistics);
+        value = JBossExecutors.protectedBlockingExecutorService(meteredExecutor);
     }
 
     public synchronized void stop(final StopContext context) {
@@ -86,6 +89,7 @@ public class BoundedQueueThreadPoolService implements Service<ExecutorService> {
             }
         }, context);
         this.executor = null;
+        meteredExecutor = null;
         value = null;
     }
 
@@ -101,6 +105,33 @@ public class BoundedQueueThreadPoolService implements Service<ExecutorService> {
         return threadFactoryValue;
     }
 
+    public synchronized int getCurrentThreadCount() {
+        final QueueExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getCurrentThreadCount();
+    }
+
+    public synchronized int getLargestThreadCount() {
+        final QueueExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getLargestThreadCount();
+    }
+
+    public synchronized int getQueueSize() {
+        final MeteredExecutor meteredExecutor = this.meteredExecutor;
+        return meteredExecutor == null ? 0 : meteredExecutor.getQueueSize();
+    }
+
+    public synchronized int getActiveCount() {
+        return meteredExecutor == null ? 0 : statistics.getActiveCount();
+    }
+
+    public synchronized long getCompletedTaskCount() {
+        return meteredExecutor == null ? 0 : statistics.getCompletedCount();
+    }
+
+    public ThreadPoolStatistics getStatistics() {
+        return statistics;
+    }
+
     public Injector<Executor> getHandoffExecutorInjector() {
         return handoffExecutorValue;
     }
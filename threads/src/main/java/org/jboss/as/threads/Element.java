@@ -37,6 +37,7 @@ public enum Element {
     CORE_THREADS(CommonAttributes.CORE_THREADS),
     HANDOFF_EXECUTOR(CommonAttributes.HANDOFF_EXECUTOR),
     KEEPALIVE_TIME(CommonAttributes.KEEPALIVE_TIME),
+    MAX_CONCURRENCY(CommonAttributes.MAX_CONCURRENCY),
     MAX_THREADS(CommonAttributes.MAX_THREADS),
     PROPERTIES(CommonAttributes.PROPERTIES),
     PROPERTY(CommonAttributes.PROPERTY),
@@ -46,6 +47,8 @@ public enum Element {
     SUBSYSTEM(org.jboss.as.controller.parsing.Element.SUBSYSTEM.getLocalName()),
     THREAD_FACTORY(CommonAttributes.THREAD_FACTORY),
     UNBOUNDED_QUEUE_THREAD_POOL(CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL),
+    VIRTUAL_THREAD_EXECUTOR(CommonAttributes.VIRTUAL_THREAD_EXECUTOR),
+    WORK_STEALING_THREAD_POOL(CommonAttributes.WORK_STEALING_THREAD_POOL),
     ;
 
     private final String name;
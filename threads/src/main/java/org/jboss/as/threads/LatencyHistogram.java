@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * A lock-free histogram of durations, using buckets whose upper bounds are successive powers of two microseconds.
+ * Bucket 0 counts durations under 1&micro;s, bucket {@code i} counts durations in [2<sup>i-1</sup>, 2<sup>i</sup>)&micro;s,
+ * and the last bucket is open-ended.
+ */
+public final class LatencyHistogram {
+    static final int BUCKETS = 32;
+
+    static final String HISTOGRAM_COUNT = "count";
+    static final String HISTOGRAM_AVERAGE = "average";
+    static final String HISTOGRAM_MAX = "max";
+    static final String HISTOGRAM_BUCKETS = "buckets";
+    static final double[] PERCENTILES = { 50, 90, 99 };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds; negative values are recorded as zero
+     */
+    public void record(final long nanos) {
+        final long duration = Math.max(nanos, 0L);
+        counts.incrementAndGet(bucketOf(TimeUnit.NANOSECONDS.toMicros(duration)));
+        totalNanos.addAndGet(duration);
+        long max = maxNanos.get();
+        while (duration > max) {
+            if (maxNanos.compareAndSet(max, duration)) {
+                break;
+            }
+            max = maxNanos.get();
+        }
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long getTotalTime(final TimeUnit unit) {
+        return unit.convert(totalNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxTime(final TimeUnit unit) {
+        return unit.convert(maxNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getAverageTime(final TimeUnit unit) {
+        final long count = getCount();
+        return (count > 0) ? unit.convert(totalNanos.get() / count, TimeUnit.NANOSECONDS) : 0L;
+    }
+
+    /**
+     * Returns a snapshot of the number of durations recorded in each bucket.
+     */
+    public long[] getBucketCounts() {
+        final long[] result = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            result[i] = counts.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the exclusive upper bound of the given bucket in microseconds, or {@link Long#MAX_VALUE} for the last bucket.
+     */
+    public static long getBucketUpperBound(final int bucket) {
+        return (bucket < BUCKETS - 1) ? (1L << bucket) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Estimates a percentile as the upper bound of the bucket containing it, capped at the largest recorded duration.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @param unit the unit of the result
+     */
+    public long getPercentile(final double percentile, final TimeUnit unit) {
+        final long[] snapshot = getBucketCounts();
+        long count = 0;
+        for (long bucketCount : snapshot) {
+            count += bucketCount;
+        }
+        if (count == 0) {
+            return 0L;
+        }
+        final long max = getMaxTime(unit);
+        final long rank = (long) Math.ceil(count * Math.min(Math.max(percentile, 0.0), 100.0) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if ((seen >= rank) && (snapshot[i] > 0)) {
+                final long bound = getBucketUpperBound(i);
+                return (bound == Long.MAX_VALUE) ? max : Math.min(unit.convert(bound, TimeUnit.MICROSECONDS), max);
+            }
+        }
+        return max;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+        totalNanos.set(0L);
+        maxNanos.set(0L);
+    }
+
+    static int bucketOf(final long micros) {
+        return (micros <= 0L) ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * Converts this histogram to a model node, with all times in microseconds.  Buckets are keyed by their exclusive upper
+     * bound, and empty buckets are omitted.
+     */
+    public ModelNode toModelNode() {
+        final ModelNode node = new ModelNode();
+        node.get(HISTOGRAM_COUNT).set(getCount());
+        node.get(HISTOGRAM_AVERAGE).set(getAverageTime(TimeUnit.MICROSECONDS));
+        node.get(HISTOGRAM_MAX).set(getMaxTime(TimeUnit.MICROSECONDS));
+        for (double percentile : PERCENTILES) {
+            node.get("p" + (int) percentile).set(getPercentile(percentile, TimeUnit.MICROSECONDS));
+        }
+        final ModelNode buckets = node.get(HISTOGRAM_BUCKETS).setEmptyObject();
+        final long[] counts = getBucketCounts();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                final long bound = getBucketUpperBound(i);
+                buckets.get((bound == Long.MAX_VALUE) ? "+inf" : Long.toString(bound)).set(counts[i]);
+            }
+        }
+        return node;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+/**
+ * The runtime view of a thread pool service, used to report its metrics.
+ */
+interface ManagedThreadPoolService {
+
+    /**
+     * Returns the number of threads in the pool, or 0 if the pool is not running.
+     */
+    int getCurrentThreadCount();
+
+    /**
+     * Returns the largest number of threads the pool has had at once, or 0 if the pool is not running.
+     */
+    int getLargestThreadCount();
+
+    /**
+     * Returns the number of tasks waiting to run, or 0 if the pool is not running.
+     */
+    int getQueueSize();
+
+    /**
+     * Returns the number of threads running a task, or 0 if the pool is not running.  Pools whose executor does not
+     * keep this count report the tasks submitted while statistics were enabled.
+     */
+    int getActiveCount();
+
+    /**
+     * Returns the number of tasks the pool has completed, or 0 if the pool is not running.  Pools whose executor does
+     * not keep this count report the tasks submitted while statistics were enabled.
+     */
+    long getCompletedTaskCount();
+
+    ThreadPoolStatistics getStatistics();
+}
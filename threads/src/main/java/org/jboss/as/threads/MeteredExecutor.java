@@ -0,0 +1,178 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.threads.BlockingExecutor;
+
+/**
+ * An executor which records the {@link ThreadPoolStatistics} of the tasks it passes on to a thread pool, and keeps
+ * track of how many of them are waiting to run.  While statistics are disabled, tasks are passed on as they are, so
+ * that the pool pays nothing but a volatile read for them.
+ */
+final class MeteredExecutor implements BlockingExecutor {
+    private final Executor delegate;
+    private final ThreadPoolStatistics statistics;
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    MeteredExecutor(final Executor delegate, final ThreadPoolStatistics statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns the number of tasks accepted while statistics were enabled but not yet started.
+     */
+    int getQueueSize() {
+        return Math.max(queueSize.get(), 0);
+    }
+
+    public void execute(final Runnable task) {
+        final Runnable metered = submit(task);
+        try {
+            delegate.execute(metered);
+        } catch (RejectedExecutionException e) {
+            rejected(metered);
+            throw e;
+        }
+    }
+
+    public void executeBlocking(final Runnable task) throws RejectedExecutionException, InterruptedException {
+        if (!(delegate instanceof BlockingExecutor)) {
+            execute(task);
+            return;
+        }
+        final Runnable metered = submit(task);
+        boolean accepted = false;
+        try {
+            ((BlockingExecutor) delegate).executeBlocking(metered);
+            accepted = true;
+        } catch (RejectedExecutionException e) {
+            rejected(metered);
+            accepted = true;
+            throw e;
+        } finally {
+            if (!accepted) {
+                cancel(metered);
+            }
+        }
+    }
+
+    public void executeBlocking(final Runnable task, final long timeout, final TimeUnit unit) throws RejectedExecutionException, InterruptedException {
+        if (!(delegate instanceof BlockingExecutor)) {
+            execute(task);
+            return;
+        }
+        final Runnable metered = submit(task);
+        boolean accepted = false;
+        try {
+            ((BlockingExecutor) delegate).executeBlocking(metered, timeout, unit);
+            accepted = true;
+        } catch (RejectedExecutionException e) {
+            rejected(metered);
+            accepted = true;
+            throw e;
+        } finally {
+            if (!accepted) {
+                cancel(metered);
+            }
+        }
+    }
+
+    public void executeNonBlocking(final Runnable task) throws RejectedExecutionException {
+        if (!(delegate instanceof BlockingExecutor)) {
+            execute(task);
+            return;
+        }
+        final Runnable metered = submit(task);
+        try {
+            ((BlockingExecutor) delegate).executeNonBlocking(metered);
+        } catch (RejectedExecutionException e) {
+            rejected(metered);
+            throw e;
+        }
+    }
+
+    private Runnable submit(final Runnable task) {
+        if (task == null) {
+            throw new NullPointerException("task is null");
+        }
+        if (!statistics.isEnabled()) {
+            return task;
+        }
+        queueSize.incrementAndGet();
+        return new MeteredTask(task, statistics.taskSubmitted());
+    }
+
+    private void rejected(final Runnable task) {
+        cancel(task);
+        statistics.taskRejected();
+    }
+
+    private static void cancel(final Runnable task) {
+        if (task instanceof MeteredExecutor.MeteredTask) {
+            ((MeteredTask) task).cancel();
+        }
+    }
+
+    private final class MeteredTask implements Runnable {
+        private final Runnable task;
+        private final long submitted;
+        private final AtomicInteger state = new AtomicInteger();
+
+        MeteredTask(final Runnable task, final long submitted) {
+            this.task = task;
+            this.submitted = submitted;
+        }
+
+        // Leaves the queue exactly once, whether the task is run or given back
+        private boolean dequeue() {
+            if (state.compareAndSet(0, 1)) {
+                queueSize.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        void cancel() {
+            dequeue();
+        }
+
+        public void run() {
+            dequeue();
+            final long started = statistics.taskStarted(submitted);
+            try {
+                task.run();
+            } finally {
+                statistics.taskCompleted(started);
+            }
+        }
+
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
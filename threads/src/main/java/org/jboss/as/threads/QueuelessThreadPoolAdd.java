@@ -36,6 +36,7 @@ import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
 import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
+import static org.jboss.as.threads.CommonAttributes.STATISTICS_ENABLED;
 import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import org.jboss.as.threads.ThreadsSubsystemThreadPoolOperationUtils.QueuelessOperationParameters;
 import org.jboss.dmr.ModelNode;
@@ -75,6 +76,9 @@ public class QueuelessThreadPoolAdd implements OperationStepHandler, Description
         if (params.getMaxThreads() != null) {
             model.get(MAX_THREADS).set(operation.get(MAX_THREADS));
         }
+        if (params.isStatisticsEnabled()) {
+            model.get(STATISTICS_ENABLED).set(true);
+        }
         if (params.getKeepAliveTime() != null) {
             model.get(KEEPALIVE_TIME).set(operation.get(KEEPALIVE_TIME));
         }
@@ -91,6 +95,7 @@ public class QueuelessThreadPoolAdd implements OperationStepHandler, Description
                     ServiceTarget target = context.getServiceTarget();
                     final ServiceName serviceName = ThreadsServices.executorName(params.getName());
                     final QueuelessThreadPoolService service = new QueuelessThreadPoolService(params.getMaxThreads().getScaledCount(), params.isBlocking(), params.getKeepAliveTime());
+                    service.getStatistics().setEnabled(params.isStatisticsEnabled());
 
                     //TODO add the handoffExceutor injection
 
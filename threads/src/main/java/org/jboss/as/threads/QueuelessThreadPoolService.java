@@ -41,12 +41,14 @@ import java.util.concurrent.ThreadFactory;
  *
  * @author John E. Bailey
  */
-public class QueuelessThreadPoolService implements Service<ExecutorService> {
+public class QueuelessThreadPoolService implements Service<ExecutorService>, ManagedThreadPoolService {
     private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
     private final InjectedValue<Executor> handoffExecutorValue = new InjectedValue<Executor>();
 
     private QueuelessExecutor executor;
     private ExecutorService value;
+    private MeteredExecutor meteredExecutor;
+    private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
 
     private int maxThreads;
     private boolean blocking;
@@ -64,7 +66,8 @@ public class QueuelessThreadPoolService implements Service<ExecutorService> {
         executor = new QueuelessExecutor(threadFactoryValue.getValue(), JBossExecutors.directExecutor(), handoffExecutorValue.getOptionalValue(), keepAlive);
         executor.setMaxThreads(maxThreads);
         executor.setBlocking(blocking);
-        value = JBossExecutors.protectedExecutorService(executor);
+        meteredExecutor = new MeteredExecutor(executor, statistics);
+        value = JBossExecutors.protectedExecutorService(meteredExecutor);
     }
 
     public synchronized void stop(final StopContext context) {
@@ -80,6 +83,7 @@ public class QueuelessThreadPoolService implements Service<ExecutorService> {
             }
         }, context);
         this.executor = null;
+        meteredExecutor = null;
         value = null;
     }
 
@@ -95,6 +99,33 @@ public class QueuelessThreadPoolService implements Service<ExecutorService> {
         return threadFactoryValue;
     }
 
+    public synchronized int getCurrentThreadCount() {
+        final QueuelessExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getCurrentThreadCount();
+    }
+
+    public synchronized int getLargestThreadCount() {
+        final QueuelessExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getLargestThreadCount();
+    }
+
+    public synchronized int getQueueSize() {
+        final MeteredExecutor meteredExecutor = this.meteredExecutor;
+        return meteredExecutor == null ? 0 : meteredExecutor.getQueueSize();
+    }
+
+    public synchronized int getActiveCount() {
+        return meteredExecutor == null ? 0 : statistics.getActiveCount();
+    }
+
+    public synchronized long getCompletedTaskCount() {
+        return meteredExecutor == null ? 0 : statistics.getCompletedCount();
+    }
+
+    public ThreadPoolStatistics getStatistics() {
+        return statistics;
+    }
+
     public Injector<Executor> getHandoffExecutorInjector() {
         return handoffExecutorValue;
     }
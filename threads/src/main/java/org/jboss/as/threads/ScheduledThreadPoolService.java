@@ -30,22 +30,27 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 import org.jboss.threads.JBossExecutors;
 
+import java.util.concurrent.Delayed;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service responsible for creating, starting and stopping a scheduled thread pool executor.
  *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
-public final class ScheduledThreadPoolService implements Service<ScheduledExecutorService> {
+public final class ScheduledThreadPoolService implements Service<ScheduledExecutorService>, ManagedThreadPoolService {
 
     private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
 
     private ScheduledThreadPoolExecutor executor;
     private ScheduledExecutorService value;
     private StopContext context;
+    private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
 
     private final int maxThreads;
     private final TimeSpec keepAlive;
@@ -87,10 +92,65 @@ public final class ScheduledThreadPoolService implements Service<ScheduledExecut
         return threadFactoryValue;
     }
 
+    public synchronized int getCurrentThreadCount() {
+        final ScheduledThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getPoolSize();
+    }
+
+    public synchronized int getLargestThreadCount() {
+        final ScheduledThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getLargestPoolSize();
+    }
+
+    public synchronized int getQueueSize() {
+        final ScheduledThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    public synchronized int getActiveCount() {
+        final ScheduledThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    public synchronized long getCompletedTaskCount() {
+        final ScheduledThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getCompletedTaskCount();
+    }
+
+    public ThreadPoolStatistics getStatistics() {
+        return statistics;
+    }
+
     private class ExecutorImpl extends ScheduledThreadPoolExecutor {
 
+        private final ThreadLocal<Long> started = new ThreadLocal<Long>();
+
         ExecutorImpl(final int corePoolSize, final ThreadFactory threadFactory) {
-            super(corePoolSize, threadFactory);
+            super(corePoolSize, threadFactory, new RejectionCounter(statistics));
+        }
+
+        protected void beforeExecute(final Thread thread, final Runnable task) {
+            super.beforeExecute(thread, task);
+            if (statistics.isEnabled()) {
+                final long start;
+                if (task instanceof Delayed) {
+                    // The queue wait of a scheduled task is how late it starts relative to when it became due
+                    start = statistics.taskStarted(System.nanoTime() + ((Delayed) task).getDelay(TimeUnit.NANOSECONDS));
+                } else {
+                    start = statistics.taskStarted();
+                }
+                started.set(Long.valueOf(start));
+            }
+        }
+
+        protected void afterExecute(final Runnable task, final Throwable throwable) {
+            // Tasks started while statistics were disabled have no start time and are not recorded
+            final Long start = started.get();
+            if (start != null) {
+                started.remove();
+                statistics.taskCompleted(start.longValue());
+            }
+            super.afterExecute(task, throwable);
         }
 
         protected void terminated() {
@@ -101,4 +161,18 @@ public final class ScheduledThreadPoolService implements Service<ScheduledExecut
             }
         }
     }
+
+    private static class RejectionCounter implements RejectedExecutionHandler {
+        private final ThreadPoolStatistics statistics;
+        private final RejectedExecutionHandler delegate = new ThreadPoolExecutor.AbortPolicy();
+
+        RejectionCounter(final ThreadPoolStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+            statistics.taskRejected();
+            delegate.rejectedExecution(task, executor);
+        }
+    }
 }
@@ -89,7 +89,7 @@ public class ThreadFactoryAdd implements OperationStepHandler, DescriptionProvid
                     final ServiceTarget target = context.getServiceTarget();
                     final ThreadFactoryService service = new ThreadFactoryService();
                     service.setNamePattern(threadNamePattern);
-                    service.setPriority(priority);
+                    service.setPriority(priority >= 0 ? Integer.valueOf(priority) : null);
                     service.setThreadGroupName(groupName);
                     //TODO What about the properties?
                     target.addService(ThreadsServices.threadFactoryName(name), service)
@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.threads.CommonAttributes.ACTIVE_COUNT;
+import static org.jboss.as.threads.CommonAttributes.COMPLETED_TASK_COUNT;
+import static org.jboss.as.threads.CommonAttributes.CURRENT_THREAD_COUNT;
+import static org.jboss.as.threads.CommonAttributes.EXECUTION_TIME;
+import static org.jboss.as.threads.CommonAttributes.LARGEST_THREAD_COUNT;
+import static org.jboss.as.threads.CommonAttributes.PINNED_COUNT;
+import static org.jboss.as.threads.CommonAttributes.PINNED_TIME;
+import static org.jboss.as.threads.CommonAttributes.QUEUE_SIZE;
+import static org.jboss.as.threads.CommonAttributes.QUEUE_WAIT_TIME;
+import static org.jboss.as.threads.CommonAttributes.REJECTED_COUNT;
+import static org.jboss.as.threads.CommonAttributes.VIRTUAL_THREADS;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Runtime metrics of a thread pool.  The {@link CommonAttributes#QUEUE_WAIT_TIME} and
+ * {@link CommonAttributes#EXECUTION_TIME} histograms are only defined while statistics are enabled for the pool.
+ */
+class ThreadPoolMetrics implements OperationStepHandler {
+
+    static final String[] METRICS = { CURRENT_THREAD_COUNT, LARGEST_THREAD_COUNT, ACTIVE_COUNT, QUEUE_SIZE,
+            COMPLETED_TASK_COUNT, REJECTED_COUNT, QUEUE_WAIT_TIME, EXECUTION_TIME };
+
+    static final String[] VIRTUAL_METRICS = { VIRTUAL_THREADS, PINNED_COUNT, PINNED_TIME };
+
+    static void register(final ManagementResourceRegistration registration) {
+        for (String metric : METRICS) {
+            registration.registerMetric(metric, new ThreadPoolMetrics(metric));
+        }
+    }
+
+    /**
+     * Registers the common metrics plus those specific to a {@link VirtualThreadExecutorService}.
+     */
+    static void registerVirtual(final ManagementResourceRegistration registration) {
+        register(registration);
+        for (String metric : VIRTUAL_METRICS) {
+            registration.registerMetric(metric, new ThreadPoolMetrics(metric));
+        }
+    }
+
+    private final String metric;
+
+    private ThreadPoolMetrics(final String metric) {
+        this.metric = metric;
+    }
+
+    public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
+
+        context.addStep(new OperationStepHandler() {
+            public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+                final ServiceController<?> controller = context.getServiceRegistry(false).getService(ThreadsServices.executorName(name));
+                if ((controller != null) && (controller.getState() == ServiceController.State.UP)) {
+                    final Object service = controller.getService();
+                    if (service instanceof ManagedThreadPoolService) {
+                        final ModelNode value = getValue((ManagedThreadPoolService) service);
+                        if (value.isDefined()) {
+                            context.getResult().set(value);
+                        }
+                    }
+                }
+                context.completeStep();
+            }
+        }, OperationContext.Stage.RUNTIME);
+
+        context.completeStep();
+    }
+
+    private ModelNode getValue(final ManagedThreadPoolService pool) {
+        final ThreadPoolStatistics statistics = pool.getStatistics();
+        final ModelNode value = new ModelNode();
+        if (CURRENT_THREAD_COUNT.equals(metric)) {
+            value.set(pool.getCurrentThreadCount());
+        } else if (LARGEST_THREAD_COUNT.equals(metric)) {
+            value.set(pool.getLargestThreadCount());
+        } else if (ACTIVE_COUNT.equals(metric)) {
+            value.set(pool.getActiveCount());
+        } else if (QUEUE_SIZE.equals(metric)) {
+            value.set(pool.getQueueSize());
+        } else if (COMPLETED_TASK_COUNT.equals(metric)) {
+            value.set(pool.getCompletedTaskCount());
+        } else if (REJECTED_COUNT.equals(metric)) {
+            value.set(statistics.getRejectedCount());
+        } else if (pool instanceof VirtualThreadExecutorService && VIRTUAL_THREADS.equals(metric)) {
+            value.set(((VirtualThreadExecutorService) pool).isVirtual());
+        } else if (pool instanceof VirtualThreadExecutorService && PINNED_COUNT.equals(metric)) {
+            value.set(((VirtualThreadExecutorService) pool).getPinnedCount());
+        } else if (pool instanceof VirtualThreadExecutorService && PINNED_TIME.equals(metric)) {
+            value.set(((VirtualThreadExecutorService) pool).getPinnedTime(TimeUnit.MICROSECONDS));
+        } else if (statistics.isEnabled()) {
+            value.set((QUEUE_WAIT_TIME.equals(metric) ? statistics.getQueueWaitTime() : statistics.getExecutionTime()).toModelNode());
+        }
+        return value;
+    }
+}
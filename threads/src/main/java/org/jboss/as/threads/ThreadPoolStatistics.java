@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runtime statistics of a thread pool.  Apart from rejections, which are always counted, statistics are only recorded
+ * while enabled, since doing so requires reading the clock and updating shared counters for every task.  The active and
+ * completed counts kept here therefore only cover tasks submitted while statistics were enabled; pools whose executor
+ * keeps its own counts report those instead.
+ */
+public final class ThreadPoolStatistics {
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final LatencyHistogram queueWaitTime = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+    private volatile boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public LatencyHistogram getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    public LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Called when a task is handed to the pool while statistics are enabled.
+     *
+     * @return the submission timestamp to pass to {@link #taskStarted(long)}
+     */
+    long taskSubmitted() {
+        return System.nanoTime();
+    }
+
+    void taskRejected() {
+        rejectedCount.incrementAndGet();
+    }
+
+    /**
+     * Called by a pool thread before running a task submitted while statistics were enabled.
+     *
+     * @param submitted the value returned by {@link #taskSubmitted()}
+     * @return the start timestamp to pass to {@link #taskCompleted(long)}
+     */
+    long taskStarted(final long submitted) {
+        final long now = taskStarted();
+        queueWaitTime.record(now - submitted);
+        return now;
+    }
+
+    /**
+     * Called by a pool thread before running a task whose time spent waiting is unknown.
+     *
+     * @return the start timestamp to pass to {@link #taskCompleted(long)}
+     */
+    long taskStarted() {
+        activeCount.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Called by a pool thread after running a task, whether or not it completed normally.
+     *
+     * @param started the value returned by {@link #taskStarted(long)} or {@link #taskStarted()}
+     */
+    void taskCompleted(final long started) {
+        activeCount.decrementAndGet();
+        completedCount.incrementAndGet();
+        executionTime.record(System.nanoTime() - started);
+    }
+}
@@ -34,6 +34,7 @@ import static org.jboss.as.threads.CommonAttributes.CORE_THREADS;
 import static org.jboss.as.threads.CommonAttributes.GROUP_NAME;
 import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
+import static org.jboss.as.threads.CommonAttributes.MAX_CONCURRENCY;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
 import static org.jboss.as.threads.CommonAttributes.NAME;
 import static org.jboss.as.threads.CommonAttributes.PRIORITY;
@@ -41,6 +42,7 @@ import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
 import static org.jboss.as.threads.CommonAttributes.QUEUELESS_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.QUEUE_LENGTH;
 import static org.jboss.as.threads.CommonAttributes.SCHEDULED_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.STATISTICS_ENABLED;
 import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import static org.jboss.as.threads.CommonAttributes.THREAD_NAME_PATTERN;
 import static org.jboss.as.threads.CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL;
@@ -65,6 +67,9 @@ public class ThreadsDescriptionUtil {
         if (pool.hasDefined(MAX_THREADS)) {
             operation.get(MAX_THREADS).set(pool.get(MAX_THREADS));
         }
+        if (pool.hasDefined(STATISTICS_ENABLED)) {
+            operation.get(STATISTICS_ENABLED).set(pool.get(STATISTICS_ENABLED));
+        }
         if (pool.hasDefined(KEEPALIVE_TIME)) {
             operation.get(KEEPALIVE_TIME).set(pool.get(KEEPALIVE_TIME));
         }
@@ -99,6 +104,9 @@ public class ThreadsDescriptionUtil {
         if (pool.hasDefined(MAX_THREADS)) {
             operation.get(MAX_THREADS).set(pool.get(MAX_THREADS));
         }
+        if (pool.hasDefined(STATISTICS_ENABLED)) {
+            operation.get(STATISTICS_ENABLED).set(pool.get(STATISTICS_ENABLED));
+        }
         if (pool.hasDefined(KEEPALIVE_TIME)) {
             operation.get(KEEPALIVE_TIME).set(pool.get(KEEPALIVE_TIME));
         }
@@ -143,6 +151,9 @@ public class ThreadsDescriptionUtil {
         if (pool.hasDefined(MAX_THREADS)) {
             operation.get(MAX_THREADS).set(pool.get(MAX_THREADS));
         }
+        if (pool.hasDefined(STATISTICS_ENABLED)) {
+            operation.get(STATISTICS_ENABLED).set(pool.get(STATISTICS_ENABLED));
+        }
         if (pool.hasDefined(KEEPALIVE_TIME)) {
             operation.get(KEEPALIVE_TIME).set(pool.get(KEEPALIVE_TIME));
         }
@@ -162,12 +173,68 @@ public class ThreadsDescriptionUtil {
         if (pool.hasDefined(MAX_THREADS)) {
             operation.get(MAX_THREADS).set(pool.get(MAX_THREADS));
         }
+        if (pool.hasDefined(STATISTICS_ENABLED)) {
+            operation.get(STATISTICS_ENABLED).set(pool.get(STATISTICS_ENABLED));
+        }
         if (pool.hasDefined(KEEPALIVE_TIME)) {
             operation.get(KEEPALIVE_TIME).set(pool.get(KEEPALIVE_TIME));
         }
         result.add(operation);
     }
 
+    public static void addWorkStealingThreadPool(final ModelNode result, final ModelNode pool,  final PathElement... addressParts) {
+        final ModelNode operation = Util.getEmptyOperation(ADD, pathAddress(addressParts));
+
+        operation.get(NAME).set(pool.require(NAME));
+        if (pool.hasDefined(THREAD_FACTORY)) {
+            operation.get(THREAD_FACTORY).set(pool.get(THREAD_FACTORY));
+        }
+        if (pool.hasDefined(PROPERTIES)) {
+            operation.get(PROPERTIES).set(pool.get(PROPERTIES));
+        }
+        if (pool.hasDefined(MAX_THREADS)) {
+            operation.get(MAX_THREADS).set(pool.get(MAX_THREADS));
+        }
+        if (pool.hasDefined(STATISTICS_ENABLED)) {
+            operation.get(STATISTICS_ENABLED).set(pool.get(STATISTICS_ENABLED));
+        }
+        if (pool.hasDefined(BLOCKING)) {
+            operation.get(BLOCKING).set(pool.get(BLOCKING));
+        }
+        if (pool.hasDefined(HANDOFF_EXECUTOR)) {
+            operation.get(HANDOFF_EXECUTOR).set(pool.get(HANDOFF_EXECUTOR));
+        }
+        if (pool.hasDefined(QUEUE_LENGTH)) {
+            operation.get(QUEUE_LENGTH).set(pool.get(QUEUE_LENGTH));
+        }
+        result.add(operation);
+    }
+
+    public static void addVirtualThreadExecutor(final ModelNode result, final ModelNode pool,  final PathElement... addressParts) {
+        final ModelNode operation = Util.getEmptyOperation(ADD, pathAddress(addressParts));
+
+        operation.get(NAME).set(pool.require(NAME));
+        if (pool.hasDefined(THREAD_FACTORY)) {
+            operation.get(THREAD_FACTORY).set(pool.get(THREAD_FACTORY));
+        }
+        if (pool.hasDefined(PROPERTIES)) {
+            operation.get(PROPERTIES).set(pool.get(PROPERTIES));
+        }
+        if (pool.hasDefined(MAX_CONCURRENCY)) {
+            operation.get(MAX_CONCURRENCY).set(pool.get(MAX_CONCURRENCY));
+        }
+        if (pool.hasDefined(QUEUE_LENGTH)) {
+            operation.get(QUEUE_LENGTH).set(pool.get(QUEUE_LENGTH));
+        }
+        if (pool.hasDefined(BLOCKING)) {
+            operation.get(BLOCKING).set(pool.get(BLOCKING));
+        }
+        if (pool.hasDefined(STATISTICS_ENABLED)) {
+            operation.get(STATISTICS_ENABLED).set(pool.get(STATISTICS_ENABLED));
+        }
+        result.add(operation);
+    }
+
     public static ModelNode pathAddress(PathElement... elements) {
         return PathAddress.pathAddress(elements).toModelNode();
     }
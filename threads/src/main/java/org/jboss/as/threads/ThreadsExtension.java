@@ -30,15 +30,20 @@ import static org.jboss.as.threads.CommonAttributes.GROUP_NAME;
 import static org.jboss.as.threads.CommonAttributes.PRIORITY;
 import static org.jboss.as.threads.CommonAttributes.QUEUELESS_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.SCHEDULED_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.STATISTICS_ENABLED;
 import static org.jboss.as.threads.CommonAttributes.THREADS;
 import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import static org.jboss.as.threads.CommonAttributes.THREAD_NAME_PATTERN;
 import static org.jboss.as.threads.CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.VIRTUAL_THREAD_EXECUTOR;
+import static org.jboss.as.threads.CommonAttributes.WORK_STEALING_THREAD_POOL;
 import static org.jboss.as.threads.ThreadsDescriptionUtil.addBoundedQueueThreadPool;
 import static org.jboss.as.threads.ThreadsDescriptionUtil.addQueuelessThreadPool;
 import static org.jboss.as.threads.ThreadsDescriptionUtil.addScheduledThreadPool;
 import static org.jboss.as.threads.ThreadsDescriptionUtil.addThreadFactory;
 import static org.jboss.as.threads.ThreadsDescriptionUtil.addUnboundedQueueThreadPool;
+import static org.jboss.as.threads.ThreadsDescriptionUtil.addVirtualThreadExecutor;
+import static org.jboss.as.threads.ThreadsDescriptionUtil.addWorkStealingThreadPool;
 import static org.jboss.as.threads.ThreadsDescriptionUtil.pathAddress;
 import static org.jboss.as.threads.ThreadsSubsystemProviders.BOUNDED_QUEUE_THREAD_POOL_DESC;
 import static org.jboss.as.threads.ThreadsSubsystemProviders.QUEUELESS_THREAD_POOL_DESC;
@@ -46,6 +51,8 @@ import static org.jboss.as.threads.ThreadsSubsystemProviders.SCHEDULED_THREAD_PO
 import static org.jboss.as.threads.ThreadsSubsystemProviders.SUBSYSTEM_PROVIDER;
 import static org.jboss.as.threads.ThreadsSubsystemProviders.THREAD_FACTORY_DESC;
 import static org.jboss.as.threads.ThreadsSubsystemProviders.UNBOUNDED_QUEUE_THREAD_POOL_DESC;
+import static org.jboss.as.threads.ThreadsSubsystemProviders.VIRTUAL_THREAD_EXECUTOR_DESC;
+import static org.jboss.as.threads.ThreadsSubsystemProviders.WORK_STEALING_THREAD_POOL_DESC;
 
 import java.util.Locale;
 
@@ -108,6 +115,9 @@ public class ThreadsExtension implements Extension {
                 BoundedQueueThreadPoolAdd.INSTANCE, false);
         boundedQueueThreadPools.registerOperationHandler(REMOVE, BoundedQueueThreadPoolRemove.INSTANCE,
                 BoundedQueueThreadPoolRemove.INSTANCE, false);
+        boundedQueueThreadPools.registerReadWriteAttribute(STATISTICS_ENABLED, null, ThreadPoolStatisticsEnabledUpdate.INSTANCE,
+                AttributeAccess.Storage.CONFIGURATION);
+        ThreadPoolMetrics.register(boundedQueueThreadPools);
 
         final ManagementResourceRegistration unboundedQueueThreadPools = subsystem.registerSubModel(
                 PathElement.pathElement(UNBOUNDED_QUEUE_THREAD_POOL), UNBOUNDED_QUEUE_THREAD_POOL_DESC);
@@ -115,6 +125,9 @@ public class ThreadsExtension implements Extension {
                 UnboundedQueueThreadPoolAdd.INSTANCE, false);
         unboundedQueueThreadPools.registerOperationHandler(REMOVE, UnboundedQueueThreadPoolRemove.INSTANCE,
                 UnboundedQueueThreadPoolRemove.INSTANCE, false);
+        unboundedQueueThreadPools.registerReadWriteAttribute(STATISTICS_ENABLED, null, ThreadPoolStatisticsEnabledUpdate.INSTANCE,
+                AttributeAccess.Storage.CONFIGURATION);
+        ThreadPoolMetrics.register(unboundedQueueThreadPools);
 
         final ManagementResourceRegistration queuelessThreadPools = subsystem.registerSubModel(
                 PathElement.pathElement(QUEUELESS_THREAD_POOL), QUEUELESS_THREAD_POOL_DESC);
@@ -122,6 +135,9 @@ public class ThreadsExtension implements Extension {
                 false);
         queuelessThreadPools.registerOperationHandler(REMOVE, QueuelessThreadPoolRemove.INSTANCE,
                 QueuelessThreadPoolRemove.INSTANCE, false);
+        queuelessThreadPools.registerReadWriteAttribute(STATISTICS_ENABLED, null, ThreadPoolStatisticsEnabledUpdate.INSTANCE,
+                AttributeAccess.Storage.CONFIGURATION);
+        ThreadPoolMetrics.register(queuelessThreadPools);
 
         final ManagementResourceRegistration scheduledThreadPools = subsystem.registerSubModel(
                 PathElement.pathElement(SCHEDULED_THREAD_POOL), SCHEDULED_THREAD_POOL_DESC);
@@ -129,6 +145,29 @@ public class ThreadsExtension implements Extension {
                 false);
         scheduledThreadPools.registerOperationHandler(REMOVE, ScheduledThreadPoolRemove.INSTANCE,
                 ScheduledThreadPoolRemove.INSTANCE, false);
+        scheduledThreadPools.registerReadWriteAttribute(STATISTICS_ENABLED, null, ThreadPoolStatisticsEnabledUpdate.INSTANCE,
+                AttributeAccess.Storage.CONFIGURATION);
+        ThreadPoolMetrics.register(scheduledThreadPools);
+
+        final ManagementResourceRegistration workStealingThreadPools = subsystem.registerSubModel(
+                PathElement.pathElement(WORK_STEALING_THREAD_POOL), WORK_STEALING_THREAD_POOL_DESC);
+        workStealingThreadPools.registerOperationHandler(ADD, WorkStealingThreadPoolAdd.INSTANCE,
+                WorkStealingThreadPoolAdd.INSTANCE, false);
+        workStealingThreadPools.registerOperationHandler(REMOVE, WorkStealingThreadPoolRemove.INSTANCE,
+                WorkStealingThreadPoolRemove.INSTANCE, false);
+        workStealingThreadPools.registerReadWriteAttribute(STATISTICS_ENABLED, null, ThreadPoolStatisticsEnabledUpdate.INSTANCE,
+                AttributeAccess.Storage.CONFIGURATION);
+        ThreadPoolMetrics.register(workStealingThreadPools);
+
+        final ManagementResourceRegistration virtualThreadExecutors = subsystem.registerSubModel(
+                PathElement.pathElement(VIRTUAL_THREAD_EXECUTOR), VIRTUAL_THREAD_EXECUTOR_DESC);
+        virtualThreadExecutors.registerOperationHandler(ADD, VirtualThreadExecutorAdd.INSTANCE,
+                VirtualThreadExecutorAdd.INSTANCE, false);
+        virtualThreadExecutors.registerOperationHandler(REMOVE, VirtualThreadExecutorRemove.INSTANCE,
+                VirtualThreadExecutorRemove.INSTANCE, false);
+        virtualThreadExecutors.registerReadWriteAttribute(STATISTICS_ENABLED, null, ThreadPoolStatisticsEnabledUpdate.INSTANCE,
+                AttributeAccess.Storage.CONFIGURATION);
+        ThreadPoolMetrics.registerVirtual(virtualThreadExecutors);
     }
 
     @Override
@@ -150,6 +189,8 @@ public class ThreadsExtension implements Extension {
             addScheduledThreadPools(result, model);
             addThreadFactories(result, model);
             addUnboundedQueueThreadPools(result, model);
+            addWorkStealingThreadPools(result, model);
+            addVirtualThreadExecutors(result, model);
 
             context.completeStep();
         }
@@ -199,6 +240,24 @@ public class ThreadsExtension implements Extension {
             }
         }
 
+        private void addWorkStealingThreadPools(final ModelNode result, final ModelNode model) {
+            if (model.hasDefined(WORK_STEALING_THREAD_POOL)) {
+                ModelNode pools = model.get(WORK_STEALING_THREAD_POOL);
+                for (Property poolProp : pools.asPropertyList()) {
+                    addWorkStealingThreadPool(result, poolProp.getValue(), PathElement.pathElement(SUBSYSTEM, SUBSYSTEM_NAME), PathElement.pathElement(WORK_STEALING_THREAD_POOL, poolProp.getName()));
+                }
+            }
+        }
+
+        private void addVirtualThreadExecutors(final ModelNode result, final ModelNode model) {
+            if (model.hasDefined(VIRTUAL_THREAD_EXECUTOR)) {
+                ModelNode pools = model.get(VIRTUAL_THREAD_EXECUTOR);
+                for (Property poolProp : pools.asPropertyList()) {
+                    addVirtualThreadExecutor(result, poolProp.getValue(), PathElement.pathElement(SUBSYSTEM, SUBSYSTEM_NAME), PathElement.pathElement(VIRTUAL_THREAD_EXECUTOR, poolProp.getName()));
+                }
+            }
+        }
+
         @Override
         public ModelNode getModelDescription(Locale locale) {
             return CommonDescriptions.getSubsystemDescribeOperation(locale);
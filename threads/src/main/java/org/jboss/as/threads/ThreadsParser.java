@@ -40,6 +40,7 @@ import static org.jboss.as.threads.CommonAttributes.COUNT;
 import static org.jboss.as.threads.CommonAttributes.GROUP_NAME;
 import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
+import static org.jboss.as.threads.CommonAttributes.MAX_CONCURRENCY;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
 import static org.jboss.as.threads.CommonAttributes.NAME;
 import static org.jboss.as.threads.CommonAttributes.PER_CPU;
@@ -48,10 +49,13 @@ import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
 import static org.jboss.as.threads.CommonAttributes.QUEUELESS_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.QUEUE_LENGTH;
 import static org.jboss.as.threads.CommonAttributes.SCHEDULED_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.STATISTICS_ENABLED;
 import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import static org.jboss.as.threads.CommonAttributes.THREAD_NAME_PATTERN;
 import static org.jboss.as.threads.CommonAttributes.TIME;
 import static org.jboss.as.threads.CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.VIRTUAL_THREAD_EXECUTOR;
+import static org.jboss.as.threads.CommonAttributes.WORK_STEALING_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.UNIT;
 
 import java.math.BigDecimal;
@@ -135,6 +139,14 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
                 name = parseUnboundedQueueThreadPool(reader, address, list);
                 break;
             }
+            case WORK_STEALING_THREAD_POOL: {
+                name = parseWorkStealingThreadPool(reader, address, list);
+                break;
+            }
+            case VIRTUAL_THREAD_EXECUTOR: {
+                name = parseVirtualThreadExecutor(reader, address, list);
+                break;
+            }
             default: {
                 throw unexpectedElement(reader);
             }
@@ -237,6 +249,10 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
                     name = value;
                     break;
                 }
+                case STATISTICS_ENABLED: {
+                    op.get(STATISTICS_ENABLED).set(Boolean.valueOf(value));
+                    break;
+                }
                 case BLOCKING: {
                     op.get(BLOCKING).set(Boolean.valueOf(value));
                     break;
@@ -338,6 +354,10 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
                     name = value;
                     break;
                 }
+                case STATISTICS_ENABLED: {
+                    op.get(STATISTICS_ENABLED).set(Boolean.valueOf(value));
+                    break;
+                }
                 default:
                     throw unexpectedAttribute(reader, i);
             }
@@ -389,6 +409,172 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
         return name;
     }
 
+    public String parseWorkStealingThreadPool(final XMLExtendedStreamReader reader, final ModelNode parentAddress,
+            final List<ModelNode> list) throws XMLStreamException {
+        return parseWorkStealingThreadPool(reader, parentAddress, list, WORK_STEALING_THREAD_POOL, null);
+    }
+
+    public String parseWorkStealingThreadPool(final XMLExtendedStreamReader reader, final ModelNode parentAddress,
+            final List<ModelNode> list, final String childAddress, final String providedName) throws XMLStreamException {
+        final ModelNode op = new ModelNode();
+        list.add(op);
+        op.get(OP).set(ADD);
+
+        String name = null;
+        int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
+                case NAME: {
+                    name = value;
+                    break;
+                }
+                case STATISTICS_ENABLED: {
+                    op.get(STATISTICS_ENABLED).set(Boolean.valueOf(value));
+                    break;
+                }
+                case BLOCKING: {
+                    op.get(BLOCKING).set(Boolean.valueOf(value));
+                    break;
+                }
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (providedName != null) {
+            name = providedName;
+        } else if (name == null) {
+            throw missingRequired(reader, Collections.singleton(Attribute.NAME));
+        }
+
+        final ModelNode address = parentAddress.clone();
+        address.add(childAddress, name);
+        address.protect();
+        op.get(OP_ADDR).set(address);
+
+        boolean foundQueueLength = false;
+        boolean foundMaxThreads = false;
+        while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+            switch (Element.forName(reader.getLocalName())) {
+                case HANDOFF_EXECUTOR: {
+                    op.get(HANDOFF_EXECUTOR).set(parseRef(reader));
+                    break;
+                }
+                case MAX_THREADS: {
+                    op.get(MAX_THREADS).set(parseScaledCount(reader));
+                    foundMaxThreads = true;
+                    break;
+                }
+                case QUEUE_LENGTH: {
+                    op.get(QUEUE_LENGTH).set(parseScaledCount(reader));
+                    foundQueueLength = true;
+                    break;
+                }
+                case THREAD_FACTORY: {
+                    op.get(CommonAttributes.THREAD_FACTORY).set(parseRef(reader));
+                    break;
+                }
+                case PROPERTIES: {
+                    ModelNode props = parseProperties(reader);
+                    if (props.isDefined()) {
+                        op.get(PROPERTIES).set(props);
+                    }
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+        if (!foundMaxThreads || !foundQueueLength) {
+            Set<Element> missing = new HashSet<Element>();
+            if (!foundMaxThreads) {
+                missing.add(Element.MAX_THREADS);
+            }
+            if (!foundQueueLength) {
+                missing.add(Element.QUEUE_LENGTH);
+            }
+            throw missingRequiredElement(reader, missing);
+        }
+        return name;
+    }
+
+    public String parseVirtualThreadExecutor(final XMLExtendedStreamReader reader, final ModelNode parentAddress,
+            final List<ModelNode> list) throws XMLStreamException {
+        return parseVirtualThreadExecutor(reader, parentAddress, list, VIRTUAL_THREAD_EXECUTOR, null);
+    }
+
+    public String parseVirtualThreadExecutor(final XMLExtendedStreamReader reader, final ModelNode parentAddress,
+            final List<ModelNode> list, final String childAddress, final String providedName) throws XMLStreamException {
+        final ModelNode op = new ModelNode();
+        list.add(op);
+        op.get(OP).set(ADD);
+
+        String name = null;
+        int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
+                case NAME: {
+                    name = value;
+                    break;
+                }
+                case STATISTICS_ENABLED: {
+                    op.get(STATISTICS_ENABLED).set(Boolean.valueOf(value));
+                    break;
+                }
+                case BLOCKING: {
+                    op.get(BLOCKING).set(Boolean.valueOf(value));
+                    break;
+                }
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (providedName != null) {
+            name = providedName;
+        } else if (name == null) {
+            throw missingRequired(reader, Collections.singleton(Attribute.NAME));
+        }
+
+        final ModelNode address = parentAddress.clone();
+        address.add(childAddress, name);
+        address.protect();
+        op.get(OP_ADDR).set(address);
+
+        while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+            switch (Element.forName(reader.getLocalName())) {
+                case MAX_CONCURRENCY: {
+                    op.get(MAX_CONCURRENCY).set(parseScaledCount(reader));
+                    break;
+                }
+                case QUEUE_LENGTH: {
+                    op.get(QUEUE_LENGTH).set(parseScaledCount(reader));
+                    break;
+                }
+                case THREAD_FACTORY: {
+                    op.get(CommonAttributes.THREAD_FACTORY).set(parseRef(reader));
+                    break;
+                }
+                case PROPERTIES: {
+                    ModelNode props = parseProperties(reader);
+                    if (props.isDefined()) {
+                        op.get(PROPERTIES).set(props);
+                    }
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+        return name;
+    }
+
     public String parseScheduledThreadPool(final XMLExtendedStreamReader reader, final ModelNode parentAddress,
             final List<ModelNode> list) throws XMLStreamException {
         return parseScheduledThreadPool(reader, parentAddress, list, SCHEDULED_THREAD_POOL, null);
@@ -411,6 +597,10 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
                     name = value;
                     break;
                 }
+                case STATISTICS_ENABLED: {
+                    op.get(STATISTICS_ENABLED).set(Boolean.valueOf(value));
+                    break;
+                }
                 default:
                     throw unexpectedAttribute(reader, i);
             }
@@ -484,6 +674,10 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
                     name = value;
                     break;
                 }
+                case STATISTICS_ENABLED: {
+                    op.get(STATISTICS_ENABLED).set(Boolean.valueOf(value));
+                    break;
+                }
                 case BLOCKING: {
                     op.get(BLOCKING).set(Boolean.valueOf(value));
                     break;
@@ -765,6 +959,22 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
                 }
             }
         }
+        if (node.hasDefined(WORK_STEALING_THREAD_POOL)) {
+            for (String name : node.get(WORK_STEALING_THREAD_POOL).keys()) {
+                final ModelNode child = node.get(WORK_STEALING_THREAD_POOL, name);
+                if (child.isDefined()) {
+                    writeWorkStealingThreadPool(writer, child);
+                }
+            }
+        }
+        if (node.hasDefined(VIRTUAL_THREAD_EXECUTOR)) {
+            for (String name : node.get(VIRTUAL_THREAD_EXECUTOR).keys()) {
+                final ModelNode child = node.get(VIRTUAL_THREAD_EXECUTOR, name);
+                if (child.isDefined()) {
+                    writeVirtualThreadExecutor(writer, child);
+                }
+            }
+        }
     }
 
     public void writeThreadFactory(final XMLExtendedStreamWriter writer, final ModelNode node) throws XMLStreamException {
@@ -803,6 +1013,9 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
         if (includeName && node.hasDefined(NAME)) {
             writeAttribute(writer, Attribute.NAME, node.get(NAME));
         }
+        if (node.hasDefined(STATISTICS_ENABLED)) {
+            writeAttribute(writer, Attribute.STATISTICS_ENABLED, node.get(STATISTICS_ENABLED));
+        }
         if (node.hasDefined(BLOCKING)) {
             writeAttribute(writer, Attribute.BLOCKING, node.get(BLOCKING));
         }
@@ -833,6 +1046,9 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
         if (includeName && node.hasDefined(NAME)) {
             writeAttribute(writer, Attribute.NAME, node.get(NAME));
         }
+        if (node.hasDefined(STATISTICS_ENABLED)) {
+            writeAttribute(writer, Attribute.STATISTICS_ENABLED, node.get(STATISTICS_ENABLED));
+        }
         if (node.hasDefined(BLOCKING)) {
             writeAttribute(writer, Attribute.BLOCKING, node.get(BLOCKING));
         }
@@ -859,6 +1075,9 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
         if (includeName && node.hasDefined(NAME)) {
             writeAttribute(writer, Attribute.NAME, node.get(NAME));
         }
+        if (node.hasDefined(STATISTICS_ENABLED)) {
+            writeAttribute(writer, Attribute.STATISTICS_ENABLED, node.get(STATISTICS_ENABLED));
+        }
 
         writeRef(writer, node, Element.THREAD_FACTORY, THREAD_FACTORY);
         writeThreads(writer, node, Element.MAX_THREADS);
@@ -881,6 +1100,9 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
         if (includeName && node.hasDefined(NAME)) {
             writeAttribute(writer, Attribute.NAME, node.get(NAME));
         }
+        if (node.hasDefined(STATISTICS_ENABLED)) {
+            writeAttribute(writer, Attribute.STATISTICS_ENABLED, node.get(STATISTICS_ENABLED));
+        }
 
         writeRef(writer, node, Element.THREAD_FACTORY, THREAD_FACTORY);
         writeThreads(writer, node, Element.MAX_THREADS);
@@ -893,6 +1115,65 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
         writer.writeEndElement();
     }
 
+    public void writeWorkStealingThreadPool(final XMLExtendedStreamWriter writer, final ModelNode node) throws XMLStreamException {
+        writeWorkStealingThreadPool(writer, node, Element.WORK_STEALING_THREAD_POOL.getLocalName(), true);
+    }
+
+    public void writeWorkStealingThreadPool(final XMLExtendedStreamWriter writer, final ModelNode node, final String elementName, final boolean includeName)
+            throws XMLStreamException {
+        writer.writeStartElement(elementName);
+
+        if (includeName && node.hasDefined(NAME)) {
+            writeAttribute(writer, Attribute.NAME, node.get(NAME));
+        }
+        if (node.hasDefined(STATISTICS_ENABLED)) {
+            writeAttribute(writer, Attribute.STATISTICS_ENABLED, node.get(STATISTICS_ENABLED));
+        }
+        if (node.hasDefined(BLOCKING)) {
+            writeAttribute(writer, Attribute.BLOCKING, node.get(BLOCKING));
+        }
+
+        writeRef(writer, node, Element.HANDOFF_EXECUTOR, HANDOFF_EXECUTOR);
+        writeRef(writer, node, Element.THREAD_FACTORY, THREAD_FACTORY);
+        writeThreads(writer, node, Element.QUEUE_LENGTH);
+        writeThreads(writer, node, Element.MAX_THREADS);
+
+        if (node.hasDefined(PROPERTIES)) {
+            writeProperties(writer, node.get(PROPERTIES));
+        }
+
+        writer.writeEndElement();
+    }
+
+    public void writeVirtualThreadExecutor(final XMLExtendedStreamWriter writer, final ModelNode node) throws XMLStreamException {
+        writeVirtualThreadExecutor(writer, node, Element.VIRTUAL_THREAD_EXECUTOR.getLocalName(), true);
+    }
+
+    public void writeVirtualThreadExecutor(final XMLExtendedStreamWriter writer, final ModelNode node, final String elementName, final boolean includeName)
+            throws XMLStreamException {
+        writer.writeStartElement(elementName);
+
+        if (includeName && node.hasDefined(NAME)) {
+            writeAttribute(writer, Attribute.NAME, node.get(NAME));
+        }
+        if (node.hasDefined(STATISTICS_ENABLED)) {
+            writeAttribute(writer, Attribute.STATISTICS_ENABLED, node.get(STATISTICS_ENABLED));
+        }
+        if (node.hasDefined(BLOCKING)) {
+            writeAttribute(writer, Attribute.BLOCKING, node.get(BLOCKING));
+        }
+
+        writeRef(writer, node, Element.THREAD_FACTORY, THREAD_FACTORY);
+        writeThreads(writer, node, Element.MAX_CONCURRENCY);
+        writeThreads(writer, node, Element.QUEUE_LENGTH);
+
+        if (node.hasDefined(PROPERTIES)) {
+            writeProperties(writer, node.get(PROPERTIES));
+        }
+
+        writer.writeEndElement();
+    }
+
     private void writeRef(final XMLExtendedStreamWriter writer, final ModelNode node, Element element, String name)
             throws XMLStreamException {
         if (node.hasDefined(name)) {
@@ -31,6 +31,8 @@ import static org.jboss.as.threads.CommonAttributes.QUEUELESS_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.SCHEDULED_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import static org.jboss.as.threads.CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.VIRTUAL_THREAD_EXECUTOR;
+import static org.jboss.as.threads.CommonAttributes.WORK_STEALING_THREAD_POOL;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -50,6 +52,8 @@ class ThreadsSubsystemAdd extends AbstractAddStepHandler implements DescriptionP
         model.get(SCHEDULED_THREAD_POOL).setEmptyObject();
         model.get(THREAD_FACTORY).setEmptyObject();
         model.get(UNBOUNDED_QUEUE_THREAD_POOL).setEmptyObject();
+        model.get(WORK_STEALING_THREAD_POOL).setEmptyObject();
+        model.get(VIRTUAL_THREAD_EXECUTOR).setEmptyObject();
     }
 
     protected boolean requiresRuntime(OperationContext context) {
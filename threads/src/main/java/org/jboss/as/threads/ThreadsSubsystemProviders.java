@@ -36,26 +36,41 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQ
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAIL_COMMENT_ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
+import static org.jboss.as.threads.CommonAttributes.ACTIVE_COUNT;
 import static org.jboss.as.threads.CommonAttributes.ALLOW_CORE_TIMEOUT;
 import static org.jboss.as.threads.CommonAttributes.BLOCKING;
 import static org.jboss.as.threads.CommonAttributes.BOUNDED_QUEUE_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.COMPLETED_TASK_COUNT;
 import static org.jboss.as.threads.CommonAttributes.CORE_THREADS;
 import static org.jboss.as.threads.CommonAttributes.COUNT;
+import static org.jboss.as.threads.CommonAttributes.CURRENT_THREAD_COUNT;
+import static org.jboss.as.threads.CommonAttributes.EXECUTION_TIME;
 import static org.jboss.as.threads.CommonAttributes.GROUP_NAME;
 import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
+import static org.jboss.as.threads.CommonAttributes.LARGEST_THREAD_COUNT;
+import static org.jboss.as.threads.CommonAttributes.MAX_CONCURRENCY;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
 import static org.jboss.as.threads.CommonAttributes.PER_CPU;
+import static org.jboss.as.threads.CommonAttributes.PINNED_COUNT;
+import static org.jboss.as.threads.CommonAttributes.PINNED_TIME;
 import static org.jboss.as.threads.CommonAttributes.PRIORITY;
 import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
 import static org.jboss.as.threads.CommonAttributes.QUEUELESS_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.QUEUE_LENGTH;
+import static org.jboss.as.threads.CommonAttributes.QUEUE_SIZE;
+import static org.jboss.as.threads.CommonAttributes.QUEUE_WAIT_TIME;
+import static org.jboss.as.threads.CommonAttributes.REJECTED_COUNT;
 import static org.jboss.as.threads.CommonAttributes.SCHEDULED_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.STATISTICS_ENABLED;
 import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import static org.jboss.as.threads.CommonAttributes.THREAD_NAME_PATTERN;
 import static org.jboss.as.threads.CommonAttributes.TIME;
 import static org.jboss.as.threads.CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.UNIT;
+import static org.jboss.as.threads.CommonAttributes.VIRTUAL_THREAD_EXECUTOR;
+import static org.jboss.as.threads.CommonAttributes.VIRTUAL_THREADS;
+import static org.jboss.as.threads.CommonAttributes.WORK_STEALING_THREAD_POOL;
 
 import java.util.Locale;
 import java.util.ResourceBundle;
@@ -100,6 +115,12 @@ public class ThreadsSubsystemProviders {
             subsystem.get(CHILDREN, SCHEDULED_THREAD_POOL, DESCRIPTION).set(bundle.getString("threadpool.scheduled"));
             subsystem.get(CHILDREN, SCHEDULED_THREAD_POOL, REQUIRED).set(false);
 
+            subsystem.get(CHILDREN, WORK_STEALING_THREAD_POOL, DESCRIPTION).set(bundle.getString("threadpool.workstealing"));
+            subsystem.get(CHILDREN, WORK_STEALING_THREAD_POOL, REQUIRED).set(false);
+
+            subsystem.get(CHILDREN, VIRTUAL_THREAD_EXECUTOR, DESCRIPTION).set(bundle.getString("threadpool.virtual"));
+            subsystem.get(CHILDREN, VIRTUAL_THREAD_EXECUTOR, REQUIRED).set(false);
+
             return subsystem;
         }
     };
@@ -225,6 +246,86 @@ public class ThreadsSubsystemProviders {
         }
     };
 
+    static final DescriptionProvider WORK_STEALING_THREAD_POOL_DESC = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode node = getCommonThreadPool(bundle, bundle.getString("threadpool.workstealing.description"));
+            // Worker threads are started up front and never time out
+            node.get(ATTRIBUTES).remove(KEEPALIVE_TIME);
+
+            node.get(ATTRIBUTES, BLOCKING, DESCRIPTION).set(bundle.getString("threadpool.workstealing.blocking"));
+            node.get(ATTRIBUTES, BLOCKING, TYPE).set(ModelType.BOOLEAN);
+            node.get(ATTRIBUTES, BLOCKING, REQUIRED).set(false);
+
+            node.get(ATTRIBUTES, HANDOFF_EXECUTOR, DESCRIPTION).set(bundle.getString("threadpool.workstealing.handoffexecutor"));
+            node.get(ATTRIBUTES, HANDOFF_EXECUTOR, TYPE).set(ModelType.STRING);
+            node.get(ATTRIBUTES, HANDOFF_EXECUTOR, REQUIRED).set(false);
+
+            node.get(ATTRIBUTES, QUEUE_LENGTH, DESCRIPTION).set(bundle.getString("threadpool.workstealing.queuelength"));
+            node.get(ATTRIBUTES, QUEUE_LENGTH, TYPE).set(ModelType.OBJECT);
+            node.get(ATTRIBUTES, QUEUE_LENGTH, REQUIRED).set(true);
+            node.get(ATTRIBUTES, QUEUE_LENGTH, VALUE_TYPE, COUNT, DESCRIPTION).set(
+                    bundle.getString("threadpool.bounded.queuelength.count"));
+            node.get(ATTRIBUTES, QUEUE_LENGTH, VALUE_TYPE, COUNT, TYPE).set(ModelType.BIG_DECIMAL);
+            node.get(ATTRIBUTES, QUEUE_LENGTH, VALUE_TYPE, COUNT, REQUIRED).set(true);
+            node.get(ATTRIBUTES, QUEUE_LENGTH, VALUE_TYPE, PER_CPU, DESCRIPTION).set(
+                    bundle.getString("threadpool.bounded.queuelength.percpu"));
+            node.get(ATTRIBUTES, QUEUE_LENGTH, VALUE_TYPE, PER_CPU, TYPE).set(ModelType.BIG_DECIMAL);
+            node.get(ATTRIBUTES, QUEUE_LENGTH, VALUE_TYPE, PER_CPU, REQUIRED).set(true);
+            return node;
+        }
+    };
+
+    static final DescriptionProvider VIRTUAL_THREAD_EXECUTOR_DESC = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode node = getCommonThreadPool(bundle, bundle.getString("threadpool.virtual.description"));
+            // A thread is started per task, so there is no pool size or keepalive
+            node.get(ATTRIBUTES).remove(MAX_THREADS);
+            node.get(ATTRIBUTES).remove(KEEPALIVE_TIME);
+            node.get(ATTRIBUTES, MAX_CONCURRENCY, DESCRIPTION).set(bundle.getString("threadpool.virtual.maxconcurrency"));
+            node.get(ATTRIBUTES, MAX_CONCURRENCY, TYPE).set(ModelType.OBJECT);
+            node.get(ATTRIBUTES, MAX_CONCURRENCY, REQUIRED).set(false);
+            node.get(ATTRIBUTES, MAX_CONCURRENCY, VALUE_TYPE, COUNT, DESCRIPTION).set(
+                    bundle.getString("threadpool.common.maxthreads.count"));
+            node.get(ATTRIBUTES, MAX_CONCURRENCY, VALUE_TYPE, COUNT, TYPE).set(ModelType.BIG_DECIMAL);
+            node.get(ATTRIBUTES, MAX_CONCURRENCY, VALUE_TYPE, COUNT, REQUIRED).set(true);
+            node.get(ATTRIBUTES, MAX_CONCURRENCY, VALUE_TYPE, PER_CPU, DESCRIPTION).set(
+                    bundle.getString("threadpool.common.maxthreads.percpu"));
+            node.get(ATTRIBUTES, MAX_CONCURRENCY, VALUE_TYPE, PER_CPU, TYPE).set(ModelType.BIG_DECIMAL);
+            node.get(ATTRIBUTES, MAX_CONCURRENCY, VALUE_TYPE, PER_CPU, REQUIRED).set(true);
+
+            node.get(ATTRIBUTES, QUEUE_LENGTH, DESCRIPTION).set(bundle.getString("threadpool.virtual.queuelength"));
+            node.get(ATTRIBUTES, QUEUE_LENGTH, TYPE).set(ModelType.OBJECT);
+            node.get(ATTRIBUTES, QUEUE_LENGTH, REQUIRED).set(false);
+            node.get(ATTRIBUTES, QUEUE_LENGTH, VALUE_TYPE, COUNT, DESCRIPTION).set(
+                    bundle.getString("threadpool.bounded.queuelength.count"));
+            node.get(ATTRIBUTES, QUEUE_LENGTH, VALUE_TYPE, COUNT, TYPE).set(ModelType.BIG_DECIMAL);
+            node.get(ATTRIBUTES, QUEUE_LENGTH, VALUE_TYPE, COUNT, REQUIRED).set(true);
+            node.get(ATTRIBUTES, QUEUE_LENGTH, VALUE_TYPE, PER_CPU, DESCRIPTION).set(
+                    bundle.getString("threadpool.bounded.queuelength.percpu"));
+            node.get(ATTRIBUTES, QUEUE_LENGTH, VALUE_TYPE, PER_CPU, TYPE).set(ModelType.BIG_DECIMAL);
+            node.get(ATTRIBUTES, QUEUE_LENGTH, VALUE_TYPE, PER_CPU, REQUIRED).set(true);
+
+            node.get(ATTRIBUTES, BLOCKING, DESCRIPTION).set(bundle.getString("threadpool.virtual.blocking"));
+            node.get(ATTRIBUTES, BLOCKING, TYPE).set(ModelType.BOOLEAN);
+            node.get(ATTRIBUTES, BLOCKING, REQUIRED).set(false);
+
+            // Metrics
+            node.get(ATTRIBUTES, VIRTUAL_THREADS, DESCRIPTION).set(bundle.getString("threadpool.virtual.virtualthreads"));
+            node.get(ATTRIBUTES, VIRTUAL_THREADS, TYPE).set(ModelType.BOOLEAN);
+            node.get(ATTRIBUTES, PINNED_COUNT, DESCRIPTION).set(bundle.getString("threadpool.virtual.pinnedcount"));
+            node.get(ATTRIBUTES, PINNED_COUNT, TYPE).set(ModelType.LONG);
+            node.get(ATTRIBUTES, PINNED_TIME, DESCRIPTION).set(bundle.getString("threadpool.virtual.pinnedtime"));
+            node.get(ATTRIBUTES, PINNED_TIME, TYPE).set(ModelType.LONG);
+            return node;
+        }
+    };
+
     private static ModelNode getCommonThreadPool(final ResourceBundle bundle, final String description) {
         final ModelNode node = new ModelNode();
         node.get(DESCRIPTION).set(description);
@@ -267,6 +368,28 @@ public class ThreadsSubsystemProviders {
                 bundle.getString("threadpool.common.keepalive.unit"));
         node.get(ATTRIBUTES, KEEPALIVE_TIME, VALUE_TYPE, UNIT, TYPE).set(ModelType.STRING);
         node.get(ATTRIBUTES, KEEPALIVE_TIME, VALUE_TYPE, UNIT, REQUIRED).set(true);
+
+        node.get(ATTRIBUTES, STATISTICS_ENABLED, DESCRIPTION).set(bundle.getString("threadpool.common.statisticsenabled"));
+        node.get(ATTRIBUTES, STATISTICS_ENABLED, TYPE).set(ModelType.BOOLEAN);
+        node.get(ATTRIBUTES, STATISTICS_ENABLED, REQUIRED).set(false);
+
+        // Metrics
+        node.get(ATTRIBUTES, CURRENT_THREAD_COUNT, DESCRIPTION).set(bundle.getString("threadpool.common.currentthreadcount"));
+        node.get(ATTRIBUTES, CURRENT_THREAD_COUNT, TYPE).set(ModelType.INT);
+        node.get(ATTRIBUTES, LARGEST_THREAD_COUNT, DESCRIPTION).set(bundle.getString("threadpool.common.largestthreadcount"));
+        node.get(ATTRIBUTES, LARGEST_THREAD_COUNT, TYPE).set(ModelType.INT);
+        node.get(ATTRIBUTES, ACTIVE_COUNT, DESCRIPTION).set(bundle.getString("threadpool.common.activecount"));
+        node.get(ATTRIBUTES, ACTIVE_COUNT, TYPE).set(ModelType.INT);
+        node.get(ATTRIBUTES, QUEUE_SIZE, DESCRIPTION).set(bundle.getString("threadpool.common.queuesize"));
+        node.get(ATTRIBUTES, QUEUE_SIZE, TYPE).set(ModelType.INT);
+        node.get(ATTRIBUTES, COMPLETED_TASK_COUNT, DESCRIPTION).set(bundle.getString("threadpool.common.completedtaskcount"));
+        node.get(ATTRIBUTES, COMPLETED_TASK_COUNT, TYPE).set(ModelType.LONG);
+        node.get(ATTRIBUTES, REJECTED_COUNT, DESCRIPTION).set(bundle.getString("threadpool.common.rejectedcount"));
+        node.get(ATTRIBUTES, REJECTED_COUNT, TYPE).set(ModelType.LONG);
+        node.get(ATTRIBUTES, QUEUE_WAIT_TIME, DESCRIPTION).set(bundle.getString("threadpool.common.queuewaittime"));
+        node.get(ATTRIBUTES, QUEUE_WAIT_TIME, TYPE).set(ModelType.OBJECT);
+        node.get(ATTRIBUTES, EXECUTION_TIME, DESCRIPTION).set(bundle.getString("threadpool.common.executiontime"));
+        node.get(ATTRIBUTES, EXECUTION_TIME, TYPE).set(ModelType.OBJECT);
         return node;
     }
 
@@ -417,6 +540,76 @@ public class ThreadsSubsystemProviders {
         }
     };
 
+    static DescriptionProvider ADD_WORK_STEALING_THREAD_POOL_DESC = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = getCommonAddThreadPool(bundle, ADD, bundle.getString("threadpool.workstealing.add"));
+            operation.get(REQUEST_PROPERTIES).remove(KEEPALIVE_TIME);
+
+            operation.get(REQUEST_PROPERTIES, BLOCKING, DESCRIPTION).set(bundle.getString("threadpool.workstealing.blocking"));
+            operation.get(REQUEST_PROPERTIES, BLOCKING, TYPE).set(ModelType.BOOLEAN);
+            operation.get(REQUEST_PROPERTIES, BLOCKING, REQUIRED).set(false);
+
+            operation.get(REQUEST_PROPERTIES, HANDOFF_EXECUTOR, DESCRIPTION).set(bundle.getString("threadpool.workstealing.handoffexecutor"));
+            operation.get(REQUEST_PROPERTIES, HANDOFF_EXECUTOR, TYPE).set(ModelType.STRING);
+            operation.get(REQUEST_PROPERTIES, HANDOFF_EXECUTOR, REQUIRED).set(false);
+
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, DESCRIPTION).set(bundle.getString("threadpool.workstealing.queuelength"));
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, TYPE).set(ModelType.OBJECT);
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, REQUIRED).set(true);
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, VALUE_TYPE, COUNT, DESCRIPTION).set(
+                    bundle.getString("threadpool.bounded.queuelength.count"));
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, VALUE_TYPE, COUNT, TYPE).set(ModelType.BIG_DECIMAL);
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, VALUE_TYPE, COUNT, REQUIRED).set(true);
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, VALUE_TYPE, PER_CPU, DESCRIPTION).set(
+                    bundle.getString("threadpool.bounded.queuelength.percpu"));
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, VALUE_TYPE, PER_CPU, TYPE).set(ModelType.BIG_DECIMAL);
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, VALUE_TYPE, PER_CPU, REQUIRED).set(true);
+            return operation;
+        }
+    };
+
+    static DescriptionProvider ADD_VIRTUAL_THREAD_EXECUTOR_DESC = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = getCommonAddThreadPool(bundle, ADD, bundle.getString("threadpool.virtual.add"));
+            operation.get(REQUEST_PROPERTIES).remove(MAX_THREADS);
+            operation.get(REQUEST_PROPERTIES).remove(KEEPALIVE_TIME);
+            operation.get(REQUEST_PROPERTIES, MAX_CONCURRENCY, DESCRIPTION).set(bundle.getString("threadpool.virtual.maxconcurrency"));
+            operation.get(REQUEST_PROPERTIES, MAX_CONCURRENCY, TYPE).set(ModelType.OBJECT);
+            operation.get(REQUEST_PROPERTIES, MAX_CONCURRENCY, REQUIRED).set(false);
+            operation.get(REQUEST_PROPERTIES, MAX_CONCURRENCY, VALUE_TYPE, COUNT, DESCRIPTION).set(
+                    bundle.getString("threadpool.common.maxthreads.count"));
+            operation.get(REQUEST_PROPERTIES, MAX_CONCURRENCY, VALUE_TYPE, COUNT, TYPE).set(ModelType.BIG_DECIMAL);
+            operation.get(REQUEST_PROPERTIES, MAX_CONCURRENCY, VALUE_TYPE, COUNT, REQUIRED).set(true);
+            operation.get(REQUEST_PROPERTIES, MAX_CONCURRENCY, VALUE_TYPE, PER_CPU, DESCRIPTION).set(
+                    bundle.getString("threadpool.common.maxthreads.percpu"));
+            operation.get(REQUEST_PROPERTIES, MAX_CONCURRENCY, VALUE_TYPE, PER_CPU, TYPE).set(ModelType.BIG_DECIMAL);
+            operation.get(REQUEST_PROPERTIES, MAX_CONCURRENCY, VALUE_TYPE, PER_CPU, REQUIRED).set(true);
+
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, DESCRIPTION).set(bundle.getString("threadpool.virtual.queuelength"));
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, TYPE).set(ModelType.OBJECT);
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, REQUIRED).set(false);
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, VALUE_TYPE, COUNT, DESCRIPTION).set(
+                    bundle.getString("threadpool.bounded.queuelength.count"));
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, VALUE_TYPE, COUNT, TYPE).set(ModelType.BIG_DECIMAL);
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, VALUE_TYPE, COUNT, REQUIRED).set(true);
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, VALUE_TYPE, PER_CPU, DESCRIPTION).set(
+                    bundle.getString("threadpool.bounded.queuelength.percpu"));
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, VALUE_TYPE, PER_CPU, TYPE).set(ModelType.BIG_DECIMAL);
+            operation.get(REQUEST_PROPERTIES, QUEUE_LENGTH, VALUE_TYPE, PER_CPU, REQUIRED).set(true);
+
+            operation.get(REQUEST_PROPERTIES, BLOCKING, DESCRIPTION).set(bundle.getString("threadpool.virtual.blocking"));
+            operation.get(REQUEST_PROPERTIES, BLOCKING, TYPE).set(ModelType.BOOLEAN);
+            operation.get(REQUEST_PROPERTIES, BLOCKING, REQUIRED).set(false);
+            return operation;
+        }
+    };
+
     static ModelNode getCommonAddThreadPool(final ResourceBundle bundle, final String operationName, final String description) {
         final ModelNode operation = new ModelNode();
         operation.get(OPERATION_NAME).set(operationName);
@@ -453,6 +646,10 @@ public class ThreadsSubsystemProviders {
         operation.get(REQUEST_PROPERTIES, KEEPALIVE_TIME, VALUE_TYPE, UNIT, TYPE).set(ModelType.STRING);
         operation.get(REQUEST_PROPERTIES, KEEPALIVE_TIME, VALUE_TYPE, UNIT, REQUIRED).set(true);
 
+        operation.get(REQUEST_PROPERTIES, STATISTICS_ENABLED, DESCRIPTION).set(bundle.getString("threadpool.common.statisticsenabled"));
+        operation.get(REQUEST_PROPERTIES, STATISTICS_ENABLED, TYPE).set(ModelType.BOOLEAN);
+        operation.get(REQUEST_PROPERTIES, STATISTICS_ENABLED, REQUIRED).set(false);
+
         operation.get(REPLY_PROPERTIES).setEmptyObject();
         return operation;
     }
@@ -493,6 +690,24 @@ public class ThreadsSubsystemProviders {
         }
     };
 
+    static DescriptionProvider REMOVE_WORK_STEALING_THREAD_POOL_DESC = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            return getCommonRemoveThreadPool(bundle, REMOVE, bundle.getString("threadpool.workstealing.remove"));
+        }
+    };
+
+    static DescriptionProvider REMOVE_VIRTUAL_THREAD_EXECUTOR_DESC = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            return getCommonRemoveThreadPool(bundle, REMOVE, bundle.getString("threadpool.virtual.remove"));
+        }
+    };
+
     private static ModelNode getCommonRemoveThreadPool(final ResourceBundle bundle, String operationName, String description) {
         ModelNode operation = new ModelNode();
         operation.get(OPERATION_NAME).set(operationName);
@@ -527,6 +742,12 @@ public class ThreadsSubsystemProviders {
         node.get(CHILDREN, SCHEDULED_THREAD_POOL, DESCRIPTION).set(bundle.getString("threadpool.scheduled"));
         node.get(CHILDREN, SCHEDULED_THREAD_POOL, REQUIRED).set(false);
 
+        node.get(CHILDREN, WORK_STEALING_THREAD_POOL, DESCRIPTION).set(bundle.getString("threadpool.workstealing"));
+        node.get(CHILDREN, WORK_STEALING_THREAD_POOL, REQUIRED).set(false);
+
+        node.get(CHILDREN, VIRTUAL_THREAD_EXECUTOR, DESCRIPTION).set(bundle.getString("threadpool.virtual"));
+        node.get(CHILDREN, VIRTUAL_THREAD_EXECUTOR, REQUIRED).set(false);
+
         return node;
     }
 }
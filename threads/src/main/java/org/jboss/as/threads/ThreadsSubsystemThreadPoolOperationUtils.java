@@ -28,10 +28,12 @@ import static org.jboss.as.threads.CommonAttributes.CORE_THREADS;
 import static org.jboss.as.threads.CommonAttributes.COUNT;
 import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
+import static org.jboss.as.threads.CommonAttributes.MAX_CONCURRENCY;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
 import static org.jboss.as.threads.CommonAttributes.PER_CPU;
 import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
 import static org.jboss.as.threads.CommonAttributes.QUEUE_LENGTH;
+import static org.jboss.as.threads.CommonAttributes.STATISTICS_ENABLED;
 import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import static org.jboss.as.threads.CommonAttributes.TIME;
 import static org.jboss.as.threads.CommonAttributes.UNIT;
@@ -74,6 +76,17 @@ class ThreadsSubsystemThreadPoolOperationUtils {
         return parseBaseThreadPoolOperationParameters(operation, params);
     }
 
+    static WorkStealingOperationParameters parseWorkStealingThreadPoolOperationParameters(ModelNode operation) {
+        OperationParametersImpl params = new OperationParametersImpl();
+        parseBaseThreadPoolOperationParameters(operation, params);
+
+        params.blocking = operation.hasDefined(BLOCKING) ? operation.get(BLOCKING).asBoolean() : false;
+        params.handoffExecutor = operation.hasDefined(HANDOFF_EXECUTOR) ? operation.get(HANDOFF_EXECUTOR).asString() : null;
+        params.queueLength = getScaledCount(operation, QUEUE_LENGTH);
+
+        return params;
+    }
+
     static BaseOperationParameters parseScheduledThreadPoolOperationParameters(ModelNode operation) {
         OperationParametersImpl params = new OperationParametersImpl();
         return parseBaseThreadPoolOperationParameters(operation, params);
@@ -103,13 +116,47 @@ class ThreadsSubsystemThreadPoolOperationUtils {
     }
 
 
+    static VirtualThreadExecutorOperationParameters parseVirtualThreadExecutorOperationParameters(ModelNode operation) {
+        OperationParametersImpl params = new OperationParametersImpl();
+        parseCommonOperationParameters(operation, params);
+
+        params.maxConcurrency = getScaledCount(operation, MAX_CONCURRENCY);
+        params.queueLength = getScaledCount(operation, QUEUE_LENGTH);
+        params.blocking = operation.hasDefined(BLOCKING) ? operation.get(BLOCKING).asBoolean() : false;
+
+        return params;
+    }
+
     private static OperationParametersImpl parseBaseThreadPoolOperationParameters(ModelNode operation, OperationParametersImpl params) {
+        parseCommonOperationParameters(operation, params);
+
+        params.maxThreads = getScaledCount(operation, MAX_THREADS);
+        if (params.maxThreads == null) {
+            throw new IllegalArgumentException(MAX_THREADS + " was not defined");
+        }
+
+        if (operation.hasDefined(KEEPALIVE_TIME)) {
+            ModelNode keepaliveTime = operation.get(KEEPALIVE_TIME);
+            if (!keepaliveTime.hasDefined(TIME)) {
+                throw new IllegalArgumentException("Missing '" + TIME + "' for '" + KEEPALIVE_TIME + "'");
+            }
+            if (!keepaliveTime.hasDefined(UNIT)) {
+                throw new IllegalArgumentException("Missing '" + UNIT + "' for '" + KEEPALIVE_TIME + "'");
+            }
+            params.keepAliveTime = new TimeSpec(Enum.valueOf(TimeUnit.class, keepaliveTime.get(UNIT).asString()), keepaliveTime.get(TIME).asLong());
+        }
+
+        return params;
+    }
+
+    private static OperationParametersImpl parseCommonOperationParameters(ModelNode operation, OperationParametersImpl params) {
         params.address = operation.require(OP_ADDR);
         PathAddress pathAddress = PathAddress.pathAddress(params.address);
         params.name = pathAddress.getLastElement().getValue();
 
         //Get/validate the properties
         params.threadFactory = operation.hasDefined(THREAD_FACTORY) ? operation.get(THREAD_FACTORY).asString() : null;
+        params.statisticsEnabled = operation.hasDefined(STATISTICS_ENABLED) ? operation.get(STATISTICS_ENABLED).asBoolean() : false;
         params.properties = operation.hasDefined(PROPERTIES) ? operation.get(PROPERTIES) : null;
         if (params.properties != null) {
             if (params.properties.getType() != ModelType.LIST) {
@@ -121,21 +168,6 @@ class ThreadsSubsystemThreadPoolOperationUtils {
                 }
             }
         }
-        params.maxThreads = getScaledCount(operation, MAX_THREADS);
-        if (params.maxThreads == null) {
-            throw new IllegalArgumentException(MAX_THREADS + " was not defined");
-        }
-
-        if (operation.hasDefined(KEEPALIVE_TIME)) {
-            ModelNode keepaliveTime = operation.get(KEEPALIVE_TIME);
-            if (!keepaliveTime.hasDefined(TIME)) {
-                throw new IllegalArgumentException("Missing '" + TIME + "' for '" + KEEPALIVE_TIME + "'");
-            }
-            if (!keepaliveTime.hasDefined(UNIT)) {
-                throw new IllegalArgumentException("Missing '" + UNIT + "' for '" + KEEPALIVE_TIME + "'");
-            }
-            params.keepAliveTime = new TimeSpec(Enum.valueOf(TimeUnit.class, keepaliveTime.get(UNIT).asString()), keepaliveTime.get(TIME).asLong());
-        }
 
         return params;
     }
@@ -154,7 +186,7 @@ class ThreadsSubsystemThreadPoolOperationUtils {
         return null;
     }
 
-    interface BaseOperationParameters {
+    interface CommonOperationParameters {
         ModelNode getAddress();
 
         String getName();
@@ -163,11 +195,23 @@ class ThreadsSubsystemThreadPoolOperationUtils {
 
         ModelNode getProperties();
 
+        boolean isStatisticsEnabled();
+    }
+
+    interface BaseOperationParameters extends CommonOperationParameters {
         ScaledCount getMaxThreads();
 
         TimeSpec getKeepAliveTime();
     }
 
+    interface VirtualThreadExecutorOperationParameters extends CommonOperationParameters {
+        ScaledCount getMaxConcurrency();
+
+        ScaledCount getQueueLength();
+
+        boolean isBlocking();
+    }
+
     interface QueuelessOperationParameters extends BaseOperationParameters {
         boolean isBlocking();
 
@@ -180,7 +224,11 @@ class ThreadsSubsystemThreadPoolOperationUtils {
         ScaledCount getQueueLength();
     }
 
-    private static class OperationParametersImpl implements QueuelessOperationParameters, BoundedOperationParameters {
+    interface WorkStealingOperationParameters extends QueuelessOperationParameters {
+        ScaledCount getQueueLength();
+    }
+
+    private static class OperationParametersImpl implements QueuelessOperationParameters, BoundedOperationParameters, WorkStealingOperationParameters, VirtualThreadExecutorOperationParameters {
         ModelNode address;
         String name;
         String threadFactory;
@@ -192,6 +240,8 @@ class ThreadsSubsystemThreadPoolOperationUtils {
         boolean allowCoreTimeout;
         ScaledCount coreThreads;
         ScaledCount queueLength;
+        boolean statisticsEnabled;
+        ScaledCount maxConcurrency;
 
         @Override
         public ModelNode getAddress() {
@@ -223,6 +273,11 @@ class ThreadsSubsystemThreadPoolOperationUtils {
             return keepAliveTime;
         }
 
+        @Override
+        public boolean isStatisticsEnabled() {
+            return statisticsEnabled;
+        }
+
         @Override
         public boolean isBlocking() {
             return blocking;
@@ -247,6 +302,11 @@ class ThreadsSubsystemThreadPoolOperationUtils {
         public ScaledCount getQueueLength() {
             return queueLength;
         }
+
+        @Override
+        public ScaledCount getMaxConcurrency() {
+            return maxConcurrency;
+        }
     }
 
 }
@@ -34,6 +34,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
 import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
+import static org.jboss.as.threads.CommonAttributes.STATISTICS_ENABLED;
 import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import org.jboss.as.threads.ThreadsSubsystemThreadPoolOperationUtils.BaseOperationParameters;
 import org.jboss.dmr.ModelNode;
@@ -72,6 +73,9 @@ public class UnboundedQueueThreadPoolAdd implements OperationStepHandler, Descri
         if (params.getMaxThreads() != null) {
             model.get(MAX_THREADS).set(operation.get(MAX_THREADS));
         }
+        if (params.isStatisticsEnabled()) {
+            model.get(STATISTICS_ENABLED).set(true);
+        }
 
         if (params.getKeepAliveTime() != null) {
             model.get(KEEPALIVE_TIME).set(operation.get(KEEPALIVE_TIME));
@@ -85,6 +89,7 @@ public class UnboundedQueueThreadPoolAdd implements OperationStepHandler, Descri
                     ServiceTarget target = context.getServiceTarget();
                     final ServiceName serviceName = ThreadsServices.executorName(params.getName());
                     final UnboundedQueueThreadPoolService service = new UnboundedQueueThreadPoolService(params.getMaxThreads().getScaledCount(), params.getKeepAliveTime());
+                    service.getStatistics().setEnabled(params.isStatisticsEnabled());
                     final ServiceBuilder<ExecutorService> serviceBuilder = target.addService(serviceName, service);
                     ThreadsSubsystemThreadPoolOperationUtils.addThreadFactoryDependency(params.getThreadFactory(), serviceName, serviceBuilder, service.getThreadFactoryInjector(), target, params.getName() + "-threads");
                     serviceBuilder.addListener(verificationHandler);
@@ -42,11 +42,13 @@ import java.util.concurrent.TimeUnit;
  *
  * @author John E. Bailey
  */
-public class UnboundedQueueThreadPoolService implements Service<ExecutorService> {
+public class UnboundedQueueThreadPoolService implements Service<ExecutorService>, ManagedThreadPoolService {
     private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
 
     private JBossThreadPoolExecutor executor;
     private ExecutorService value;
+    private MeteredExecutor meteredExecutor;
+    private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
 
     private int maxThreads;
     private TimeSpec keepAlive;
@@ -60,7 +62,8 @@ public class UnboundedQueueThreadPoolService implements Service<ExecutorService>
         final TimeSpec keepAliveSpec = keepAlive;
         long keepAliveTime = keepAliveSpec == null ? Long.MAX_VALUE : keepAliveSpec.getUnit().toNanos(keepAliveSpec.getDuration());
         executor = new JBossThreadPoolExecutor(maxThreads, maxThreads, keepAliveTime, TimeUnit.NANOSECONDS, new LinkedBlockingQueue<Runnable>(), threadFactoryValue.getValue());
-        value = JBossExecutors.protectedExecutorService(executor);
+        meteredExecutor = new MeteredExecutor(executor, statistics);
+        value = JBossExecutors.protectedExecutorService(meteredExecutor);
     }
 
     public synchronized void stop(final StopContext context) {
@@ -76,6 +79,7 @@ public class UnboundedQueueThreadPoolService implements Service<ExecutorService>
             }
         }, context);
         this.executor = null;
+        meteredExecutor = null;
         value = null;
     }
 
@@ -91,6 +95,35 @@ public class UnboundedQueueThreadPoolService implements Service<ExecutorService>
         return threadFactoryValue;
     }
 
+    public synchronized int getCurrentThreadCount() {
+        final JBossThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getCurrentThreadCount();
+    }
+
+    public synchronized int getLargestThreadCount() {
+        final JBossThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getLargestThreadCount();
+    }
+
+    public synchronized int getQueueSize() {
+        final JBossThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    public synchronized int getActiveCount() {
+        final JBossThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    public synchronized long getCompletedTaskCount() {
+        final JBossThreadPoolExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getCompletedTaskCount();
+    }
+
+    public ThreadPoolStatistics getStatistics() {
+        return statistics;
+    }
+
     public synchronized void setMaxThreads(final int maxThreads) {
         this.maxThreads = maxThreads;
         final JBossThreadPoolExecutor executor = this.executor;
@@ -0,0 +1,399 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.threads.BlockingExecutor;
+import org.jboss.threads.ExecutionTimedOutException;
+import org.jboss.threads.StoppedExecutorException;
+
+/**
+ * An executor which runs each task on a new virtual thread, when the JVM supports them.
+ * <p>
+ * Virtual threads are created through reflection so that this class still loads on JVMs which predate them; on such a
+ * JVM, or one on which virtual threads are disabled, each task runs on a new thread from the fallback thread factory
+ * instead.  Since platform threads are costly, the fallback requires a concurrency limit.
+ * </p>
+ * <p>
+ * An optional concurrency limit caps the number of tasks running at once, with up to {@code queueLength} further tasks
+ * waiting until a running task completes.  When the queue is full, a blocking executor makes the submitting thread wait
+ * for room, otherwise the task is rejected.
+ * </p>
+ */
+public class VirtualThreadExecutor extends AbstractExecutorService implements BlockingExecutor {
+    private final String threadNamePrefix;
+    private final ThreadFactory threadFactory;
+    private final boolean virtual;
+    private final boolean blocking;
+    private final Semaphore permits;
+    private final BlockingQueue<Runnable> pending;
+    private final Set<Thread> running = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+    // Tasks accepted but not yet finished, whether waiting or running
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final AtomicInteger largestThreadCount = new AtomicInteger();
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private final AtomicLong pinnedTime = new AtomicLong();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final List<Runnable> terminationListeners = new ArrayList<Runnable>();
+    private volatile boolean shutdown = false;
+
+    /**
+     * Creates a new executor.
+     *
+     * @param name the name of the executor, used as the prefix of virtual thread names
+     * @param maxConcurrency the maximum number of tasks to run at once, or 0 or less for no limit
+     * @param queueLength the maximum number of tasks waiting for the concurrency limit, ignored if there is no limit
+     * @param blocking whether submitters wait for room when the queue is full, rather than having the task rejected
+     * @param fallbackThreadFactory the thread factory to use if virtual threads are not available
+     * @throws IllegalStateException if virtual threads are not available and there is no concurrency limit
+     */
+    public VirtualThreadExecutor(final String name, final int maxConcurrency, final int queueLength, final boolean blocking,
+            final ThreadFactory fallbackThreadFactory) {
+        if (maxConcurrency > 0 && queueLength <= 0) {
+            throw new IllegalArgumentException("queueLength must be greater than 0");
+        }
+        threadNamePrefix = name + "-vthread-";
+        final ThreadFactory virtualThreadFactory = createVirtualThreadFactory(threadNamePrefix);
+        virtual = virtualThreadFactory != null;
+        if (!virtual && maxConcurrency <= 0) {
+            throw new IllegalStateException("Virtual threads are not available, so executor " + name
+                    + " requires a concurrency limit to run tasks on platform threads");
+        }
+        threadFactory = virtual ? virtualThreadFactory : fallbackThreadFactory;
+        this.blocking = blocking;
+        permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+        pending = maxConcurrency > 0 ? new LinkedBlockingQueue<Runnable>(queueLength) : null;
+        if (virtual) {
+            VirtualThreadPinningMonitor.register(this);
+        }
+    }
+
+    /**
+     * Creates a factory for virtual threads named with the given prefix and a sequence number.
+     *
+     * @return the factory, or {@code null} if virtual threads are not available
+     */
+    static ThreadFactory createVirtualThreadFactory(final String threadNamePrefix) {
+        try {
+            final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = ofVirtual.invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, Long.valueOf(0L));
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Exception e) {
+            // Not available, or a preview feature which has not been enabled
+            return null;
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Executes a task, waiting for room if the queue is full and this executor is blocking.  A submitter interrupted
+     * while waiting has the task rejected and its interrupt status restored.
+     *
+     * @param task the task
+     */
+    public void execute(final Runnable task) {
+        if (!blocking) {
+            executeNonBlocking(task);
+            return;
+        }
+        try {
+            executeBlocking(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting to submit a task", e);
+        }
+    }
+
+    public void executeBlocking(final Runnable task) throws RejectedExecutionException, InterruptedException {
+        accept(task);
+        if (pending == null) {
+            start(task);
+            return;
+        }
+        boolean queued = false;
+        try {
+            pending.put(task);
+            queued = true;
+        } finally {
+            if (!queued) {
+                taskFinished();
+            }
+        }
+        queued(task);
+    }
+
+    public void executeBlocking(final Runnable task, final long timeout, final TimeUnit unit) throws RejectedExecutionException, InterruptedException {
+        accept(task);
+        if (pending == null) {
+            start(task);
+            return;
+        }
+        boolean queued = false;
+        try {
+            queued = pending.offer(task, timeout, unit);
+        } finally {
+            if (!queued) {
+                taskFinished();
+            }
+        }
+        if (!queued) {
+            throw new ExecutionTimedOutException("Timed out waiting to submit a task");
+        }
+        queued(task);
+    }
+
+    public void executeNonBlocking(final Runnable task) throws RejectedExecutionException {
+        accept(task);
+        if (pending == null) {
+            start(task);
+        } else if (pending.offer(task)) {
+            queued(task);
+        } else {
+            taskFinished();
+            throw new RejectedExecutionException("Executor is full");
+        }
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        if (outstanding.get() == 0) {
+            terminate();
+        }
+    }
+
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        if (pending != null) {
+            Runnable task;
+            while ((task = pending.poll()) != null) {
+                tasks.add(task);
+                taskFinished();
+            }
+        }
+        for (Thread thread : running) {
+            thread.interrupt();
+        }
+        return tasks;
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Registers a task to run once all tasks have finished following a shutdown.  If the executor has already
+     * terminated, the task is run immediately.
+     *
+     * @param listener the task to run on termination
+     */
+    public void addTerminationListener(final Runnable listener) {
+        synchronized (terminationListeners) {
+            if (!isTerminated()) {
+                terminationListeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    /**
+     * Returns {@code true} if tasks run on virtual threads, or {@code false} if they run on threads from the fallback
+     * thread factory.
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    /**
+     * Returns the number of threads currently running a task.
+     */
+    public int getThreadCount() {
+        return threadCount.get();
+    }
+
+    /**
+     * Returns the largest number of threads which have run tasks at once.
+     */
+    public int getLargestThreadCount() {
+        return largestThreadCount.get();
+    }
+
+    /**
+     * Returns the number of tasks waiting for the concurrency limit to allow them to start.
+     */
+    public int getQueueSize() {
+        return pending == null ? 0 : pending.size();
+    }
+
+    /**
+     * Returns the number of times a virtual thread of this executor has been reported as pinned to its carrier thread.
+     */
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    /**
+     * Returns the total time virtual threads of this executor have been reported as pinned to their carrier threads.
+     */
+    public long getPinnedTime(final TimeUnit unit) {
+        return unit.convert(pinnedTime.get(), TimeUnit.NANOSECONDS);
+    }
+
+    void pinned(final long nanos) {
+        pinnedCount.incrementAndGet();
+        pinnedTime.addAndGet(nanos);
+    }
+
+    // Counts the task as outstanding, so that the executor cannot terminate while it is being submitted
+    private void accept(final Runnable task) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        outstanding.incrementAndGet();
+        if (shutdown) {
+            taskFinished();
+            throw new StoppedExecutorException("Executor has been shut down");
+        }
+    }
+
+    private void queued(final Runnable task) {
+        // A submitter which waited for room may find the executor shut down meanwhile
+        if (shutdown && pending.remove(task)) {
+            taskFinished();
+            throw new StoppedExecutorException("Executor has been shut down");
+        }
+        schedule();
+    }
+
+    // Starts waiting tasks while the concurrency limit allows.  Called both when a task is queued and when one
+    // completes, so a task queued while all permits are held is picked up by whichever thread next releases one.
+    private void schedule() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            final Runnable task = pending.poll();
+            if (task == null) {
+                permits.release();
+            } else {
+                start(task);
+            }
+        }
+    }
+
+    private void start(final Runnable task) {
+        final Thread thread = threadFactory.newThread(new Runner(task));
+        if (thread == null) {
+            if (permits != null) {
+                permits.release();
+            }
+            taskFinished();
+            throw new IllegalStateException("Thread factory did not create a thread");
+        }
+        thread.start();
+    }
+
+    private void taskFinished() {
+        if (outstanding.decrementAndGet() == 0 && shutdown) {
+            terminate();
+        }
+    }
+
+    private void terminate() {
+        final List<Runnable> listeners;
+        synchronized (terminationListeners) {
+            if (isTerminated()) {
+                return;
+            }
+            terminated.countDown();
+            listeners = new ArrayList<Runnable>(terminationListeners);
+            terminationListeners.clear();
+        }
+        if (virtual) {
+            VirtualThreadPinningMonitor.unregister(this);
+        }
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    private final class Runner implements Runnable {
+        private final Runnable task;
+
+        Runner(final Runnable task) {
+            this.task = task;
+        }
+
+        public void run() {
+            final Thread thread = Thread.currentThread();
+            running.add(thread);
+            final int count = threadCount.incrementAndGet();
+            int largest;
+            while (count > (largest = largestThreadCount.get())) {
+                if (largestThreadCount.compareAndSet(largest, count)) {
+                    break;
+                }
+            }
+            try {
+                task.run();
+            } finally {
+                running.remove(thread);
+                threadCount.decrementAndGet();
+                if (permits != null) {
+                    permits.release();
+                    schedule();
+                }
+                taskFinished();
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.JBossExecutors;
+
+/**
+ * Service responsible for creating, starting and stopping a {@link VirtualThreadExecutor}.
+ */
+public class VirtualThreadExecutorService implements Service<ExecutorService>, ManagedThreadPoolService {
+    private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
+
+    private VirtualThreadExecutor executor;
+    private ExecutorService value;
+    private MeteredExecutor meteredExecutor;
+    private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+
+    private final String name;
+    private final int maxConcurrency;
+    private final int queueLength;
+    private final boolean blocking;
+
+    /**
+     * @param name the name of the executor
+     * @param maxConcurrency the maximum number of tasks to run at once, or 0 for no limit
+     * @param queueLength the maximum number of tasks waiting for the concurrency limit
+     * @param blocking whether submitters wait for room when the queue is full
+     */
+    public VirtualThreadExecutorService(String name, int maxConcurrency, int queueLength, boolean blocking) {
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.queueLength = queueLength;
+        this.blocking = blocking;
+    }
+
+    public synchronized void start(final StartContext context) throws StartException {
+        try {
+            executor = new VirtualThreadExecutor(name, maxConcurrency, queueLength, blocking, threadFactoryValue.getValue());
+        } catch (IllegalStateException e) {
+            throw new StartException(e);
+        }
+        meteredExecutor = new MeteredExecutor(executor, statistics);
+        value = JBossExecutors.protectedBlockingExecutorService(meteredExecutor);
+    }
+
+    public synchronized void stop(final StopContext context) {
+        final VirtualThreadExecutor executor = this.executor;
+        if (executor == null) {
+            throw new IllegalStateException();
+        }
+        context.asynchronous();
+        executor.shutdown();
+        executor.addTerminationListener(new Runnable() {
+            public void run() {
+                context.complete();
+            }
+        });
+        this.executor = null;
+        meteredExecutor = null;
+        value = null;
+    }
+
+    public synchronized ExecutorService getValue() throws IllegalStateException {
+        final ExecutorService value = this.value;
+        if (value == null) {
+            throw new IllegalStateException();
+        }
+        return value;
+    }
+
+    public Injector<ThreadFactory> getThreadFactoryInjector() {
+        return threadFactoryValue;
+    }
+
+    public synchronized int getCurrentThreadCount() {
+        final VirtualThreadExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getThreadCount();
+    }
+
+    public synchronized int getLargestThreadCount() {
+        final VirtualThreadExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getLargestThreadCount();
+    }
+
+    public synchronized int getQueueSize() {
+        final VirtualThreadExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getQueueSize();
+    }
+
+    /**
+     * Returns whether tasks run on virtual threads, or {@code false} if the pool is not running.
+     */
+    public synchronized boolean isVirtual() {
+        final VirtualThreadExecutor executor = this.executor;
+        return executor != null && executor.isVirtual();
+    }
+
+    public synchronized long getPinnedCount() {
+        final VirtualThreadExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getPinnedCount();
+    }
+
+    public synchronized long getPinnedTime(final TimeUnit unit) {
+        final VirtualThreadExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getPinnedTime(unit);
+    }
+
+    public synchronized int getActiveCount() {
+        return meteredExecutor == null ? 0 : statistics.getActiveCount();
+    }
+
+    public synchronized long getCompletedTaskCount() {
+        return meteredExecutor == null ? 0 : statistics.getCompletedCount();
+    }
+
+    public ThreadPoolStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Attributes virtual thread pinning events to the {@link VirtualThreadExecutor} which started the pinned thread.
+ * <p>
+ * Pinning is reported by the JVM through the {@code jdk.VirtualThreadPinned} flight recorder event, which is consumed
+ * here with an event stream while at least one virtual thread executor is running.  The stream is driven through
+ * reflection, since neither it nor virtual threads are available on every JVM this subsystem supports; if it cannot be
+ * started, pinning simply goes unreported.  Events are matched to executors by thread name prefix, and are subject to
+ * the event's default duration threshold.
+ * </p>
+ */
+final class VirtualThreadPinningMonitor {
+    private static final Logger log = Logger.getLogger("org.jboss.as.threads");
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Map<String, VirtualThreadExecutor> executors = new ConcurrentHashMap<String, VirtualThreadExecutor>();
+
+    private static Object stream;
+
+    private VirtualThreadPinningMonitor() {
+    }
+
+    static synchronized void register(final VirtualThreadExecutor executor) {
+        executors.put(executor.getThreadNamePrefix(), executor);
+        if (stream == null) {
+            stream = startStream();
+        }
+    }
+
+    static synchronized void unregister(final VirtualThreadExecutor executor) {
+        executors.remove(executor.getThreadNamePrefix());
+        if (executors.isEmpty() && stream != null) {
+            try {
+                stream.getClass().getMethod("close").invoke(stream);
+            } catch (Exception e) {
+                log.debugf(e, "Failed to close virtual thread pinning event stream");
+            }
+            stream = null;
+        }
+    }
+
+    private static Object startStream() {
+        try {
+            final Class<?> streamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+            final Class<?> consumerClass = Class.forName("java.util.function.Consumer");
+            final Object stream = streamClass.getConstructor().newInstance();
+            streamClass.getMethod("enable", String.class).invoke(stream, PINNED_EVENT);
+            final Object consumer = Proxy.newProxyInstance(VirtualThreadPinningMonitor.class.getClassLoader(),
+                    new Class<?>[] { consumerClass }, new EventHandler());
+            streamClass.getMethod("onEvent", String.class, consumerClass).invoke(stream, PINNED_EVENT, consumer);
+            streamClass.getMethod("startAsync").invoke(stream);
+            return stream;
+        } catch (Exception e) {
+            log.debugf(e, "Virtual thread pinning events are not available");
+            return null;
+        } catch (LinkageError e) {
+            log.debugf(e, "Virtual thread pinning events are not available");
+            return null;
+        }
+    }
+
+    static void pinned(final String threadName, final long nanos) {
+        if (threadName == null) {
+            return;
+        }
+        for (Map.Entry<String, VirtualThreadExecutor> entry : executors.entrySet()) {
+            if (threadName.startsWith(entry.getKey())) {
+                entry.getValue().pinned(nanos);
+                return;
+            }
+        }
+    }
+
+    private static final class EventHandler implements InvocationHandler {
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if ("accept".equals(name)) {
+                accept(args[0]);
+                return null;
+            } else if ("equals".equals(name)) {
+                return Boolean.valueOf(proxy == args[0]);
+            } else if ("hashCode".equals(name)) {
+                return Integer.valueOf(System.identityHashCode(proxy));
+            } else if ("toString".equals(name)) {
+                return "virtual thread pinning event handler";
+            }
+            throw new UnsupportedOperationException(name);
+        }
+
+        private void accept(final Object event) {
+            try {
+                final Object thread = event.getClass().getMethod("getThread").invoke(event);
+                if (thread == null) {
+                    return;
+                }
+                final String threadName = (String) thread.getClass().getMethod("getJavaName").invoke(thread);
+                final Object duration = event.getClass().getMethod("getDuration").invoke(event);
+                final long nanos = ((Long) duration.getClass().getMethod("toNanos").invoke(duration)).longValue();
+                pinned(threadName, nanos);
+            } catch (Exception e) {
+                log.tracef(e, "Failed to read virtual thread pinning event");
+            }
+        }
+    }
+}
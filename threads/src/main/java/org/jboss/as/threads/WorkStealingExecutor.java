@@ -0,0 +1,453 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.threads.BlockingExecutor;
+import org.jboss.threads.ExecutionTimedOutException;
+import org.jboss.threads.StoppedExecutorException;
+
+/**
+ * A fixed size executor in which each worker thread owns a deque of tasks, rather than sharing a single queue.
+ * <p>
+ * Tasks submitted by a worker are pushed onto the head of its own deque and are taken from the head by that worker, so
+ * related tasks tend to run on the same thread.  Tasks submitted by other threads are spread over the workers' deques.  A
+ * worker whose deque is empty steals from the tail of the other workers' deques before going idle.
+ * </p>
+ * <p>
+ * At most {@code queueLength} tasks may be waiting over all deques.  When the pool is full, a blocking executor makes
+ * the submitting thread wait for room, otherwise the task is passed to the handoff executor, or rejected if there is
+ * none.  Workers never wait for room in their own pool, since that could stall every worker at once; a task submitted
+ * by a worker to a full pool always goes to the handoff executor or is rejected.
+ * </p>
+ */
+public class WorkStealingExecutor extends AbstractExecutorService implements BlockingExecutor {
+    // Upper bound on how long an idle worker parks before looking for work again
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Worker[] workers;
+    private final Queue<Worker> idleWorkers = new ConcurrentLinkedQueue<Worker>();
+    private final ThreadLocal<Worker> currentWorker = new ThreadLocal<Worker>();
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private final AtomicInteger liveWorkers;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final List<Runnable> terminationListeners = new ArrayList<Runnable>();
+    private final int queueLength;
+    private final boolean blocking;
+    private final Executor handoffExecutor;
+    // Tasks accepted but not yet taken by a worker
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger waitingSubmitters = new AtomicInteger();
+    private final ReentrantLock submitLock = new ReentrantLock();
+    private final Condition notFull = submitLock.newCondition();
+    private volatile boolean shutdown = false;
+
+    public WorkStealingExecutor(final int threads, final int queueLength, final boolean blocking, final Executor handoffExecutor,
+            final ThreadFactory threadFactory) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be greater than 0");
+        }
+        if (queueLength <= 0) {
+            throw new IllegalArgumentException("queueLength must be greater than 0");
+        }
+        this.queueLength = queueLength;
+        this.blocking = blocking;
+        this.handoffExecutor = handoffExecutor;
+        workers = new Worker[threads];
+        liveWorkers = new AtomicInteger(threads);
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(i);
+        }
+        for (Worker worker : workers) {
+            final Thread thread = threadFactory.newThread(worker);
+            if (thread == null) {
+                throw new IllegalStateException("Thread factory did not create a thread");
+            }
+            worker.thread = thread;
+        }
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    /**
+     * Executes a task, waiting for room if the pool is full and this executor is blocking.  A submitter interrupted
+     * while waiting has the task rejected and its interrupt status restored.
+     *
+     * @param task the task
+     */
+    public void execute(final Runnable task) {
+        if (!blocking || currentWorker.get() != null) {
+            executeNonBlocking(task);
+            return;
+        }
+        try {
+            executeBlocking(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting to submit a task", e);
+        }
+    }
+
+    public void executeBlocking(final Runnable task) throws RejectedExecutionException, InterruptedException {
+        checkTask(task);
+        if (currentWorker.get() != null) {
+            executeNonBlocking(task);
+            return;
+        }
+        if (!reserve()) {
+            waitingSubmitters.incrementAndGet();
+            submitLock.lockInterruptibly();
+            try {
+                while (!reserve()) {
+                    notFull.await();
+                }
+            } finally {
+                submitLock.unlock();
+                waitingSubmitters.decrementAndGet();
+            }
+        }
+        enqueue(task);
+    }
+
+    public void executeBlocking(final Runnable task, final long timeout, final TimeUnit unit) throws RejectedExecutionException, InterruptedException {
+        checkTask(task);
+        if (currentWorker.get() != null) {
+            executeNonBlocking(task);
+            return;
+        }
+        if (!reserve()) {
+            long remaining = unit.toNanos(timeout);
+            waitingSubmitters.incrementAndGet();
+            submitLock.lockInterruptibly();
+            try {
+                while (!reserve()) {
+                    if (remaining <= 0L) {
+                        throw new ExecutionTimedOutException("Timed out waiting to submit a task");
+                    }
+                    remaining = notFull.awaitNanos(remaining);
+                }
+            } finally {
+                submitLock.unlock();
+                waitingSubmitters.decrementAndGet();
+            }
+        }
+        enqueue(task);
+    }
+
+    public void executeNonBlocking(final Runnable task) throws RejectedExecutionException {
+        checkTask(task);
+        if (reserve()) {
+            enqueue(task);
+        } else if (handoffExecutor != null) {
+            handoffExecutor.execute(task);
+        } else {
+            throw new RejectedExecutionException("Executor is full");
+        }
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+        }
+        signalSubmitters(true);
+    }
+
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        for (Worker worker : workers) {
+            final int drained = worker.deque.drainTo(tasks);
+            queued.addAndGet(-drained);
+        }
+        for (Worker worker : workers) {
+            worker.thread.interrupt();
+        }
+        return tasks;
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Registers a task to run once all workers have exited following a shutdown.  If the executor has already terminated,
+     * the task is run immediately.
+     *
+     * @param listener the task to run on termination
+     */
+    public void addTerminationListener(final Runnable listener) {
+        synchronized (terminationListeners) {
+            if (!isTerminated()) {
+                terminationListeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    /**
+     * Returns the number of worker threads.
+     */
+    public int getPoolSize() {
+        return workers.length;
+    }
+
+    /**
+     * Returns the maximum number of tasks that may wait in the workers' deques.
+     */
+    public int getQueueLength() {
+        return queueLength;
+    }
+
+    /**
+     * Returns the number of tasks waiting in the workers' deques.
+     */
+    public int getQueueSize() {
+        return Math.max(queued.get(), 0);
+    }
+
+    /**
+     * Returns the number of workers currently running a task.
+     */
+    public int getActiveCount() {
+        int count = 0;
+        for (Worker worker : workers) {
+            if (worker.active) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of tasks taken from another worker's deque.
+     */
+    public long getStealCount() {
+        long count = 0;
+        for (Worker worker : workers) {
+            count += worker.steals;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of tasks run to completion.
+     */
+    public long getCompletedTaskCount() {
+        long count = 0;
+        for (Worker worker : workers) {
+            count += worker.completed;
+        }
+        return count;
+    }
+
+    private void checkTask(final Runnable task) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        if (shutdown) {
+            throw new StoppedExecutorException("Executor has been shut down");
+        }
+    }
+
+    // Claims room for one task, or fails if the pool is full or has been shut down
+    private boolean reserve() {
+        if (shutdown) {
+            throw new StoppedExecutorException("Executor has been shut down");
+        }
+        int current;
+        do {
+            current = queued.get();
+            if (current >= queueLength) {
+                return false;
+            }
+        } while (!queued.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void enqueue(final Runnable task) {
+        final Worker current = currentWorker.get();
+        if (current != null) {
+            current.deque.addFirst(task);
+        } else {
+            final int index = (nextWorker.getAndIncrement() & Integer.MAX_VALUE) % workers.length;
+            workers[index].deque.addLast(task);
+        }
+        wakeIdleWorker();
+    }
+
+    // Called once a worker has taken a task, making room for a waiting submitter
+    private void taken() {
+        queued.decrementAndGet();
+        if (waitingSubmitters.get() > 0) {
+            signalSubmitters(false);
+        }
+    }
+
+    private void signalSubmitters(final boolean all) {
+        submitLock.lock();
+        try {
+            if (all) {
+                notFull.signalAll();
+            } else {
+                notFull.signal();
+            }
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    private void wakeIdleWorker() {
+        final Worker idle = idleWorkers.poll();
+        if (idle != null) {
+            LockSupport.unpark(idle.thread);
+        }
+    }
+
+    private boolean isEmpty() {
+        for (Worker worker : workers) {
+            if (!worker.deque.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void workerExited() {
+        if (liveWorkers.decrementAndGet() == 0) {
+            final List<Runnable> listeners;
+            synchronized (terminationListeners) {
+                terminated.countDown();
+                listeners = new ArrayList<Runnable>(terminationListeners);
+                terminationListeners.clear();
+            }
+            for (Runnable listener : listeners) {
+                listener.run();
+            }
+        }
+    }
+
+    private final class Worker implements Runnable {
+        final LinkedBlockingDeque<Runnable> deque = new LinkedBlockingDeque<Runnable>();
+        private final int index;
+        volatile Thread thread;
+        volatile boolean active;
+        volatile long steals;
+        volatile long completed;
+
+        Worker(final int index) {
+            this.index = index;
+        }
+
+        public void run() {
+            currentWorker.set(this);
+            try {
+                while (true) {
+                    Runnable task = next();
+                    if (task == null) {
+                        if (shutdown && isEmpty()) {
+                            return;
+                        }
+                        // Register as idle, then look again, so that a task submitted meanwhile is not missed
+                        idleWorkers.add(this);
+                        task = next();
+                        if (task == null && !shutdown) {
+                            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                        }
+                        idleWorkers.remove(this);
+                        if (task == null) {
+                            continue;
+                        }
+                    }
+                    runTask(task);
+                }
+            } finally {
+                idleWorkers.remove(this);
+                workerExited();
+            }
+        }
+
+        private Runnable next() {
+            Runnable task = deque.pollFirst();
+            if (task == null) {
+                task = steal();
+            }
+            if (task != null) {
+                taken();
+            }
+            return task;
+        }
+
+        private Runnable steal() {
+            for (int i = 1; i < workers.length; i++) {
+                final Runnable task = workers[(index + i) % workers.length].deque.pollLast();
+                if (task != null) {
+                    steals++;
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        private void runTask(final Runnable task) {
+            active = true;
+            try {
+                // Clear any interrupt left over from a previous task
+                Thread.interrupted();
+                task.run();
+            } catch (Throwable t) {
+                final Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+                if (handler != null) {
+                    handler.uncaughtException(thread, t);
+                }
+            } finally {
+                active = false;
+                completed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.JBossExecutors;
+
+/**
+ * Service responsible for creating, starting and stopping a work-stealing thread pool executor.  Like the bounded queue
+ * thread pool, its value is a {@link org.jboss.threads.BlockingExecutorService}.
+ */
+public class WorkStealingThreadPoolService implements Service<ExecutorService>, ManagedThreadPoolService {
+    private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
+    private final InjectedValue<Executor> handoffExecutorValue = new InjectedValue<Executor>();
+
+    private WorkStealingExecutor executor;
+    private ExecutorService value;
+    private MeteredExecutor meteredExecutor;
+    private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+
+    private final int maxThreads;
+    private final int queueLength;
+    private final boolean blocking;
+
+    public WorkStealingThreadPoolService(int maxThreads, int queueLength, boolean blocking) {
+        this.maxThreads = maxThreads;
+        this.queueLength = queueLength;
+        this.blocking = blocking;
+    }
+
+    public synchronized void start(final StartContext context) throws StartException {
+        executor = new WorkStealingExecutor(maxThreads, queueLength, blocking, handoffExecutorValue.getOptionalValue(), threadFactoryValue.getValue());
+        meteredExecutor = new MeteredExecutor(executor, statistics);
+        value = JBossExecutors.protectedBlockingExecutorService(meteredExecutor);
+    }
+
+    public synchronized void stop(final StopContext context) {
+        final WorkStealingExecutor executor = this.executor;
+        if (executor == null) {
+            throw new IllegalStateException();
+        }
+        context.asynchronous();
+        executor.shutdown();
+        executor.addTerminationListener(new Runnable() {
+            public void run() {
+                context.complete();
+            }
+        });
+        this.executor = null;
+        meteredExecutor = null;
+        value = null;
+    }
+
+    public synchronized ExecutorService getValue() throws IllegalStateException {
+        final ExecutorService value = this.value;
+        if (value == null) {
+            throw new IllegalStateException();
+        }
+        return value;
+    }
+
+    public Injector<ThreadFactory> getThreadFactoryInjector() {
+        return threadFactoryValue;
+    }
+
+    public Injector<Executor> getHandoffExecutorInjector() {
+        return handoffExecutorValue;
+    }
+
+    public synchronized int getCurrentThreadCount() {
+        final WorkStealingExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getPoolSize();
+    }
+
+    public synchronized int getLargestThreadCount() {
+        final WorkStealingExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getPoolSize();
+    }
+
+    public synchronized int getQueueSize() {
+        final WorkStealingExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getQueueSize();
+    }
+
+    public synchronized int getActiveCount() {
+        final WorkStealingExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    public synchronized long getCompletedTaskCount() {
+        final WorkStealingExecutor executor = this.executor;
+        return executor == null ? 0 : executor.getCompletedTaskCount();
+    }
+
+    public ThreadPoolStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void testHistogramBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.NANOSECONDS.toNanos(500));
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(3));
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(3));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+
+        long[] buckets = histogram.getBucketCounts();
+        assertEquals(1, buckets[0]);
+        assertEquals(2, buckets[2]);
+        assertEquals(1, buckets[LatencyHistogram.bucketOf(10000)]);
+        assertEquals(4, histogram.getCount());
+        assertEquals(10000, histogram.getMaxTime(TimeUnit.MICROSECONDS));
+        assertEquals(4, histogram.getPercentile(50, TimeUnit.MICROSECONDS));
+        assertEquals(10000, histogram.getPercentile(99, TimeUnit.MICROSECONDS));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50, TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    public void testModelNode() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(3));
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(5));
+
+        ModelNode node = histogram.toModelNode();
+        assertEquals(2, node.get("count").asLong());
+        assertEquals(4, node.get("average").asLong());
+        assertEquals(5, node.get("max").asLong());
+        assertEquals(1, node.get("buckets", "4").asLong());
+        assertEquals(1, node.get("buckets", "8").asLong());
+        assertEquals(2, node.get("buckets").keys().size());
+    }
+}
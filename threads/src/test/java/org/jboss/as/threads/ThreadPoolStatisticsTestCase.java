@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.fail;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link MeteredExecutor}.
+ */
+public class ThreadPoolStatisticsTestCase {
+
+    @Test
+    public void testMeteredExecutor() {
+        ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        statistics.setEnabled(true);
+        final Runnable[] queued = new Runnable[1];
+        MeteredExecutor executor = new MeteredExecutor(new Executor() {
+            public void execute(Runnable task) {
+                if (queued[0] != null) {
+                    throw new RejectedExecutionException();
+                }
+                queued[0] = task;
+            }
+        }, statistics);
+
+        executor.execute(new Runnable() {
+            public void run() {
+            }
+        });
+        assertEquals(1, executor.getQueueSize());
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                }
+            });
+            fail("Expected rejection");
+        } catch (RejectedExecutionException expected) {
+        }
+        assertEquals(1, executor.getQueueSize());
+        assertEquals(1, statistics.getRejectedCount());
+
+        queued[0].run();
+        assertEquals(0, executor.getQueueSize());
+        assertEquals(0, statistics.getActiveCount());
+        assertEquals(1, statistics.getCompletedCount());
+        assertEquals(1, statistics.getQueueWaitTime().getCount());
+        assertEquals(1, statistics.getExecutionTime().getCount());
+    }
+
+    @Test
+    public void testDisabledStatisticsPassTasksThrough() {
+        ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        final Runnable[] queued = new Runnable[1];
+        MeteredExecutor executor = new MeteredExecutor(new Executor() {
+            public void execute(Runnable task) {
+                if (queued[0] != null) {
+                    throw new RejectedExecutionException();
+                }
+                queued[0] = task;
+            }
+        }, statistics);
+
+        Runnable task = new Runnable() {
+            public void run() {
+            }
+        };
+        executor.execute(task);
+        assertSame(task, queued[0]);
+        assertEquals(0, executor.getQueueSize());
+        try {
+            executor.execute(task);
+            fail("Expected rejection");
+        } catch (RejectedExecutionException expected) {
+        }
+        assertEquals(1, statistics.getRejectedCount());
+
+        // A task submitted before statistics were enabled is not recorded when it runs
+        statistics.setEnabled(true);
+        queued[0].run();
+        assertEquals(0, statistics.getActiveCount());
+        assertEquals(0, statistics.getCompletedCount());
+        assertEquals(0, statistics.getExecutionTime().getCount());
+    }
+}
@@ -22,6 +22,7 @@
 package org.jboss.as.threads;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertTrue;
 import static junit.framework.Assert.fail;
 import org.jboss.as.controller.OperationStepHandler;
@@ -53,27 +54,40 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUB
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.jboss.as.threads.CommonAttributes.ACTIVE_COUNT;
 import static org.jboss.as.threads.CommonAttributes.ALLOW_CORE_TIMEOUT;
 import static org.jboss.as.threads.CommonAttributes.BLOCKING;
 import static org.jboss.as.threads.CommonAttributes.BOUNDED_QUEUE_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.COMPLETED_TASK_COUNT;
 import static org.jboss.as.threads.CommonAttributes.CORE_THREADS;
 import static org.jboss.as.threads.CommonAttributes.COUNT;
+import static org.jboss.as.threads.CommonAttributes.CURRENT_THREAD_COUNT;
+import static org.jboss.as.threads.CommonAttributes.EXECUTION_TIME;
 import static org.jboss.as.threads.CommonAttributes.GROUP_NAME;
 import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
+import static org.jboss.as.threads.CommonAttributes.MAX_CONCURRENCY;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
 import static org.jboss.as.threads.CommonAttributes.PER_CPU;
+import static org.jboss.as.threads.CommonAttributes.PINNED_COUNT;
 import static org.jboss.as.threads.CommonAttributes.PRIORITY;
 import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
 import static org.jboss.as.threads.CommonAttributes.QUEUELESS_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.QUEUE_LENGTH;
+import static org.jboss.as.threads.CommonAttributes.QUEUE_SIZE;
+import static org.jboss.as.threads.CommonAttributes.QUEUE_WAIT_TIME;
+import static org.jboss.as.threads.CommonAttributes.REJECTED_COUNT;
 import static org.jboss.as.threads.CommonAttributes.SCHEDULED_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.STATISTICS_ENABLED;
 import static org.jboss.as.threads.CommonAttributes.THREADS;
 import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import static org.jboss.as.threads.CommonAttributes.THREAD_NAME_PATTERN;
 import static org.jboss.as.threads.CommonAttributes.TIME;
 import static org.jboss.as.threads.CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.UNIT;
+import static org.jboss.as.threads.CommonAttributes.VIRTUAL_THREADS;
+import static org.jboss.as.threads.CommonAttributes.VIRTUAL_THREAD_EXECUTOR;
+import static org.jboss.as.threads.CommonAttributes.WORK_STEALING_THREAD_POOL;
 
 import java.io.OutputStream;
 import java.io.Reader;
@@ -85,6 +99,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import javax.xml.namespace.QName;
@@ -123,6 +139,7 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.staxmapper.XMLElementWriter;
 import org.jboss.staxmapper.XMLMapper;
+import org.jboss.threads.BlockingExecutor;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -318,6 +335,37 @@ public class ThreadsSubsystemTestCase {
                 boundedQueueThreadPoolDesc.require(ATTRIBUTES).require(KEEPALIVE_TIME).require(VALUE_TYPE).require(UNIT)
                         .require(TYPE).asType());
 
+        ModelNode workStealingThreadPoolDesc = threadsDescription.get(CHILDREN, WORK_STEALING_THREAD_POOL, MODEL_DESCRIPTION,
+                "*");
+        assertEquals(ModelType.STRING, workStealingThreadPoolDesc.require(ATTRIBUTES).require(NAME).require(TYPE).asType());
+        assertEquals(ModelType.STRING, workStealingThreadPoolDesc.require(ATTRIBUTES).require(THREAD_FACTORY).require(TYPE)
+                .asType());
+        assertEquals(ModelType.OBJECT, workStealingThreadPoolDesc.require(ATTRIBUTES).require(PROPERTIES).require(TYPE).asType());
+        assertEquals(
+                ModelType.BIG_DECIMAL,
+                workStealingThreadPoolDesc.require(ATTRIBUTES).require(MAX_THREADS).require(VALUE_TYPE).require(COUNT)
+                        .require(TYPE).asType());
+        assertEquals(ModelType.BIG_DECIMAL,
+                workStealingThreadPoolDesc.require(ATTRIBUTES).require(MAX_THREADS).require(VALUE_TYPE).require(PER_CPU)
+                        .require(TYPE).asType());
+        assertEquals(ModelType.BIG_DECIMAL,
+                workStealingThreadPoolDesc.require(ATTRIBUTES).require(QUEUE_LENGTH).require(VALUE_TYPE).require(COUNT)
+                        .require(TYPE).asType());
+        assertEquals(ModelType.BOOLEAN, workStealingThreadPoolDesc.require(ATTRIBUTES).require(BLOCKING).require(TYPE).asType());
+        assertEquals(ModelType.STRING, workStealingThreadPoolDesc.require(ATTRIBUTES).require(HANDOFF_EXECUTOR).require(TYPE)
+                .asType());
+        assertFalse(workStealingThreadPoolDesc.require(ATTRIBUTES).has(KEEPALIVE_TIME));
+
+        ModelNode virtualThreadExecutorDesc = threadsDescription.get(CHILDREN, VIRTUAL_THREAD_EXECUTOR, MODEL_DESCRIPTION, "*");
+        assertEquals(ModelType.STRING, virtualThreadExecutorDesc.require(ATTRIBUTES).require(NAME).require(TYPE).asType());
+        assertEquals(ModelType.OBJECT, virtualThreadExecutorDesc.require(ATTRIBUTES).require(MAX_CONCURRENCY).require(TYPE)
+                .asType());
+        assertEquals(ModelType.LONG, virtualThreadExecutorDesc.require(ATTRIBUTES).require(PINNED_COUNT).require(TYPE).asType());
+        assertEquals(ModelType.OBJECT, virtualThreadExecutorDesc.require(ATTRIBUTES).require(QUEUE_LENGTH).require(TYPE)
+                .asType());
+        assertEquals(ModelType.BOOLEAN, virtualThreadExecutorDesc.require(ATTRIBUTES).require(BLOCKING).require(TYPE).asType());
+        assertFalse(virtualThreadExecutorDesc.require(ATTRIBUTES).has(MAX_THREADS));
+        assertFalse(virtualThreadExecutorDesc.require(ATTRIBUTES).has(KEEPALIVE_TIME));
     }
 
     @Test
@@ -775,6 +823,237 @@ public class ThreadsSubsystemTestCase {
         assertEquals("test-poolB", threadFactory.require("test-poolB").require("name").asString());
     }
 
+    @Test
+    public void testThreadPoolMetrics() throws Exception {
+        List<ModelNode> updates = createSubSystem("<unbounded-queue-thread-pool name=\"test-pool\" statistics-enabled=\"true\">"
+                + "   <max-threads count=\"2\" per-cpu=\"0\"/>" + "</unbounded-queue-thread-pool>");
+        for (ModelNode update : updates) {
+            executeForResult(update);
+        }
+        ModelNode subsystem = model.require("profile").require("test").require("subsystem").require("threads");
+        assertTrue(subsystem.require("unbounded-queue-thread-pool").require("test-pool").require(STATISTICS_ENABLED).asBoolean());
+
+        ExecutorService executor = (ExecutorService) container.getRequiredService(ThreadsServices.executorName("test-pool")).getValue();
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(executor.submit(new Runnable() {
+                public void run() {
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        // The completed count is updated just after a task's future is done
+        long deadline = System.currentTimeMillis() + 5000;
+        while (readPoolAttribute(COMPLETED_TASK_COUNT).asLong() < 10 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(10, readPoolAttribute(COMPLETED_TASK_COUNT).asLong());
+        assertEquals(0, readPoolAttribute(REJECTED_COUNT).asLong());
+        assertEquals(0, readPoolAttribute(QUEUE_SIZE).asInt());
+        assertEquals(0, readPoolAttribute(ACTIVE_COUNT).asInt());
+        assertTrue(readPoolAttribute(CURRENT_THREAD_COUNT).asInt() > 0);
+        assertEquals(10, readPoolAttribute(QUEUE_WAIT_TIME).require("count").asLong());
+        assertEquals(10, readPoolAttribute(EXECUTION_TIME).require("count").asLong());
+
+        ModelNode write = poolOperation(WRITE_ATTRIBUTE_OPERATION);
+        write.get(NAME).set(STATISTICS_ENABLED);
+        write.get("value").set(false);
+        executeForResult(write);
+        assertFalse(readPoolAttribute(EXECUTION_TIME).isDefined());
+        assertEquals(10, readPoolAttribute(COMPLETED_TASK_COUNT).asLong());
+    }
+
+    private ModelNode poolOperation(String operationName) {
+        ModelNode operation = new ModelNode();
+        operation.get(OP).set(operationName);
+        operation.get(OP_ADDR).add("profile", "test").add(SUBSYSTEM, THREADS).add(UNBOUNDED_QUEUE_THREAD_POOL, "test-pool");
+        return operation;
+    }
+
+    private ModelNode readPoolAttribute(String name) throws OperationFailedException {
+        ModelNode operation = poolOperation(READ_ATTRIBUTE_OPERATION);
+        operation.get(NAME).set(name);
+        return executeForResult(operation);
+    }
+
+    @Test
+    public void testSimpleWorkStealingThreadPool() throws Exception {
+        List<ModelNode> updates = createSubSystem("<work-stealing-thread-pool name=\"test-pool\">"
+                + "   <max-threads count=\"1\" per-cpu=\"2\"/>"
+                + "   <queue-length count=\"1\" per-cpu=\"2\"/>" + "</work-stealing-thread-pool>");
+        assertEquals(2, updates.size());
+        for (ModelNode update : updates) {
+            try {
+                executeForResult(update);
+            } catch (OperationFailedException e) {
+                throw new RuntimeException(e.getFailureDescription().toString());
+            }
+        }
+
+        ModelNode subsystem = model.require("profile").require("test").require("subsystem").require("threads");
+        ModelNode threadPool = subsystem.require("work-stealing-thread-pool");
+        assertEquals(1, threadPool.keys().size());
+        assertEquals("test-pool", threadPool.require("test-pool").require("name").asString());
+    }
+
+    @Test
+    public void testFullWorkStealingThreadPool() throws Exception {
+        List<ModelNode> updates = createSubSystem(
+                "<thread-factory name=\"test-factory\"/>" +
+                "<unbounded-queue-thread-pool name=\"other\">" +
+                "   <max-threads count=\"1\" per-cpu=\"0\"/>" +
+                "</unbounded-queue-thread-pool>" +
+                "<work-stealing-thread-pool name=\"test-pool\" blocking=\"true\">" +
+                "   <max-threads count=\"100\" per-cpu=\"5\"/>" +
+                "   <queue-length count=\"200\" per-cpu=\"10\"/>" +
+                "   <thread-factory name=\"test-factory\"/>" +
+                "   <handoff-executor name=\"other\"/>" +
+                "   <properties>" +
+                "      <property name=\"propA\" value=\"valueA\"/>" +
+                "      <property name=\"propB\" value=\"valueB\"/>" +
+                "   </properties>" +
+                "</work-stealing-thread-pool>");
+
+        executeForResult(updates.get(0));
+        executeForResult(updates.get(1));
+        executeForResult(updates.get(2));
+        executeForResult(updates.get(3));
+
+        ModelNode subsystem = model.require("profile").require("test").require("subsystem").require("threads");
+        ModelNode threadPool = subsystem.require("work-stealing-thread-pool");
+        assertEquals(1, threadPool.keys().size());
+        assertEquals("test-factory", threadPool.require("test-pool").require(THREAD_FACTORY).asString());
+        assertEquals(new BigDecimal(100), threadPool.require("test-pool").require(MAX_THREADS).require(COUNT).asBigDecimal());
+        assertEquals(new BigDecimal(5), threadPool.require("test-pool").require(MAX_THREADS).require(PER_CPU).asBigDecimal());
+        assertEquals(new BigDecimal(200), threadPool.require("test-pool").require(QUEUE_LENGTH).require(COUNT).asBigDecimal());
+        assertEquals(new BigDecimal(10), threadPool.require("test-pool").require(QUEUE_LENGTH).require(PER_CPU).asBigDecimal());
+        assertTrue(threadPool.require("test-pool").require(BLOCKING).asBoolean());
+        assertEquals("other", threadPool.require("test-pool").require(HANDOFF_EXECUTOR).asString());
+        assertEquals(2, threadPool.require("test-pool").require("properties").asList().size());
+    }
+
+    @Test
+    public void testWorkStealingThreadPoolRequiresQueueLength() throws Exception {
+        try {
+            createSubSystem("<work-stealing-thread-pool name=\"test-pool\">"
+                    + "   <max-threads count=\"1\" per-cpu=\"2\"/>" + "</work-stealing-thread-pool>");
+            fail("Expected failure parsing without queue-length");
+        } catch (XMLStreamException expected) {
+        }
+    }
+
+    @Test
+    public void testWorkStealingThreadPoolRejectsKeepalive() throws Exception {
+        try {
+            createSubSystem("<work-stealing-thread-pool name=\"test-pool\">"
+                    + "   <max-threads count=\"1\" per-cpu=\"2\"/>"
+                    + "   <queue-length count=\"1\" per-cpu=\"2\"/>"
+                    + "   <keepalive-time time=\"1000\" unit=\"MILLISECONDS\"/>" + "</work-stealing-thread-pool>");
+            fail("Expected failure parsing keepalive-time");
+        } catch (XMLStreamException expected) {
+        }
+    }
+
+    @Test
+    public void testSimpleVirtualThreadExecutor() throws Exception {
+        List<ModelNode> updates = createSubSystem("<virtual-thread-executor name=\"test-pool\">"
+                + "   <max-concurrency count=\"1\" per-cpu=\"0\"/>"
+                + "   <queue-length count=\"10\" per-cpu=\"0\"/>" + "</virtual-thread-executor>");
+        assertEquals(2, updates.size());
+        for (ModelNode update : updates) {
+            executeForResult(update);
+        }
+
+        ModelNode subsystem = model.require("profile").require("test").require("subsystem").require("threads");
+        ModelNode threadPool = subsystem.require("virtual-thread-executor");
+        assertEquals(1, threadPool.keys().size());
+        assertEquals("test-pool", threadPool.require("test-pool").require("name").asString());
+        assertFalse(threadPool.require("test-pool").require(BLOCKING).asBoolean());
+
+        Object value = container.getRequiredService(ThreadsServices.executorName("test-pool")).getValue();
+        assertTrue(value instanceof BlockingExecutor);
+        ExecutorService executor = (ExecutorService) value;
+        executor.submit(new Runnable() {
+            public void run() {
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        ModelNode operation = new ModelNode();
+        operation.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        operation.get(OP_ADDR).add("profile", "test").add(SUBSYSTEM, THREADS).add(VIRTUAL_THREAD_EXECUTOR, "test-pool");
+        operation.get(NAME).set(VIRTUAL_THREADS);
+        assertEquals(ModelType.BOOLEAN, executeForResult(operation).getType());
+        operation.get(NAME).set(PINNED_COUNT);
+        assertEquals(0, executeForResult(operation).asLong());
+    }
+
+    @Test
+    public void testUnlimitedVirtualThreadExecutor() throws Exception {
+        List<ModelNode> updates = createSubSystem("<virtual-thread-executor name=\"test-pool\"/>");
+        executeForResult(updates.get(0));
+        try {
+            executeForResult(updates.get(1));
+            // Only virtual threads may run tasks without a concurrency limit
+            assertTrue(VirtualThreadExecutor.createVirtualThreadFactory("test") != null);
+        } catch (OperationFailedException e) {
+            assertTrue(VirtualThreadExecutor.createVirtualThreadFactory("test") == null);
+        }
+    }
+
+    @Test
+    public void testVirtualThreadExecutorRequiresQueueLength() throws Exception {
+        List<ModelNode> updates = createSubSystem("<virtual-thread-executor name=\"test-pool\">"
+                + "   <max-concurrency count=\"1\" per-cpu=\"0\"/>" + "</virtual-thread-executor>");
+        executeForResult(updates.get(0));
+        try {
+            executeForResult(updates.get(1));
+            fail("Expected failure without queue-length");
+        } catch (OperationFailedException expected) {
+        }
+    }
+
+    @Test
+    public void testFullVirtualThreadExecutor() throws Exception {
+        List<ModelNode> updates = createSubSystem(
+                "<thread-factory name=\"test-factory\"/>" +
+                "<virtual-thread-executor name=\"test-pool\" statistics-enabled=\"true\" blocking=\"true\">" +
+                "   <max-concurrency count=\"100\" per-cpu=\"5\"/>" +
+                "   <queue-length count=\"200\" per-cpu=\"10\"/>" +
+                "   <thread-factory name=\"test-factory\"/>" +
+                "   <properties>" +
+                "      <property name=\"propA\" value=\"valueA\"/>" +
+                "   </properties>" +
+                "</virtual-thread-executor>");
+
+        executeForResult(updates.get(0));
+        executeForResult(updates.get(1));
+        executeForResult(updates.get(2));
+
+        ModelNode subsystem = model.require("profile").require("test").require("subsystem").require("threads");
+        ModelNode threadPool = subsystem.require("virtual-thread-executor");
+        assertEquals(1, threadPool.keys().size());
+        assertEquals("test-factory", threadPool.require("test-pool").require(THREAD_FACTORY).asString());
+        assertEquals(new BigDecimal(100), threadPool.require("test-pool").require(MAX_CONCURRENCY).require(COUNT).asBigDecimal());
+        assertEquals(new BigDecimal(5), threadPool.require("test-pool").require(MAX_CONCURRENCY).require(PER_CPU).asBigDecimal());
+        assertTrue(threadPool.require("test-pool").require(STATISTICS_ENABLED).asBoolean());
+        assertEquals(new BigDecimal(200), threadPool.require("test-pool").require(QUEUE_LENGTH).require(COUNT).asBigDecimal());
+        assertTrue(threadPool.require("test-pool").require(BLOCKING).asBoolean());
+        assertEquals(1, threadPool.require("test-pool").require("properties").asList().size());
+    }
+
+    @Test
+    public void testVirtualThreadExecutorRejectsMaxThreads() throws Exception {
+        try {
+            createSubSystem("<virtual-thread-executor name=\"test-pool\">"
+                    + "   <max-threads count=\"1\" per-cpu=\"2\"/>" + "</virtual-thread-executor>");
+            fail("Expected failure parsing max-threads");
+        } catch (XMLStreamException expected) {
+        }
+    }
+
     private ModelNode createOperation(String operationName, String... address) {
         ModelNode operation = new ModelNode();
         operation.get(OP).set(operationName);
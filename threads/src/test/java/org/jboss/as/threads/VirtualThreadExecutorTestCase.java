@@ -0,0 +1,197 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.threads.JBossThreadFactory;
+import org.junit.Test;
+
+/**
+ * Tests for {@link VirtualThreadExecutor}.  On a JVM without virtual threads these exercise the fallback thread factory.
+ */
+public class VirtualThreadExecutorTestCase {
+
+    private static JBossThreadFactory createThreadFactory() {
+        return new JBossThreadFactory(new ThreadGroup("virtual-thread-test"), Boolean.FALSE, null, "%G - %t", null, null, null);
+    }
+
+    @Test
+    public void testMaxConcurrency() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor("test", 2, 100, false, createThreadFactory());
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    final int now = running.incrementAndGet();
+                    int max;
+                    while (now > (max = maxRunning.get()) && !maxRunning.compareAndSet(max, now)) {
+                    }
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (running.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, running.get());
+        assertEquals(8, executor.getQueueSize());
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(2, maxRunning.get());
+        assertEquals(2, executor.getLargestThreadCount());
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(0, executor.getQueueSize());
+        assertEquals(0, executor.getThreadCount());
+    }
+
+    @Test
+    public void testShutdownRunsQueuedTasks() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor("test", 1, 100, false, createThreadFactory());
+        final AtomicInteger executed = new AtomicInteger();
+        for (int i = 0; i < 50; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    executed.incrementAndGet();
+                }
+            });
+        }
+        final CountDownLatch listener = new CountDownLatch(1);
+        executor.shutdown();
+        executor.addTerminationListener(new Runnable() {
+            public void run() {
+                listener.countDown();
+            }
+        });
+
+        assertTrue(listener.await(10, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+        assertEquals(50, executed.get());
+    }
+
+    @Test
+    public void testShutdownWhenIdle() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor("test", 1, 1, false, createThreadFactory());
+        executor.shutdown();
+        assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    public void testFallbackRequiresLimit() throws Exception {
+        if (VirtualThreadExecutor.createVirtualThreadFactory("test") != null) {
+            return;
+        }
+        try {
+            new VirtualThreadExecutor("test", 0, 0, false, createThreadFactory());
+            fail("Expected unlimited platform threads to be refused");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testFullQueueRejects() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor("test", 1, 1, false, createThreadFactory());
+        final CountDownLatch release = new CountDownLatch(1);
+        fill(executor, release);
+        try {
+            executor.execute(new Noop());
+            fail("Expected the full executor to reject the task");
+        } catch (RejectedExecutionException expected) {
+        }
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFullQueueBlocks() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor("test", 1, 1, true, createThreadFactory());
+        final CountDownLatch release = new CountDownLatch(1);
+        fill(executor, release);
+        try {
+            executor.executeBlocking(new Noop(), 50, TimeUnit.MILLISECONDS);
+            fail("Expected the submission to time out");
+        } catch (RejectedExecutionException expected) {
+        }
+
+        final CountDownLatch submitted = new CountDownLatch(1);
+        final Thread submitter = new Thread(new Runnable() {
+            public void run() {
+                executor.execute(new Noop());
+                submitted.countDown();
+            }
+        });
+        submitter.start();
+        assertFalse(submitted.await(100, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(submitted.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Occupies the single permit of the executor and its single queue slot until the latch is released.
+     */
+    private static void fill(final VirtualThreadExecutor executor, final CountDownLatch release) throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            public void run() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.execute(new Noop());
+        assertEquals(1, executor.getQueueSize());
+    }
+
+    private static class Noop implements Runnable {
+        public void run() {
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.threads.ExecutionTimedOutException;
+import org.jboss.threads.JBossThreadFactory;
+import org.junit.Test;
+
+/**
+ * Tests for {@link WorkStealingExecutor}.
+ */
+public class WorkStealingExecutorTestCase {
+
+    private static JBossThreadFactory createThreadFactory() {
+        return new JBossThreadFactory(new ThreadGroup("work-stealing-test"), Boolean.FALSE, null, "%G - %t", null, null, null);
+    }
+
+    @Test
+    public void testRecursiveTasks() throws Exception {
+        final WorkStealingExecutor executor = new WorkStealingExecutor(4, 1 << 12, false, null, createThreadFactory());
+        final int depth = 10;
+        final CountDownLatch leaves = new CountDownLatch(1 << depth);
+        final AtomicInteger executed = new AtomicInteger();
+        executor.execute(new Split(executor, depth, leaves, executed));
+
+        assertTrue(leaves.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals((1 << (depth + 1)) - 1, executed.get());
+        assertEquals(executed.get(), executor.getCompletedTaskCount());
+        assertEquals(0, executor.getQueueSize());
+    }
+
+    @Test
+    public void testShutdownRunsQueuedTasks() throws Exception {
+        final WorkStealingExecutor executor = new WorkStealingExecutor(2, 100, false, null, createThreadFactory());
+        final AtomicInteger executed = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    executed.incrementAndGet();
+                }
+            });
+        }
+        final CountDownLatch listener = new CountDownLatch(1);
+        executor.shutdown();
+        executor.addTerminationListener(new Runnable() {
+            public void run() {
+                listener.countDown();
+            }
+        });
+
+        assertTrue(listener.await(10, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+        assertEquals(100, executed.get());
+    }
+
+    @Test
+    public void testFullPoolRejects() throws Exception {
+        final WorkStealingExecutor executor = new WorkStealingExecutor(1, 2, false, null, createThreadFactory());
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            fill(executor, release, 2);
+            try {
+                executor.execute(new Noop());
+                fail("Expected the task to be rejected");
+            } catch (RejectedExecutionException expected) {
+            }
+            assertEquals(2, executor.getQueueSize());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(3, executor.getCompletedTaskCount());
+    }
+
+    @Test
+    public void testFullPoolHandsOff() throws Exception {
+        final AtomicInteger handedOff = new AtomicInteger();
+        final Executor handoff = new Executor() {
+            public void execute(final Runnable command) {
+                handedOff.incrementAndGet();
+            }
+        };
+        final WorkStealingExecutor executor = new WorkStealingExecutor(1, 1, true, handoff, createThreadFactory());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch submitted = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        try {
+            fill(executor, release, 1);
+            executor.executeNonBlocking(new Noop());
+            assertEquals(1, handedOff.get());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // A pool thread never waits for room in its own pool, even if the pool is blocking
+        final WorkStealingExecutor nested = new WorkStealingExecutor(1, 1, true, handoff, createThreadFactory());
+        try {
+            nested.execute(new Runnable() {
+                public void run() {
+                    try {
+                        nested.execute(new Noop());
+                        nested.execute(new Noop());
+                    } catch (Throwable t) {
+                        failure.set(t);
+                    } finally {
+                        submitted.countDown();
+                    }
+                }
+            });
+            assertTrue(submitted.await(10, TimeUnit.SECONDS));
+            assertEquals(null, failure.get());
+            assertEquals(2, handedOff.get());
+        } finally {
+            nested.shutdown();
+        }
+        assertTrue(nested.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFullPoolBlocks() throws Exception {
+        final WorkStealingExecutor executor = new WorkStealingExecutor(1, 1, true, null, createThreadFactory());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch ran = new CountDownLatch(1);
+        try {
+            fill(executor, release, 1);
+            try {
+                executor.executeBlocking(new Noop(), 50, TimeUnit.MILLISECONDS);
+                fail("Expected the submission to time out");
+            } catch (ExecutionTimedOutException expected) {
+            }
+
+            final Thread submitter = new Thread(new Runnable() {
+                public void run() {
+                    executor.execute(new Runnable() {
+                        public void run() {
+                            ran.countDown();
+                        }
+                    });
+                }
+            });
+            submitter.start();
+            submitter.join(100);
+            assertTrue(submitter.isAlive());
+            assertFalse(ran.getCount() == 0);
+
+            release.countDown();
+            submitter.join(10000);
+            assertFalse(submitter.isAlive());
+            assertTrue(ran.await(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    // Occupies the single worker and then queues the given number of tasks
+    private static void fill(final WorkStealingExecutor executor, final CountDownLatch release, final int queued) throws InterruptedException {
+        final CountDownLatch running = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            public void run() {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < queued; i++) {
+            executor.execute(new Noop());
+        }
+    }
+
+    private static class Noop implements Runnable {
+        public void run() {
+        }
+    }
+
+    private static class Split implements Runnable {
+        private final WorkStealingExecutor executor;
+        private final int depth;
+        private final CountDownLatch leaves;
+        private final AtomicInteger executed;
+
+        Split(WorkStealingExecutor executor, int depth, CountDownLatch leaves, AtomicInteger executed) {
+            this.executor = executor;
+            this.depth = depth;
+            this.leaves = leaves;
+            this.executed = executed;
+        }
+
+        public void run() {
+            this.executed.incrementAndGet();
+            if (this.depth == 0) {
+                this.leaves.countDown();
+            } else {
+                this.executor.execute(new Split(this.executor, this.depth - 1, this.leaves, this.executed));
+                this.executor.execute(new Split(this.executor, this.depth - 1, this.leaves, this.executed));
+            }
+        }
+    }
+}
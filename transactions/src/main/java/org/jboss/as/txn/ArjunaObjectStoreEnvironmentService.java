@@ -13,6 +13,8 @@ import org.jboss.msc.value.InjectedValue;
 import com.arjuna.ats.arjuna.common.ObjectStoreEnvironmentBean;
 import com.arjuna.common.internal.util.propertyservice.BeanPopulator;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Configures the {@link ObjectStoreEnvironmentBean}s using an injected path.
  *
@@ -23,9 +25,25 @@ public class ArjunaObjectStoreEnvironmentService implements Service<Void> {
 
     private final InjectedValue<String> pathInjector = new InjectedValue<String>();
     private final boolean useHornetqJournalStore;
+    private final Integer journalBufferSize;
+    private final Long journalBufferTimeout;
+    private final Integer journalFileSize;
 
-    ArjunaObjectStoreEnvironmentService(boolean useHornetqJournalStore) {
+    /**
+     * Creates the service.  The journal settings only apply to the HornetQ journal store, and are left to their JBossTS
+     * defaults when {@code null}.
+     *
+     * @param useHornetqJournalStore whether the action store keeps the transaction log in a HornetQ journal
+     * @param journalBufferSize the size in bytes of the buffer in which concurrent log writes are batched into a single sync
+     * @param journalBufferTimeout the longest time in nanoseconds a log write waits for its batch to be synced
+     * @param journalFileSize the size in bytes of each journal file
+     */
+    ArjunaObjectStoreEnvironmentService(boolean useHornetqJournalStore, Integer journalBufferSize, Long journalBufferTimeout,
+                                        Integer journalFileSize) {
         this.useHornetqJournalStore = useHornetqJournalStore;
+        this.journalBufferSize = journalBufferSize;
+        this.journalBufferTimeout = journalBufferTimeout;
+        this.journalFileSize = journalFileSize;
     }
 
     @Override
@@ -45,6 +63,15 @@ public class ArjunaObjectStoreEnvironmentService implements Service<Void> {
                     com.arjuna.ats.internal.arjuna.objectstore.hornetq.HornetqJournalEnvironmentBean.class
             );
             hornetqJournalEnvironmentBean.setStoreDir(objectStoreDir+"/HornetqObjectStore");
+            if (journalBufferSize != null) {
+                hornetqJournalEnvironmentBean.setBufferSize(journalBufferSize.intValue());
+            }
+            if (journalBufferTimeout != null) {
+                hornetqJournalEnvironmentBean.setBufferFlushesPerSecond(getBufferFlushesPerSecond(journalBufferTimeout.longValue()));
+            }
+            if (journalFileSize != null) {
+                hornetqJournalEnvironmentBean.setFileSize(journalFileSize.intValue());
+            }
             defaultActionStoreObjectStoreEnvironmentBean.setObjectStoreType(
                     "com.arjuna.ats.internal.arjuna.objectstore.hornetq.HornetqObjectStoreAdaptor"
             );
@@ -64,6 +91,13 @@ public class ArjunaObjectStoreEnvironmentService implements Service<Void> {
     public void stop(StopContext context) {
     }
 
+    /**
+     * Converts a buffer timeout to the flush rate configured on the journal, which syncs the buffer once per period.
+     */
+    static int getBufferFlushesPerSecond(final long bufferTimeout) {
+        return (int) Math.max(1L, Math.min(Integer.MAX_VALUE, TimeUnit.SECONDS.toNanos(1L) / Math.max(1L, bufferTimeout)));
+    }
+
     InjectedValue<String> getPathInjector() {
         return pathInjector;
     }
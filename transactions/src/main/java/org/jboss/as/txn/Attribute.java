@@ -43,6 +43,10 @@ enum Attribute {
     RECOVERY_LISTENER("recovery-listener"),
     RELATIVE_TO("relative-to"),
     PATH("path"),
+    USE_HORNETQ_STORE("use-hornetq-store"),
+    JOURNAL_BUFFER_SIZE("journal-buffer-size"),
+    JOURNAL_BUFFER_TIMEOUT("journal-buffer-timeout"),
+    JOURNAL_FILE_SIZE("journal-file-size"),
     ;
     private final String name;
 
@@ -35,6 +35,12 @@ interface CommonAttributes {
     String ENABLE_STATISTICS = "enable-statistics";
     /** transaction status manager (TSM) service, needed for out of process recovery, should be provided or not */
     String ENABLE_TSM_STATUS = "enable-tsm-status";
+    /** The size in bytes of the buffer batching writes to the HornetQ journal object store */
+    String JOURNAL_BUFFER_SIZE = "journal-buffer-size";
+    /** The longest time in nanoseconds a write to the HornetQ journal object store waits for its batch to be synced */
+    String JOURNAL_BUFFER_TIMEOUT = "journal-buffer-timeout";
+    /** The size in bytes of each HornetQ journal object store file */
+    String JOURNAL_FILE_SIZE = "journal-file-size";
     String NODE_IDENTIFIER = "node-identifier";
     String OBJECT_STORE = "object-store";
     /** The com.arjuna.ats.arjuna.utils.Process implementation type */
@@ -48,6 +54,8 @@ interface CommonAttributes {
     String STATUS_BINDING = "status-socket-binding";
     /** The process-id/uuid element */
     String UUID = "uuid";
+    /** Whether the object store keeps the transaction log in a HornetQ journal */
+    String USE_HORNETQ_STORE = "use-hornetq-store";
     // TxStats
     String NUMBER_OF_TRANSACTIONS = "number-of-transactions";
     String NUMBER_OF_NESTED_TRANSACTIONS = "number-of-nested-transactions";
@@ -58,5 +66,16 @@ interface CommonAttributes {
     String NUMBER_OF_TIMED_OUT_TRANSACTIONS = "number-of-timed-out-transactions";
     String NUMBER_OF_APPLICATION_ROLLBACKS = "number-of-application-rollbacks";
     String NUMBER_OF_RESOURCE_ROLLBACKS = "number-of-resource-rollbacks";
+    // TransactionStatistics
+    String READ_TRANSACTION_STATISTICS = "read-transaction-statistics";
+    String CLEAR = "clear";
+    String COMMIT_MODES = "commit-modes";
+    String COMMIT_TIME = "commit-time";
+    String COMPONENTS = "components";
+    String DEPLOYMENTS = "deployments";
+    String ENLISTED_RESOURCES = "enlisted-resources";
+    String ENLISTMENT_PATTERNS = "enlistment-patterns";
+    String ROLLED_BACK_COUNT = "rolled-back-count";
+    String TRANSACTION_DURATION = "transaction-duration";
     // TODO, process-id/mbean, process-id/file
 }
@@ -90,6 +90,22 @@ public class Descriptions {
         subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, ModelDescriptionConstants.PATH, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString("object-store.path"));
         subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, ModelDescriptionConstants.PATH, ModelDescriptionConstants.TYPE).set(ModelType.STRING);
         subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, ModelDescriptionConstants.PATH, ModelDescriptionConstants.REQUIRED).set(false);
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.USE_HORNETQ_STORE, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString("object-store.use-hornetq-store"));
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.USE_HORNETQ_STORE, ModelDescriptionConstants.TYPE).set(ModelType.BOOLEAN);
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.USE_HORNETQ_STORE, ModelDescriptionConstants.REQUIRED).set(false);
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.USE_HORNETQ_STORE, ModelDescriptionConstants.DEFAULT).set(false);
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_SIZE, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString("object-store.journal-buffer-size"));
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_SIZE, ModelDescriptionConstants.TYPE).set(ModelType.INT);
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_SIZE, ModelDescriptionConstants.REQUIRED).set(false);
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_SIZE, ModelDescriptionConstants.MIN).set(1);
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_TIMEOUT, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString("object-store.journal-buffer-timeout"));
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_TIMEOUT, ModelDescriptionConstants.TYPE).set(ModelType.LONG);
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_TIMEOUT, ModelDescriptionConstants.REQUIRED).set(false);
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_TIMEOUT, ModelDescriptionConstants.MIN).set(1);
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_FILE_SIZE, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString("object-store.journal-file-size"));
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_FILE_SIZE, ModelDescriptionConstants.TYPE).set(ModelType.INT);
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_FILE_SIZE, ModelDescriptionConstants.REQUIRED).set(false);
+        subsystem.get(ModelDescriptionConstants.ATTRIBUTES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_FILE_SIZE, ModelDescriptionConstants.MIN).set(1);
 
         for (TxStatsHandler.TxStat stat : EnumSet.allOf(TxStatsHandler.TxStat.class)) {
             String statString = stat.toString();
@@ -168,12 +184,72 @@ public class Descriptions {
         op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, ModelDescriptionConstants.PATH, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString("object-store.path"));
         op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, ModelDescriptionConstants.PATH, ModelDescriptionConstants.TYPE).set(ModelType.STRING);
         op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, ModelDescriptionConstants.PATH, ModelDescriptionConstants.REQUIRED).set(false);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.USE_HORNETQ_STORE, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString("object-store.use-hornetq-store"));
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.USE_HORNETQ_STORE, ModelDescriptionConstants.TYPE).set(ModelType.BOOLEAN);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.USE_HORNETQ_STORE, ModelDescriptionConstants.REQUIRED).set(false);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.USE_HORNETQ_STORE, ModelDescriptionConstants.DEFAULT).set(false);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_SIZE, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString("object-store.journal-buffer-size"));
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_SIZE, ModelDescriptionConstants.TYPE).set(ModelType.INT);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_SIZE, ModelDescriptionConstants.REQUIRED).set(false);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_SIZE, ModelDescriptionConstants.MIN).set(1);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_TIMEOUT, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString("object-store.journal-buffer-timeout"));
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_TIMEOUT, ModelDescriptionConstants.TYPE).set(ModelType.LONG);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_TIMEOUT, ModelDescriptionConstants.REQUIRED).set(false);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_BUFFER_TIMEOUT, ModelDescriptionConstants.MIN).set(1);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_FILE_SIZE, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString("object-store.journal-file-size"));
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_FILE_SIZE, ModelDescriptionConstants.TYPE).set(ModelType.INT);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_FILE_SIZE, ModelDescriptionConstants.REQUIRED).set(false);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.OBJECT_STORE, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.JOURNAL_FILE_SIZE, ModelDescriptionConstants.MIN).set(1);
 
         op.get(ModelDescriptionConstants.REPLY_PROPERTIES).setEmptyObject();
 
         return op;
     }
 
+    static ModelNode getReadTransactionStatistics(Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+
+        final ModelNode op = new ModelNode();
+
+        op.get(ModelDescriptionConstants.OPERATION_NAME).set(CommonAttributes.READ_TRANSACTION_STATISTICS);
+        op.get(ModelDescriptionConstants.DESCRIPTION).set(bundle.getString(CommonAttributes.READ_TRANSACTION_STATISTICS));
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.CLEAR, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString(CommonAttributes.READ_TRANSACTION_STATISTICS + "." + CommonAttributes.CLEAR));
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.CLEAR, ModelDescriptionConstants.TYPE).set(ModelType.BOOLEAN);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.CLEAR, ModelDescriptionConstants.REQUIRED).set(false);
+        op.get(ModelDescriptionConstants.REQUEST_PROPERTIES, CommonAttributes.CLEAR, ModelDescriptionConstants.DEFAULT).set(false);
+
+        op.get(ModelDescriptionConstants.REPLY_PROPERTIES, ModelDescriptionConstants.TYPE).set(ModelType.OBJECT);
+        addStatisticsReplyProperties(op.get(ModelDescriptionConstants.REPLY_PROPERTIES, ModelDescriptionConstants.VALUE_TYPE), bundle);
+        final ModelNode deployments = op.get(ModelDescriptionConstants.REPLY_PROPERTIES, ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.DEPLOYMENTS);
+        deployments.get(ModelDescriptionConstants.DESCRIPTION).set(bundle.getString(CommonAttributes.READ_TRANSACTION_STATISTICS + "." + CommonAttributes.DEPLOYMENTS));
+        deployments.get(ModelDescriptionConstants.TYPE).set(ModelType.OBJECT);
+        final ModelNode components = deployments.get(ModelDescriptionConstants.VALUE_TYPE, CommonAttributes.COMPONENTS);
+        components.get(ModelDescriptionConstants.DESCRIPTION).set(bundle.getString(CommonAttributes.READ_TRANSACTION_STATISTICS + "." + CommonAttributes.COMPONENTS));
+        components.get(ModelDescriptionConstants.TYPE).set(ModelType.OBJECT);
+        addStatisticsReplyProperties(deployments.get(ModelDescriptionConstants.VALUE_TYPE), bundle);
+
+        return op;
+    }
+
+    private static void addStatisticsReplyProperties(final ModelNode valueType, final ResourceBundle bundle) {
+        final String prefix = CommonAttributes.READ_TRANSACTION_STATISTICS + ".";
+        valueType.get(CommonAttributes.TRANSACTION_DURATION, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString(prefix + CommonAttributes.TRANSACTION_DURATION));
+        valueType.get(CommonAttributes.TRANSACTION_DURATION, ModelDescriptionConstants.TYPE).set(ModelType.OBJECT);
+        valueType.get(CommonAttributes.COMMIT_TIME, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString(prefix + CommonAttributes.COMMIT_TIME));
+        valueType.get(CommonAttributes.COMMIT_TIME, ModelDescriptionConstants.TYPE).set(ModelType.OBJECT);
+        valueType.get(CommonAttributes.ROLLED_BACK_COUNT, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString(prefix + CommonAttributes.ROLLED_BACK_COUNT));
+        valueType.get(CommonAttributes.ROLLED_BACK_COUNT, ModelDescriptionConstants.TYPE).set(ModelType.LONG);
+        valueType.get(CommonAttributes.ENLISTED_RESOURCES, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString(prefix + CommonAttributes.ENLISTED_RESOURCES));
+        valueType.get(CommonAttributes.ENLISTED_RESOURCES, ModelDescriptionConstants.TYPE).set(ModelType.OBJECT);
+        valueType.get(CommonAttributes.ENLISTED_RESOURCES, ModelDescriptionConstants.VALUE_TYPE).set(ModelType.LONG);
+        valueType.get(CommonAttributes.COMMIT_MODES, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString(prefix + CommonAttributes.COMMIT_MODES));
+        valueType.get(CommonAttributes.COMMIT_MODES, ModelDescriptionConstants.TYPE).set(ModelType.OBJECT);
+        valueType.get(CommonAttributes.COMMIT_MODES, ModelDescriptionConstants.VALUE_TYPE).set(ModelType.LONG);
+        valueType.get(CommonAttributes.ENLISTMENT_PATTERNS, ModelDescriptionConstants.DESCRIPTION).set(bundle.getString(prefix + CommonAttributes.ENLISTMENT_PATTERNS));
+        valueType.get(CommonAttributes.ENLISTMENT_PATTERNS, ModelDescriptionConstants.TYPE).set(ModelType.OBJECT);
+        valueType.get(CommonAttributes.ENLISTMENT_PATTERNS, ModelDescriptionConstants.VALUE_TYPE).set(ModelType.LONG);
+    }
+
     private static ResourceBundle getResourceBundle(Locale locale) {
         if (locale == null) {
             locale = Locale.getDefault();
@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.txn;
+
+import java.util.Map;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the {@link TransactionStatistics} of the server, and of each deployment and component, in a single operation.
+ */
+class ReadTransactionStatisticsHandler implements OperationStepHandler {
+
+    static final ReadTransactionStatisticsHandler INSTANCE = new ReadTransactionStatisticsHandler();
+
+    private ReadTransactionStatisticsHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final boolean clear = operation.hasDefined(CommonAttributes.CLEAR) && operation.get(CommonAttributes.CLEAR).asBoolean();
+        if (context.getType() == OperationContext.Type.SERVER) {
+            context.addStep(new OperationStepHandler() {
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    final ServiceController<?> controller = context.getServiceRegistry(false).getService(TransactionStatisticsService.SERVICE_NAME);
+                    if ((controller == null) || (controller.getState() != ServiceController.State.UP)) {
+                        context.completeStep();
+                        return;
+                    }
+                    final TransactionStatistics statistics = (TransactionStatistics) controller.getValue();
+                    final ModelNode result = statistics.getServerStatistics().toModelNode();
+                    final ModelNode deployments = result.get(CommonAttributes.DEPLOYMENTS).setEmptyObject();
+                    for (Map.Entry<String, TransactionStatistics.DeploymentStatistics> deployment : statistics.getDeploymentStatistics().entrySet()) {
+                        final ModelNode deploymentNode = deployment.getValue().toModelNode();
+                        final ModelNode components = deploymentNode.get(CommonAttributes.COMPONENTS).setEmptyObject();
+                        for (Map.Entry<String, TransactionStatistics.ComponentStatistics> component : deployment.getValue().getComponentStatistics().entrySet()) {
+                            components.get(component.getKey()).set(component.getValue().toModelNode());
+                        }
+                        deployments.get(deployment.getKey()).set(deploymentNode);
+                    }
+                    context.getResult().set(result);
+                    if (clear) {
+                        statistics.clear();
+                    }
+                    context.completeStep();
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+        context.completeStep();
+    }
+}
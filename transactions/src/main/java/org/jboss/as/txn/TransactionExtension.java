@@ -61,6 +61,9 @@ import static org.jboss.as.txn.CommonAttributes.CORE_ENVIRONMENT;
 import static org.jboss.as.txn.CommonAttributes.DEFAULT_TIMEOUT;
 import static org.jboss.as.txn.CommonAttributes.ENABLE_STATISTICS;
 import static org.jboss.as.txn.CommonAttributes.ENABLE_TSM_STATUS;
+import static org.jboss.as.txn.CommonAttributes.JOURNAL_BUFFER_SIZE;
+import static org.jboss.as.txn.CommonAttributes.JOURNAL_BUFFER_TIMEOUT;
+import static org.jboss.as.txn.CommonAttributes.JOURNAL_FILE_SIZE;
 import static org.jboss.as.txn.CommonAttributes.NODE_IDENTIFIER;
 import static org.jboss.as.txn.CommonAttributes.OBJECT_STORE;
 import static org.jboss.as.txn.CommonAttributes.PROCESS_ID;
@@ -68,6 +71,7 @@ import static org.jboss.as.txn.CommonAttributes.RECOVERY_ENVIRONMENT;
 import static org.jboss.as.txn.CommonAttributes.RECOVERY_LISTENER;
 import static org.jboss.as.txn.CommonAttributes.SOCKET_PROCESS_ID_MAX_PORTS;
 import static org.jboss.as.txn.CommonAttributes.STATUS_BINDING;
+import static org.jboss.as.txn.CommonAttributes.USE_HORNETQ_STORE;
 import org.jboss.dmr.ModelNode;
 import org.jboss.logging.Logger;
 import org.jboss.staxmapper.XMLElementReader;
@@ -100,6 +104,8 @@ public class TransactionExtension implements Extension {
         for (TxStatsHandler.TxStat stat : EnumSet.allOf(TxStatsHandler.TxStat.class)) {
             registration.registerMetric(stat.toString(), TxStatsHandler.INSTANCE);
         }
+        registration.registerOperationHandler(CommonAttributes.READ_TRANSACTION_STATISTICS, ReadTransactionStatisticsHandler.INSTANCE,
+                TransactionSubsystemProviders.READ_TRANSACTION_STATISTICS, false);
         subsystem.registerXMLElementWriter(parser);
     }
 
@@ -192,6 +198,18 @@ public class TransactionExtension implements Extension {
                     case PATH:
                         store.get(PATH).set(value);
                         break;
+                    case USE_HORNETQ_STORE:
+                        store.get(USE_HORNETQ_STORE).set(value);
+                        break;
+                    case JOURNAL_BUFFER_SIZE:
+                        store.get(JOURNAL_BUFFER_SIZE).set(value);
+                        break;
+                    case JOURNAL_BUFFER_TIMEOUT:
+                        store.get(JOURNAL_BUFFER_TIMEOUT).set(value);
+                        break;
+                    case JOURNAL_FILE_SIZE:
+                        store.get(JOURNAL_FILE_SIZE).set(value);
+                        break;
                     default:
                         throw unexpectedAttribute(reader, i);
                 }
@@ -427,6 +445,18 @@ public class TransactionExtension implements Extension {
                 if (has(env, PATH)) {
                     writeAttribute(writer, Attribute.PATH, env.get(PATH));
                 }
+                if (has(env, USE_HORNETQ_STORE)) {
+                    writeAttribute(writer, Attribute.USE_HORNETQ_STORE, env.get(USE_HORNETQ_STORE));
+                }
+                if (has(env, JOURNAL_BUFFER_SIZE)) {
+                    writeAttribute(writer, Attribute.JOURNAL_BUFFER_SIZE, env.get(JOURNAL_BUFFER_SIZE));
+                }
+                if (has(env, JOURNAL_BUFFER_TIMEOUT)) {
+                    writeAttribute(writer, Attribute.JOURNAL_BUFFER_TIMEOUT, env.get(JOURNAL_BUFFER_TIMEOUT));
+                }
+                if (has(env, JOURNAL_FILE_SIZE)) {
+                    writeAttribute(writer, Attribute.JOURNAL_FILE_SIZE, env.get(JOURNAL_FILE_SIZE));
+                }
                 writer.writeEndElement();
             }
             writer.writeEndElement();
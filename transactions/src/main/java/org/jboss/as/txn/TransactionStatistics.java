@@ -0,0 +1,456 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.txn;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionSynchronizationRegistry;
+import javax.transaction.xa.XAResource;
+
+import org.jboss.as.threads.LatencyHistogram;
+import org.jboss.dmr.ModelNode;
+import org.jboss.tm.LastResource;
+import org.jboss.tm.XAResourceWrapper;
+
+import com.arjuna.ats.internal.jta.transaction.arjunacore.TransactionImple;
+
+/**
+ * Duration, commit time and enlisted resource statistics of container managed transactions, kept for the whole server
+ * and for each deployment and component that starts transactions.
+ * <p>
+ * The statistics are the value of the {@link TransactionStatisticsService}, and like the Arjuna
+ * {@link com.arjuna.ats.arjuna.coordinator.TxStats} are only updated while coordinator statistics are enabled.  A
+ * transaction is recorded by an interposed {@link Synchronization} once it has completed.  Interposed synchronizations
+ * complete after the ones registered on the transaction itself, so the commit time does not include the work those do
+ * before completion, such as flushing a persistence context.
+ * </p>
+ * <p>
+ * Each transaction is classified by the {@link CommitMode} its enlisted resources force on the coordinator, and the
+ * combination of resources it enlisted is counted, so that transactions writing a log to the object store only because
+ * a local resource was enlisted alongside an XA resource can be traced back to their deployment and component.
+ * </p>
+ * <p>
+ * A logged last-resource commit backed by a commit-marker table in the local data-source is not offered.  It would only
+ * save the object store write if the coordinator decided the outcome of the transaction from the marker row, and
+ * recovery would need a module reading that row; the JBossTS coordinator offers neither hook.  Local data-sources take
+ * part as last resources through {@link LastResource}, as configured in {@link ArjunaTransactionManagerService}.
+ * </p>
+ */
+public final class TransactionStatistics {
+
+    /** Transactions enlisting this many resources or more share the last enlisted resource count. */
+    static final int MAX_ENLISTED_RESOURCES = 4;
+
+    /** The number of distinct combinations of enlisted resources counted for each component, deployment and server. */
+    static final int MAX_ENLISTMENT_PATTERNS = 50;
+
+    static final String LAST_RESOURCE_SUFFIX = " (last-resource)";
+    static final String PATTERN_SEPARATOR = " + ";
+    static final String OTHER_PATTERNS = "other";
+
+    /**
+     * How the coordinator completes a transaction, depending on the resources enlisted in it.
+     */
+    public enum CommitMode {
+        /** No resource was enlisted, so completion does not involve the object store. */
+        NO_RESOURCES("no-resources"),
+        /** A single resource was enlisted and is committed in one phase, without a log write. */
+        ONE_PHASE("one-phase"),
+        /**
+         * A local resource was enlisted alongside XA resources.  It is committed after the XA resources are prepared and
+         * the transaction log is written to the object store.
+         */
+        LAST_RESOURCE("last-resource"),
+        /** Several XA resources were enlisted, so the transaction log is written to the object store. */
+        TWO_PHASE("two-phase");
+
+        private final String name;
+
+        private CommitMode(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private final Statistics server = new Statistics();
+    private final ConcurrentMap<String, DeploymentStatistics> deployments = new ConcurrentHashMap<String, DeploymentStatistics>();
+    private final boolean enabled;
+    private final TransactionSynchronizationRegistry registry;
+
+    TransactionStatistics(final boolean enabled, final TransactionSynchronizationRegistry registry) {
+        this.enabled = enabled;
+        this.registry = registry;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the statistics a component records its transactions into, creating them if needed.
+     *
+     * @param deploymentName the name of the deployment containing the component
+     * @param componentName the name of the component
+     */
+    public ComponentStatistics getComponentStatistics(final String deploymentName, final String componentName) {
+        DeploymentStatistics deployment = deployments.get(deploymentName);
+        if (deployment == null) {
+            final DeploymentStatistics created = new DeploymentStatistics();
+            deployment = deployments.putIfAbsent(deploymentName, created);
+            if (deployment == null) {
+                deployment = created;
+            }
+        }
+        ComponentStatistics component = deployment.components.get(componentName);
+        if (component == null) {
+            final ComponentStatistics created = new ComponentStatistics(this, deployment);
+            component = deployment.components.putIfAbsent(componentName, created);
+            if (component == null) {
+                component = created;
+            }
+        }
+        return component;
+    }
+
+    /**
+     * Discards the statistics of a component, and those of its deployment once it has no components left.
+     *
+     * @param deploymentName the name of the deployment containing the component
+     * @param componentName the name of the component
+     */
+    public void removeComponentStatistics(final String deploymentName, final String componentName) {
+        final DeploymentStatistics deployment = deployments.get(deploymentName);
+        if (deployment != null) {
+            deployment.components.remove(componentName);
+            if (deployment.components.isEmpty()) {
+                deployments.remove(deploymentName, deployment);
+            }
+        }
+    }
+
+    /**
+     * Returns the resources enlisted in a transaction, or {@code null} if the transaction does not expose them.
+     *
+     * @param tx the transaction
+     */
+    static Enlistment getEnlistment(final Transaction tx) {
+        if (tx instanceof TransactionImple) {
+            final Map<?, ?> resources = ((TransactionImple) tx).getResources();
+            return (resources == null) ? Enlistment.NONE : getEnlistment(resources.keySet());
+        }
+        return null;
+    }
+
+    /**
+     * Returns the enlistment of the given resources.
+     *
+     * @param resources the {@link XAResource}s enlisted in a transaction
+     */
+    static Enlistment getEnlistment(final Collection<?> resources) {
+        if (resources.isEmpty()) {
+            return Enlistment.NONE;
+        }
+        final String[] names = new String[resources.size()];
+        int lastResources = 0;
+        int i = 0;
+        for (Object resource : resources) {
+            if (i == names.length) {
+                break;
+            }
+            final boolean lastResource = resource instanceof LastResource;
+            if (lastResource) {
+                lastResources++;
+            }
+            names[i++] = getResourceName((XAResource) resource, lastResource);
+        }
+        return new Enlistment(i, lastResources, names);
+    }
+
+    private static String getResourceName(final XAResource resource, final boolean lastResource) {
+        String name = null;
+        if (resource instanceof XAResourceWrapper) {
+            final XAResourceWrapper wrapper = (XAResourceWrapper) resource;
+            name = wrapper.getJndiName();
+            if (name == null && wrapper.getResource() != null) {
+                name = wrapper.getResource().getClass().getName();
+            }
+        }
+        if (name == null) {
+            name = resource.getClass().getName();
+        }
+        return lastResource ? name + LAST_RESOURCE_SUFFIX : name;
+    }
+
+    Statistics getServerStatistics() {
+        return server;
+    }
+
+    Map<String, DeploymentStatistics> getDeploymentStatistics() {
+        return deployments;
+    }
+
+    void clear() {
+        server.clear();
+        for (DeploymentStatistics deployment : deployments.values()) {
+            deployment.clear();
+            for (ComponentStatistics component : deployment.components.values()) {
+                component.clear();
+            }
+        }
+    }
+
+    /**
+     * The statistics of the transactions started by a single component.  Each transaction is also recorded in the
+     * statistics of the deployment and of the server.
+     */
+    public static final class ComponentStatistics extends Statistics {
+        private final TransactionStatistics owner;
+        private final DeploymentStatistics deployment;
+
+        ComponentStatistics(final TransactionStatistics owner, final DeploymentStatistics deployment) {
+            this.owner = owner;
+            this.deployment = deployment;
+        }
+
+        public boolean isEnabled() {
+            return owner.enabled;
+        }
+
+        /**
+         * Records a transaction the component has just begun once it completes.  The resources enlisted in the
+         * transaction are counted after completion, so that resources enlisted while it commits are included.
+         *
+         * @param tx the transaction, which must be associated with the calling thread
+         * @throws IllegalStateException if the transaction is no longer active
+         */
+        public void transactionBegun(final Transaction tx) {
+            owner.registry.registerInterposedSynchronization(new Recorder(this, tx));
+        }
+
+        /**
+         * Records a committed transaction.
+         *
+         * @param durationNanos the time from the start of the transaction to the end of its completion
+         * @param commitNanos the time spent committing the transaction, covering the prepare and commit phases
+         * @param enlistment the resources enlisted in the transaction, or {@code null} if unknown
+         */
+        void transactionCommitted(final long durationNanos, final long commitNanos, final Enlistment enlistment) {
+            committed(durationNanos, commitNanos, enlistment);
+            deployment.committed(durationNanos, commitNanos, enlistment);
+            owner.server.committed(durationNanos, commitNanos, enlistment);
+        }
+
+        /**
+         * Records a rolled back transaction.
+         *
+         * @param durationNanos the time from the start of the transaction to the end of its completion
+         * @param enlistment the resources enlisted in the transaction, or {@code null} if unknown
+         */
+        void transactionRolledBack(final long durationNanos, final Enlistment enlistment) {
+            rolledBack(durationNanos, enlistment);
+            deployment.rolledBack(durationNanos, enlistment);
+            owner.server.rolledBack(durationNanos, enlistment);
+        }
+    }
+
+    /**
+     * The resources enlisted in a transaction.
+     */
+    static final class Enlistment {
+        static final Enlistment NONE = new Enlistment(0, 0, new String[0]);
+
+        private final int resources;
+        private final int lastResources;
+        private final String pattern;
+
+        Enlistment(final int resources, final int lastResources, final String[] names) {
+            this.resources = resources;
+            this.lastResources = lastResources;
+            // Resources are enlisted in no particular order, so sort them to count each combination once
+            Arrays.sort(names, 0, resources);
+            final StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < resources; i++) {
+                if (i > 0) {
+                    builder.append(PATTERN_SEPARATOR);
+                }
+                builder.append(names[i]);
+            }
+            this.pattern = builder.toString();
+        }
+
+        int getResourceCount() {
+            return resources;
+        }
+
+        /**
+         * Returns the names of the enlisted resources, sorted and separated by {@code " + "}.  Resources are named by
+         * their JNDI name when known, and by their class name otherwise.
+         */
+        String getPattern() {
+            return pattern;
+        }
+
+        CommitMode getCommitMode() {
+            if (resources == 0) {
+                return CommitMode.NO_RESOURCES;
+            } else if (resources == 1) {
+                return CommitMode.ONE_PHASE;
+            } else if (lastResources > 0) {
+                return CommitMode.LAST_RESOURCE;
+            } else {
+                return CommitMode.TWO_PHASE;
+            }
+        }
+    }
+
+    /**
+     * Records a transaction into the statistics of a component once it completes.  The commit time is measured from the
+     * start of the interposed synchronizations, after the regular synchronizations and before the resources are
+     * prepared, to the end of the completion.  Interposed synchronizations registered after this one are included.
+     */
+    private static final class Recorder implements Synchronization {
+        private final ComponentStatistics statistics;
+        private final Transaction tx;
+        private final long begun = System.nanoTime();
+        private volatile long completing;
+
+        Recorder(final ComponentStatistics statistics, final Transaction tx) {
+            this.statistics = statistics;
+            this.tx = tx;
+        }
+
+        public void beforeCompletion() {
+            completing = System.nanoTime();
+        }
+
+        public void afterCompletion(final int status) {
+            final long now = System.nanoTime();
+            final Enlistment enlistment = getEnlistment(tx);
+            if (status == Status.STATUS_COMMITTED) {
+                final long completing = this.completing;
+                statistics.transactionCommitted(now - begun, (completing == 0L) ? 0L : now - completing, enlistment);
+            } else {
+                statistics.transactionRolledBack(now - begun, enlistment);
+            }
+        }
+    }
+
+    static final class DeploymentStatistics extends Statistics {
+        private final ConcurrentMap<String, ComponentStatistics> components = new ConcurrentHashMap<String, ComponentStatistics>();
+
+        Map<String, ComponentStatistics> getComponentStatistics() {
+            return components;
+        }
+    }
+
+    static class Statistics {
+        private final LatencyHistogram duration = new LatencyHistogram();
+        private final LatencyHistogram commitTime = new LatencyHistogram();
+        private final AtomicLongArray enlistedResources = new AtomicLongArray(MAX_ENLISTED_RESOURCES + 1);
+        private final AtomicLongArray commitModes = new AtomicLongArray(CommitMode.values().length);
+        private final ConcurrentMap<String, AtomicLong> patterns = new ConcurrentHashMap<String, AtomicLong>();
+        private final AtomicLong otherPatterns = new AtomicLong();
+        private final AtomicLong rolledBack = new AtomicLong();
+
+        void committed(final long durationNanos, final long commitNanos, final Enlistment enlistment) {
+            duration.record(durationNanos);
+            commitTime.record(commitNanos);
+            enlisted(enlistment);
+        }
+
+        void rolledBack(final long durationNanos, final Enlistment enlistment) {
+            duration.record(durationNanos);
+            rolledBack.incrementAndGet();
+            enlisted(enlistment);
+        }
+
+        private void enlisted(final Enlistment enlistment) {
+            if (enlistment == null) {
+                return;
+            }
+            enlistedResources.incrementAndGet(Math.min(enlistment.resources, MAX_ENLISTED_RESOURCES));
+            commitModes.incrementAndGet(enlistment.getCommitMode().ordinal());
+            if (enlistment.resources > 0) {
+                AtomicLong count = patterns.get(enlistment.pattern);
+                if (count == null && patterns.size() < MAX_ENLISTMENT_PATTERNS) {
+                    final AtomicLong created = new AtomicLong();
+                    count = patterns.putIfAbsent(enlistment.pattern, created);
+                    if (count == null) {
+                        count = created;
+                    }
+                }
+                (count != null ? count : otherPatterns).incrementAndGet();
+            }
+        }
+
+        void clear() {
+            duration.reset();
+            commitTime.reset();
+            for (int i = 0; i <= MAX_ENLISTED_RESOURCES; i++) {
+                enlistedResources.set(i, 0L);
+            }
+            for (int i = 0; i < commitModes.length(); i++) {
+                commitModes.set(i, 0L);
+            }
+            patterns.clear();
+            otherPatterns.set(0L);
+            rolledBack.set(0L);
+        }
+
+        ModelNode toModelNode() {
+            final ModelNode node = new ModelNode();
+            node.get(CommonAttributes.TRANSACTION_DURATION).set(duration.toModelNode());
+            node.get(CommonAttributes.COMMIT_TIME).set(commitTime.toModelNode());
+            node.get(CommonAttributes.ROLLED_BACK_COUNT).set(rolledBack.get());
+            final ModelNode enlisted = node.get(CommonAttributes.ENLISTED_RESOURCES).setEmptyObject();
+            for (int i = 0; i <= MAX_ENLISTED_RESOURCES; i++) {
+                enlisted.get((i < MAX_ENLISTED_RESOURCES) ? Integer.toString(i) : i + "+").set(enlistedResources.get(i));
+            }
+            final ModelNode modes = node.get(CommonAttributes.COMMIT_MODES).setEmptyObject();
+            for (CommitMode mode : CommitMode.values()) {
+                modes.get(mode.toString()).set(commitModes.get(mode.ordinal()));
+            }
+            final ModelNode enlistments = node.get(CommonAttributes.ENLISTMENT_PATTERNS).setEmptyObject();
+            for (Map.Entry<String, AtomicLong> pattern : patterns.entrySet()) {
+                enlistments.get(pattern.getKey()).set(pattern.getValue().get());
+            }
+            if (otherPatterns.get() > 0) {
+                enlistments.get(OTHER_PATTERNS).set(otherPatterns.get());
+            }
+            return node;
+        }
+    }
+}
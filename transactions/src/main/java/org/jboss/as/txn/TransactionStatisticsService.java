@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.txn;
+
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.jboss.as.controller.ServiceVerificationHandler;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+
+/**
+ * Service that exposes the {@link TransactionStatistics} of the server.  Each start of the service begins with empty
+ * statistics.
+ */
+public class TransactionStatisticsService implements Service<TransactionStatistics> {
+    public static final ServiceName SERVICE_NAME = TxnServices.JBOSS_TXN_STATISTICS;
+
+    private final boolean enabled;
+    private final InjectedValue<TransactionSynchronizationRegistry> registry = new InjectedValue<TransactionSynchronizationRegistry>();
+    private volatile TransactionStatistics statistics;
+
+    TransactionStatisticsService(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static ServiceController<TransactionStatistics> addService(final ServiceTarget target, final boolean enabled, ServiceVerificationHandler verificationHandler) {
+        final TransactionStatisticsService service = new TransactionStatisticsService(enabled);
+        return target.addService(SERVICE_NAME, service)
+                .addDependency(TransactionSynchronizationRegistryService.SERVICE_NAME, TransactionSynchronizationRegistry.class, service.registry)
+                .addListener(verificationHandler)
+                .install();
+    }
+
+    @Override
+    public void start(final StartContext context) {
+        statistics = new TransactionStatistics(enabled, registry.getValue());
+    }
+
+    @Override
+    public void stop(final StopContext context) {
+        statistics = null;
+    }
+
+    @Override
+    public TransactionStatistics getValue() throws IllegalStateException {
+        return TxnServices.notNull(statistics);
+    }
+}
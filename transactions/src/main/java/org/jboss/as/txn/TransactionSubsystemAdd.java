@@ -103,6 +103,7 @@ class TransactionSubsystemAdd implements OperationStepHandler {
             log.debugf("nodeIdentifier=%s\n", nodeIdentifier);
             log.debugf("varDirPathRef=%s, varDirPath=%s\n", varDirPathRef, varDirPath);
             log.debugf("objectStorePathRef=%s, objectStorePathRef=%s\n", objectStorePathRef, objectStorePath);
+            log.debugf("objectStore=%s\n", objectStore);
             log.debugf("recoveryBindingName=%s, recoveryStatusBindingName=%s\n", recoveryBindingName, recoveryStatusBindingName);
         }
 
@@ -122,6 +123,10 @@ class TransactionSubsystemAdd implements OperationStepHandler {
         subModel.get(COORDINATOR_ENVIRONMENT, DEFAULT_TIMEOUT).set(coordinatorDefaultTimeout);  // store the default so we write it -- TODO store all the defaults
         subModel.get(OBJECT_STORE, RELATIVE_TO).set(operation.get(OBJECT_STORE, RELATIVE_TO));
         subModel.get(OBJECT_STORE,PATH).set(operation.get(OBJECT_STORE, PATH));
+        subModel.get(OBJECT_STORE, USE_HORNETQ_STORE).set(operation.get(OBJECT_STORE, USE_HORNETQ_STORE));
+        subModel.get(OBJECT_STORE, JOURNAL_BUFFER_SIZE).set(operation.get(OBJECT_STORE, JOURNAL_BUFFER_SIZE));
+        subModel.get(OBJECT_STORE, JOURNAL_BUFFER_TIMEOUT).set(operation.get(OBJECT_STORE, JOURNAL_BUFFER_TIMEOUT));
+        subModel.get(OBJECT_STORE, JOURNAL_FILE_SIZE).set(operation.get(OBJECT_STORE, JOURNAL_FILE_SIZE));
 
         boolean setReload = false;
         if (context.getType() == OperationContext.Type.SERVER) {
@@ -184,9 +189,7 @@ class TransactionSubsystemAdd implements OperationStepHandler {
                             ServiceController<String> objectStoreRPS = RelativePathService.addService(INTERNAL_OBJECTSTORE_PATH, objectStorePath, objectStorePathRef, target);
                             controllers.add(objectStoreRPS);
 
-                            final boolean useHornetqJournalStore = "true".equals(System.getProperty("usehornetqstore")); // TODO wire to domain model instead.
-
-                            final ArjunaObjectStoreEnvironmentService objStoreEnvironmentService = new ArjunaObjectStoreEnvironmentService(useHornetqJournalStore);
+                            final ArjunaObjectStoreEnvironmentService objStoreEnvironmentService = createObjectStoreEnvironmentService(objectStore);
                             controllers.add(target.addService(TxnServices.JBOSS_TXN_ARJUNA_OBJECTSTORE_ENVIRONMENT, objStoreEnvironmentService)
                                     .addDependency(objectStoreRPS.getName(), String.class, objStoreEnvironmentService.getPathInjector())
                                     .addDependency(TxnServices.JBOSS_TXN_CORE_ENVIRONMENT)
@@ -219,6 +222,7 @@ class TransactionSubsystemAdd implements OperationStepHandler {
                             controllers.add(target.addService(TxnServices.JBOSS_TXN_USER_TRANSACTION_REGISTRY, new UserTransactionRegistryService())
                                     .addListener(verificationHandler).setInitialMode(Mode.ACTIVE).install());
                             controllers.add(TransactionSynchronizationRegistryService.addService(target, verificationHandler));
+                            controllers.add(TransactionStatisticsService.addService(target, coordinatorEnableStatistics, verificationHandler));
 
                             //bind the TransactionManger and the TSR into JNDI
                             final BinderService tmBinderService = new BinderService("TransactionManager");
@@ -287,4 +291,14 @@ class TransactionSubsystemAdd implements OperationStepHandler {
         }
     }
 
+    /**
+     * Creates the service configuring the object stores from the object-store element of the subsystem.
+     */
+    static ArjunaObjectStoreEnvironmentService createObjectStoreEnvironmentService(final ModelNode objectStore) {
+        final boolean useHornetqJournalStore = objectStore.hasDefined(USE_HORNETQ_STORE) ? objectStore.get(USE_HORNETQ_STORE).asBoolean() : "true".equals(System.getProperty("usehornetqstore"));
+        final Integer journalBufferSize = objectStore.hasDefined(JOURNAL_BUFFER_SIZE) ? Integer.valueOf(objectStore.get(JOURNAL_BUFFER_SIZE).asInt()) : null;
+        final Long journalBufferTimeout = objectStore.hasDefined(JOURNAL_BUFFER_TIMEOUT) ? Long.valueOf(objectStore.get(JOURNAL_BUFFER_TIMEOUT).asLong()) : null;
+        final Integer journalFileSize = objectStore.hasDefined(JOURNAL_FILE_SIZE) ? Integer.valueOf(objectStore.get(JOURNAL_FILE_SIZE).asInt()) : null;
+        return new ArjunaObjectStoreEnvironmentService(useHornetqJournalStore, journalBufferSize, journalBufferTimeout, journalFileSize);
+    }
 }
@@ -49,4 +49,11 @@ class TransactionSubsystemProviders {
         }
     };
 
+    static final DescriptionProvider READ_TRANSACTION_STATISTICS = new DescriptionProvider() {
+
+        public ModelNode getModelDescription(final Locale locale) {
+            return Descriptions.getReadTransactionStatistics(locale);
+        }
+    };
+
 }
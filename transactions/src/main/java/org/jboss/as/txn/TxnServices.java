@@ -52,6 +52,8 @@ public final class TxnServices {
 
     public static final ServiceName JBOSS_TXN_SYNCHRONIZATION_REGISTRY = JBOSS_TXN.append("TransactionSynchronizationRegistry");
 
+    public static final ServiceName JBOSS_TXN_STATISTICS = JBOSS_TXN.append("TransactionStatistics");
+
     public static <T> T notNull(T value) {
         if (value == null) throw new IllegalStateException("Service not started");
         return value;
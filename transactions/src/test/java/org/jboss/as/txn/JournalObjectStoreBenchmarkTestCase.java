@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.txn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.arjuna.ats.arjuna.common.Uid;
+import com.arjuna.ats.arjuna.state.OutputObjectState;
+import com.arjuna.ats.internal.arjuna.objectstore.hornetq.HornetqJournalEnvironmentBean;
+import com.arjuna.ats.internal.arjuna.objectstore.hornetq.HornetqJournalStore;
+
+/**
+ * Measures the commits per second of the HornetQ journal object store on the local disk for a range of journal buffer
+ * sizes, with concurrent writers whose log writes are batched into a shared sync.  Only run by the benchmark-tests
+ * profile, as it syncs to disk.
+ */
+public class JournalObjectStoreBenchmarkTestCase {
+
+    private static final String TYPE_NAME = "/StateManager/BasicAction/TwoPhaseCoordinator/AtomicAction";
+    private static final int THREADS = 32;
+    private static final int COMMITS_PER_THREAD = 200;
+    private static final int RECORD_SIZE = 600;
+    private static final long BUFFER_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final int[] BUFFER_SIZES = { 1024, 16 * 1024, 128 * 1024, 490 * 1024 };
+
+    private File storeDir;
+
+    @Before
+    public void createStoreDir() throws IOException {
+        storeDir = File.createTempFile("tx-object-store", "");
+        assertTrue(storeDir.delete());
+        assertTrue(storeDir.mkdirs());
+    }
+
+    @After
+    public void deleteStoreDir() {
+        delete(storeDir);
+    }
+
+    @Test
+    public void testCommitThroughputByBufferSize() throws Exception {
+        for (int bufferSize : BUFFER_SIZES) {
+            final double commitsPerSecond = measure(bufferSize);
+            System.out.printf("journal-buffer-size=%d journal-buffer-timeout=%d: %.0f commits/s%n", bufferSize, BUFFER_TIMEOUT,
+                    commitsPerSecond);
+        }
+    }
+
+    private double measure(final int bufferSize) throws Exception {
+        final HornetqJournalEnvironmentBean environment = new HornetqJournalEnvironmentBean();
+        final File dir = new File(storeDir, Integer.toString(bufferSize));
+        environment.setStoreDir(dir.getAbsolutePath());
+        environment.setBufferSize(bufferSize);
+        environment.setBufferFlushesPerSecond(ArjunaObjectStoreEnvironmentService.getBufferFlushesPerSecond(BUFFER_TIMEOUT));
+        environment.setFileSize(10 * 1024 * 1024);
+        environment.setSyncWrites(true);
+        // NIO rather than libaio, which is not available on every test machine
+        environment.setAsyncIO(false);
+
+        final HornetqJournalStore store = new HornetqJournalStore(environment);
+        store.start();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Callable<Integer>> writers = new ArrayList<Callable<Integer>>();
+            for (int i = 0; i < THREADS; i++) {
+                writers.add(new Callable<Integer>() {
+                    public Integer call() throws Exception {
+                        int written = 0;
+                        for (int j = 0; j < COMMITS_PER_THREAD; j++) {
+                            final Uid uid = new Uid();
+                            final OutputObjectState state = new OutputObjectState(uid, TYPE_NAME);
+                            state.packBytes(new byte[RECORD_SIZE]);
+                            if (store.write_committed(uid, TYPE_NAME, state)) {
+                                written++;
+                            }
+                        }
+                        return Integer.valueOf(written);
+                    }
+                });
+            }
+            final long start = System.nanoTime();
+            int written = 0;
+            for (Future<Integer> result : executor.invokeAll(writers)) {
+                written += result.get().intValue();
+            }
+            final long elapsed = System.nanoTime() - start;
+            assertEquals(THREADS * COMMITS_PER_THREAD, written);
+            return written / (elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+        } finally {
+            executor.shutdownNow();
+            store.stop();
+        }
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
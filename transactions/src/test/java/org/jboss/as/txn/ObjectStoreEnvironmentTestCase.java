@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.txn;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLMapper;
+import org.junit.Test;
+
+import com.arjuna.ats.arjuna.common.ObjectStoreEnvironmentBean;
+import com.arjuna.ats.internal.arjuna.objectstore.hornetq.HornetqJournalEnvironmentBean;
+import com.arjuna.common.internal.util.propertyservice.BeanPopulator;
+
+/**
+ * Tests that the object-store settings of the subsystem reach the JBossTS object store environment.
+ */
+public class ObjectStoreEnvironmentTestCase {
+
+    @Test
+    public void testBufferFlushesPerSecond() {
+        assertEquals(500, ArjunaObjectStoreEnvironmentService.getBufferFlushesPerSecond(TimeUnit.MILLISECONDS.toNanos(2)));
+        assertEquals(1000000000, ArjunaObjectStoreEnvironmentService.getBufferFlushesPerSecond(1));
+        assertEquals(1000000000, ArjunaObjectStoreEnvironmentService.getBufferFlushesPerSecond(0));
+        assertEquals(1, ArjunaObjectStoreEnvironmentService.getBufferFlushesPerSecond(TimeUnit.SECONDS.toNanos(5)));
+    }
+
+    @Test
+    public void testJournalSettings() throws Exception {
+        final ModelNode objectStore = parseObjectStore("<object-store use-hornetq-store=\"true\" journal-buffer-size=\"65536\""
+                + " journal-buffer-timeout=\"4000000\" journal-file-size=\"1048576\"/>");
+        final ArjunaObjectStoreEnvironmentService service = TransactionSubsystemAdd.createObjectStoreEnvironmentService(objectStore);
+        service.getPathInjector().inject("target/tx-object-store");
+        service.start(null);
+
+        final HornetqJournalEnvironmentBean journal = BeanPopulator.getDefaultInstance(HornetqJournalEnvironmentBean.class);
+        assertEquals("target/tx-object-store/HornetqObjectStore", journal.getStoreDir());
+        assertEquals(65536, journal.getBufferSize());
+        assertEquals(250, journal.getBufferFlushesPerSecond());
+        assertEquals(1048576, journal.getFileSize());
+        assertEquals("com.arjuna.ats.internal.arjuna.objectstore.hornetq.HornetqObjectStoreAdaptor",
+                BeanPopulator.getNamedInstance(ObjectStoreEnvironmentBean.class, "default").getObjectStoreType());
+    }
+
+    private static ModelNode parseObjectStore(final String objectStore) throws XMLStreamException {
+        final String xml = "<subsystem xmlns=\"" + Namespace.TRANSACTIONS_1_0.getUriString() + "\">"
+                + "<recovery-environment socket-binding=\"txn-recovery-environment\" status-socket-binding=\"txn-status-manager\"/>"
+                + "<core-environment><process-id><uuid/></process-id></core-environment>"
+                + objectStore + "</subsystem>";
+        final XMLMapper mapper = XMLMapper.Factory.create();
+        mapper.registerRootElement(new QName(Namespace.TRANSACTIONS_1_0.getUriString(), "subsystem"),
+                new TransactionExtension.TransactionSubsystemParser());
+        final List<ModelNode> operations = new ArrayList<ModelNode>();
+        mapper.parseDocument(operations, XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml)));
+        assertEquals(1, operations.size());
+        return operations.get(0).get(CommonAttributes.OBJECT_STORE);
+    }
+}
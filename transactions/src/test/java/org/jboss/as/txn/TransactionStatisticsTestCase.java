@@ -0,0 +1,309 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.txn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionSynchronizationRegistry;
+import javax.transaction.xa.XAResource;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.tm.LastResource;
+import org.jboss.tm.XAResourceWrapper;
+import org.junit.Test;
+
+/**
+ * Tests that {@link TransactionStatistics} records transactions once they complete.
+ */
+public class TransactionStatisticsTestCase {
+
+    private final MockRegistry registry = new MockRegistry();
+
+    @Test
+    public void testCommitAndRollback() throws Exception {
+        final TransactionStatistics statistics = new TransactionStatistics(true, registry);
+        final TransactionStatistics.ComponentStatistics first = statistics.getComponentStatistics("app.jar", "First");
+        final TransactionStatistics.ComponentStatistics second = statistics.getComponentStatistics("app.jar", "Second");
+        assertSame(first, statistics.getComponentStatistics("app.jar", "First"));
+        assertTrue(first.isEnabled());
+
+        final MockTransaction committed = registry.begin();
+        first.transactionBegun(committed);
+        // Nothing is recorded before the transaction completes
+        assertEquals(0, first.toModelNode().get(CommonAttributes.TRANSACTION_DURATION, "count").asLong());
+        committed.complete(Status.STATUS_COMMITTED);
+
+        final MockTransaction rolledBack = registry.begin();
+        second.transactionBegun(rolledBack);
+        rolledBack.complete(Status.STATUS_ROLLEDBACK);
+
+        final ModelNode firstNode = first.toModelNode();
+        assertEquals(1, firstNode.get(CommonAttributes.TRANSACTION_DURATION, "count").asLong());
+        assertEquals(1, firstNode.get(CommonAttributes.COMMIT_TIME, "count").asLong());
+        assertEquals(0, firstNode.get(CommonAttributes.ROLLED_BACK_COUNT).asLong());
+
+        final ModelNode secondNode = second.toModelNode();
+        assertEquals(1, secondNode.get(CommonAttributes.TRANSACTION_DURATION, "count").asLong());
+        assertEquals(0, secondNode.get(CommonAttributes.COMMIT_TIME, "count").asLong());
+        assertEquals(1, secondNode.get(CommonAttributes.ROLLED_BACK_COUNT).asLong());
+
+        for (ModelNode node : new ModelNode[] { statistics.getDeploymentStatistics().get("app.jar").toModelNode(),
+                statistics.getServerStatistics().toModelNode() }) {
+            assertEquals(2, node.get(CommonAttributes.TRANSACTION_DURATION, "count").asLong());
+            assertEquals(1, node.get(CommonAttributes.COMMIT_TIME, "count").asLong());
+            assertEquals(1, node.get(CommonAttributes.ROLLED_BACK_COUNT).asLong());
+            // The mock transaction does not expose its resources
+            final ModelNode enlisted = node.get(CommonAttributes.ENLISTED_RESOURCES);
+            assertEquals(TransactionStatistics.MAX_ENLISTED_RESOURCES + 1, enlisted.keys().size());
+            for (String resources : enlisted.keys()) {
+                assertEquals(0, enlisted.get(resources).asLong());
+            }
+        }
+
+        statistics.clear();
+        assertEquals(0, statistics.getServerStatistics().toModelNode().get(CommonAttributes.TRANSACTION_DURATION, "count").asLong());
+        assertEquals(0, first.toModelNode().get(CommonAttributes.TRANSACTION_DURATION, "count").asLong());
+    }
+
+    @Test
+    public void testCommitTimeExcludesRegularSynchronizations() throws Exception {
+        final TransactionStatistics statistics = new TransactionStatistics(true, registry);
+        final TransactionStatistics.ComponentStatistics component = statistics.getComponentStatistics("app.jar", "First");
+
+        final MockTransaction tx = registry.begin();
+        component.transactionBegun(tx);
+        // Registered later, like a persistence context flushing before completion
+        tx.registerSynchronization(new Synchronization() {
+            public void beforeCompletion() {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            public void afterCompletion(final int status) {
+            }
+        });
+        tx.complete(Status.STATUS_COMMITTED);
+
+        final ModelNode node = component.toModelNode();
+        assertTrue(node.get(CommonAttributes.TRANSACTION_DURATION, "max").asLong() >= TimeUnit.MILLISECONDS.toMicros(50));
+        assertTrue(node.get(CommonAttributes.COMMIT_TIME, "max").asLong() < TimeUnit.MILLISECONDS.toMicros(50));
+    }
+
+    @Test
+    public void testEnlistment() {
+        final XAResource local = createResource("java:/LocalDS", true);
+        final XAResource queue = createResource("java:/JmsXA", false);
+        final XAResource other = createResource("java:/XADS", false);
+
+        assertSame(TransactionStatistics.CommitMode.NO_RESOURCES,
+                TransactionStatistics.getEnlistment(Collections.emptyList()).getCommitMode());
+        assertSame(TransactionStatistics.CommitMode.ONE_PHASE,
+                TransactionStatistics.getEnlistment(Arrays.asList(local)).getCommitMode());
+        assertSame(TransactionStatistics.CommitMode.TWO_PHASE,
+                TransactionStatistics.getEnlistment(Arrays.asList(other, queue)).getCommitMode());
+
+        // The pattern does not depend on the order of enlistment
+        final TransactionStatistics.Enlistment mixed = TransactionStatistics.getEnlistment(Arrays.asList(local, queue));
+        assertSame(TransactionStatistics.CommitMode.LAST_RESOURCE, mixed.getCommitMode());
+        assertEquals(2, mixed.getResourceCount());
+        assertEquals("java:/JmsXA + java:/LocalDS" + TransactionStatistics.LAST_RESOURCE_SUFFIX, mixed.getPattern());
+        assertEquals(mixed.getPattern(), TransactionStatistics.getEnlistment(Arrays.asList(queue, local)).getPattern());
+    }
+
+    @Test
+    public void testCommitModesAndEnlistmentPatterns() {
+        final TransactionStatistics statistics = new TransactionStatistics(true, registry);
+        final TransactionStatistics.ComponentStatistics component = statistics.getComponentStatistics("app.jar", "First");
+        final XAResource local = createResource("java:/LocalDS", true);
+        final XAResource queue = createResource("java:/JmsXA", false);
+
+        component.transactionCommitted(1000L, 100L, TransactionStatistics.getEnlistment(Arrays.asList(local, queue)));
+        component.transactionCommitted(1000L, 100L, TransactionStatistics.getEnlistment(Arrays.asList(queue, local)));
+        component.transactionRolledBack(1000L, TransactionStatistics.getEnlistment(Arrays.asList(local)));
+        component.transactionCommitted(1000L, 100L, TransactionStatistics.Enlistment.NONE);
+        // Unknown enlistments are not classified
+        component.transactionCommitted(1000L, 100L, null);
+
+        for (ModelNode node : new ModelNode[] { component.toModelNode(),
+                statistics.getDeploymentStatistics().get("app.jar").toModelNode(),
+                statistics.getServerStatistics().toModelNode() }) {
+            final ModelNode modes = node.get(CommonAttributes.COMMIT_MODES);
+            assertEquals(1, modes.get("no-resources").asLong());
+            assertEquals(1, modes.get("one-phase").asLong());
+            assertEquals(2, modes.get("last-resource").asLong());
+            assertEquals(0, modes.get("two-phase").asLong());
+            final ModelNode patterns = node.get(CommonAttributes.ENLISTMENT_PATTERNS);
+            assertEquals(2, patterns.keys().size());
+            assertEquals(2, patterns.get("java:/JmsXA + java:/LocalDS" + TransactionStatistics.LAST_RESOURCE_SUFFIX).asLong());
+            assertEquals(1, patterns.get("java:/LocalDS" + TransactionStatistics.LAST_RESOURCE_SUFFIX).asLong());
+            assertEquals(1, node.get(CommonAttributes.ENLISTED_RESOURCES, "0").asLong());
+            assertEquals(2, node.get(CommonAttributes.ENLISTED_RESOURCES, "2").asLong());
+        }
+
+        statistics.clear();
+        final ModelNode cleared = component.toModelNode();
+        assertEquals(0, cleared.get(CommonAttributes.COMMIT_MODES, "last-resource").asLong());
+        assertEquals(0, cleared.get(CommonAttributes.ENLISTMENT_PATTERNS).keys().size());
+    }
+
+    @Test
+    public void testEnlistmentPatternLimit() {
+        final TransactionStatistics statistics = new TransactionStatistics(true, registry);
+        final TransactionStatistics.ComponentStatistics component = statistics.getComponentStatistics("app.jar", "First");
+        for (int i = 0; i <= TransactionStatistics.MAX_ENLISTMENT_PATTERNS; i++) {
+            final XAResource resource = createResource("java:/DS" + i, false);
+            component.transactionCommitted(1000L, 100L, TransactionStatistics.getEnlistment(Arrays.asList(resource)));
+        }
+        final ModelNode patterns = component.toModelNode().get(CommonAttributes.ENLISTMENT_PATTERNS);
+        assertEquals(TransactionStatistics.MAX_ENLISTMENT_PATTERNS + 1, patterns.keys().size());
+        assertEquals(1, patterns.get(TransactionStatistics.OTHER_PATTERNS).asLong());
+    }
+
+    @Test
+    public void testRemoveComponentStatistics() {
+        final TransactionStatistics statistics = new TransactionStatistics(false, registry);
+        assertFalse(statistics.getComponentStatistics("app.jar", "First").isEnabled());
+        statistics.getComponentStatistics("app.jar", "Second");
+
+        statistics.removeComponentStatistics("app.jar", "First");
+        assertEquals(1, statistics.getDeploymentStatistics().get("app.jar").getComponentStatistics().size());
+        statistics.removeComponentStatistics("app.jar", "Second");
+        assertNull(statistics.getDeploymentStatistics().get("app.jar"));
+        statistics.removeComponentStatistics("other.jar", "First");
+    }
+
+    private static XAResource createResource(final String jndiName, final boolean lastResource) {
+        final Class<?>[] interfaces = lastResource ? new Class<?>[] { XAResourceWrapper.class, LastResource.class }
+                : new Class<?>[] { XAResourceWrapper.class };
+        return (XAResource) Proxy.newProxyInstance(TransactionStatisticsTestCase.class.getClassLoader(), interfaces,
+                new InvocationHandler() {
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        if ("getJndiName".equals(method.getName())) {
+                            return jndiName;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Completes the regular synchronizations of a transaction before the interposed ones, like the transaction manager.
+     */
+    private static final class MockTransaction implements Transaction {
+        private final List<Synchronization> synchronizations = new ArrayList<Synchronization>();
+        private final List<Synchronization> interposed = new ArrayList<Synchronization>();
+
+        void complete(final int status) {
+            final List<Synchronization> all = new ArrayList<Synchronization>(synchronizations);
+            all.addAll(interposed);
+            for (Synchronization synchronization : all) {
+                synchronization.beforeCompletion();
+            }
+            for (Synchronization synchronization : all) {
+                synchronization.afterCompletion(status);
+            }
+        }
+
+        public void registerSynchronization(final Synchronization synchronization) {
+            synchronizations.add(synchronization);
+        }
+
+        public void commit() {
+            throw new UnsupportedOperationException();
+        }
+
+        public boolean delistResource(final XAResource resource, final int flag) {
+            throw new UnsupportedOperationException();
+        }
+
+        public boolean enlistResource(final XAResource resource) {
+            throw new UnsupportedOperationException();
+        }
+
+        public int getStatus() {
+            return Status.STATUS_ACTIVE;
+        }
+
+        public void rollback() {
+            throw new UnsupportedOperationException();
+        }
+
+        public void setRollbackOnly() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class MockRegistry implements TransactionSynchronizationRegistry {
+        private MockTransaction current;
+
+        MockTransaction begin() {
+            return current = new MockTransaction();
+        }
+
+        public void registerInterposedSynchronization(final Synchronization synchronization) {
+            current.interposed.add(synchronization);
+        }
+
+        public Object getTransactionKey() {
+            return current;
+        }
+
+        public void putResource(final Object key, final Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        public Object getResource(final Object key) {
+            throw new UnsupportedOperationException();
+        }
+
+        public int getTransactionStatus() {
+            return current == null ? Status.STATUS_NO_TRANSACTION : current.getStatus();
+        }
+
+        public void setRollbackOnly() {
+            throw new UnsupportedOperationException();
+        }
+
+        public boolean getRollbackOnly() {
+            return false;
+        }
+    }
+}
@@ -35,6 +35,7 @@ import org.jboss.as.controller.parsing.ExtensionParsingContext;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.web.deployment.ServletDeploymentStats;
+import org.jboss.as.web.deployment.SessionDeploymentStats;
 import org.jboss.dmr.ModelNode;
 import org.jboss.logging.Logger;
 
@@ -82,6 +83,7 @@ public class WebExtension implements Extension {
             }
         };
         final ManagementResourceRegistration deployments = subsystem.registerDeploymentModel(NULL);
+        SessionDeploymentStats.register(deployments);
         final ManagementResourceRegistration servlets = deployments.registerSubModel(PathElement.pathElement("servlet"), NULL);
         ServletDeploymentStats.register(servlets);
     }
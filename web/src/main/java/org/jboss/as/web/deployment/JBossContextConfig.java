@@ -59,11 +59,13 @@ import org.apache.naming.resources.FileDirContext;
 import org.apache.naming.resources.ProxyDirContext;
 import org.apache.tomcat.util.IntrospectionUtils;
 import org.jboss.annotation.javaee.Icon;
+import org.jboss.as.clustering.MarshallingStatistics;
 import org.jboss.as.clustering.web.OutgoingDistributableSessionData;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.web.deployment.helpers.VFSDirContext;
 import org.jboss.as.web.session.DistributableSessionManager;
+import org.jboss.as.web.session.OffHeapSessionManager;
 import org.jboss.logging.Logger;
 import org.jboss.metadata.javaee.jboss.RunAsIdentityMetaData;
 import org.jboss.metadata.javaee.spec.DescriptionGroupMetaData;
@@ -114,6 +116,8 @@ import org.jboss.metadata.web.spec.WebResourceCollectionsMetaData;
 import org.jboss.metadata.web.spec.WelcomeFileListMetaData;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleIdentifier;
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.value.InjectedValue;
 import org.jboss.vfs.VirtualFile;
 
 /**
@@ -124,6 +128,7 @@ public class JBossContextConfig extends ContextConfig {
 
     private DeploymentUnit deploymentUnitContext = null;
     private Set<String> overlays = new HashSet<String>();
+    private final InjectedValue<MarshallingStatistics> marshallingStatistics = new InjectedValue<MarshallingStatistics>();
 
     /**
      * <p>
@@ -135,6 +140,13 @@ public class JBossContextConfig extends ContextConfig {
         this.deploymentUnitContext = deploymentUnitContext;
     }
 
+    /**
+     * Returns the injector of the session attribute marshalling statistics of a distributable deployment.
+     */
+    public Injector<MarshallingStatistics> getMarshallingStatisticsInjector() {
+        return marshallingStatistics;
+    }
+
     @Override
     public void lifecycleEvent(LifecycleEvent event) {
         if (event.getType().equals(Lifecycle.AFTER_START_EVENT)) {
@@ -280,12 +292,16 @@ public class JBossContextConfig extends ContextConfig {
         // Distributable
         if (metaData.getDistributable() != null) {
             try {
-                context.setManager(new DistributableSessionManager<OutgoingDistributableSessionData>(this.context.getParent(), metaData, this.deploymentUnitContext.getServiceRegistry()));
+                context.setManager(new DistributableSessionManager<OutgoingDistributableSessionData>(this.context.getParent(), metaData, this.deploymentUnitContext.getServiceRegistry(), marshallingStatistics.getValue()));
                 context.setDistributable(true);
             } catch (Exception e) {
                 log.warn("Clustering not supported, falling back to non-clustered session manager.", e);
             }
         }
+        // Session passivation of a non-distributable web application moves inactive sessions off-heap
+        if (!context.getDistributable() && OffHeapSessionManager.isEnabled(metaData)) {
+            context.setManager(new OffHeapSessionManager(this.context.getParent(), metaData));
+        }
 
         // Context params
         List<ParamValueMetaData> contextParams = metaData.getContextParams();
@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.web.deployment;
+
+import org.jboss.as.clustering.MarshallingStatistics;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+
+/**
+ * A service holding the session attribute marshalling statistics of a distributable web deployment. The statistics
+ * start empty with each deployment and are discarded when it is undeployed.
+ */
+class MarshallingStatisticsService implements Service<MarshallingStatistics> {
+
+    private volatile MarshallingStatistics statistics;
+
+    static ServiceName getServiceName(final ServiceName deploymentServiceName) {
+        return deploymentServiceName.append("marshalling-statistics");
+    }
+
+    /** {@inheritDoc} */
+    public void start(StartContext context) throws StartException {
+        statistics = new MarshallingStatistics();
+    }
+
+    /** {@inheritDoc} */
+    public void stop(StopContext context) {
+        statistics = null;
+    }
+
+    /** {@inheritDoc} */
+    public MarshallingStatistics getValue() throws IllegalStateException {
+        final MarshallingStatistics statistics = this.statistics;
+        if (statistics == null) {
+            throw new IllegalStateException("Service not started");
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.web.deployment;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.Manager;
+import org.jboss.as.clustering.MarshallingStatistics;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.web.WebSubsystemServices;
+import org.jboss.as.web.session.SessionManagerMBean;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Session manager metrics of a web deployment, including the cost of the periodic expiration sweep and, for a
+ * distributable deployment, the marshalling of its session attributes.
+ */
+public class SessionDeploymentStats {
+
+    public static void register(final ManagementResourceRegistration registration) {
+
+        registration.registerMetric("active-sessions", new AbstractMetricsHandler() {
+            @Override
+            void handle(final ModelNode response, final Manager manager) {
+                response.set(manager.getActiveSessions());
+            }
+        });
+        registration.registerMetric("expired-sessions", new AbstractMetricsHandler() {
+            @Override
+            void handle(final ModelNode response, final Manager manager) {
+                response.set(manager.getExpiredSessions());
+            }
+        });
+        registration.registerMetric("rejected-sessions", new AbstractMetricsHandler() {
+            @Override
+            void handle(final ModelNode response, final Manager manager) {
+                response.set(manager.getRejectedSessions());
+            }
+        });
+        registration.registerMetric("expiration-sweep-time", new AbstractMetricsHandler() {
+            @Override
+            void handle(final ModelNode response, final Manager manager) {
+                if (manager instanceof SessionManagerMBean) {
+                    response.set(((SessionManagerMBean) manager).getLastProcessingTime());
+                }
+            }
+        });
+        registration.registerMetric("expiration-sweep-expired-sessions", new AbstractMetricsHandler() {
+            @Override
+            void handle(final ModelNode response, final Manager manager) {
+                if (manager instanceof SessionManagerMBean) {
+                    response.set(((SessionManagerMBean) manager).getLastExpiredSessionCount());
+                }
+            }
+        });
+        registration.registerMetric("total-expiration-sweep-time", new AbstractMetricsHandler() {
+            @Override
+            void handle(final ModelNode response, final Manager manager) {
+                if (manager instanceof SessionManagerMBean) {
+                    response.set(((SessionManagerMBean) manager).getProcessingTime());
+                }
+            }
+        });
+        registration.registerMetric("serialization-count", new AbstractMarshallingMetricsHandler() {
+            @Override
+            void handle(final ModelNode response, final MarshallingStatistics statistics) {
+                response.set(statistics.getSerializationCount());
+            }
+        });
+        registration.registerMetric("serialized-bytes", new AbstractMarshallingMetricsHandler() {
+            @Override
+            void handle(final ModelNode response, final MarshallingStatistics statistics) {
+                response.set(statistics.getSerializedBytes());
+            }
+        });
+        registration.registerMetric("deserialization-count", new AbstractMarshallingMetricsHandler() {
+            @Override
+            void handle(final ModelNode response, final MarshallingStatistics statistics) {
+                response.set(statistics.getDeserializationCount());
+            }
+        });
+        registration.registerMetric("deserialized-bytes", new AbstractMarshallingMetricsHandler() {
+            @Override
+            void handle(final ModelNode response, final MarshallingStatistics statistics) {
+                response.set(statistics.getDeserializedBytes());
+            }
+        });
+    }
+
+    abstract static class AbstractMetricsHandler implements OperationStepHandler {
+
+        abstract void handle(ModelNode response, Manager manager);
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final ModelNode subModel = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+
+            final String host = subModel.require("virtual-host").asString();
+            final String path = subModel.require("context-root").asString();
+
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+                    final ServiceController<?> controller = context.getServiceRegistry(false).getService(WebSubsystemServices.deploymentServiceName(host, path));
+                    if (controller != null) {
+                        final Context webContext = Context.class.cast(controller.getValue());
+                        final Manager manager = webContext.getManager();
+                        if (manager != null) {
+                            handle(context.getResult(), manager);
+                        }
+                    }
+                    context.completeStep();
+                }
+            }, OperationContext.Stage.RUNTIME);
+            context.completeStep();
+        }
+    }
+
+    abstract static class AbstractMarshallingMetricsHandler implements OperationStepHandler {
+
+        abstract void handle(ModelNode response, MarshallingStatistics statistics);
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final ModelNode subModel = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+
+            final String host = subModel.require("virtual-host").asString();
+            final String path = subModel.require("context-root").asString();
+
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+                    final ServiceController<?> controller = context.getServiceRegistry(false).getService(MarshallingStatisticsService.getServiceName(WebSubsystemServices.deploymentServiceName(host, path)));
+                    if ((controller != null) && (controller.getState() == ServiceController.State.UP)) {
+                        handle(context.getResult(), MarshallingStatistics.class.cast(controller.getValue()));
+                    }
+                    context.completeStep();
+                }
+            }, OperationContext.Stage.RUNTIME);
+            context.completeStep();
+        }
+    }
+}
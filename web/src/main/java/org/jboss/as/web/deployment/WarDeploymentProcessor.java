@@ -35,7 +35,7 @@ import javax.servlet.ServletContext;
 import org.apache.catalina.Loader;
 import org.apache.catalina.Realm;
 import org.apache.catalina.core.StandardContext;
-import org.apache.catalina.startup.ContextConfig;
+import org.jboss.as.clustering.MarshallingStatistics;
 import org.jboss.as.clustering.web.DistributedCacheManagerFactory;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.ee.component.EEModuleDescription;
@@ -129,7 +129,7 @@ public class WarDeploymentProcessor implements DeploymentUnitProcessor {
 
         // Create the context
         final StandardContext webContext = new StandardContext();
-        final ContextConfig config = new JBossContextConfig(deploymentUnit);
+        final JBossContextConfig config = new JBossContextConfig(deploymentUnit);
 
         List<ValveMetaData> valves = metaData.getValves();
         if (valves == null) {
@@ -233,6 +233,10 @@ public class WarDeploymentProcessor implements DeploymentUnitProcessor {
                 final DistributedCacheManagerFactory factory = DistributableSessionManager.getDistributedCacheManagerFactory();
                 if (factory != null) {
                     builder.addDependencies(DependencyType.OPTIONAL, factory.getDependencies(metaData));
+
+                    final ServiceName marshallingStatisticsServiceName = MarshallingStatisticsService.getServiceName(deploymentServiceName);
+                    serviceTarget.addService(marshallingStatisticsServiceName, new MarshallingStatisticsService()).install();
+                    builder.addDependency(marshallingStatisticsServiceName, MarshallingStatistics.class, config.getMarshallingStatisticsInjector());
                 }
             }
 
@@ -69,6 +69,10 @@ public abstract class AbstractSessionManager extends ManagerBase implements Sess
     protected long timeSinceLastReset = 0;
     /** Cumulative time spent in backgroundProcess */
     protected AtomicLong processingTime = new AtomicLong();
+    /** Time spent in the most recent backgroundProcess */
+    protected volatile long lastProcessingTime = 0;
+    /** Number of sessions expired by the most recent backgroundProcess */
+    protected volatile int lastExpiredCount = 0;
     /** Maximum time in ms a now expired session has been alive */
     protected AtomicInteger maxAliveTime = new AtomicInteger();
     /** Average time in ms a now expired session has been alive */
@@ -124,10 +128,14 @@ public abstract class AbstractSessionManager extends ManagerBase implements Sess
         synchronized (this) {
             if (this.started) {
                 long start = System.currentTimeMillis();
+                int expired = expiredCounter.get();
 
                 processExpirationPassivation();
 
-                processingTime.addAndGet(System.currentTimeMillis() - start);
+                long elapsed = System.currentTimeMillis() - start;
+                processingTime.addAndGet(elapsed);
+                lastProcessingTime = elapsed;
+                lastExpiredCount = Math.max(0, expiredCounter.get() - expired);
             }
         }
     }
@@ -224,6 +232,8 @@ public abstract class AbstractSessionManager extends ManagerBase implements Sess
         createdCounter.set(0);
         expiredCounter.set(0);
         processingTime.set(0);
+        lastProcessingTime = 0;
+        lastExpiredCount = 0;
         maxAliveTime.set(0);
         averageAliveTime.set(0);
         duplicates.set(0);
@@ -270,6 +280,16 @@ public abstract class AbstractSessionManager extends ManagerBase implements Sess
         return this.maxLocalActiveCounter.get();
     }
 
+    @Override
+    public long getLastProcessingTime() {
+        return this.lastProcessingTime;
+    }
+
+    @Override
+    public long getLastExpiredSessionCount() {
+        return this.lastExpiredCount;
+    }
+
     @Override
     public int getMaxActiveAllowed() {
         return this.maxActiveAllowed;
@@ -54,6 +54,7 @@ import org.apache.catalina.LifecycleListener;
 import org.apache.catalina.Pipeline;
 import org.apache.catalina.Session;
 import org.apache.catalina.Valve;
+import org.jboss.as.clustering.MarshallingStatistics;
 import org.jboss.as.clustering.web.BatchingManager;
 import org.jboss.as.clustering.web.ClusteringNotSupportedException;
 import org.jboss.as.clustering.web.DistributableSessionMetadata;
@@ -85,6 +86,8 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
     private static final String info = "DistributableSessionManager/1.0";
 
     private static final int TOTAL_PERMITS = Integer.MAX_VALUE;
+    /** Maximum number of session expirations grouped into a single distributed cache batch */
+    private static final int EXPIRATION_BATCH_SIZE = 100;
     @SuppressWarnings("unchecked")
     private static ContextClassLoaderSwitcher switcher = (ContextClassLoaderSwitcher) AccessController.doPrivileged(ContextClassLoaderSwitcher.INSTANTIATOR);
     private static final DistributedCacheManagerFactory defaultFactory = findDefaultFactory();
@@ -139,13 +142,26 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
     private final Map<String, OwnedSessionUpdate> unloadedSessions = new ConcurrentHashMap<String, OwnedSessionUpdate>();
     /** Sessions that have been created but not yet loaded. Used to ensure concurrent threads trying to load the same session */
     private final ConcurrentMap<String, ClusteredSession<O>> embryonicSessions = new ConcurrentHashMap<String, ClusteredSession<O>>();
+    /** Local and unloaded sessions, ordered by the earliest time at which they could expire */
+    private final SessionExpirationIndex expirationIndex = new SessionExpirationIndex();
+    /** Marshalling statistics of the session attributes of this web application */
+    private final MarshallingStatistics marshallingStatistics;
 
     public DistributableSessionManager(Container host, JBossWebMetaData metaData, ServiceRegistry registry) throws ClusteringNotSupportedException {
         this(defaultFactory, host, metaData, registry);
     }
 
+    public DistributableSessionManager(Container host, JBossWebMetaData metaData, ServiceRegistry registry, MarshallingStatistics marshallingStatistics) throws ClusteringNotSupportedException {
+        this(defaultFactory, host, metaData, registry, marshallingStatistics);
+    }
+
     public DistributableSessionManager(DistributedCacheManagerFactory factory, Container host, JBossWebMetaData metaData, ServiceRegistry registry) throws ClusteringNotSupportedException {
+        this(factory, host, metaData, registry, new MarshallingStatistics());
+    }
+
+    public DistributableSessionManager(DistributedCacheManagerFactory factory, Container host, JBossWebMetaData metaData, ServiceRegistry registry, MarshallingStatistics marshallingStatistics) throws ClusteringNotSupportedException {
         super(metaData);
+        this.marshallingStatistics = marshallingStatistics;
 
         if (factory == null) {
             throw new ClusteringNotSupportedException("No DistributedCacheManagerFactory service provider found.");
@@ -181,6 +197,11 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
         return this.name;
     }
 
+    @Override
+    public MarshallingStatistics getMarshallingStatistics() {
+        return this.marshallingStatistics;
+    }
+
     @Override
     public synchronized void start() throws LifecycleException {
         // Identify ourself more clearly
@@ -328,6 +349,7 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
 
                 OwnedSessionUpdate osu = new OwnedSessionUpdate(owner, lastMod, maxLife, false);
                 unloadedSessions.put(realId, osu);
+                this.scheduleUnloadedExpiration(realId, lastMod, maxLife);
             }
 
             if (passivate) {
@@ -463,6 +485,7 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
         // Clean up maps
         this.sessions.clear();
         this.unloadedSessions.clear();
+        this.expirationIndex.clear();
 
         this.passivatedCount.set(0);
 
@@ -790,6 +813,7 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
                 SessionInvalidationTracker.sessionInvalidated(realId, this);
 
                 sessions.remove(realId);
+                this.expirationIndex.cancel(realId);
                 this.getReplicationStatistics().removeStats(realId);
 
                 // Compute how long this session has been alive, and update
@@ -844,6 +868,7 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
                 SessionInvalidationTracker.sessionInvalidated(realId, this);
 
                 sessions.remove(realId);
+                this.expirationIndex.cancel(realId);
                 this.getReplicationStatistics().removeStats(realId);
 
                 // Compute how long this session has been alive, and update
@@ -859,6 +884,8 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
         boolean stored = false;
         if (s != null) {
             ClusteredSession<O> session = cast(s);
+            // A request may have shortened the session timeout
+            this.scheduleExpiration(session.getRealId(), session.getLastAccessedTimeInternal(), session.getMaxInactiveInterval());
             synchronized (session) {
                 log.tracef("check to see if needs to store and replicate session with id %s ", session.getIdInternal());
 
@@ -936,6 +963,7 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
         String realId = session.getRealId();
         Object existing = sessions.put(realId, session);
         unloadedSessions.remove(realId);
+        this.scheduleExpiration(realId, session.getLastAccessedTimeInternal(), session.getMaxInactiveInterval());
 
         if (!session.equals(existing)) {
             if (replicate) {
@@ -1080,6 +1108,7 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
             // We weren't managing the session anyway. But remove it
             // from the list of cached sessions we haven't loaded
             if (unloadedSessions.remove(realId) != null) {
+                this.expirationIndex.cancel(realId);
                 log.tracef("Removed entry for session %s from unloaded session map", realId);
             }
 
@@ -1160,6 +1189,7 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
             int maxLife = metadata == null ? getMaxInactiveInterval() : metadata.getMaxInactiveInterval();
 
             Object existing = unloadedSessions.put(realId, new OwnedSessionUpdate(dataOwner, timestamp, maxLife, false));
+            this.scheduleUnloadedExpiration(realId, timestamp, maxLife);
             if (existing == null) {
                 calcActiveSessions();
                 log.tracef("New session %s added to unloaded session map", realId);
@@ -1196,116 +1226,40 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
             // were going to be re-requested by the thread
             SessionInvalidationTracker.suspend();
 
-            // First, handle the sessions we are actively managing
-            for (Session s: this.sessions.values()) {
-                if (!this.started) return;
-
-                boolean likelyExpired = false;
-                String realId = null;
+            // First, expire the sessions, local or unloaded, whose earliest
+            // possible expiration time has passed
+            if (expire) {
+                List<String> candidates = this.expirationIndex.poll(System.currentTimeMillis());
+                for (int i = 0; i < candidates.size(); i += EXPIRATION_BATCH_SIZE) {
+                    if (!this.started) return;
 
-                try {
-                    ClusteredSession<O> session = cast(s);
+                    processExpirationBatch(candidates.subList(i, Math.min(i + EXPIRATION_BATCH_SIZE, candidates.size())));
+                }
+            }
 
-                    realId = session.getRealId();
-                    likelyExpired = expire;
-
-                    if (expire) {
-                        // JBAS-2403. Check for outdated sessions where we think
-                        // the local copy has timed out. If found, refresh the
-                        // session from the cache in case that might change the timeout
-                        likelyExpired = (session.isValid(false) == false);
-                        if (likelyExpired && this.outdatedSessionChecker.isSessionOutdated(session)) {
-                            // With JBC, every time we get a notification from the distributed
-                            // cache of an update, we get the latest timestamp. So
-                            // we shouldn't need to do a full session load here. A load
-                            // adds a risk of an unintended data gravitation. However,
-                            // with a database instead of JBC we don't get notifications
-
-                            // JBAS-2792 don't assign the result of loadSession to session
-                            // just update the object from the cache or fall through if
-                            // the session has been removed from the cache
-                            loadSession(session.getRealId());
-                        }
+            if (!this.started) return;
 
-                        // Do a normal invalidation check that will expire the
-                        // session if it has timed out
-                        // DON'T SYNCHRONIZE on session here -- isValid() and
-                        // expire() are meant to be multi-threaded and synchronize
-                        // properly internally; synchronizing externally can lead
-                        // to deadlocks!!
-                        if (!session.isValid())
-                            continue;
+            // Without a max idle time, sessions are only passivated once over the max active sessions
+            if (passivate && (passivationMax < 0) && ((maxActiveAllowed <= 0) || (passivationMin <= 0) || (calcActiveSessions() < maxActiveAllowed))) {
+                passivate = false;
+            }
 
-                        likelyExpired = false;
-                    }
+            if (passivate) {
+                // Next, collect the surviving sessions to check if we need to passivate them
+                for (Session s: this.sessions.values()) {
+                    if (!this.started) return;
 
-                    // we now have a valid session; store it so we can check later
-                    // if we need to passivate it
-                    if (passivate) {
+                    ClusteredSession<O> session = cast(s);
+                    if (session.isValid(false)) {
                         passivationChecks.add(new PassivationCheck(session));
                     }
-
-                } catch (Exception e) {
-                    if (likelyExpired) {
-                        // JBAS-7397 clean up
-                        bruteForceCleanup(realId, e);
-                    } else {
-                        log.errorf(e, "processExpirationPassivation(): failed handling %s with exception: %s", realId, e);
-                    }
-
                 }
-            }
-
-            // Next, handle any unloaded sessions
-
-            // We may have not gotten replication of a timestamp for requests
-            // that occurred w/in maxUnreplicatedInterval of the previous
-            // request. So we add a grace period to avoid flushing a session early
-            // and permanently losing part of its node structure in JBoss Cache.
-            long maxUnrep = maxUnreplicatedInterval < 0 ? 60 : maxUnreplicatedInterval;
-
-            for (Map.Entry<String, OwnedSessionUpdate> entry : this.unloadedSessions.entrySet()) {
-                if (!this.started) return;
-
-                String realId = entry.getKey();
-                OwnedSessionUpdate osu = entry.getValue();
-                boolean likelyExpired = false;
-
-                long now = System.currentTimeMillis();
-                long elapsed = (now - osu.getUpdateTime());
-                try {
-                    likelyExpired = expire && osu.getMaxInactive() >= 1 && elapsed >= (osu.getMaxInactive() + maxUnrep) * 1000L;
-                    if (likelyExpired) {
-                        // if (osu.passivated && osu.owner == null)
-                        if (osu.isPassivated()) {
-                            // Passivated session needs to be expired. A call to
-                            // findSession will bring it out of passivation
-                            Session session = findSession(realId);
-                            if (session != null) {
-                                session.isValid(); // will expire
-                                continue;
-                            }
-                        }
+                for (Map.Entry<String, OwnedSessionUpdate> entry : this.unloadedSessions.entrySet()) {
+                    if (!this.started) return;
 
-                        // If we get here either !osu.passivated, or we don't own
-                        // the session or the session couldn't be reactivated (invalidated by user).
-                        // Either way, do a cleanup
-                        this.distributedCacheManager.removeSessionLocal(realId, osu.getOwner());
-                        unloadedSessions.remove(realId);
-                        this.getReplicationStatistics().removeStats(realId);
-
-                    } else if (passivate && !osu.isPassivated()) {
-                        // we now have a valid session; store it so we can check later
-                        // if we need to passivate it
-                        passivationChecks.add(new PassivationCheck(realId, osu));
-                    }
-                } catch (Exception e) {
-                    // JBAS-7397 Don't try forever
-                    if (likelyExpired) {
-                        // JBAS-7397
-                        bruteForceCleanup(realId, e);
-                    } else {
-                        log.errorf(e, "processExpirationPassivation(): failed handling unloaded session %s", realId);
+                    OwnedSessionUpdate osu = entry.getValue();
+                    if (!osu.isPassivated()) {
+                        passivationChecks.add(new PassivationCheck(entry.getKey(), osu));
                     }
                 }
             }
@@ -1316,6 +1270,8 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
             if (passivate) {
                 // Iterate through sessions, earliest lastAccessedTime to latest
                 for (PassivationCheck passivationCheck : passivationChecks) {
+                    if (!this.started) return;
+
                     try {
                         long timeNow = System.currentTimeMillis();
                         long timeIdle = timeNow - passivationCheck.getLastUpdate();
@@ -1353,6 +1309,168 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
         }
     }
 
+    /**
+     * Expires the sessions with the given ids that have timed out, grouping the resulting invalidations into a single
+     * distributed cache batch so that their removals commit and replicate together. Sessions that turn out to still be valid
+     * are rescheduled.
+     *
+     * @param realIds ids of sessions whose earliest possible expiration time has passed
+     */
+    private void processExpirationBatch(List<String> realIds) {
+        BatchingManager batchingManager = this.distributedCacheManager.getBatchingManager();
+        boolean doTx = false;
+        try {
+            // Don't do anything if there is already transaction context
+            // associated with this thread.
+            if (batchingManager.isBatchInProgress() == false) {
+                batchingManager.startBatch();
+                doTx = true;
+            }
+        } catch (Exception e) {
+            log.debugf(e, "processExpirationPassivation(): failed to start batch, expiring sessions individually");
+        }
+
+        // We may have not gotten replication of a timestamp for requests
+        // that occurred w/in maxUnreplicatedInterval of the previous
+        // request. So we add a grace period to avoid flushing a session early
+        // and permanently losing part of its node structure in JBoss Cache.
+        long maxUnrep = maxUnreplicatedInterval < 0 ? 60 : maxUnreplicatedInterval;
+
+        try {
+            for (String realId : realIds) {
+                if (!this.started) break;
+
+                ClusteredSession<O> session = cast(this.sessions.get(realId));
+                if (session != null) {
+                    processExpiration(session);
+                } else {
+                    OwnedSessionUpdate osu = this.unloadedSessions.get(realId);
+                    if (osu != null) {
+                        processExpiration(realId, osu, maxUnrep);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            try {
+                if (doTx) {
+                    batchingManager.setBatchRollbackOnly();
+                }
+            } catch (Exception exn) {
+                log.error("Caught exception rolling back transaction", exn);
+            }
+            throw e;
+        } finally {
+            if (doTx) {
+                try {
+                    batchingManager.endBatch();
+                } catch (RuntimeException e) {
+                    // The sessions are gone locally; only their removal from the distributed cache was lost
+                    log.errorf(e, "processExpirationPassivation(): failed to commit the removal of expired sessions %s", realIds);
+                }
+            }
+        }
+    }
+
+    private void processExpiration(ClusteredSession<O> session) {
+        String realId = session.getRealId();
+        boolean likelyExpired = true;
+        try {
+            // JBAS-2403. Check for outdated sessions where we think
+            // the local copy has timed out. If found, refresh the
+            // session from the cache in case that might change the timeout
+            likelyExpired = (session.isValid(false) == false);
+            if (likelyExpired && this.outdatedSessionChecker.isSessionOutdated(session)) {
+                // JBAS-2792 don't assign the result of loadSession to session
+                // just update the object from the cache or fall through if
+                // the session has been removed from the cache
+                loadSession(realId);
+            }
+
+            // Do a normal invalidation check that will expire the
+            // session if it has timed out
+            // DON'T SYNCHRONIZE on session here -- isValid() and
+            // expire() are meant to be multi-threaded and synchronize
+            // properly internally; synchronizing externally can lead
+            // to deadlocks!!
+            if (session.isValid()) {
+                likelyExpired = false;
+                this.scheduleExpiration(realId, session.getLastAccessedTimeInternal(), session.getMaxInactiveInterval());
+            }
+        } catch (Exception e) {
+            if (likelyExpired) {
+                // JBAS-7397 clean up
+                bruteForceCleanup(realId, e);
+            } else {
+                log.errorf(e, "processExpirationPassivation(): failed handling %s with exception: %s", realId, e);
+            }
+        }
+    }
+
+    private void processExpiration(String realId, OwnedSessionUpdate osu, long maxUnrep) {
+        boolean likelyExpired = false;
+        long elapsed = System.currentTimeMillis() - osu.getUpdateTime();
+        try {
+            likelyExpired = osu.getMaxInactive() >= 1 && elapsed >= (osu.getMaxInactive() + maxUnrep) * 1000L;
+            if (likelyExpired) {
+                if (osu.isPassivated()) {
+                    // Passivated session needs to be expired. A call to
+                    // findSession will bring it out of passivation
+                    Session session = findSession(realId);
+                    if (session != null) {
+                        session.isValid(); // will expire
+                        return;
+                    }
+                }
+
+                // If we get here either !osu.passivated, or we don't own
+                // the session or the session couldn't be reactivated (invalidated by user).
+                // Either way, do a cleanup
+                this.distributedCacheManager.removeSessionLocal(realId, osu.getOwner());
+                unloadedSessions.remove(realId);
+                this.getReplicationStatistics().removeStats(realId);
+            } else {
+                this.scheduleUnloadedExpiration(realId, osu.getUpdateTime() + maxUnrep * 1000L, osu.getMaxInactive());
+            }
+        } catch (Exception e) {
+            // JBAS-7397 Don't try forever
+            if (likelyExpired) {
+                // JBAS-7397
+                bruteForceCleanup(realId, e);
+            } else {
+                log.errorf(e, "processExpirationPassivation(): failed handling unloaded session %s", realId);
+            }
+        }
+    }
+
+    /**
+     * Schedules an expiration check of a session for the time it would expire if not accessed again.
+     *
+     * @param realId the session id, minus any jvmRoute
+     * @param lastAccessedTime the last time the session is known to have been accessed
+     * @param maxInactiveInterval the session timeout, in seconds
+     */
+    private void scheduleExpiration(String realId, long lastAccessedTime, int maxInactiveInterval) {
+        if ((realId != null) && (maxInactiveInterval >= 0)) {
+            this.expirationIndex.schedule(realId, lastAccessedTime + (maxInactiveInterval * 1000L));
+        }
+    }
+
+    /**
+     * Schedules an expiration check of an unloaded session. Unloaded sessions without a timeout of at least a second are
+     * never considered expired, so they are removed from the index rather than checked again on every pass.
+     *
+     * @param realId the session id, minus any jvmRoute
+     * @param updateTime the last time the session is known to have been updated
+     * @param maxInactiveInterval the session timeout, in seconds
+     */
+    private void scheduleUnloadedExpiration(String realId, long updateTime, int maxInactiveInterval) {
+        if (maxInactiveInterval >= 1) {
+            this.scheduleExpiration(realId, updateTime, maxInactiveInterval);
+        } else {
+            this.expirationIndex.cancel(realId);
+        }
+    }
+
     /**
      * Loads a session from the distributed store. If an existing session with the id is already under local management, that
      * session's internal state will be updated from the distributed store. Otherwise a new session will be created and added to
@@ -1490,6 +1608,7 @@ public class DistributableSessionManager<O extends OutgoingDistributableSessionD
         } finally {
             // Get rid of our refs even if distributed store fails
             unloadedSessions.remove(realId);
+            this.expirationIndex.cancel(realId);
             this.getReplicationStatistics().removeStats(realId);
         }
     }
@@ -0,0 +1,682 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.web.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.catalina.Container;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Session;
+import org.apache.catalina.session.StandardSession;
+import org.apache.catalina.util.CustomObjectInputStream;
+import org.jboss.logging.Logger;
+import org.jboss.metadata.javaee.spec.ParamValueMetaData;
+import org.jboss.metadata.web.jboss.JBossWebMetaData;
+import org.jboss.metadata.web.jboss.PassivationConfig;
+
+/**
+ * Session manager for non-distributable web applications that keeps only recently used sessions on the heap.
+ * <p>
+ * Sessions beyond the <code>max-active-sessions</code> of jboss-web.xml, least recently used first, and sessions idle for
+ * longer than <code>passivation-max-idle-time</code> are passivated into an {@link OffHeapSessionStore}, and activated again
+ * when next requested. Expiration of passivated sessions is decided from their on-heap metadata, so only sessions that
+ * actually expire are deserialized. The off-heap store is bounded by the {@link #MAX_SIZE_PARAM} context parameter; once
+ * both the heap quota and the store are full, session creation is rejected.
+ * </p>
+ * <p>
+ * As with any session persistence, attributes that are not serializable are dropped when a session is passivated.
+ * </p>
+ * <p>
+ * A request may still hold a session that is passivated after it was found. Each {@link OffHeapSession} therefore moves
+ * through an atomic state: in use by some number of requests, passivating, or passivated. A session is only passivated
+ * from the idle state, and an access to a passivated instance moves that same instance back onto the heap.
+ * </p>
+ */
+public class OffHeapSessionManager extends AbstractSessionManager implements OffHeapSessionManagerMBean {
+    /** Context parameter holding the maximum number of bytes of off-heap memory used to store passivated sessions. */
+    public static final String MAX_SIZE_PARAM = "org.jboss.as.web.session.OFF_HEAP_MAX_SIZE";
+    public static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+    private static final String info = "OffHeapSessionManager/1.0";
+    private static final int LOCK_STRIPES = 64;
+    private static final Comparator<PassivationCandidate> LEAST_RECENTLY_ACCESSED_FIRST = new Comparator<PassivationCandidate>() {
+        public int compare(PassivationCandidate candidate1, PassivationCandidate candidate2) {
+            return (candidate1.accessed < candidate2.accessed) ? -1 : (candidate1.accessed > candidate2.accessed) ? 1 : 0;
+        }
+    };
+
+    /**
+     * Indicates whether a non-distributable web application asked for session passivation in jboss-web.xml, and should
+     * therefore use this manager.
+     */
+    public static boolean isEnabled(JBossWebMetaData metaData) {
+        PassivationConfig passivationConfig = metaData.getPassivationConfig();
+        Boolean useSessionPassivation = (passivationConfig != null) ? passivationConfig.getUseSessionPassivation() : null;
+        return (useSessionPassivation != null) && useSessionPassivation.booleanValue();
+    }
+
+    private static long getMaxSize(JBossWebMetaData metaData) {
+        List<ParamValueMetaData> params = metaData.getContextParams();
+        if (params != null) {
+            for (ParamValueMetaData param : params) {
+                if (MAX_SIZE_PARAM.equals(param.getParamName())) {
+                    return Long.parseLong(param.getParamValue().trim());
+                }
+            }
+        }
+        return DEFAULT_MAX_SIZE;
+    }
+
+    private final String name;
+    private final OffHeapSessionStore store;
+    private final long passivationMinIdleTime;
+    private final long passivationMaxIdleTime;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    /** Ids of on-heap sessions, least recently accessed first, striped like the locks so that accesses rarely contend */
+    @SuppressWarnings("unchecked")
+    private final Map<String, Boolean>[] recency = new Map[LOCK_STRIPES];
+    /** Passivated session instances, reused on activation for as long as some request still holds them */
+    private final ConcurrentMap<String, WeakReference<OffHeapSession>> passivatedInstances = new ConcurrentHashMap<String, WeakReference<OffHeapSession>>();
+    /** Maximum number of concurrently passivated sessions */
+    private final AtomicInteger maxPassivatedCount = new AtomicInteger();
+    /** Number of passivations that failed because the store was full */
+    private final AtomicInteger storeFullCount = new AtomicInteger();
+
+    public OffHeapSessionManager(Container host, JBossWebMetaData metaData) {
+        this(host, metaData, new OffHeapSessionStore(getMaxSize(metaData)));
+    }
+
+    public OffHeapSessionManager(Container host, JBossWebMetaData metaData, OffHeapSessionStore store) {
+        super(metaData);
+
+        PassivationConfig passivationConfig = metaData.getPassivationConfig();
+        Integer minIdleTime = (passivationConfig != null) ? passivationConfig.getPassivationMinIdleTime() : null;
+        this.passivationMinIdleTime = (minIdleTime != null) ? minIdleTime.intValue() : -1;
+        Integer maxIdleTime = (passivationConfig != null) ? passivationConfig.getPassivationMaxIdleTime() : null;
+        this.passivationMaxIdleTime = (maxIdleTime != null) ? maxIdleTime.intValue() : -1;
+
+        this.store = store;
+        for (int i = 0; i < LOCK_STRIPES; ++i) {
+            this.locks[i] = new Object();
+            this.recency[i] = new LinkedHashMap<String, Boolean>(16, 0.75f, true);
+        }
+
+        String hostName = host.getName();
+        this.name = String.format("//%s/%s", (hostName == null) ? "localhost" : hostName, metaData.getContextRoot());
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public String getInfo() {
+        return info;
+    }
+
+    @Override
+    public synchronized void start() throws LifecycleException {
+        // Identify ourself more clearly
+        this.log = Logger.getLogger(getClass().getName() + "." + getContainer().getName().replaceAll("/", ""));
+
+        super.start();
+    }
+
+    @Override
+    public void stop() throws LifecycleException {
+        if (!this.started) return;
+
+        synchronized (this) {
+            // Expire all sessions, including passivated ones, so that listeners are notified of their destruction
+            for (Session session : this.sessions.values().toArray(new Session[0])) {
+                this.expire(session);
+            }
+            for (String id : this.store.getSessions().keySet().toArray(new String[0])) {
+                Session session = this.activate(id);
+                if (session != null) {
+                    this.expire(session);
+                }
+            }
+            this.store.clear();
+            this.passivatedInstances.clear();
+            this.sessions.clear();
+            for (Map<String, Boolean> stripe : this.recency) {
+                synchronized (stripe) {
+                    stripe.clear();
+                }
+            }
+        }
+
+        super.stop();
+    }
+
+    private void expire(Session session) {
+        try {
+            session.expire();
+        } catch (Throwable t) {
+            log.warnf(t, "Caught exception expiring session %s", session.getIdInternal());
+        }
+    }
+
+    @Override
+    public Session createSession(String sessionId, Random random) {
+        // Make room on the heap by passivating, and only reject the session if the off-heap store is full as well
+        if (maxActiveAllowed != -1 && this.sessions.size() >= maxActiveAllowed) {
+            this.passivateLeastRecentlyUsed(this.sessions.size() - maxActiveAllowed + 1);
+
+            if (this.sessions.size() >= maxActiveAllowed) {
+                rejectedCounter.incrementAndGet();
+                String msgEnd = (sessionId == null) ? "" : " id " + sessionId;
+                throw new IllegalStateException("createSession(): number of on-heap sessions exceeds the maximum limit: " + maxActiveAllowed + " and off-heap session store is full when trying to create session" + msgEnd);
+            }
+        }
+
+        Session session = super.createSession(sessionId, random);
+        if (session != null) {
+            createdCounter.incrementAndGet(); // the call to add() handles the other counters
+        }
+        return session;
+    }
+
+    @Override
+    public Session createEmptySession() {
+        return new OffHeapSession(this);
+    }
+
+    @Override
+    public Session findSession(String id) {
+        if (id == null) return null;
+
+        Session session = this.sessions.get(id);
+        if ((session == null) && this.store.contains(id)) {
+            session = this.activate(id);
+            if ((session != null) && (maxActiveAllowed != -1) && (this.sessions.size() > maxActiveAllowed)) {
+                this.passivateLeastRecentlyUsed(this.sessions.size() - maxActiveAllowed);
+            }
+        }
+        return session;
+    }
+
+    @Override
+    public Session[] findSessions() {
+        // Only on-heap sessions; activating every passivated session would defeat the purpose of this manager
+        return this.sessions.values().toArray(new Session[0]);
+    }
+
+    @Override
+    public void add(Session session) {
+        if (session == null) return;
+
+        String id = session.getIdInternal();
+        Object existing = this.sessions.put(id, session);
+        this.sessionAccessed(id);
+
+        if (!session.equals(existing)) {
+            calcActiveSessions();
+
+            log.tracef("Session with id=%s added. Current active sessions %d", id, localActiveCounter.get());
+        }
+    }
+
+    @Override
+    public void remove(Session session) {
+        String id = session.getIdInternal();
+        if (id == null) return;
+
+        log.tracef("Removing session from store with id: %s", id);
+
+        if (this.sessions.remove(id) != null) {
+            Map<String, Boolean> recency = this.recency(id);
+            synchronized (recency) {
+                recency.remove(id);
+            }
+            this.getReplicationStatistics().removeStats(id);
+
+            try {
+                // Compute how long this session has been alive, and update
+                // our statistics accordingly
+                int timeAlive = (int) ((System.currentTimeMillis() - session.getCreationTime()) / 1000);
+                sessionExpired(timeAlive);
+            } catch (IllegalStateException e) {
+                // Session was already invalidated
+            }
+        }
+        this.store.remove(id);
+        this.passivatedInstances.remove(id);
+    }
+
+    @Override
+    public void removeLocal(Session session) {
+        this.remove(session);
+    }
+
+    @Override
+    public boolean storeSession(Session session) {
+        // Sessions are only written when passivated
+        return false;
+    }
+
+    @Override
+    public String locate(String sessionId) {
+        return this.getJvmRoute();
+    }
+
+    @Override
+    protected void processExpirationPassivation() {
+        long now = System.currentTimeMillis();
+
+        log.trace("processExpirationPassivation(): Looking for sessions that have expired ...");
+        log.tracef("processExpirationPassivation(): active sessions = %d", calcActiveSessions());
+        log.tracef("processExpirationPassivation(): passivated sessions = %d", this.store.size());
+
+        // First, the on-heap sessions; isValid() expires them if they have timed out
+        List<OffHeapSession> idle = new ArrayList<OffHeapSession>();
+        long passivationMax = this.passivationMaxIdleTime * 1000L;
+        for (Session s : this.sessions.values()) {
+            if (!this.started) return;
+
+            try {
+                if (s.isValid() && (passivationMax >= 0) && (s instanceof OffHeapSession)) {
+                    OffHeapSession session = (OffHeapSession) s;
+                    if ((now - session.getThisAccessedTimeInternal()) > passivationMax) {
+                        idle.add(session);
+                    }
+                }
+            } catch (Exception e) {
+                log.errorf(e, "processExpirationPassivation(): failed handling %s", s.getIdInternal());
+            }
+        }
+
+        // Next, passivated sessions. Only those whose metadata says they have timed out are activated, to be expired
+        for (Map.Entry<String, OffHeapSessionStore.StoredSession> entry : this.store.getSessions().entrySet()) {
+            if (!this.started) return;
+
+            if (entry.getValue().isExpired(now)) {
+                String id = entry.getKey();
+                try {
+                    Session session = this.activate(id);
+                    if (session != null) {
+                        session.isValid(); // will expire
+                    }
+                } catch (Exception e) {
+                    log.errorf(e, "processExpirationPassivation(): failed handling passivated session %s", id);
+                    this.store.remove(id);
+                }
+            }
+        }
+
+        // Finally, passivations
+        for (OffHeapSession session : idle) {
+            if (!this.started) return;
+
+            this.passivate(session.getIdInternal(), this.passivationMinIdleTime * 1000L);
+        }
+        if (maxActiveAllowed != -1 && this.sessions.size() > maxActiveAllowed) {
+            this.passivateLeastRecentlyUsed(this.sessions.size() - maxActiveAllowed);
+        }
+    }
+
+    @Override
+    protected int getTotalActiveSessions() {
+        return this.sessions.size() + this.store.size();
+    }
+
+    /**
+     * Records an access to the session with the given id, making it the most recently used.
+     */
+    void sessionAccessed(String id) {
+        Map<String, Boolean> recency = this.recency(id);
+        synchronized (recency) {
+            recency.put(id, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Passivates up to the given number of on-heap sessions, least recently used first, that are not in use by a request and
+     * have been idle longer than <code>passivation-min-idle-time</code>.
+     * <p>
+     * The least recently used sessions overall are among the least recently used sessions of each stripe, so the candidates
+     * are taken from the head of every stripe and ordered by their last access time.
+     * </p>
+     */
+    private void passivateLeastRecentlyUsed(int count) {
+        long minIdle = this.passivationMinIdleTime * 1000L;
+        // Leave some slack for sessions that turn out to be in use
+        int perStripe = count + 1;
+        List<PassivationCandidate> candidates = new ArrayList<PassivationCandidate>();
+        for (Map<String, Boolean> stripe : this.recency) {
+            List<String> ids = new ArrayList<String>(perStripe);
+            synchronized (stripe) {
+                Iterator<String> iterator = stripe.keySet().iterator();
+                while (iterator.hasNext() && ids.size() < perStripe) {
+                    ids.add(iterator.next());
+                }
+            }
+            for (String id : ids) {
+                Session session = this.sessions.get(id);
+                if (session instanceof OffHeapSession) {
+                    // Snapshot the access time, as it keeps changing while the candidates are sorted
+                    candidates.add(new PassivationCandidate(id, ((OffHeapSession) session).getThisAccessedTimeInternal()));
+                }
+            }
+        }
+        Collections.sort(candidates, LEAST_RECENTLY_ACCESSED_FIRST);
+        int passivated = 0;
+        for (PassivationCandidate candidate : candidates) {
+            if (passivated >= count) break;
+
+            if (this.passivate(candidate.id, minIdle)) {
+                passivated += 1;
+            }
+        }
+    }
+
+    /**
+     * Serializes the given on-heap session into the off-heap store.
+     *
+     * @param id the session id
+     * @param minIdle the time, in milliseconds, the session must have been idle to be eligible
+     * @return <code>true</code> if the session was passivated
+     */
+    private boolean passivate(String id, long minIdle) {
+        synchronized (this.lock(id)) {
+            Session s = this.sessions.get(id);
+            if (!(s instanceof OffHeapSession)) return false;
+
+            OffHeapSession session = (OffHeapSession) s;
+            if ((System.currentTimeMillis() - session.getThisAccessedTimeInternal()) < minIdle) return false;
+            // Requests can no longer start using the session once it is passivating
+            if (!session.beginPassivation()) return false;
+
+            log.tracef("Passivating session with id: %s", id);
+
+            long begin = System.currentTimeMillis();
+            session.passivate();
+            byte[] data;
+            try {
+                data = this.serialize(session);
+            } catch (IOException e) {
+                log.warnf(e, "Failed to passivate session %s", id);
+                session.activate();
+                session.endPassivation(false);
+                return false;
+            }
+            if (!this.store.store(id, data, session.getThisAccessedTimeInternal(), session.getMaxInactiveInterval())) {
+                this.storeFullCount.incrementAndGet();
+                log.debugf("Off-heap session store is full, session %s remains on-heap", id);
+                session.activate();
+                session.endPassivation(false);
+                return false;
+            }
+            this.sessions.remove(id);
+            Map<String, Boolean> recency = this.recency(id);
+            synchronized (recency) {
+                recency.remove(id);
+            }
+            this.passivatedInstances.put(id, new WeakReference<OffHeapSession>(session));
+            session.endPassivation(true);
+            this.getReplicationStatistics().updatePassivationStats(id, System.currentTimeMillis() - begin);
+
+            int passivated = this.store.size();
+            int max = this.maxPassivatedCount.get();
+            while (passivated > max) {
+                if (!this.maxPassivatedCount.compareAndSet(max, passivated)) {
+                    max = this.maxPassivatedCount.get();
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Moves a passivated session back onto the heap.
+     *
+     * @param id the session id
+     * @return the activated session, or <code>null</code> if the session was not passivated or could not be deserialized
+     */
+    private Session activate(String id) {
+        synchronized (this.lock(id)) {
+            Session existing = this.sessions.get(id);
+            if (existing != null) return existing;
+
+            byte[] data = this.store.remove(id);
+            if (data == null) return null;
+
+            log.tracef("Activating session with id: %s", id);
+
+            long begin = System.currentTimeMillis();
+            try {
+                // Reuse the passivated instance if a request still holds it, so that it keeps seeing the live session
+                WeakReference<OffHeapSession> reference = this.passivatedInstances.remove(id);
+                OffHeapSession session = (reference != null) ? reference.get() : null;
+                if ((session == null) || !session.endActivation()) {
+                    session = this.deserialize(data);
+                }
+                this.sessions.put(id, session);
+                this.sessionAccessed(id);
+                session.activate();
+                this.getReplicationStatistics().updateLoadStats(id, System.currentTimeMillis() - begin);
+                return session;
+            } catch (Exception e) {
+                log.errorf(e, "Failed to activate session %s", id);
+                return null;
+            }
+        }
+    }
+
+    private byte[] serialize(StandardSession session) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(OffHeapSessionStore.DEFAULT_BLOCK_SIZE);
+        ObjectOutputStream output = new ObjectOutputStream(bytes);
+        try {
+            session.writeObjectData(output);
+        } finally {
+            output.close();
+        }
+        return bytes.toByteArray();
+    }
+
+    private OffHeapSession deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        ClassLoader loader = this.getContainer().getLoader().getClassLoader();
+        ObjectInputStream input = new CustomObjectInputStream(new ByteArrayInputStream(data), loader);
+        try {
+            OffHeapSession session = new OffHeapSession(this);
+            session.readObjectData(input);
+            session.setManager(this);
+            return session;
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Moves the given passivated session instance back onto the heap, on behalf of a request accessing it.
+     */
+    void reclaim(OffHeapSession session) {
+        String id = session.getIdInternal();
+        synchronized (this.lock(id)) {
+            // Waits for a passivation in progress, after which the session is either idle again or passivated
+            if (session.isPassivated()) {
+                this.activate(id);
+            }
+        }
+    }
+
+    private Object lock(String id) {
+        return this.locks[stripe(id)];
+    }
+
+    private Map<String, Boolean> recency(String id) {
+        return this.recency[stripe(id)];
+    }
+
+    private static int stripe(String id) {
+        return (id.hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES;
+    }
+
+    private static class PassivationCandidate {
+        final String id;
+        final long accessed;
+
+        PassivationCandidate(String id, long accessed) {
+            this.id = id;
+            this.accessed = accessed;
+        }
+    }
+
+    @Override
+    public long getPassivatedSessionCount() {
+        return this.store.size();
+    }
+
+    @Override
+    public long getMaxPassivatedSessionCount() {
+        return this.maxPassivatedCount.get();
+    }
+
+    @Override
+    public long getStoreFullCount() {
+        return this.storeFullCount.get();
+    }
+
+    @Override
+    public long getOffHeapUsedBytes() {
+        return this.store.getUsedBytes();
+    }
+
+    @Override
+    public long getOffHeapMaxBytes() {
+        return this.store.getMaxBytes();
+    }
+
+    @Override
+    public long getPassivationMaxIdleTime() {
+        return this.passivationMaxIdleTime;
+    }
+
+    @Override
+    public long getPassivationMinIdleTime() {
+        return this.passivationMinIdleTime;
+    }
+
+    @Override
+    public void resetStats() {
+        super.resetStats();
+        this.maxPassivatedCount.set(this.store.size());
+        this.storeFullCount.set(0);
+    }
+
+    /**
+     * Standard session that tracks whether a request is using it, so that it is never passivated mid-request, and reports
+     * accesses to its manager for least-recently-used ordering.
+     */
+    static class OffHeapSession extends StandardSession {
+        private static final long serialVersionUID = -1599221744567693707L;
+        private static final int PASSIVATING = -1;
+        private static final int PASSIVATED = -2;
+
+        /** The number of requests using the session, or {@link #PASSIVATING} or {@link #PASSIVATED} */
+        private final transient AtomicInteger state = new AtomicInteger();
+
+        OffHeapSession(OffHeapSessionManager manager) {
+            super(manager);
+        }
+
+        @Override
+        public void access() {
+            Object manager = this.getManager();
+            while (true) {
+                int current = this.state.get();
+                if (current >= 0) {
+                    if (this.state.compareAndSet(current, current + 1)) break;
+                } else if (manager instanceof OffHeapSessionManager) {
+                    ((OffHeapSessionManager) manager).reclaim(this);
+                    // The stored session was removed meanwhile, so this instance is all there is left of it
+                    this.state.compareAndSet(PASSIVATED, 0);
+                } else {
+                    this.state.compareAndSet(current, 0);
+                }
+            }
+            super.access();
+            if (manager instanceof OffHeapSessionManager) {
+                ((OffHeapSessionManager) manager).sessionAccessed(this.getIdInternal());
+            }
+        }
+
+        @Override
+        public void endAccess() {
+            super.endAccess();
+            this.state.decrementAndGet();
+        }
+
+        boolean isInUse() {
+            return this.state.get() > 0;
+        }
+
+        boolean isPassivated() {
+            return this.state.get() == PASSIVATED;
+        }
+
+        /**
+         * Moves an idle session to the passivating state.
+         *
+         * @return <code>false</code> if the session is in use, or already passivating or passivated
+         */
+        boolean beginPassivation() {
+            return this.state.compareAndSet(0, PASSIVATING);
+        }
+
+        /**
+         * Ends a passivation started by {@link #beginPassivation()}.
+         *
+         * @param passivated whether the session was stored, or remains on the heap
+         */
+        void endPassivation(boolean passivated) {
+            this.state.set(passivated ? PASSIVATED : 0);
+        }
+
+        /**
+         * Moves a passivated session back to the idle state, ready to be put back onto the heap.
+         *
+         * @return <code>false</code> if the session was not passivated
+         */
+        boolean endActivation() {
+            return this.state.compareAndSet(PASSIVATED, 0);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.web.session;
+
+/**
+ * The MBean-interface for the {@link OffHeapSessionManager}.
+ */
+public interface OffHeapSessionManagerMBean extends SessionManagerMBean {
+    /**
+     * Gets the number of sessions currently held serialized in off-heap memory.
+     */
+    long getPassivatedSessionCount();
+
+    /**
+     * Gets the highest number of sessions held in off-heap memory at the same time.
+     */
+    long getMaxPassivatedSessionCount();
+
+    /**
+     * Gets the number of times a session could not be moved off-heap because the off-heap store was full.
+     */
+    long getStoreFullCount();
+
+    /**
+     * Gets the number of bytes of off-heap memory occupied by passivated sessions.
+     */
+    long getOffHeapUsedBytes();
+
+    /**
+     * Gets the upper bound of off-heap memory that passivated sessions may occupy.
+     */
+    long getOffHeapMaxBytes();
+
+    /**
+     * Elapsed time after which an inactive session will be moved off-heap, in seconds, or <code>-1</code> if sessions are
+     * only moved off-heap to stay within {@link SessionManagerMBean#getMaxActiveAllowed()}.
+     */
+    long getPassivationMaxIdleTime();
+
+    /**
+     * Minimum elapsed time a session must have been inactive before it may be moved off-heap to stay within
+     * {@link SessionManagerMBean#getMaxActiveAllowed()}, in seconds.
+     */
+    long getPassivationMinIdleTime();
+}
@@ -0,0 +1,251 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.web.session;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Size-bounded store of serialized sessions held in direct (off-heap) memory.
+ * <p>
+ * Memory is reserved lazily in slabs of direct buffers, each carved into fixed size blocks. A stored session occupies as many
+ * blocks as needed to hold its serialized form; only the block indexes and the expiration metadata of a session remain on the
+ * heap. The total number of blocks is bounded by the configured maximum size, so {@link #store(String, byte[], long, int)}
+ * fails rather than growing past it.
+ * </p>
+ */
+public class OffHeapSessionStore {
+    public static final int DEFAULT_BLOCK_SIZE = 512;
+    private static final int MAX_SLAB_SIZE = 64 * 1024 * 1024;
+
+    private final int blockSize;
+    private final int blocksPerSlab;
+    private final int maxBlocks;
+    private final List<ByteBuffer> slabs = new ArrayList<ByteBuffer>();
+    private final ConcurrentMap<String, StoredSession> sessions = new ConcurrentHashMap<String, StoredSession>();
+
+    // Guarded by this
+    private int[] freeBlocks = new int[64];
+    private int freeBlockCount = 0;
+    private int allocatedBlocks = 0;
+    private int usedBlocks = 0;
+
+    public OffHeapSessionStore(long maxSize) {
+        this(maxSize, DEFAULT_BLOCK_SIZE);
+    }
+
+    public OffHeapSessionStore(long maxSize, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        if (maxSize < blockSize) {
+            throw new IllegalArgumentException("maxSize must be at least one block (" + blockSize + " bytes): " + maxSize);
+        }
+        this.blockSize = blockSize;
+        this.maxBlocks = (int) Math.min(Integer.MAX_VALUE, maxSize / blockSize);
+        this.blocksPerSlab = Math.min(this.maxBlocks, Math.max(1, MAX_SLAB_SIZE / blockSize));
+    }
+
+    /**
+     * Stores the serialized form of a session, replacing any previously stored form.
+     *
+     * @param id the session id
+     * @param data the serialized session
+     * @param lastAccessedTime the last time the session was accessed, in milliseconds
+     * @param maxInactiveInterval the session timeout, in seconds; negative if the session never expires
+     * @return <code>true</code> if the session was stored, <code>false</code> if not enough memory was available
+     */
+    public boolean store(String id, byte[] data, long lastAccessedTime, int maxInactiveInterval) {
+        int blockCount = Math.max(1, (data.length + this.blockSize - 1) / this.blockSize);
+        int[] blocks = this.allocate(blockCount);
+        if (blocks == null) {
+            return false;
+        }
+        int offset = 0;
+        for (int block : blocks) {
+            int length = Math.min(this.blockSize, data.length - offset);
+            if (length > 0) {
+                ByteBuffer buffer = this.buffer(block);
+                buffer.put(data, offset, length);
+                offset += length;
+            }
+        }
+        StoredSession previous = this.sessions.put(id, new StoredSession(blocks, data.length, lastAccessedTime, maxInactiveInterval));
+        if (previous != null) {
+            this.release(previous.blocks);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a session from this store, returning its serialized form.
+     *
+     * @param id the session id
+     * @return the serialized session, or <code>null</code> if no such session was stored
+     */
+    public byte[] remove(String id) {
+        StoredSession session = this.sessions.remove(id);
+        if (session == null) {
+            return null;
+        }
+        byte[] data = new byte[session.length];
+        int offset = 0;
+        for (int block : session.blocks) {
+            int length = Math.min(this.blockSize, data.length - offset);
+            if (length > 0) {
+                this.buffer(block).get(data, offset, length);
+                offset += length;
+            }
+        }
+        this.release(session.blocks);
+        return data;
+    }
+
+    public boolean contains(String id) {
+        return this.sessions.containsKey(id);
+    }
+
+    /**
+     * Returns a read-only view of the metadata of the stored sessions, keyed by session id.
+     */
+    public Map<String, StoredSession> getSessions() {
+        return Collections.unmodifiableMap(this.sessions);
+    }
+
+    public int size() {
+        return this.sessions.size();
+    }
+
+    /**
+     * Releases all stored sessions and the direct memory reserved for them.
+     */
+    public synchronized void clear() {
+        this.sessions.clear();
+        this.slabs.clear();
+        this.freeBlocks = new int[64];
+        this.freeBlockCount = 0;
+        this.allocatedBlocks = 0;
+        this.usedBlocks = 0;
+    }
+
+    /**
+     * Returns the number of bytes of direct memory occupied by stored sessions.
+     */
+    public synchronized long getUsedBytes() {
+        return (long) this.usedBlocks * this.blockSize;
+    }
+
+    /**
+     * Returns the number of bytes of blocks handed out so far, whether currently occupied or free for reuse.
+     */
+    public synchronized long getReservedBytes() {
+        return (long) this.allocatedBlocks * this.blockSize;
+    }
+
+    /**
+     * Returns the maximum number of bytes of direct memory this store will reserve.
+     */
+    public long getMaxBytes() {
+        return (long) this.maxBlocks * this.blockSize;
+    }
+
+    private synchronized int[] allocate(int count) {
+        if (count > (this.freeBlockCount + this.maxBlocks - this.allocatedBlocks)) {
+            return null;
+        }
+        int[] blocks = new int[count];
+        for (int i = 0; i < count; ++i) {
+            if (this.freeBlockCount > 0) {
+                blocks[i] = this.freeBlocks[--this.freeBlockCount];
+            } else {
+                if (this.allocatedBlocks == this.slabs.size() * this.blocksPerSlab) {
+                    int slabBlocks = Math.min(this.blocksPerSlab, this.maxBlocks - this.allocatedBlocks);
+                    this.slabs.add(ByteBuffer.allocateDirect(slabBlocks * this.blockSize));
+                }
+                blocks[i] = this.allocatedBlocks++;
+            }
+        }
+        this.usedBlocks += count;
+        return blocks;
+    }
+
+    private synchronized void release(int[] blocks) {
+        if (this.freeBlockCount + blocks.length > this.freeBlocks.length) {
+            int[] freeBlocks = new int[Math.max(this.freeBlocks.length * 2, this.freeBlockCount + blocks.length)];
+            System.arraycopy(this.freeBlocks, 0, freeBlocks, 0, this.freeBlockCount);
+            this.freeBlocks = freeBlocks;
+        }
+        for (int block : blocks) {
+            this.freeBlocks[this.freeBlockCount++] = block;
+        }
+        this.usedBlocks -= blocks.length;
+    }
+
+    /**
+     * Returns a view of the given block, positioned at its start and limited to its end.
+     */
+    private synchronized ByteBuffer buffer(int block) {
+        ByteBuffer buffer = this.slabs.get(block / this.blocksPerSlab).duplicate();
+        int position = (block % this.blocksPerSlab) * this.blockSize;
+        buffer.limit(position + this.blockSize);
+        buffer.position(position);
+        return buffer;
+    }
+
+    /**
+     * On-heap metadata of a stored session, sufficient to decide whether it has expired without deserializing it.
+     */
+    public static class StoredSession {
+        final int[] blocks;
+        final int length;
+        private final long lastAccessedTime;
+        private final int maxInactiveInterval;
+
+        StoredSession(int[] blocks, int length, long lastAccessedTime, int maxInactiveInterval) {
+            this.blocks = blocks;
+            this.length = length;
+            this.lastAccessedTime = lastAccessedTime;
+            this.maxInactiveInterval = maxInactiveInterval;
+        }
+
+        public long getLastAccessedTime() {
+            return this.lastAccessedTime;
+        }
+
+        public int getMaxInactiveInterval() {
+            return this.maxInactiveInterval;
+        }
+
+        public int getSize() {
+            return this.length;
+        }
+
+        public boolean isExpired(long now) {
+            return (this.maxInactiveInterval >= 0) && ((now - this.lastAccessedTime) >= (this.maxInactiveInterval * 1000L));
+        }
+    }
+}
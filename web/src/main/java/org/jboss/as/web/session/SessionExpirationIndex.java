@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.web.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Index of session ids ordered by the earliest time at which each session could expire.
+ * <p>
+ * Scheduled times are lower bounds: accessing a session only pushes its expiration further out, so the index is not updated
+ * on every request. Instead, the expiration sweep {@link #poll(long) polls} the sessions whose time has come, checks them
+ * for real, and {@link #schedule(String, long) reschedules} those that are still valid. Only a shorter timeout moves an
+ * entry earlier.
+ * </p>
+ */
+public class SessionExpirationIndex {
+    private final ConcurrentMap<String, Long> times = new ConcurrentHashMap<String, Long>();
+    private final ConcurrentSkipListSet<Expiration> expirations = new ConcurrentSkipListSet<Expiration>();
+
+    /**
+     * Schedules a session for an expiration check no later than the given time.
+     *
+     * @param id the session id
+     * @param time the earliest time, in milliseconds, at which the session could expire
+     */
+    public void schedule(String id, long time) {
+        Long existing = this.times.putIfAbsent(id, time);
+        while (existing != null) {
+            if (existing.longValue() <= time) {
+                // Already scheduled earlier
+                return;
+            }
+            if (this.times.replace(id, existing, time)) {
+                this.expirations.remove(new Expiration(id, existing.longValue()));
+                break;
+            }
+            existing = this.times.putIfAbsent(id, time);
+        }
+        this.expirations.add(new Expiration(id, time));
+    }
+
+    /**
+     * Replaces the scheduled time of a session, whether earlier or later than the current one.
+     */
+    public void reschedule(String id, long time) {
+        this.cancel(id);
+        this.schedule(id, time);
+    }
+
+    /**
+     * Removes a session from this index.
+     */
+    public void cancel(String id) {
+        Long time = this.times.remove(id);
+        if (time != null) {
+            this.expirations.remove(new Expiration(id, time.longValue()));
+        }
+    }
+
+    /**
+     * Removes and returns the ids of all sessions scheduled no later than the given time, earliest first.
+     *
+     * @param now the current time, in milliseconds
+     */
+    public List<String> poll(long now) {
+        List<String> ids = new ArrayList<String>();
+        Expiration expiration = this.expirations.pollFirst();
+        while (expiration != null) {
+            if (expiration.time > now) {
+                this.expirations.add(expiration);
+                break;
+            }
+            if (this.times.remove(expiration.id, expiration.time)) {
+                ids.add(expiration.id);
+            }
+            expiration = this.expirations.pollFirst();
+        }
+        return ids;
+    }
+
+    public int size() {
+        return this.times.size();
+    }
+
+    public void clear() {
+        this.times.clear();
+        this.expirations.clear();
+    }
+
+    private static class Expiration implements Comparable<Expiration> {
+        final String id;
+        final long time;
+
+        Expiration(String id, long time) {
+            this.id = id;
+            this.time = time;
+        }
+
+        @Override
+        public int compareTo(Expiration expiration) {
+            if (this.time != expiration.time) {
+                return (this.time < expiration.time) ? -1 : 1;
+            }
+            return this.id.compareTo(expiration.id);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Expiration)) return false;
+            Expiration expiration = (Expiration) object;
+            return (this.time == expiration.time) && this.id.equals(expiration.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id.hashCode();
+        }
+    }
+}
@@ -142,6 +142,16 @@ public interface SessionManagerMBean {
      */
     void setProcessingTime(long processingTime);
 
+    /**
+     * Gets the number of milliseconds spent in the most recent <code>Manager.backgroundProcess()</code> pass.
+     */
+    long getLastProcessingTime();
+
+    /**
+     * Gets the number of sessions expired by the most recent <code>Manager.backgroundProcess()</code> pass.
+     */
+    long getLastExpiredSessionCount();
+
     /**
      * Outputs the replication statistics as an HTML table, with one row per session.
      */
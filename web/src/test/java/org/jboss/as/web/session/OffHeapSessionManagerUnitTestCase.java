@@ -0,0 +1,176 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.web.session;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.Session;
+import org.jboss.as.web.session.OffHeapSessionManager.OffHeapSession;
+import org.jboss.as.web.session.mocks.MockHost;
+import org.jboss.as.web.session.mocks.MockLoader;
+import org.jboss.metadata.web.jboss.JBossWebMetaData;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link OffHeapSessionManager}, in particular of passivation racing with requests using the session.
+ */
+public class OffHeapSessionManagerUnitTestCase {
+    private OffHeapSessionManager manager;
+
+    @After
+    public void tearDown() throws Exception {
+        if (manager != null) {
+            manager.stop();
+        }
+    }
+
+    private OffHeapSessionManager startManager(int maxActive) throws Exception {
+        JBossWebMetaData metaData = SessionTestUtil.createWebMetaData(maxActive, true, -1, -1);
+        MockHost host = new MockHost();
+        host.setName("localhost");
+        manager = new OffHeapSessionManager(host, metaData, new OffHeapSessionStore(1 << 20, 256));
+        SessionTestUtil.setupContainer("test", null, manager);
+        ((Context) manager.getContainer()).setLoader(new MockLoader());
+        manager.start();
+        return manager;
+    }
+
+    @Test
+    public void testSessionInUseIsNotPassivated() throws Exception {
+        startManager(1);
+        Session first = manager.createSession("1", new Random());
+        first.access();
+        try {
+            manager.createSession("2", new Random());
+            fail("The only on-heap session is in use, so there is no room for another");
+        } catch (IllegalStateException expected) {
+        }
+        assertSame(first, manager.findSession("1"));
+        assertEquals(0, manager.getPassivatedSessionCount());
+
+        first.endAccess();
+        assertNotNull(manager.createSession("2", new Random()));
+        assertEquals(1, manager.getPassivatedSessionCount());
+    }
+
+    @Test
+    public void testAccessReclaimsPassivatedInstance() throws Exception {
+        startManager(1);
+        Session first = manager.createSession("1", new Random());
+        first.getSession().setAttribute("key", "value");
+        manager.createSession("2", new Random());
+        assertEquals(1, manager.getPassivatedSessionCount());
+        assertTrue(((OffHeapSession) first).isPassivated());
+
+        // A request that found the session before it was passivated keeps using the live session
+        first.access();
+        assertFalse(((OffHeapSession) first).isPassivated());
+        assertTrue(((OffHeapSession) first).isInUse());
+        assertEquals(0, manager.getPassivatedSessionCount());
+        assertSame(first, manager.findSession("1"));
+        assertEquals("value", first.getSession().getAttribute("key"));
+        first.endAccess();
+    }
+
+    @Test
+    public void testConcurrentRequestsAndPassivation() throws Exception {
+        final int sessionCount = 20;
+        final int threads = 8;
+        final int requests = 500;
+        startManager(4);
+        for (int i = 0; i < sessionCount; ++i) {
+            Session session = manager.createSession(String.valueOf(i), new Random());
+            session.getSession().setAttribute("count", Integer.valueOf(0));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int t = 0; t < threads; ++t) {
+                final Random random = new Random(t);
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (int r = 0; r < requests; ++r) {
+                            String id = String.valueOf(random.nextInt(sessionCount));
+                            Session session = manager.findSession(id);
+                            session.access();
+                            try {
+                                // Requests for the same session are serialized, as the counter is not atomic
+                                synchronized (id.intern()) {
+                                    Integer count = (Integer) session.getSession().getAttribute("count");
+                                    Thread.yield();
+                                    session.getSession().setAttribute("count", Integer.valueOf(count.intValue() + 1));
+                                }
+                            } finally {
+                                session.endAccess();
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            final AtomicBoolean done = new AtomicBoolean();
+            Future<Void> passivation = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    while (!done.get()) {
+                        manager.processExpirationPassivation();
+                    }
+                    return null;
+                }
+            });
+            try {
+                for (Future<Void> future : futures) {
+                    future.get(60, TimeUnit.SECONDS);
+                }
+            } finally {
+                done.set(true);
+            }
+            passivation.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // An update made to a session while it was being passivated would have been lost
+        int total = 0;
+        for (int i = 0; i < sessionCount; ++i) {
+            Session session = manager.findSession(String.valueOf(i));
+            assertFalse(((OffHeapSession) session).isInUse());
+            total += ((Integer) session.getSession().getAttribute("count")).intValue();
+        }
+        assertEquals(threads * requests, total);
+        assertTrue(manager.getPassivatedSessionCount() > 0);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.session;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link OffHeapSessionStore}.
+ */
+public class OffHeapSessionStoreUnitTestCase {
+
+    @Test
+    public void testStoreAndRemove() {
+        OffHeapSessionStore store = new OffHeapSessionStore(4096, 64);
+        byte[] data = bytes(150);
+        assertTrue(store.store("a", data, 1000L, 30));
+        assertTrue(store.contains("a"));
+        assertEquals(1, store.size());
+        assertEquals(192, store.getUsedBytes());
+        assertEquals(150, store.getSessions().get("a").getSize());
+
+        assertTrue(Arrays.equals(data, store.remove("a")));
+        assertFalse(store.contains("a"));
+        assertEquals(0, store.getUsedBytes());
+        assertNull(store.remove("a"));
+    }
+
+    @Test
+    public void testReplace() {
+        OffHeapSessionStore store = new OffHeapSessionStore(4096, 64);
+        assertTrue(store.store("a", bytes(200), 1000L, 30));
+        byte[] data = bytes(10);
+        assertTrue(store.store("a", data, 2000L, 30));
+        assertEquals(1, store.size());
+        assertEquals(64, store.getUsedBytes());
+        assertEquals(2000L, store.getSessions().get("a").getLastAccessedTime());
+        assertTrue(Arrays.equals(data, store.remove("a")));
+    }
+
+    @Test
+    public void testSizeBound() {
+        OffHeapSessionStore store = new OffHeapSessionStore(256, 64);
+        assertTrue(store.store("a", bytes(128), 1000L, 30));
+        assertTrue(store.store("b", bytes(64), 1000L, 30));
+        assertFalse(store.store("c", bytes(65), 1000L, 30));
+        assertFalse(store.contains("c"));
+        assertEquals(192, store.getReservedBytes());
+
+        // Freed blocks are reused
+        store.remove("a");
+        assertTrue(store.store("c", bytes(65), 1000L, 30));
+        assertEquals(192, store.getReservedBytes());
+        assertEquals(192, store.getUsedBytes());
+    }
+
+    @Test
+    public void testSlabs() {
+        OffHeapSessionStore store = new OffHeapSessionStore(512L * 1024 * 1024, 16 * 1024 * 1024);
+        byte[] data = bytes(48 * 1024 * 1024);
+        assertTrue(store.store("a", data, 1000L, 30));
+        assertTrue(store.store("b", bytes(1), 1000L, 30));
+        assertTrue(Arrays.equals(data, store.remove("a")));
+        assertEquals(1, store.remove("b").length);
+    }
+
+    @Test
+    public void testExpiration() {
+        OffHeapSessionStore store = new OffHeapSessionStore(4096, 64);
+        store.store("a", bytes(1), 1000L, 30);
+        store.store("b", bytes(1), 1000L, -1);
+        assertFalse(store.getSessions().get("a").isExpired(30999L));
+        assertTrue(store.getSessions().get("a").isExpired(31000L));
+        assertFalse(store.getSessions().get("b").isExpired(Long.MAX_VALUE));
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+}
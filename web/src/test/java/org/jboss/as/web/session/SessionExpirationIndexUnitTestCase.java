@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.session;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link SessionExpirationIndex}.
+ */
+public class SessionExpirationIndexUnitTestCase {
+
+    @Test
+    public void testPollInExpirationOrder() {
+        SessionExpirationIndex index = new SessionExpirationIndex();
+        index.schedule("c", 3000L);
+        index.schedule("a", 1000L);
+        index.schedule("b", 2000L);
+
+        assertEquals(Collections.emptyList(), index.poll(999L));
+        assertEquals(Arrays.asList("a", "b"), index.poll(2000L));
+        assertEquals(1, index.size());
+        assertEquals(Arrays.asList("c"), index.poll(Long.MAX_VALUE));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testScheduleKeepsEarliestTime() {
+        SessionExpirationIndex index = new SessionExpirationIndex();
+        index.schedule("a", 1000L);
+        index.schedule("a", 5000L);
+        assertEquals(Arrays.asList("a"), index.poll(1000L));
+
+        index.schedule("b", 5000L);
+        index.schedule("b", 1000L);
+        assertEquals(Arrays.asList("b"), index.poll(1000L));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testRescheduleAndCancel() {
+        SessionExpirationIndex index = new SessionExpirationIndex();
+        index.schedule("a", 1000L);
+        index.reschedule("a", 5000L);
+        assertEquals(Collections.emptyList(), index.poll(1000L));
+
+        index.cancel("a");
+        assertEquals(Collections.emptyList(), index.poll(Long.MAX_VALUE));
+    }
+}
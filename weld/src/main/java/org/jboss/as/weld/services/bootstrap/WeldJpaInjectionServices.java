@@ -63,7 +63,7 @@ public class WeldJpaInjectionServices implements JpaInjectionServices {
         //now we have the service controller, as this method is only called at runtime the service should
         //always be up
         PersistenceUnitService persistenceUnitService = (PersistenceUnitService)serviceController.getValue();
-        return new TransactionScopedEntityManager(scopedPuName,new HashMap<Object,Object>(), persistenceUnitService.getEntityManagerFactory());
+        return new TransactionScopedEntityManager(scopedPuName, persistenceUnitService.getEntityManagerSlot(), new HashMap<Object,Object>(), persistenceUnitService.getEntityManagerFactory());
     }
 
     @Override